@@ -0,0 +1,76 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jclouds.googlecloud.benchmarks;
+
+import static com.google.common.base.Charsets.UTF_8;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStreamReader;
+import java.lang.reflect.Type;
+import java.util.concurrent.TimeUnit;
+
+import org.jclouds.json.config.GsonModule;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.google.common.io.Resources;
+import com.google.gson.Gson;
+import com.google.inject.Guice;
+import com.google.inject.Module;
+
+/**
+ * Parses the recorded response of a parse test into the type its {@code expected()} method returns, through the
+ * Gson configured by the provider's parser module. The parse tests already pair each fixture with its domain type,
+ * so new ones are measured by adding their name to the subclass.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public abstract class BaseParseBenchmark {
+
+   private Gson gson;
+   private Type type;
+   private byte[] response;
+
+   /** The simple name of the parse test, which is in the package of the benchmark. */
+   protected abstract String parseTest();
+
+   protected abstract Module parserModule();
+
+   @Setup public void setup() throws Exception {
+      gson = Guice.createInjector(new GsonModule(), parserModule()).getInstance(Gson.class);
+      Class<?> test = Class.forName(getClass().getPackage().getName() + "." + parseTest());
+      type = test.getMethod("expected").getGenericReturnType();
+      String resource = (String) test.getMethod("resource").invoke(test.newInstance());
+      response = Resources.toByteArray(Resources.getResource(test, resource));
+   }
+
+   @Benchmark public Object parse() {
+      return gson.fromJson(new InputStreamReader(new ByteArrayInputStream(response), UTF_8), type);
+   }
+}
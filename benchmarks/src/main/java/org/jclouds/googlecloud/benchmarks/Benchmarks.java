@@ -0,0 +1,58 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jclouds.googlecloud.benchmarks;
+
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.ChainedOptionsBuilder;
+import org.openjdk.jmh.runner.options.CommandLineOptionException;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Runs the benchmarks as {@link org.openjdk.jmh.Main} does, except that results are written as JSON, to
+ * {@code jmh-result.json}, unless another format is given with {@code -rf}. Keeping the JSON of each run lets
+ * regressions be found by comparing runs.
+ *
+ * <pre>
+ * mvn -Pbenchmarks install -DskipTests
+ * java -jar benchmarks/target/benchmarks.jar [JMH options] [benchmark regexp]
+ * </pre>
+ */
+public final class Benchmarks {
+
+   public static void main(String[] args) throws CommandLineOptionException, RunnerException {
+      CommandLineOptions options = new CommandLineOptions(args);
+      if (options.shouldHelp()) {
+         options.showHelp();
+         return;
+      }
+      if (options.shouldList()) {
+         new Runner(options).list();
+         return;
+      }
+      ChainedOptionsBuilder builder = new OptionsBuilder().parent(options);
+      if (!options.getResultFormat().hasValue()) {
+         builder.resultFormat(ResultFormatType.JSON);
+      }
+      new Runner(builder.build()).run();
+   }
+
+   private Benchmarks() {
+   }
+}
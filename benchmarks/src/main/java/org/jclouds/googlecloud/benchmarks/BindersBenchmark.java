@@ -0,0 +1,124 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jclouds.googlecloud.benchmarks;
+
+import java.net.URI;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.jclouds.googlecloudstorage.binders.MultipartUploadBinder;
+import org.jclouds.googlecloudstorage.config.GoogleCloudStorageParserModule;
+import org.jclouds.googlecloudstorage.domain.templates.ObjectTemplate;
+import org.jclouds.googlecomputeengine.binders.DiskCreationBinder;
+import org.jclouds.googlecomputeengine.binders.FirewallBinder;
+import org.jclouds.googlecomputeengine.binders.TargetPoolCreationBinder;
+import org.jclouds.googlecomputeengine.config.GoogleComputeEngineParserModule;
+import org.jclouds.googlecomputeengine.domain.Firewall;
+import org.jclouds.googlecomputeengine.options.DiskCreationOptions;
+import org.jclouds.googlecomputeengine.options.FirewallOptions;
+import org.jclouds.googlecomputeengine.options.TargetPoolCreationOptions;
+import org.jclouds.http.HttpRequest;
+import org.jclouds.io.Payloads;
+import org.jclouds.json.config.GsonModule;
+import org.jclouds.rest.MapBinder;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import com.google.inject.Guice;
+import com.google.inject.Injector;
+
+/** Binds the payloads of the create calls whose binders do more than serialize their argument. */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BindersBenchmark {
+
+   private static final String PROJECT = "https://www.googleapis.com/compute/v1/projects/party";
+   private static final URI NETWORK = URI.create(PROJECT + "/global/networks/default");
+
+   private MapBinder diskCreationBinder;
+   private MapBinder firewallBinder;
+   private MapBinder targetPoolCreationBinder;
+   private MapBinder multipartUploadBinder;
+
+   private Map<String, Object> disk;
+   private Map<String, Object> targetPool;
+   private ObjectTemplate object;
+   private byte[] content;
+
+   @Setup public void setup() {
+      Injector compute = Guice.createInjector(new GsonModule(), new GoogleComputeEngineParserModule());
+      diskCreationBinder = compute.getInstance(DiskCreationBinder.class);
+      firewallBinder = compute.getInstance(FirewallBinder.class);
+      targetPoolCreationBinder = compute.getInstance(TargetPoolCreationBinder.class);
+      Injector storage = Guice.createInjector(new GsonModule(), new GoogleCloudStorageParserModule());
+      multipartUploadBinder = storage.getInstance(MultipartUploadBinder.class);
+
+      disk = ImmutableMap.<String, Object>of("name", "testimage", "options", new DiskCreationOptions()
+            .type(URI.create(PROJECT + "/zones/us-central1-a/diskTypes/pd-ssd")).sizeGb(10));
+      targetPool = ImmutableMap.<String, Object>of("name", "test-targetpool", "options",
+            new TargetPoolCreationOptions()
+                  .healthChecks(ImmutableList.of(URI.create(PROJECT + "/global/httpHealthChecks/health-check-1")))
+                  .instances(ImmutableList.of(URI.create(PROJECT + "/zones/us-central1-a/instances/test-0"),
+                        URI.create(PROJECT + "/zones/us-central1-a/instances/test-1")))
+                  .sessionAffinity(TargetPoolCreationOptions.SessionAffinityValue.CLIENT_IP));
+      object = new ObjectTemplate().name("jcloudslogo.jpg").size(1024L).contentType("image/jpeg")
+            .customMetadata("custommetakey1", "custommetavalue1");
+      content = new byte[1024];
+   }
+
+   @Benchmark public HttpRequest diskCreation() {
+      return diskCreationBinder.bindToRequest(post(PROJECT + "/zones/us-central1-a/disks"), disk);
+   }
+
+   @Benchmark public HttpRequest firewall() {
+      // FirewallBinder sets the name and network on the options it is given.
+      FirewallOptions options = new FirewallOptions()
+            .addAllowedRule(Firewall.Rule.create("tcp", ImmutableList.of("22", "23-24")))
+            .addSourceRange("10.0.0.0/8").addSourceTag("tag1").addTargetTag("tag2");
+      return firewallBinder.bindToRequest(post(PROJECT + "/global/firewalls"),
+            ImmutableMap.<String, Object>of("name", "myfw", "network", NETWORK, "options", options));
+   }
+
+   @Benchmark public HttpRequest targetPoolCreation() {
+      return targetPoolCreationBinder.bindToRequest(post(PROJECT + "/regions/us-central1/targetPools"),
+            targetPool);
+   }
+
+   @Benchmark public HttpRequest multipartUpload() {
+      return multipartUploadBinder.bindToRequest(
+            post("https://www.googleapis.com/upload/storage/v1/b/bucket/o?uploadType=multipart"),
+            ImmutableMap.<String, Object>of("template", object, "payload", Payloads.newByteArrayPayload(content)));
+   }
+
+   private static HttpRequest post(String endpoint) {
+      return HttpRequest.builder().method("POST").endpoint(endpoint).build();
+   }
+}
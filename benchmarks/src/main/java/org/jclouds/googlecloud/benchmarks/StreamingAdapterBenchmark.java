@@ -0,0 +1,127 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jclouds.googlecloud.benchmarks;
+
+import static com.google.common.base.Charsets.UTF_8;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStreamReader;
+import java.lang.reflect.Type;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import javax.inject.Singleton;
+
+import org.jclouds.googlecloud.config.InterningAdapterFactory;
+import org.jclouds.googlecloud.config.ListPageAdapterFactory;
+import org.jclouds.googlecloudstorage.config.GoogleCloudStorageParserModule;
+import org.jclouds.googlecloudstorage.domain.GoogleCloudStorageObject;
+import org.jclouds.googlecloudstorage.domain.ListPageWithPrefixes;
+import org.jclouds.googlecloudstorage.parse.ObjectGetTest;
+import org.jclouds.googlecomputeengine.config.GoogleComputeEngineParserModule;
+import org.jclouds.googlecomputeengine.domain.Operation;
+import org.jclouds.googlecomputeengine.parse.ParseZoneOperationTest;
+import org.jclouds.json.config.GsonModule;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.google.common.collect.ImmutableSet;
+import com.google.common.io.Resources;
+import com.google.gson.Gson;
+import com.google.gson.TypeAdapterFactory;
+import com.google.gson.reflect.TypeToken;
+import com.google.inject.AbstractModule;
+import com.google.inject.Guice;
+import com.google.inject.Module;
+import com.google.inject.Provides;
+import com.google.inject.util.Modules;
+
+/**
+ * Parses an operation, as when polling one, and a page of objects, as when listing a bucket, with the streaming
+ * adapters of the parser modules, and with the reflective parsing of {@code @SerializedNames} factory methods they
+ * replace.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class StreamingAdapterBenchmark {
+
+   private static final Type OBJECT_PAGE =
+         new TypeToken<ListPageWithPrefixes<GoogleCloudStorageObject>>() { }.getType();
+
+   @Param({ "true", "false" })
+   boolean streaming;
+
+   @Param("1000")
+   int objects;
+
+   private Gson computeGson;
+   private Gson storageGson;
+   private byte[] operation;
+   private byte[] objectPage;
+
+   @Setup public void setup() throws Exception {
+      computeGson = gson(new GoogleComputeEngineParserModule());
+      storageGson = gson(new GoogleCloudStorageParserModule());
+
+      operation = Resources.toByteArray(Resources.getResource(ParseZoneOperationTest.class, "/zone_operation.json"));
+      String object = Resources.toString(Resources.getResource(ObjectGetTest.class, "/object_get.json"), UTF_8);
+      StringBuilder page = new StringBuilder("{\"kind\":\"storage#objects\",\"items\":[");
+      for (int i = 0; i < objects; i++) {
+         if (i > 0) {
+            page.append(',');
+         }
+         page.append(object.replace("foo.txt", "foo-" + i + ".txt"));
+      }
+      objectPage = page.append("]}").toString().getBytes(UTF_8);
+   }
+
+   @Benchmark public Operation parseOperation() {
+      return computeGson.fromJson(new InputStreamReader(new ByteArrayInputStream(operation), UTF_8), Operation.class);
+   }
+
+   @Benchmark public ListPageWithPrefixes<GoogleCloudStorageObject> parseObjectPage() {
+      return storageGson.fromJson(new InputStreamReader(new ByteArrayInputStream(objectPage), UTF_8), OBJECT_PAGE);
+   }
+
+   /** Gson of the parser module, without its streaming adapters unless measuring them. */
+   private Gson gson(Module parserModule) {
+      if (!streaming) {
+         parserModule = Modules.override(parserModule).with(new AbstractModule() {
+            @Override protected void configure() {
+            }
+
+            @Provides @Singleton Set<TypeAdapterFactory> typeAdapterFactories() {
+               return ImmutableSet.<TypeAdapterFactory>of(new ListPageAdapterFactory(), new InterningAdapterFactory());
+            }
+         });
+      }
+      return Guice.createInjector(new GsonModule(), parserModule).getInstance(Gson.class);
+   }
+}
@@ -0,0 +1,46 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jclouds.googlecloudstorage.parse;
+
+import org.jclouds.googlecloud.benchmarks.BaseParseBenchmark;
+import org.jclouds.googlecloudstorage.config.GoogleCloudStorageParserModule;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+
+import com.google.inject.Module;
+
+/** Parses each recorded Cloud Storage response, single resources and lists. */
+@State(Scope.Benchmark)
+public class GoogleCloudStorageParseBenchmark extends BaseParseBenchmark {
+
+   @Param({
+         "BucketAclGetTest", "BucketAclInsertTest", "BucketAclListTest", "BucketAclUpdateTest",
+         "BucketUpdateTest", "DefaultObjectAclGetTest", "DefaultObjectAclInsertTest",
+         "DefaultObjectAclListTest", "FullBucketGetTest", "NoAclBucketListTest", "NoAclBucketTest",
+         "ObjectAclGetTest", "ObjectAclInsertTest", "ObjectAclListTest", "ObjectAclUpdateTest"
+   })
+   String parseTest;
+
+   @Override protected String parseTest() {
+      return parseTest;
+   }
+
+   @Override protected Module parserModule() {
+      return new GoogleCloudStorageParserModule();
+   }
+}
@@ -0,0 +1,165 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jclouds.googlecomputeengine.compute.functions;
+
+import java.net.URI;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.jclouds.compute.domain.Hardware;
+import org.jclouds.compute.domain.NodeMetadata;
+import org.jclouds.compute.functions.GroupNamingConvention;
+import org.jclouds.domain.Location;
+import org.jclouds.domain.LocationBuilder;
+import org.jclouds.domain.LocationScope;
+import org.jclouds.googlecomputeengine.domain.Firewall;
+import org.jclouds.googlecomputeengine.domain.Image;
+import org.jclouds.googlecomputeengine.domain.Instance;
+import org.jclouds.googlecomputeengine.domain.MachineType;
+import org.jclouds.googlecomputeengine.parse.ParseFirewallTest;
+import org.jclouds.googlecomputeengine.parse.ParseImageTest;
+import org.jclouds.googlecomputeengine.parse.ParseInstanceTest;
+import org.jclouds.googlecomputeengine.parse.ParseMachineTypeTest;
+import org.jclouds.net.domain.IpPermission;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import com.google.common.base.Predicate;
+import com.google.common.base.Predicates;
+import com.google.common.base.Supplier;
+import com.google.common.base.Suppliers;
+import com.google.common.collect.ImmutableMap;
+
+/**
+ * Converts the recorded resources into the portable compute model, as the compute service does for every node,
+ * image, hardware profile and firewall it lists.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ComputeFunctionsBenchmark {
+
+   private Instance instance;
+   private MachineType machineType;
+   private Image image;
+   private Firewall firewall;
+
+   private InstanceToNodeMetadata instanceToNodeMetadata;
+   private MachineTypeToHardware machineTypeToHardware;
+   private GoogleComputeEngineImageToImage imageToImage;
+   private FirewallToIpPermission firewallToIpPermission;
+
+   @Setup public void setup() {
+      instance = new ParseInstanceTest().expected();
+      machineType = new ParseMachineTypeTest().expected();
+      image = new ParseImageTest().expected();
+      firewall = new ParseFirewallTest().expected();
+
+      Location provider = new LocationBuilder().id("google-compute-engine").description("google-compute-engine")
+            .scope(LocationScope.PROVIDER).build();
+      Location zone = new LocationBuilder().id("us-central1-a").description(instance.zone().toString())
+            .scope(LocationScope.ZONE).parent(provider).build();
+      Supplier<Map<URI, Location>> locationsByUri = Suppliers.<Map<URI, Location>>ofInstance(
+            ImmutableMap.of(instance.zone(), zone));
+      machineTypeToHardware = new MachineTypeToHardware(locationsByUri);
+      Supplier<Map<URI, Hardware>> hardwares = Suppliers.<Map<URI, Hardware>>ofInstance(
+            ImmutableMap.of(machineType.selfLink(), machineTypeToHardware.apply(machineType)));
+
+      GroupNamingConvention.Factory namingConvention = new GroupNamingConvention.Factory() {
+         @Override public GroupNamingConvention createWithoutPrefix() {
+            return new FixedGroupNamingConvention("jclouds");
+         }
+
+         @Override public GroupNamingConvention create() {
+            return new FixedGroupNamingConvention("jclouds");
+         }
+      };
+      instanceToNodeMetadata = new InstanceToNodeMetadata(
+            ImmutableMap.of(Instance.Status.RUNNING, NodeMetadata.Status.RUNNING), namingConvention,
+            ImmutableMap.of(instance.disks().get(0).source(), image.selfLink()), hardwares, locationsByUri,
+            new FirewallTagNamingConvention.Factory(namingConvention));
+      imageToImage = new GoogleComputeEngineImageToImage();
+      firewallToIpPermission = new FirewallToIpPermission();
+   }
+
+   @Benchmark public NodeMetadata instanceToNodeMetadata() {
+      return instanceToNodeMetadata.apply(instance);
+   }
+
+   @Benchmark public Hardware machineTypeToHardware() {
+      return machineTypeToHardware.apply(machineType);
+   }
+
+   @Benchmark public org.jclouds.compute.domain.Image imageToImage() {
+      return imageToImage.apply(image);
+   }
+
+   @Benchmark public void firewallToIpPermission(Blackhole blackhole) {
+      for (IpPermission permission : firewallToIpPermission.apply(firewall)) {
+         blackhole.consume(permission);
+      }
+   }
+
+   /** Names every node into the same group, without the lookups of the default convention. */
+   private static final class FixedGroupNamingConvention implements GroupNamingConvention {
+      private final String name;
+
+      FixedGroupNamingConvention(String name) {
+         this.name = name;
+      }
+
+      @Override public String sharedNameForGroup(String group) {
+         return name;
+      }
+
+      @Override public String uniqueNameForGroup(String group) {
+         return name;
+      }
+
+      @Override public String groupInUniqueNameOrNull(String encoded) {
+         return name;
+      }
+
+      @Override public String groupInSharedNameOrNull(String encoded) {
+         return name;
+      }
+
+      @Override public Predicate<String> containsGroup(String group) {
+         return Predicates.alwaysTrue();
+      }
+
+      @Override public Predicate<String> containsAnyGroup() {
+         return Predicates.alwaysTrue();
+      }
+
+      @Override public String extractGroup(String encoded) {
+         return name;
+      }
+   }
+}
@@ -0,0 +1,150 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jclouds.googlecomputeengine.internal;
+
+import static com.google.common.base.Charsets.UTF_8;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.util.concurrent.TimeUnit;
+
+import org.jclouds.googlecloud.domain.ListPage;
+import org.jclouds.googlecloud.internal.JsonListPageIterator;
+import org.jclouds.googlecomputeengine.config.GoogleComputeEngineParserModule;
+import org.jclouds.googlecomputeengine.domain.Instance;
+import org.jclouds.json.config.GsonModule;
+import org.jclouds.util.Strings2;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import com.google.gson.Gson;
+import com.google.gson.TypeAdapter;
+import com.google.gson.reflect.TypeToken;
+import com.google.gson.stream.JsonReader;
+import com.google.inject.Guice;
+
+/**
+ * Compares decoding an aggregated instance list into a {@link ListPage} against streaming it with
+ * {@link JsonListPageIterator}. Run with {@code -prof gc} to compare allocations. Once measured, prints the heap
+ * retained while consuming a page each way, which grows with the page size for a {@code ListPage} only.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ListPageDecodingBenchmark {
+
+   private static final TypeToken<ListPage<Instance>> LIST_PAGE_OF_INSTANCE = new TypeToken<ListPage<Instance>>() {
+   };
+
+   @Param({ "500", "10000" })
+   int instances;
+
+   private Gson gson;
+   private TypeAdapter<Instance> instanceAdapter;
+   private byte[] page;
+
+   @Setup public void setup() throws IOException {
+      gson = Guice.createInjector(new GsonModule(), new GoogleComputeEngineParserModule()).getInstance(Gson.class);
+      instanceAdapter = gson.getAdapter(Instance.class);
+      page = aggregatedInstanceList(instances);
+   }
+
+   @Benchmark public void listPage(Blackhole blackhole) throws IOException {
+      ListPage<Instance> decoded = gson.fromJson(reader(), LIST_PAGE_OF_INSTANCE.getType());
+      for (Instance instance : decoded) {
+         blackhole.consume(instance);
+      }
+   }
+
+   @Benchmark public void streaming(Blackhole blackhole) throws IOException {
+      JsonListPageIterator<Instance> decoded = new JsonListPageIterator<Instance>(reader(), instanceAdapter, null);
+      while (decoded.hasNext()) {
+         blackhole.consume(decoded.next());
+      }
+   }
+
+   private JsonReader reader() {
+      return new JsonReader(new InputStreamReader(new ByteArrayInputStream(page), UTF_8));
+   }
+
+   /** An aggregated list holding copies of {@code instance_get.json}, split across two zones. */
+   static byte[] aggregatedInstanceList(int instances) throws IOException {
+      String instance = Strings2.toStringAndClose(
+            ListPageDecodingBenchmark.class.getResourceAsStream("/instance_get.json"));
+      StringBuilder json = new StringBuilder("{\"kind\":\"compute#instanceAggregatedList\",\"items\":{");
+      for (int zone = 0; zone < 2; zone++) {
+         json.append(zone == 0 ? "" : ",").append("\"zones/us-central1-").append((char) ('a' + zone))
+               .append("\":{\"instances\":[");
+         for (int i = zone; i < instances; i += 2) {
+            json.append(i < 2 ? "" : ",").append(instance);
+         }
+         json.append("]}");
+      }
+      return json.append("},\"nextPageToken\":\"token\"}").toString().getBytes(UTF_8);
+   }
+
+   @TearDown(Level.Trial) public void printRetainedHeap() throws IOException {
+      System.out.printf("%n%s instances: ListPage retains %,d KiB, streaming %,d KiB%n", instances,
+            retainedByListPage() / 1024, retainedByStreaming() / 1024);
+   }
+
+   /** Heap in use while the caller is at the last instance, which holds the whole page. */
+   private long retainedByListPage() {
+      long before = usedHeapAfterGc();
+      ListPage<Instance> decoded = gson.fromJson(reader(), LIST_PAGE_OF_INSTANCE.getType());
+      long retained = usedHeapAfterGc() - before;
+      return decoded.isEmpty() ? 0 : retained;
+   }
+
+   /** Heap in use while the caller is at the last instance, which only holds that instance. */
+   private long retainedByStreaming() throws IOException {
+      long before = usedHeapAfterGc();
+      JsonListPageIterator<Instance> decoded = new JsonListPageIterator<Instance>(reader(), instanceAdapter, null);
+      Instance last = null;
+      while (decoded.hasNext()) {
+         last = decoded.next();
+      }
+      long retained = usedHeapAfterGc() - before;
+      return last == null ? 0 : retained;
+   }
+
+   private static long usedHeapAfterGc() {
+      MemoryMXBean memory = ManagementFactory.getMemoryMXBean();
+      for (int i = 0; i < 3; i++) {
+         memory.gc();
+      }
+      return memory.getHeapMemoryUsage().getUsed();
+   }
+}
@@ -0,0 +1,56 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jclouds.googlecomputeengine.parse;
+
+import org.jclouds.googlecloud.benchmarks.BaseParseBenchmark;
+import org.jclouds.googlecomputeengine.config.GoogleComputeEngineParserModule;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+
+import com.google.inject.Module;
+
+/** Parses each recorded Compute Engine response, single resources and list pages. */
+@State(Scope.Benchmark)
+public class GoogleComputeEngineParseBenchmark extends BaseParseBenchmark {
+
+   @Param({
+         "ParseAddressListTest", "ParseAddressTest", "ParseBackendServiceListTest", "ParseBackendServiceTest",
+         "ParseDiskListTest", "ParseDiskTest", "ParseDiskTypeListTest", "ParseDiskTypeTest",
+         "ParseFirewallListTest", "ParseFirewallTest", "ParseForwardingRuleListTest",
+         "ParseForwardingRuleTest", "ParseGlobalForwardingRuleListTest", "ParseGlobalForwardingRuleTest",
+         "ParseGlobalOperationListTest", "ParseGlobalOperationTest", "ParseHealthStatusTest",
+         "ParseHttpHealthCheckListTest", "ParseHttpHealthCheckTest", "ParseImageListTest", "ParseImageTest",
+         "ParseInstanceListTest", "ParseInstanceSerialOutputTest", "ParseInstanceTest", "ParseLicenseTest",
+         "ParseMachineTypeListTest", "ParseMachineTypeTest", "ParseMetadataTest", "ParseNetworkListTest",
+         "ParseNetworkTest", "ParseOperationTest", "ParseProjectTest", "ParseQuotaTest",
+         "ParseRegionListTest", "ParseRegionOperationTest", "ParseRegionTest", "ParseRouteListTest",
+         "ParseRouteTest", "ParseSnapshotListTest", "ParseSnapshotTest", "ParseTargetHttpProxyListTest",
+         "ParseTargetHttpProxyTest", "ParseTargetInstanceListTest", "ParseTargetInstanceTest",
+         "ParseTargetPoolListTest", "ParseTargetPoolTest", "ParseUrlMapListTest", "ParseUrlMapTest",
+         "ParseUrlMapValidateTest", "ParseZoneListTest", "ParseZoneOperationTest", "ParseZoneTest"
+   })
+   String parseTest;
+
+   @Override protected String parseTest() {
+      return parseTest;
+   }
+
+   @Override protected Module parserModule() {
+      return new GoogleComputeEngineParserModule();
+   }
+}
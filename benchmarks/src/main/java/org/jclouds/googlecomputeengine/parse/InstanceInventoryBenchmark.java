@@ -0,0 +1,128 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jclouds.googlecomputeengine.parse;
+
+import static com.google.common.base.Charsets.UTF_8;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStreamReader;
+import java.lang.reflect.Type;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import javax.inject.Singleton;
+
+import org.jclouds.googlecloud.config.ListPageAdapterFactory;
+import org.jclouds.googlecloud.domain.ListPage;
+import org.jclouds.googlecomputeengine.config.GoogleComputeEngineParserModule;
+import org.jclouds.googlecomputeengine.domain.Instance;
+import org.jclouds.json.config.GsonModule;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.google.common.collect.ImmutableSet;
+import com.google.common.io.Resources;
+import com.google.gson.Gson;
+import com.google.gson.TypeAdapterFactory;
+import com.google.gson.reflect.TypeToken;
+import com.google.inject.AbstractModule;
+import com.google.inject.Guice;
+import com.google.inject.Module;
+import com.google.inject.Provides;
+import com.google.inject.util.Modules;
+
+/**
+ * Parses a page of thousands of instances, which differ in name, id and address but share their zone, machine type,
+ * network, image and disk type, with and without interning the strings and uris read. Once measured, prints how much
+ * heap the parsed page holds on to, which is what a cached inventory costs.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class InstanceInventoryBenchmark {
+
+   private static final Type INSTANCE_PAGE = new TypeToken<ListPage<Instance>>() { }.getType();
+
+   @Param({ "true", "false" })
+   boolean interning;
+
+   @Param("20000")
+   int instances;
+
+   private Gson gson;
+   private byte[] response;
+
+   @Setup public void setup() throws Exception {
+      Module parserModule = new GoogleComputeEngineParserModule();
+      if (!interning) {
+         parserModule = Modules.override(parserModule).with(new AbstractModule() {
+            @Override protected void configure() {
+            }
+
+            @Provides @Singleton Set<TypeAdapterFactory> typeAdapterFactories() {
+               return ImmutableSet.<TypeAdapterFactory>of(new ListPageAdapterFactory());
+            }
+         });
+      }
+      gson = Guice.createInjector(new GsonModule(), parserModule).getInstance(Gson.class);
+
+      String instance = Resources.toString(Resources.getResource(ParseInstanceTest.class, "/instance_get.json"), UTF_8);
+      StringBuilder page = new StringBuilder("{\"kind\":\"compute#instanceList\",\"items\":[");
+      for (int i = 0; i < instances; i++) {
+         if (i > 0) {
+            page.append(',');
+         }
+         page.append(instance.replace("test-0", "test-" + i)
+               .replace("13051190678907570425", "1305119067890757" + i)
+               .replace("10.240.121.115", "10.240." + i / 256 + "." + i % 256));
+      }
+      response = page.append("]}").toString().getBytes(UTF_8);
+   }
+
+   @Benchmark public ListPage<Instance> parse() {
+      return gson.fromJson(new InputStreamReader(new ByteArrayInputStream(response), UTF_8), INSTANCE_PAGE);
+   }
+
+   @TearDown(Level.Trial) public void printRetainedHeap() {
+      long before = usedHeap();
+      ListPage<Instance> page = parse();
+      long retained = usedHeap() - before;
+      System.out.printf("%n%s instances, interning %s: %,d KiB retained%n", page.size(), interning, retained / 1024);
+   }
+
+   private static long usedHeap() {
+      Runtime runtime = Runtime.getRuntime();
+      for (int i = 0; i < 3; i++) {
+         System.gc();
+      }
+      return runtime.totalMemory() - runtime.freeMemory();
+   }
+}
@@ -0,0 +1,106 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jclouds.oauth.v2.filters;
+
+import static com.google.common.base.Joiner.on;
+import static com.google.common.util.concurrent.MoreExecutors.sameThreadExecutor;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+import org.jclouds.domain.Credentials;
+import org.jclouds.http.HttpRequest;
+import org.jclouds.oauth.v2.AuthorizationApi;
+import org.jclouds.oauth.v2.config.CredentialPool;
+import org.jclouds.oauth.v2.config.OAuthScopes.ReadOrWriteScopes;
+import org.jclouds.oauth.v2.domain.Claims;
+import org.jclouds.oauth.v2.domain.Token;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import com.google.common.base.Supplier;
+import com.google.common.base.Suppliers;
+
+/**
+ * Measures the per-request cost of both {@link OAuthFilter} implementations once a token is cached, against the
+ * previous header building, which joined scopes and formatted the header on every request. Run with
+ * {@code -prof gc} to compare allocations as well.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@Threads(4)
+public class OAuthFilterBenchmark {
+
+   private static final ReadOrWriteScopes SCOPES =
+         ReadOrWriteScopes.create("storage.read_only", "storage.full_control");
+   private static final Token TOKEN = Token.create("1/8xbJqaOZXSUZbHLl5EOtu1pxz3fmmetKx9W8CV4t79M", "Bearer", 3600);
+   private static final HttpRequest GET = HttpRequest.builder().method("GET")
+         .endpoint("https://www.googleapis.com/storage/v1/b/bucket/o/object").build();
+
+   private final Supplier<Credentials> creds = Suppliers.ofInstance(new Credentials("foo", TOKEN.accessToken()));
+   private JWTBearerTokenFlow jwtBearerTokenFlow;
+   private BearerTokenFromCredentials bearerTokenFromCredentials;
+
+   @Setup public void setup() {
+      AuthorizationApi api = new AuthorizationApi() {
+         @Override public Token authorize(Claims claims) {
+            return TOKEN;
+         }
+
+         @Override public void close() throws IOException {
+         }
+      };
+      jwtBearerTokenFlow = new JWTBearerTokenFlow(api, 3600, "aud", CredentialPool.of(creds), SCOPES,
+            sameThreadExecutor());
+      bearerTokenFromCredentials = new BearerTokenFromCredentials(creds);
+      jwtBearerTokenFlow.filter(GET); // populate the token cache
+   }
+
+   /** Only the header building of the previous filter, without its token lookup. */
+   @Benchmark public HttpRequest jwtBearerTokenFlowBefore(Blackhole blackhole) {
+      blackhole.consume(on(",").join(SCOPES.forRequest(GET)));
+      String authorization = String.format("%s %s", TOKEN.tokenType(), TOKEN.accessToken());
+      return GET.toBuilder().addHeader("Authorization", authorization).build();
+   }
+
+   @Benchmark public HttpRequest jwtBearerTokenFlowAfter() {
+      return jwtBearerTokenFlow.filter(GET);
+   }
+
+   @Benchmark public HttpRequest bearerTokenFromCredentialsBefore() {
+      return GET.toBuilder().addHeader("Authorization", String.format("%s %s", "Bearer", creds.get().credential))
+            .build();
+   }
+
+   @Benchmark public HttpRequest bearerTokenFromCredentialsAfter() {
+      return bearerTokenFromCredentials.filter(GET);
+   }
+}
@@ -0,0 +1,93 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jclouds.oauth.v2.functions;
+
+import static com.google.common.base.Charsets.UTF_8;
+import static com.google.common.base.Joiner.on;
+import static com.google.common.base.Suppliers.ofInstance;
+import static com.google.common.io.BaseEncoding.base64Url;
+import static org.jclouds.oauth.v2.config.PrivateKeySupplierTest.loadPrivateKey;
+
+import java.security.PrivateKey;
+import java.util.concurrent.TimeUnit;
+
+import org.jclouds.json.Json;
+import org.jclouds.json.config.GsonModule;
+import org.jclouds.oauth.v2.domain.Claims;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.google.inject.Guice;
+
+/**
+ * Compares assertions per second of {@link ClaimsToAssertion} against the previous implementation, which created and
+ * initialized a signature, formatted the header and serialized the claims through {@link Json} on every call.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@Threads(4)
+public class ClaimsToAssertionBenchmark {
+
+   private static final Claims CLAIMS = Claims.create(
+         "761326798069-r5mljlln1rd4lrbhg75efgigp36m78j5@developer.gserviceaccount.com", // iss
+         "https://www.googleapis.com/auth/prediction", // scope
+         "https://accounts.google.com/o/oauth2/token", // aud
+         1328573381, // exp
+         1328569781 // iat
+   );
+
+   private PrivateKey privateKey;
+   private Json json;
+   private ClaimsToAssertion claimsToAssertion;
+
+   @Setup public void setup() throws Exception {
+      privateKey = loadPrivateKey();
+      json = Guice.createInjector(new GsonModule()).getInstance(Json.class);
+      claimsToAssertion = new ClaimsToAssertion("RS256", ofInstance(privateKey), json);
+   }
+
+   @Benchmark public String before() {
+      String encodedHeader = String.format("{\"alg\":\"%s\",\"typ\":\"JWT\"}", "RS256");
+      String encodedClaimSet = json.toJson(CLAIMS);
+
+      encodedHeader = base64Url().omitPadding().encode(encodedHeader.getBytes(UTF_8));
+      encodedClaimSet = base64Url().omitPadding().encode(encodedClaimSet.getBytes(UTF_8));
+
+      byte[] signature = ClaimsToAssertion.sha256(privateKey, on(".").join(encodedHeader, encodedClaimSet)
+            .getBytes(UTF_8));
+      String encodedSignature = base64Url().omitPadding().encode(signature);
+
+      return on(".").join(encodedHeader, encodedClaimSet, encodedSignature);
+   }
+
+   @Benchmark public String after() {
+      return claimsToAssertion.apply(CLAIMS);
+   }
+}
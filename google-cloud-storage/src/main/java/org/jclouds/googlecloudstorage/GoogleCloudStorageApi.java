@@ -25,8 +25,10 @@ import org.jclouds.googlecloudstorage.features.BucketApi;
 import org.jclouds.googlecloudstorage.features.DefaultObjectAccessControlsApi;
 import org.jclouds.googlecloudstorage.features.ObjectAccessControlsApi;
 import org.jclouds.googlecloudstorage.features.ObjectApi;
+import org.jclouds.googlecloudstorage.features.ObjectAsyncApi;
 import org.jclouds.googlecloudstorage.features.ResumableUploadApi;
 import org.jclouds.rest.annotations.Delegate;
+import org.jclouds.rest.annotations.Provides;
 
 /**
  * Provide access to GoogleCloudStorage
@@ -64,11 +66,19 @@ public interface GoogleCloudStorageApi extends Closeable {
    ObjectAccessControlsApi getObjectAccessControlsApi();
 
    /**
-    * Provides access to Google Cloud Storage Object features
+    * Provides access to Google Cloud Storage Object features. See {@link #getObjectAsyncApi()} for calls that return
+    * futures.
     */
    @Delegate
    ObjectApi getObjectApi();
 
+   /**
+    * Provides access to Google Cloud Storage Object features, with calls that return futures, running on the user
+    * executor.
+    */
+   @Provides
+   ObjectAsyncApi getObjectAsyncApi();
+
    /**
     * Provides access to Google Cloud Storage ResumableUpload features
     */
@@ -17,6 +17,10 @@
 package org.jclouds.googlecloudstorage;
 
 import static org.jclouds.Constants.PROPERTY_SESSION_INTERVAL;
+import static org.jclouds.googlecloud.config.GoogleCloudProperties.CONDITIONAL_GET_CACHE_SIZE;
+import static org.jclouds.googlecloud.config.GoogleCloudProperties.CONDITIONAL_GET_CACHE_TTL;
+import static org.jclouds.googlecloud.config.GoogleCloudProperties.JMX_METRICS;
+import static org.jclouds.googlecloud.config.GoogleCloudProperties.RATE_LIMITS;
 import static org.jclouds.googlecloudstorage.reference.GoogleCloudStorageConstants.OPERATION_COMPLETE_INTERVAL;
 import static org.jclouds.googlecloudstorage.reference.GoogleCloudStorageConstants.OPERATION_COMPLETE_TIMEOUT;
 import static org.jclouds.oauth.v2.config.OAuthProperties.AUDIENCE;
@@ -28,6 +32,7 @@ import java.util.Properties;
 
 import org.jclouds.blobstore.BlobStoreContext;
 import org.jclouds.googlecloud.config.CurrentProject;
+import org.jclouds.googlecloud.metrics.MetricsModule;
 import org.jclouds.googlecloudstorage.blobstore.config.GoogleCloudStorageBlobStoreContextModule;
 import org.jclouds.googlecloudstorage.config.GoogleCloudStorageHttpApiModule;
 import org.jclouds.googlecloudstorage.config.GoogleCloudStorageParserModule;
@@ -60,6 +65,10 @@ public class GoogleCloudStorageApiMetadata extends BaseHttpApiMetadata<GoogleClo
       properties.put(PROPERTY_SESSION_INTERVAL, 3600);
       properties.put(OPERATION_COMPLETE_INTERVAL, 2000);
       properties.put(OPERATION_COMPLETE_TIMEOUT, 600000);
+      properties.put(RATE_LIMITS, "");
+      properties.put(JMX_METRICS, false);
+      properties.put(CONDITIONAL_GET_CACHE_SIZE, 0);
+      properties.put(CONDITIONAL_GET_CACHE_TTL, 300);
       return properties;
    }
 
@@ -78,7 +87,8 @@ public class GoogleCloudStorageApiMetadata extends BaseHttpApiMetadata<GoogleClo
                  .add(GoogleCloudStorageParserModule.class)
                  .add(OAuthModule.class)
                  .add(GoogleCloudStorageHttpApiModule.class)
-                 .add(GoogleCloudStorageBlobStoreContextModule.class).build());
+                 .add(GoogleCloudStorageBlobStoreContextModule.class)
+                 .add(MetricsModule.class).build());
       }
 
       @Override
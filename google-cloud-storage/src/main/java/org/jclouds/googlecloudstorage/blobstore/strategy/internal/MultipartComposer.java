@@ -0,0 +1,181 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jclouds.googlecloudstorage.blobstore.strategy.internal;
+
+import static com.google.common.base.Throwables.propagate;
+import static org.jclouds.Constants.PROPERTY_USER_THREADS;
+import static org.jclouds.googlecloudstorage.reference.GoogleCloudStorageConstants.PARALLEL_UPLOAD_DEGREE;
+
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Semaphore;
+
+import javax.annotation.Resource;
+import javax.inject.Named;
+
+import org.jclouds.blobstore.reference.BlobStoreConstants;
+import org.jclouds.googlecloud.batch.BatchExecutor;
+import org.jclouds.googlecloud.batch.BatchRequest;
+import org.jclouds.googlecloudstorage.GoogleCloudStorageApi;
+import org.jclouds.googlecloudstorage.domain.GoogleCloudStorageObject;
+import org.jclouds.googlecloudstorage.domain.templates.ComposeObjectTemplate;
+import org.jclouds.googlecloudstorage.domain.templates.ObjectTemplate;
+import org.jclouds.googlecloudstorage.features.ObjectApi;
+import org.jclouds.logging.Logger;
+
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.collect.Lists;
+import com.google.common.util.concurrent.FutureCallback;
+import com.google.common.util.concurrent.Futures;
+import com.google.common.util.concurrent.ListenableFuture;
+import com.google.common.util.concurrent.ListeningExecutorService;
+import com.google.inject.Inject;
+
+/**
+ * Composes the parts of a multipart upload into one object, then deletes them.
+ *
+ * <p/>A compose takes at most {@value #MAX_SOURCES} sources, so more parts are composed in rounds: each round
+ * composes every {@value #MAX_SOURCES} objects of the previous one into an intermediate object, until few enough
+ * remain for the final compose. Composes of a round are independent, so run on the user executor, at most
+ * {@link #parallelDegree} at a time. The 10000 parts of the largest upload take three rounds.
+ *
+ * <p/>Once the final compose succeeds, the parts and intermediate objects are deleted in batch requests. An upload
+ * that fails leaves them in place.
+ */
+public class MultipartComposer {
+
+   @VisibleForTesting
+   static final int MAX_SOURCES = 32;
+
+   private static final String BATCH_PATH = "/batch/storage/v1";
+
+   @Resource
+   @Named(BlobStoreConstants.BLOBSTORE_LOGGER)
+   private Logger logger = Logger.NULL;
+
+   @Inject(optional = true)
+   @Named(PARALLEL_UPLOAD_DEGREE)
+   @VisibleForTesting
+   int parallelDegree = ParallelMultipartUploadStrategy.DEFAULT_PARALLEL_DEGREE;
+
+   private final GoogleCloudStorageApi api;
+   private final BatchExecutor batchExecutor;
+   private final MultipartNamingStrategy namingStrategy;
+   private final ListeningExecutorService userExecutor;
+
+   @Inject MultipartComposer(GoogleCloudStorageApi api, BatchExecutor batchExecutor,
+            MultipartNamingStrategy namingStrategy,
+            @Named(PROPERTY_USER_THREADS) ListeningExecutorService userExecutor) {
+      this.api = api;
+      this.batchExecutor = batchExecutor;
+      this.namingStrategy = namingStrategy;
+      this.userExecutor = userExecutor;
+   }
+
+   /** Composes {@code parts}, in order, into {@code destination}, then deletes them. */
+   public GoogleCloudStorageObject compose(String container, List<GoogleCloudStorageObject> parts,
+            ObjectTemplate destination) {
+      List<String> temporary = Lists.newArrayList();
+      for (GoogleCloudStorageObject part : parts) {
+         temporary.add(part.name());
+      }
+      List<GoogleCloudStorageObject> sources = parts;
+      for (int round = 1; sources.size() > MAX_SOURCES; round++) {
+         sources = composeRound(container, destination, sources, round, temporary);
+      }
+      GoogleCloudStorageObject composed = api.getObjectApi().composeObjects(container, destination.name(),
+               ComposeObjectTemplate.create(sources, destination));
+      delete(container, temporary);
+      return composed;
+   }
+
+   /** Composes each {@value #MAX_SOURCES} sources into an intermediate object, adding its name to temporary. */
+   private List<GoogleCloudStorageObject> composeRound(final String container, ObjectTemplate destination,
+            List<GoogleCloudStorageObject> sources, int round, List<String> temporary) {
+      List<List<GoogleCloudStorageObject>> groups = Lists.partition(sources, MAX_SOURCES);
+      logger.debug("composing %d objects into %d for %s", sources.size(), groups.size(), destination.name());
+      final Semaphore permits = new Semaphore(parallelDegree);
+      List<ListenableFuture<GoogleCloudStorageObject>> composed = Lists.newArrayList();
+      try {
+         for (int i = 0; i < groups.size(); i++) {
+            final List<GoogleCloudStorageObject> group = groups.get(i);
+            if (group.size() == 1) {
+               composed.add(Futures.immediateFuture(group.get(0)));
+               continue;
+            }
+            final String name = namingStrategy.getComposeName(destination.name(), round, i + 1, groups.size());
+            temporary.add(name);
+            final ObjectTemplate template = new ObjectTemplate().name(name).contentType(destination.contentType());
+            permits.acquire();
+            ListenableFuture<GoogleCloudStorageObject> intermediate = userExecutor
+                     .submit(new Callable<GoogleCloudStorageObject>() {
+                        @Override
+                        public GoogleCloudStorageObject call() {
+                           return api.getObjectApi().composeObjects(container, name,
+                                    ComposeObjectTemplate.create(group, template));
+                        }
+                     });
+            Futures.addCallback(intermediate, new FutureCallback<GoogleCloudStorageObject>() {
+               @Override
+               public void onSuccess(GoogleCloudStorageObject result) {
+                  permits.release();
+               }
+
+               @Override
+               public void onFailure(Throwable t) {
+                  permits.release();
+               }
+            });
+            composed.add(intermediate);
+         }
+         return Futures.allAsList(composed).get();
+      } catch (InterruptedException e) {
+         Thread.currentThread().interrupt();
+         Futures.allAsList(composed).cancel(true);
+         throw propagate(e);
+      } catch (ExecutionException e) {
+         throw propagate(e.getCause());
+      }
+   }
+
+   /** Deletes the objects in batches. The upload succeeded, so objects left behind are only logged. */
+   private void delete(String container, List<String> names) {
+      BatchRequest batch = batchExecutor.newBatch(BATCH_PATH);
+      ObjectApi objects = batch.proxy(GoogleCloudStorageApi.class).getObjectApi();
+      List<ListenableFuture<Boolean>> deletes = Lists.newArrayList();
+      for (String name : names) {
+         deletes.add(batch.queue(objects.deleteObject(container, name)));
+      }
+      batch.execute();
+      int failed = 0;
+      for (ListenableFuture<Boolean> delete : deletes) {
+         try {
+            delete.get();
+         } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return;
+         } catch (ExecutionException e) {
+            failed++;
+         }
+      }
+      if (failed > 0) {
+         logger.warn("could not delete %d of the %d temporary objects of a multipart upload to %s", failed,
+                  names.size(), container);
+      }
+   }
+}
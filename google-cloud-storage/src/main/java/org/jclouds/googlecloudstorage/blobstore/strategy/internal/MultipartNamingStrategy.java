@@ -27,4 +27,10 @@ public class MultipartNamingStrategy {
       int base = (int) Math.log10(totalParts) + 1;
       return String.format("%s%s%0" + base + "d", key, PART_SEPARATOR, partNumber);
    }
+
+   /** Name of an object composed from parts, in a round of composes before the final one. */
+   protected String getComposeName(String key, int round, int index, int total) {
+      int base = (int) Math.log10(total) + 1;
+      return String.format("%s%scompose%d%s%0" + base + "d", key, PART_SEPARATOR, round, PART_SEPARATOR, index);
+   }
 }
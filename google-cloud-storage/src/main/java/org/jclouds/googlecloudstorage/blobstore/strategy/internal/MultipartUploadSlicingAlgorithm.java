@@ -18,6 +18,7 @@ package org.jclouds.googlecloudstorage.blobstore.strategy.internal;
 
 import javax.annotation.Resource;
 import javax.inject.Named;
+import javax.inject.Singleton;
 
 import org.jclouds.blobstore.reference.BlobStoreConstants;
 import org.jclouds.logging.Logger;
@@ -25,6 +26,10 @@ import org.jclouds.logging.Logger;
 import com.google.common.annotations.VisibleForTesting;
 import com.google.inject.Inject;
 
+/**
+ * Chooses the part size of multipart uploads. It keeps no state of its own, so one instance serves every upload.
+ */
+@Singleton
 public class MultipartUploadSlicingAlgorithm {
 
    @Resource
@@ -47,15 +52,13 @@ public class MultipartUploadSlicingAlgorithm {
    @VisibleForTesting
    int magnitudeBase = DEFAULT_MAGNITUDE_BASE;
 
-   // calculated only once, but not from the constructor
-   private volatile int parts; // required number of parts with chunkSize
-   private volatile long chunkSize;
-   private volatile long remaining; // number of bytes remained for the last part
-
-   // sequentially updated values
-   private volatile int part;
-   private volatile long chunkOffset;
-   private volatile long copied;
+   /** Plans the parts of a payload of {@code length} bytes; safe to call from concurrent uploads. */
+   public SlicePlan plan(long length) {
+      SlicePlan plan = SlicePlan.create(length, calculateChunkSize(length));
+      logger.debug(" %d bytes partitioned in %d parts of part size: %d, last part: %d", length, plan.partCount(),
+               plan.partSize(), plan.lastPartSize());
+      return plan;
+   }
 
    @VisibleForTesting
    protected long calculateChunkSize(long length) {
@@ -79,61 +82,6 @@ public class MultipartUploadSlicingAlgorithm {
             parts = (int) (length / partSize);
          }
       }
-      if (parts > MultipartUpload.MAX_NUMBER_OF_PARTS) { // if splits in too many parts or
-         // cannot be split
-         unitPartSize = MultipartUpload.MIN_PART_SIZE; // take the minimum part size
-         parts = (int) (length / unitPartSize);
-      }
-      if (parts > MultipartUpload.MAX_NUMBER_OF_PARTS) { // if still splits in too many parts
-         parts = MultipartUpload.MAX_NUMBER_OF_PARTS - 1; // limit them. do not care about not
-         // covering
-      }
-      long remainder = length % unitPartSize;
-      if (remainder == 0 && parts > 0) {
-         parts -= 1;
-      }
-      this.chunkSize = partSize;
-      this.parts = parts;
-      this.remaining = length - partSize * parts;
-      logger.debug(" %d bytes partitioned in %d parts of part size: %d, remaining: %d%s", length, parts, chunkSize,
-               remaining, remaining > MultipartUpload.MAX_PART_SIZE ? " overflow!" : "");
-      return this.chunkSize;
-   }
-
-   public long getCopied() {
-      return copied;
-   }
-
-   public void setCopied(long copied) {
-      this.copied = copied;
-   }
-
-   @VisibleForTesting
-   protected int getParts() {
-      return parts;
-   }
-
-   protected int getNextPart() {
-      return ++part;
-   }
-
-   protected void addCopied(long copied) {
-      this.copied += copied;
-   }
-
-   protected long getNextChunkOffset() {
-      long next = chunkOffset;
-      chunkOffset += getChunkSize();
-      return next;
-   }
-
-   @VisibleForTesting
-   protected long getChunkSize() {
-      return chunkSize;
-   }
-
-   @VisibleForTesting
-   protected long getRemaining() {
-      return remaining;
+      return partSize;
    }
 }
@@ -18,9 +18,9 @@ package org.jclouds.googlecloudstorage.blobstore.strategy.internal;
 
 import org.jclouds.blobstore.domain.Blob;
 
-import com.google.inject.ImplementedBy;
+import com.google.inject.ProvidedBy;
 
-@ImplementedBy(SequentialMultipartUploadStrategy.class)
+@ProvidedBy(MultipartUploadStrategyProvider.class)
 public abstract class MultipartUploadStrategy {
    public abstract String execute(String container, Blob blob);
 }
@@ -0,0 +1,69 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jclouds.googlecloudstorage.blobstore.strategy.internal;
+
+import static org.jclouds.googlecloudstorage.reference.GoogleCloudStorageConstants.PARALLEL_UPLOAD_DEGREE;
+import static org.jclouds.googlecloudstorage.reference.GoogleCloudStorageConstants.RESUMABLE_UPLOAD_CHUNK_SIZE;
+import static org.jclouds.googlecloudstorage.reference.GoogleCloudStorageConstants.RESUMABLE_UPLOAD_JOURNAL;
+
+import javax.inject.Named;
+import javax.inject.Provider;
+
+import com.google.inject.Inject;
+
+/**
+ * Streams over a resumable upload session when {@code jclouds.mpu.resumable.chunk.size} or
+ * {@code jclouds.mpu.resumable.journal} is set, uploads parts in parallel when {@code jclouds.mpu.parallel.degree} is
+ * set, and one after another otherwise. A {@link MultipartUploadStrategy} bound in a module takes precedence.
+ *
+ * @see org.jclouds.googlecloudstorage.reference.GoogleCloudStorageConstants#RESUMABLE_UPLOAD_CHUNK_SIZE
+ * @see org.jclouds.googlecloudstorage.reference.GoogleCloudStorageConstants#RESUMABLE_UPLOAD_JOURNAL
+ * @see org.jclouds.googlecloudstorage.reference.GoogleCloudStorageConstants#PARALLEL_UPLOAD_DEGREE
+ */
+public final class MultipartUploadStrategyProvider implements Provider<MultipartUploadStrategy> {
+
+   @Inject(optional = true)
+   @Named(PARALLEL_UPLOAD_DEGREE)
+   Integer parallelDegree;
+
+   @Inject(optional = true)
+   @Named(RESUMABLE_UPLOAD_CHUNK_SIZE)
+   Long resumableChunkSize;
+
+   @Inject(optional = true)
+   @Named(RESUMABLE_UPLOAD_JOURNAL)
+   String resumableJournal;
+
+   private final Provider<SequentialMultipartUploadStrategy> sequential;
+   private final Provider<ParallelMultipartUploadStrategy> parallel;
+   private final Provider<ResumableUploadStrategy> resumable;
+
+   @Inject MultipartUploadStrategyProvider(Provider<SequentialMultipartUploadStrategy> sequential,
+            Provider<ParallelMultipartUploadStrategy> parallel, Provider<ResumableUploadStrategy> resumable) {
+      this.sequential = sequential;
+      this.parallel = parallel;
+      this.resumable = resumable;
+   }
+
+   @Override
+   public MultipartUploadStrategy get() {
+      if (resumableChunkSize != null || resumableJournal != null) {
+         return resumable.get();
+      }
+      return parallelDegree != null ? parallel.get() : sequential.get();
+   }
+}
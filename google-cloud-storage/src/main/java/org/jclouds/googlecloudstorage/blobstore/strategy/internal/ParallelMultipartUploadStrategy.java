@@ -0,0 +1,266 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jclouds.googlecloudstorage.blobstore.strategy.internal;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+import static com.google.common.base.Throwables.propagate;
+import static org.jclouds.Constants.PROPERTY_USER_THREADS;
+import static org.jclouds.googlecloudstorage.reference.GoogleCloudStorageConstants.PARALLEL_UPLOAD_BACKOFF;
+import static org.jclouds.googlecloudstorage.reference.GoogleCloudStorageConstants.PARALLEL_UPLOAD_BUFFER_SIZE;
+import static org.jclouds.googlecloudstorage.reference.GoogleCloudStorageConstants.PARALLEL_UPLOAD_DEGREE;
+import static org.jclouds.googlecloudstorage.reference.GoogleCloudStorageConstants.PARALLEL_UPLOAD_RETRIES;
+import static org.jclouds.util.Closeables2.closeQuietly;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import javax.annotation.Resource;
+import javax.inject.Named;
+import javax.inject.Provider;
+
+import org.jclouds.blobstore.domain.Blob;
+import org.jclouds.blobstore.domain.BlobBuilder;
+import org.jclouds.blobstore.reference.BlobStoreConstants;
+import org.jclouds.googlecloudstorage.GoogleCloudStorageApi;
+import org.jclouds.googlecloudstorage.blobstore.functions.BlobMetadataToObjectTemplate;
+import org.jclouds.googlecloudstorage.domain.GoogleCloudStorageObject;
+import org.jclouds.googlecloudstorage.domain.templates.ObjectTemplate;
+import org.jclouds.io.Payload;
+import org.jclouds.io.PayloadSlicer;
+import org.jclouds.io.Payloads;
+import org.jclouds.logging.Logger;
+import org.jclouds.rest.AuthorizationException;
+
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.collect.Lists;
+import com.google.common.io.ByteStreams;
+import com.google.common.util.concurrent.FutureCallback;
+import com.google.common.util.concurrent.Futures;
+import com.google.common.util.concurrent.ListenableFuture;
+import com.google.common.util.concurrent.ListeningExecutorService;
+import com.google.inject.Inject;
+
+/**
+ * Uploads the parts of a blob on the user executor, at most {@link #parallelDegree} at a time, then composes them.
+ * A part that fails to upload is sent again, up to {@link #retries} times, after a decorrelated jitter backoff as in
+ * {@link org.jclouds.googlecloud.handlers.JitteredBackoffRetryHandler}: each wait is drawn between
+ * {@link #backoffMillis} and three times the previous wait, up to 32 times {@link #backoffMillis}. Once a part fails
+ * for good, no further parts are sent and the failure is thrown.
+ *
+ * <p/>Parts of a payload that can't be read twice, such as a stream, are read into memory before they're sent, so
+ * that they can be retried. At most {@link #parallelDegree} parts are held at once, and none larger than
+ * {@link #maxBufferedPartSize}: such a payload with larger parts is handed to the
+ * {@link SequentialMultipartUploadStrategy}, which sends each part straight off the payload.
+ */
+public final class ParallelMultipartUploadStrategy extends MultipartUploadStrategy {
+
+   @Resource
+   @Named(BlobStoreConstants.BLOBSTORE_LOGGER)
+   private Logger logger = Logger.NULL;
+
+   @VisibleForTesting
+   static final int DEFAULT_PARALLEL_DEGREE = 4;
+
+   @VisibleForTesting
+   static final int DEFAULT_RETRIES = 3;
+
+   @Inject(optional = true)
+   @Named(PARALLEL_UPLOAD_DEGREE)
+   @VisibleForTesting
+   int parallelDegree = DEFAULT_PARALLEL_DEGREE;
+
+   @Inject(optional = true)
+   @Named(PARALLEL_UPLOAD_RETRIES)
+   @VisibleForTesting
+   int retries = DEFAULT_RETRIES;
+
+   @VisibleForTesting
+   static final long DEFAULT_BACKOFF_MILLIS = 1000;
+
+   @Inject(optional = true)
+   @Named(PARALLEL_UPLOAD_BACKOFF)
+   @VisibleForTesting
+   long backoffMillis = DEFAULT_BACKOFF_MILLIS;
+
+   @VisibleForTesting
+   static final long DEFAULT_MAX_BUFFERED_PART_SIZE = MultipartUploadSlicingAlgorithm.DEFAULT_PART_SIZE;
+
+   @Inject(optional = true)
+   @Named(PARALLEL_UPLOAD_BUFFER_SIZE)
+   @VisibleForTesting
+   long maxBufferedPartSize = DEFAULT_MAX_BUFFERED_PART_SIZE;
+
+   private final Random random = new Random();
+
+   private final GoogleCloudStorageApi api;
+   private final Provider<BlobBuilder> blobBuilders;
+   private final BlobMetadataToObjectTemplate blob2ObjectTemplate;
+   private final MultipartUploadSlicingAlgorithm algorithm;
+   private final PayloadSlicer slicer;
+   private final MultipartNamingStrategy namingStrategy;
+   private final MultipartComposer composer;
+   private final ListeningExecutorService userExecutor;
+   private final Provider<SequentialMultipartUploadStrategy> sequential;
+
+   @Inject ParallelMultipartUploadStrategy(GoogleCloudStorageApi api, Provider<BlobBuilder> blobBuilders,
+            BlobMetadataToObjectTemplate blob2ObjectTemplate, MultipartUploadSlicingAlgorithm algorithm,
+            PayloadSlicer slicer, MultipartNamingStrategy namingStrategy, MultipartComposer composer,
+            @Named(PROPERTY_USER_THREADS) ListeningExecutorService userExecutor,
+            Provider<SequentialMultipartUploadStrategy> sequential) {
+      this.api = api;
+      this.blobBuilders = blobBuilders;
+      this.blob2ObjectTemplate = blob2ObjectTemplate;
+      this.algorithm = algorithm;
+      this.slicer = slicer;
+      this.namingStrategy = namingStrategy;
+      this.composer = composer;
+      this.userExecutor = userExecutor;
+      this.sequential = sequential;
+   }
+
+   @Override
+   public String execute(final String container, Blob blob) {
+
+      ObjectTemplate destination = blob2ObjectTemplate.apply(blob.getMetadata());
+
+      String key = blob.getMetadata().getName();
+      Payload payload = blob.getPayload();
+      Long length = payload.getContentMetadata().getContentLength();
+      if (length == null) {
+         length = blob.getMetadata().getContentMetadata().getContentLength();
+         payload.getContentMetadata().setContentLength(length);
+      }
+      checkNotNull(length,
+               "please invoke payload.getContentMetadata().setContentLength(length) prior to multipart upload");
+      SlicePlan plan = algorithm.plan(length);
+      if (plan.isSinglePart()) {
+         return api.getObjectApi().multipartUpload(container, destination, payload).etag();
+      }
+      if (!payload.isRepeatable() && plan.partSize() > maxBufferedPartSize) {
+         logger.debug("sending the %s-byte parts of %s one after another, rather than read them into memory",
+                  plan.partSize(), key);
+         return sequential.get().execute(container, blob);
+      }
+
+      final Semaphore permits = new Semaphore(parallelDegree);
+      final AtomicBoolean failed = new AtomicBoolean();
+      List<ListenableFuture<GoogleCloudStorageObject>> parts = Lists.newArrayList();
+      try {
+         int partNum = 0;
+         for (Payload slice : slicer.slice(payload, plan.partSize())) {
+            permits.acquire();
+            if (failed.get()) {
+               break;
+            }
+            partNum++;
+            String partName = namingStrategy.getPartName(key, partNum, plan.partCount());
+            final Blob blobPart = blobBuilders.get().name(partName).payload(repeatable(slice))
+                     .contentDisposition(partName).contentLength(plan.size(partNum))
+                     .contentType(blob.getMetadata().getContentMetadata().getContentType()).build();
+            ListenableFuture<GoogleCloudStorageObject> part = userExecutor
+                     .submit(new Callable<GoogleCloudStorageObject>() {
+                        @Override
+                        public GoogleCloudStorageObject call() {
+                           return upload(container, blobPart);
+                        }
+                     });
+            Futures.addCallback(part, new FutureCallback<GoogleCloudStorageObject>() {
+               @Override
+               public void onSuccess(GoogleCloudStorageObject result) {
+                  permits.release();
+               }
+
+               @Override
+               public void onFailure(Throwable t) {
+                  failed.set(true);
+                  permits.release();
+               }
+            });
+            parts.add(part);
+         }
+      } catch (InterruptedException e) {
+         Thread.currentThread().interrupt();
+         Futures.allAsList(parts).cancel(true);
+         throw propagate(e);
+      } catch (RuntimeException e) {
+         Futures.allAsList(parts).cancel(true);
+         throw e;
+      }
+
+      List<GoogleCloudStorageObject> sourceList;
+      try {
+         sourceList = Futures.allAsList(parts).get();
+      } catch (InterruptedException e) {
+         Thread.currentThread().interrupt();
+         Futures.allAsList(parts).cancel(true);
+         throw propagate(e);
+      } catch (ExecutionException e) {
+         throw propagate(e.getCause());
+      }
+      return composer.compose(container, sourceList, destination).etag();
+   }
+
+   private GoogleCloudStorageObject upload(String container, Blob part) {
+      long previousMillis = backoffMillis;
+      for (int attempt = 0; ; attempt++) {
+         try {
+            return api.getObjectApi().multipartUpload(container, blob2ObjectTemplate.apply(part.getMetadata()),
+                     part.getPayload());
+         } catch (AuthorizationException e) {
+            throw e;
+         } catch (RuntimeException e) {
+            if (attempt >= retries) {
+               throw e;
+            }
+            long upper = Math.min(backoffMillis * 32, previousMillis * 3);
+            long waitMillis = upper > backoffMillis
+                     ? backoffMillis + (long) (random.nextDouble() * (upper - backoffMillis)) : backoffMillis;
+            previousMillis = waitMillis;
+            logger.debug("retrying part %s after %sms, as attempt %d failed with %s", part.getMetadata().getName(),
+                     waitMillis, attempt + 1, e);
+            try {
+               Thread.sleep(waitMillis);
+            } catch (InterruptedException interrupted) {
+               Thread.currentThread().interrupt();
+               throw propagate(interrupted);
+            }
+         }
+      }
+   }
+
+   /** The slice itself if it can be read again, otherwise its content read into memory. */
+   static Payload repeatable(Payload slice) {
+      if (slice.isRepeatable()) {
+         return slice;
+      }
+      InputStream in = null;
+      try {
+         in = slice.openStream();
+         return Payloads.newByteArrayPayload(ByteStreams.toByteArray(in));
+      } catch (IOException e) {
+         throw propagate(e);
+      } finally {
+         closeQuietly(in);
+      }
+   }
+}
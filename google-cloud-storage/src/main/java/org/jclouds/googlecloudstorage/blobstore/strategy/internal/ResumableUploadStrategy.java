@@ -0,0 +1,352 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jclouds.googlecloudstorage.blobstore.strategy.internal;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+import static com.google.common.base.Preconditions.checkState;
+import static com.google.common.base.Throwables.propagate;
+import static org.jclouds.googlecloudstorage.reference.GoogleCloudStorageConstants.RESUMABLE_UPLOAD_CHUNK_SIZE;
+import static org.jclouds.googlecloudstorage.reference.GoogleCloudStorageConstants.RESUMABLE_UPLOAD_JOURNAL;
+import static org.jclouds.googlecloudstorage.reference.GoogleCloudStorageConstants.RESUMABLE_UPLOAD_RETRIES;
+import static org.jclouds.util.Closeables2.closeQuietly;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+
+import javax.annotation.Resource;
+import javax.inject.Named;
+
+import org.jclouds.blobstore.domain.Blob;
+import org.jclouds.blobstore.reference.BlobStoreConstants;
+import org.jclouds.googlecloudstorage.GoogleCloudStorageApi;
+import org.jclouds.googlecloudstorage.blobstore.functions.BlobMetadataToObjectTemplate;
+import org.jclouds.googlecloudstorage.domain.GoogleCloudStorageObject;
+import org.jclouds.googlecloudstorage.domain.ResumableUpload;
+import org.jclouds.googlecloudstorage.domain.templates.ObjectTemplate;
+import org.jclouds.io.Payload;
+import org.jclouds.io.PayloadSlicer;
+import org.jclouds.io.Payloads;
+import org.jclouds.javax.annotation.Nullable;
+import org.jclouds.logging.Logger;
+import org.jclouds.rest.AuthorizationException;
+import org.jclouds.rest.ResourceNotFoundException;
+
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.hash.Funnels;
+import com.google.common.hash.HashCode;
+import com.google.common.hash.Hasher;
+import com.google.common.hash.Hashing;
+import com.google.common.io.ByteStreams;
+import com.google.inject.Inject;
+
+/**
+ * Streams a blob over one resumable upload session, in chunks of {@link #chunkSize} bytes, so that the object is
+ * written without composing parts.
+ *
+ * <p/>When a chunk fails to send, the session is asked how many bytes it has committed, and the upload continues from
+ * there instead of starting over. This happens up to {@link #retries} times in a row without progress, after which
+ * the failure is thrown. Chunks are sent as payloads that can't be read twice, so the http layer's own retries, which
+ * would resend the whole chunk, leave them alone. Only the chunk being sent is held in memory, and only when the
+ * payload can't be read twice.
+ *
+ * <p/>When {@code jclouds.mpu.resumable.journal} names a directory, each session and the bytes it has committed are
+ * recorded there in an {@link UploadJournal}, and a later upload of the same content to the same object continues the
+ * recorded session, even from another process. The content is told apart by its MD5, which is read from the blob or,
+ * failing that, computed by reading the payload once before sending it.
+ * A recorded session is only dropped once the service says it is gone: failing to ask for its status leaves it
+ * recorded.
+ *
+ * @see <a href="https://cloud.google.com/storage/docs/json_api/v1/how-tos/upload#resumable"/>
+ */
+public final class ResumableUploadStrategy extends MultipartUploadStrategy {
+
+   /** Chunks other than the last must be a multiple of this size. */
+   @VisibleForTesting
+   static final long CHUNK_GRANULARITY = 256 * 1024;
+
+   @VisibleForTesting
+   static final long DEFAULT_CHUNK_SIZE = 8 * 1024 * 1024;
+
+   @VisibleForTesting
+   static final int DEFAULT_RETRIES = 5;
+
+   /** Status of a session that has not received all its bytes yet. */
+   private static final int RESUME_INCOMPLETE = 308;
+
+   @Resource
+   @Named(BlobStoreConstants.BLOBSTORE_LOGGER)
+   private Logger logger = Logger.NULL;
+
+   @Inject(optional = true)
+   @Named(RESUMABLE_UPLOAD_CHUNK_SIZE)
+   @VisibleForTesting
+   long chunkSize = DEFAULT_CHUNK_SIZE;
+
+   @Inject(optional = true)
+   @Named(RESUMABLE_UPLOAD_RETRIES)
+   @VisibleForTesting
+   int retries = DEFAULT_RETRIES;
+
+   @Inject(optional = true)
+   @Named(RESUMABLE_UPLOAD_JOURNAL)
+   @VisibleForTesting
+   String journalDirectory;
+
+   private final GoogleCloudStorageApi api;
+   private final BlobMetadataToObjectTemplate blob2ObjectTemplate;
+   private final PayloadSlicer slicer;
+
+   @Inject ResumableUploadStrategy(GoogleCloudStorageApi api, BlobMetadataToObjectTemplate blob2ObjectTemplate,
+            PayloadSlicer slicer) {
+      this.api = api;
+      this.blob2ObjectTemplate = blob2ObjectTemplate;
+      this.slicer = slicer;
+   }
+
+   @Override
+   public String execute(String container, Blob blob) {
+
+      ObjectTemplate destination = blob2ObjectTemplate.apply(blob.getMetadata());
+
+      Payload payload = blob.getPayload();
+      Long length = payload.getContentMetadata().getContentLength();
+      if (length == null) {
+         length = blob.getMetadata().getContentMetadata().getContentLength();
+         payload.getContentMetadata().setContentLength(length);
+      }
+      checkNotNull(length,
+               "please invoke payload.getContentMetadata().setContentLength(length) prior to multipart upload");
+      if (length == 0) {
+         return api.getObjectApi().multipartUpload(container, destination, payload).etag();
+      }
+      String contentType = blob.getMetadata().getContentMetadata().getContentType();
+
+      UploadJournal journal = journalDirectory != null ? new UploadJournal(new File(journalDirectory), logger) : null;
+      String journalKey = journal != null ? journalKey(container, destination.name(), payload, length) : null;
+
+      String uploadId = null;
+      long resumeFrom = 0;
+      UploadJournal.Session session = journalKey != null ? journal.get(journalKey) : null;
+      if (session != null) {
+         ResumableUpload status;
+         try {
+            status = recordedStatus(container, session.uploadId(), length);
+         } catch (ResourceNotFoundException e) {
+            logger.debug("upload %s of %s expired, so starting over", session.uploadId(), destination.name());
+            status = null;
+         }
+         if (status != null && status.statusCode() != RESUME_INCOMPLETE) {
+            journal.remove(journalKey);
+            return complete(container, destination);
+         } else if (status != null) {
+            uploadId = session.uploadId();
+            resumeFrom = committed(status);
+            logger.debug("resuming upload %s of %s at byte %d", uploadId, destination.name(), resumeFrom);
+         } else {
+            journal.remove(journalKey);
+         }
+      }
+      if (uploadId == null) {
+         uploadId = api.getResumableUploadApi().initResumableUpload(container, contentType, length, destination)
+                  .uploadId();
+         checkState(uploadId != null, "no upload id returned for %s", destination.name());
+         if (journalKey != null) {
+            journal.put(journalKey, uploadId, 0);
+         }
+      }
+
+      long chunkStart = 0;
+      for (Payload slice : slicer.slice(payload, chunkSize())) {
+         long chunkEnd = Math.min(chunkStart + chunkSize(), length);
+         if (chunkEnd <= resumeFrom) {
+            skip(slice);
+            chunkStart = chunkEnd;
+            continue;
+         }
+         Payload chunk = ParallelMultipartUploadStrategy.repeatable(slice);
+         long committed = Math.max(chunkStart, resumeFrom);
+         int failures = 0;
+         while (committed < chunkEnd) {
+            ResumableUpload status;
+            Payload once = null;
+            try {
+               Payload rest = committed == chunkStart ? chunk
+                        : slicer.slice(chunk, committed - chunkStart, chunkEnd - committed);
+               once = sendOnce(rest, chunkEnd - committed, contentType);
+               status = api.getResumableUploadApi().chunkUpload(container, uploadId, contentType,
+                        chunkEnd - committed, contentRange(committed, chunkEnd, length), once);
+            } catch (AuthorizationException e) {
+               throw e;
+            } catch (ResourceNotFoundException e) {
+               // the session expired, so there is nothing to resume
+               throw e;
+            } catch (RuntimeException e) {
+               if (++failures > retries) {
+                  throw e;
+               }
+               logger.debug("asking for the bytes committed to upload %s, as sending bytes %d-%d failed with %s",
+                        uploadId, committed, chunkEnd - 1, e);
+               status = checkStatus(container, uploadId, length);
+               if (status == null) {
+                  continue;
+               }
+            } finally {
+               closeQuietly(once);
+            }
+            if (status.statusCode() != RESUME_INCOMPLETE) {
+               if (journalKey != null) {
+                  journal.remove(journalKey);
+               }
+               return complete(container, destination);
+            }
+            long progress = committed(status);
+            checkState(progress >= chunkStart, "upload %s lost bytes: %s committed, but %s were acknowledged", uploadId,
+                     progress, chunkStart);
+            if (progress > committed) {
+               failures = 0;
+               if (journalKey != null) {
+                  journal.put(journalKey, uploadId, progress);
+               }
+            }
+            committed = progress;
+         }
+         chunkStart = chunkEnd;
+      }
+      throw new IllegalStateException(String.format("upload %s sent all %d bytes, but was not completed", uploadId,
+               length));
+   }
+
+   /**
+    * The status of a session found in the journal. Asking is retried up to {@link #retries} times, and then the failure
+    * is thrown, leaving the session in the journal for a later upload to resume.
+    *
+    * @throws ResourceNotFoundException if the session expired
+    */
+   private ResumableUpload recordedStatus(String container, String uploadId, long length) {
+      for (int failures = 0; ; failures++) {
+         try {
+            return api.getResumableUploadApi().checkStatus(container, uploadId, "bytes */" + length);
+         } catch (AuthorizationException e) {
+            throw e;
+         } catch (ResourceNotFoundException e) {
+            throw e;
+         } catch (RuntimeException e) {
+            if (failures >= retries) {
+               throw e;
+            }
+            logger.debug("asking again for the bytes committed to upload %s, as asking failed with %s", uploadId, e);
+         }
+      }
+   }
+
+   /** The status of the session, or null if it could not be had, in which case the chunk is sent again. */
+   private ResumableUpload checkStatus(String container, String uploadId, long length) {
+      try {
+         return api.getResumableUploadApi().checkStatus(container, uploadId, "bytes */" + length);
+      } catch (AuthorizationException e) {
+         throw e;
+      } catch (ResourceNotFoundException e) {
+         throw e;
+      } catch (RuntimeException e) {
+         logger.debug("could not ask for the bytes committed to upload %s: %s", uploadId, e);
+         return null;
+      }
+   }
+
+   private String complete(String container, ObjectTemplate destination) {
+      GoogleCloudStorageObject object = api.getObjectApi().getObject(container, destination.name());
+      checkState(object != null, "uploaded object %s not found", destination.name());
+      return object.etag();
+   }
+
+   /**
+    * Key of the upload in the journal, or null if the content can't be told apart from another's: that is when the
+    * blob has no MD5 and its payload can't be read twice to hash it.
+    */
+   @Nullable
+   private String journalKey(String container, String name, Payload payload, long length) {
+      HashCode md5 = payload.getContentMetadata().getContentMD5AsHashCode();
+      if (md5 == null && payload.isRepeatable()) {
+         InputStream in = null;
+         try {
+            in = payload.openStream();
+            Hasher hasher = Hashing.md5().newHasher();
+            ByteStreams.copy(in, Funnels.asOutputStream(hasher));
+            md5 = hasher.hash();
+         } catch (IOException e) {
+            logger.warn(e, "could not hash %s, so its upload won't be journaled", name);
+            return null;
+         } finally {
+            closeQuietly(in);
+         }
+      }
+      if (md5 == null) {
+         logger.debug("%s has no MD5 and can't be hashed, so its upload won't be journaled", name);
+         return null;
+      }
+      return UploadJournal.key(container, name, md5, length);
+   }
+
+   /**
+    * The bytes of a chunk as a payload that can't be read twice, so that the http layer doesn't retry a failed chunk
+    * by resending it from its {@code Content-Range}, which no longer holds once part of it was committed. The failure
+    * comes back here instead, and the upload resumes from the bytes committed.
+    */
+   private static Payload sendOnce(Payload bytes, long length, String contentType) {
+      try {
+         Payload once = Payloads.newInputStreamPayload(bytes.openStream());
+         once.getContentMetadata().setContentLength(length);
+         once.getContentMetadata().setContentType(contentType);
+         return once;
+      } catch (IOException e) {
+         throw propagate(e);
+      }
+   }
+
+   /** Passes over a chunk the session already holds, reading it off a stream that is shared by all chunks. */
+   private static void skip(Payload slice) {
+      if (slice.isRepeatable()) {
+         return;
+      }
+      InputStream in = null;
+      try {
+         in = slice.openStream();
+         ByteStreams.copy(in, ByteStreams.nullOutputStream());
+      } catch (IOException e) {
+         throw propagate(e);
+      } finally {
+         closeQuietly(in);
+      }
+   }
+
+   /** Chunk size as configured, rounded down to what the service accepts. */
+   @VisibleForTesting
+   long chunkSize() {
+      return Math.max(CHUNK_GRANULARITY, chunkSize - chunkSize % CHUNK_GRANULARITY);
+   }
+
+   /** Number of bytes the session holds, from its {@code Range} of committed bytes. */
+   @VisibleForTesting
+   static long committed(ResumableUpload status) {
+      return status.rangeUpperValue() != null ? status.rangeUpperValue() + 1 : 0;
+   }
+
+   private static String contentRange(long from, long to, long length) {
+      return "bytes " + from + "-" + (to - 1) + "/" + length;
+   }
+}
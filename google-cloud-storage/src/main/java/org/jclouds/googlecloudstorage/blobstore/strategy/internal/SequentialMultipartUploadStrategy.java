@@ -27,7 +27,6 @@ import org.jclouds.blobstore.domain.BlobBuilder;
 import org.jclouds.googlecloudstorage.GoogleCloudStorageApi;
 import org.jclouds.googlecloudstorage.blobstore.functions.BlobMetadataToObjectTemplate;
 import org.jclouds.googlecloudstorage.domain.GoogleCloudStorageObject;
-import org.jclouds.googlecloudstorage.domain.templates.ComposeObjectTemplate;
 import org.jclouds.googlecloudstorage.domain.templates.ObjectTemplate;
 import org.jclouds.io.Payload;
 import org.jclouds.io.PayloadSlicer;
@@ -43,16 +42,18 @@ public final class SequentialMultipartUploadStrategy extends MultipartUploadStra
    private final MultipartUploadSlicingAlgorithm algorithm;
    private final PayloadSlicer slicer;
    private final MultipartNamingStrategy namingStrategy;
+   private final MultipartComposer composer;
 
    @Inject SequentialMultipartUploadStrategy(GoogleCloudStorageApi api, Provider<BlobBuilder> blobBuilders,
             BlobMetadataToObjectTemplate blob2ObjectTemplate, MultipartUploadSlicingAlgorithm algorithm,
-            PayloadSlicer slicer, MultipartNamingStrategy namingStrategy) {
+            PayloadSlicer slicer, MultipartNamingStrategy namingStrategy, MultipartComposer composer) {
       this.api = api;
       this.blobBuilders = blobBuilders;
       this.blob2ObjectTemplate = blob2ObjectTemplate;
       this.algorithm = algorithm;
       this.slicer = slicer;
       this.namingStrategy = namingStrategy;
+      this.composer = composer;
    }
 
    @Override
@@ -71,22 +72,20 @@ public final class SequentialMultipartUploadStrategy extends MultipartUploadStra
       }
       checkNotNull(length,
                "please invoke payload.getContentMetadata().setContentLength(length) prior to multipart upload");
-      long chunkSize = algorithm.calculateChunkSize(length);
-      int partCount = algorithm.getParts();
-      if (partCount > 0) {
-         for (Payload part : slicer.slice(payload, chunkSize)) {
-            int partNum = algorithm.getNextPart();
-            String partName = namingStrategy.getPartName(key, partNum, partCount);
-            long partSize = ((partCount + 1) == partNum) ? algorithm.getRemaining() : algorithm.getChunkSize();
+      SlicePlan plan = algorithm.plan(length);
+      if (!plan.isSinglePart()) {
+         int partNum = 0;
+         for (Payload part : slicer.slice(payload, plan.partSize())) {
+            partNum++;
+            String partName = namingStrategy.getPartName(key, partNum, plan.partCount());
             Blob blobPart = blobBuilders.get().name(partName).payload(part).contentDisposition(partName)
-                     .contentLength(partSize).contentType(blob.getMetadata().getContentMetadata().getContentType())
-                     .build();
+                     .contentLength(plan.size(partNum))
+                     .contentType(blob.getMetadata().getContentMetadata().getContentType()).build();
             GoogleCloudStorageObject object = api.getObjectApi().multipartUpload(container,
                      blob2ObjectTemplate.apply(blobPart.getMetadata()), blobPart.getPayload());
             sourceList.add(object);
          }
-         ComposeObjectTemplate template = ComposeObjectTemplate.create(sourceList, destination);
-         return api.getObjectApi().composeObjects(container, key, template).etag();
+         return composer.compose(container, sourceList, destination).etag();
       } else {
          return api.getObjectApi()
                   .multipartUpload(container, blob2ObjectTemplate.apply(blob.getMetadata()), blob.getPayload())
@@ -0,0 +1,66 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jclouds.googlecloudstorage.blobstore.strategy.internal;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkElementIndex;
+
+import com.google.auto.value.AutoValue;
+
+/**
+ * How a payload of {@link #length()} bytes is cut into parts of {@link #partSize()} bytes, the last of which may be
+ * shorter. Parts are numbered from 1, in the order {@link org.jclouds.io.PayloadSlicer} produces them.
+ *
+ * <p/>A plan is computed once per upload and never changes, so it can be shared by the threads sending its parts.
+ */
+@AutoValue
+public abstract class SlicePlan {
+
+   public abstract long length();
+
+   public abstract long partSize();
+
+   /** Number of parts, always at least one. */
+   public abstract int partCount();
+
+   public abstract long lastPartSize();
+
+   public static SlicePlan create(long length, long partSize) {
+      checkArgument(length >= 0, "length must be non-negative, but was %s", length);
+      checkArgument(partSize > 0, "partSize must be positive, but was %s", partSize);
+      long partCount = Math.max(1, (length + partSize - 1) / partSize);
+      checkArgument(partCount <= Integer.MAX_VALUE, "%s bytes can't be cut into parts of %s", length, partSize);
+      return new AutoValue_SlicePlan(length, partSize, (int) partCount, length - (partCount - 1) * partSize);
+   }
+
+   /** Whether the payload fits in one part, and so can be sent without composing. */
+   public boolean isSinglePart() {
+      return partCount() == 1;
+   }
+
+   /** Offset in the payload of the part numbered {@code part}. */
+   public long offset(int part) {
+      checkElementIndex(part - 1, partCount(), "part");
+      return (part - 1) * partSize();
+   }
+
+   /** Size of the part numbered {@code part}. */
+   public long size(int part) {
+      checkElementIndex(part - 1, partCount(), "part");
+      return part == partCount() ? lastPartSize() : partSize();
+   }
+}
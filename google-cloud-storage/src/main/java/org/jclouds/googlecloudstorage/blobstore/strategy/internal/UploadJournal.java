@@ -0,0 +1,148 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jclouds.googlecloudstorage.blobstore.strategy.internal;
+
+import static com.google.common.base.Charsets.UTF_8;
+import static java.nio.file.StandardCopyOption.ATOMIC_MOVE;
+import static java.nio.file.StandardCopyOption.REPLACE_EXISTING;
+import static org.jclouds.util.Closeables2.closeQuietly;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.util.Properties;
+
+import org.jclouds.javax.annotation.Nullable;
+import org.jclouds.logging.Logger;
+
+import com.google.auto.value.AutoValue;
+import com.google.common.hash.HashCode;
+import com.google.common.hash.Hashing;
+
+/**
+ * Remembers the resumable upload sessions in progress, one small file per session in a directory, so that an upload
+ * cut short by a restart can continue in its old session. Sessions are keyed by bucket, object name, content hash and
+ * length; a different content for the same object starts a new session.
+ *
+ * <p/>Each file is replaced whole on every update, so a crash leaves either the old or the new offset. The journal is
+ * only a hint: failing to read or write it is logged, never thrown, and the offset it holds is checked against the
+ * session before use.
+ */
+public final class UploadJournal {
+
+   /** An upload session, and the bytes it had committed when last recorded. */
+   @AutoValue
+   public abstract static class Session {
+      public abstract String uploadId();
+
+      public abstract long committed();
+
+      public static Session create(String uploadId, long committed) {
+         return new AutoValue_UploadJournal_Session(uploadId, committed);
+      }
+   }
+
+   private static final String UPLOAD_ID = "uploadId";
+   private static final String COMMITTED = "committed";
+   private static final String KEY = "key";
+
+   private final File directory;
+   private final Logger logger;
+
+   public UploadJournal(File directory, Logger logger) {
+      this.directory = directory;
+      this.logger = logger;
+   }
+
+   public static String key(String container, String name, HashCode contentHash, long length) {
+      return container + "/" + name + "/" + contentHash + "/" + length;
+   }
+
+   /** The session recorded for {@code key}, or null if there is none that can be read. */
+   @Nullable
+   public Session get(String key) {
+      File file = file(key);
+      if (!file.exists()) {
+         return null;
+      }
+      InputStream in = null;
+      try {
+         in = new FileInputStream(file);
+         Properties properties = new Properties();
+         properties.load(in);
+         if (!key.equals(properties.getProperty(KEY))) {
+            return null;
+         }
+         return Session.create(properties.getProperty(UPLOAD_ID), Long.parseLong(properties.getProperty(COMMITTED)));
+      } catch (IOException e) {
+         logger.warn(e, "could not read upload session %s", file);
+         return null;
+      } catch (RuntimeException e) {
+         logger.warn(e, "ignoring corrupt upload session %s", file);
+         return null;
+      } finally {
+         closeQuietly(in);
+      }
+   }
+
+   public void put(String key, String uploadId, long committed) {
+      File file = file(key);
+      Properties properties = new Properties();
+      properties.setProperty(KEY, key);
+      properties.setProperty(UPLOAD_ID, uploadId);
+      properties.setProperty(COMMITTED, String.valueOf(committed));
+      if (!directory.isDirectory() && !directory.mkdirs()) {
+         logger.warn("could not record upload session %s, as %s is not a directory", file, directory);
+         return;
+      }
+      OutputStream out = null;
+      File temp = null;
+      try {
+         temp = File.createTempFile(file.getName(), ".tmp", directory);
+         // anyone holding the upload id can write to the session, so only the owner may read it
+         temp.setReadable(false, false);
+         temp.setReadable(true, true);
+         out = new FileOutputStream(temp);
+         properties.store(out, null);
+         out.close();
+         Files.move(temp.toPath(), file.toPath(), ATOMIC_MOVE, REPLACE_EXISTING);
+      } catch (IOException e) {
+         logger.warn(e, "could not record upload session %s", file);
+         closeQuietly(out);
+         if (temp != null && !temp.delete()) {
+            logger.debug("could not delete %s", temp);
+         }
+      } finally {
+         closeQuietly(out);
+      }
+   }
+
+   public void remove(String key) {
+      File file = file(key);
+      if (file.exists() && !file.delete()) {
+         logger.warn("could not delete upload session %s", file);
+      }
+   }
+
+   private File file(String key) {
+      return new File(directory, Hashing.sha256().hashString(key, UTF_8) + ".upload");
+   }
+}
@@ -16,13 +16,21 @@
  */
 package org.jclouds.googlecloudstorage.config;
 
+import static org.jclouds.Constants.PROPERTY_USER_THREADS;
+
+import javax.inject.Named;
 import javax.inject.Singleton;
 
 import org.jclouds.domain.Credentials;
+import org.jclouds.googlecloud.async.AsyncApis;
 import org.jclouds.googlecloud.config.CurrentProject;
+import org.jclouds.googlecloud.config.WarmUp;
+import org.jclouds.googlecloud.handlers.JitteredBackoffRetryHandler;
 import org.jclouds.googlecloudstorage.GoogleCloudStorageApi;
+import org.jclouds.googlecloudstorage.features.ObjectAsyncApi;
 import org.jclouds.googlecloudstorage.handlers.GoogleCloudStorageErrorHandler;
 import org.jclouds.http.HttpErrorHandler;
+import org.jclouds.http.HttpRetryHandler;
 import org.jclouds.http.annotation.ClientError;
 import org.jclouds.http.annotation.Redirection;
 import org.jclouds.http.annotation.ServerError;
@@ -34,6 +42,7 @@ import org.jclouds.rest.config.HttpApiModule;
 import com.google.common.base.Function;
 import com.google.common.base.Supplier;
 import com.google.common.base.Suppliers;
+import com.google.common.util.concurrent.ListeningExecutorService;
 import com.google.inject.Provides;
 
 @ConfiguresHttpApi
@@ -42,6 +51,7 @@ public class GoogleCloudStorageHttpApiModule extends HttpApiModule<GoogleCloudSt
    @Override public void configure(){
       super.configure();
       bind(OAuthScopes.class).toInstance(GoogleCloudStorageOAuthScopes.create());
+      bind(WarmUp.class).toProvider(WarmUp.Factory.class).asEagerSingleton();
    }
 
    @Override
@@ -51,6 +61,12 @@ public class GoogleCloudStorageHttpApiModule extends HttpApiModule<GoogleCloudSt
       bind(HttpErrorHandler.class).annotatedWith(ServerError.class).to(GoogleCloudStorageErrorHandler.class);
    }
 
+   @Override
+   protected void bindRetryHandlers() {
+      bind(HttpRetryHandler.class).annotatedWith(ClientError.class).to(JitteredBackoffRetryHandler.class);
+      bind(HttpRetryHandler.class).annotatedWith(ServerError.class).to(JitteredBackoffRetryHandler.class);
+   }
+
    @Provides
    @Singleton @CurrentProject
    public Supplier<String> supplyProject(@Provider final Supplier<Credentials> creds) {
@@ -60,4 +76,11 @@ public class GoogleCloudStorageHttpApiModule extends HttpApiModule<GoogleCloudSt
          }
       }, creds);
    }
+
+   @Provides
+   @Singleton
+   ObjectAsyncApi objectAsyncApi(GoogleCloudStorageApi api,
+         @Named(PROPERTY_USER_THREADS) ListeningExecutorService userExecutor) {
+      return AsyncApis.async(api.getObjectApi(), ObjectAsyncApi.class, userExecutor);
+   }
 }
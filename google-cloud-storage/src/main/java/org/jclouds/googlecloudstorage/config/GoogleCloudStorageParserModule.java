@@ -16,23 +16,40 @@
  */
 package org.jclouds.googlecloudstorage.config;
 
+import static com.google.common.base.Preconditions.checkArgument;
+
+import java.io.IOException;
 import java.lang.reflect.Type;
+import java.net.URI;
+import java.util.Date;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
 
 import javax.inject.Singleton;
 
+import org.jclouds.googlecloud.config.InterningAdapterFactory;
 import org.jclouds.googlecloud.config.ListPageAdapterFactory;
+import org.jclouds.googlecloudstorage.domain.DomainResourceReferences.StorageClass;
+import org.jclouds.googlecloudstorage.domain.GoogleCloudStorageObject;
+import org.jclouds.googlecloudstorage.domain.ObjectAccessControls;
+import org.jclouds.googlecloudstorage.domain.Owner;
 import org.jclouds.googlecloudstorage.domain.templates.BucketTemplate;
 import org.jclouds.json.config.GsonModule;
 
 import com.google.common.collect.ImmutableMap;
 import com.google.common.collect.ImmutableSet;
+import com.google.gson.Gson;
 import com.google.gson.JsonElement;
 import com.google.gson.JsonObject;
 import com.google.gson.JsonSerializationContext;
 import com.google.gson.JsonSerializer;
+import com.google.gson.TypeAdapter;
 import com.google.gson.TypeAdapterFactory;
+import com.google.gson.reflect.TypeToken;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.JsonWriter;
 import com.google.inject.AbstractModule;
 import com.google.inject.Provides;
 
@@ -50,7 +67,155 @@ public class GoogleCloudStorageParserModule extends AbstractModule {
 
    // TODO: change jclouds core to use collaborative set bindings
    @Provides @Singleton Set<TypeAdapterFactory> typeAdapterFactories() {
-      return ImmutableSet.<TypeAdapterFactory>of(new ListPageAdapterFactory());
+      return ImmutableSet.<TypeAdapterFactory>of(new ListPageAdapterFactory(), new InterningAdapterFactory(),
+            new ObjectAdapterFactory());
+   }
+
+   /**
+    * Reads objects, of which listings hold thousands, field by field into {@link GoogleCloudStorageObject#create}
+    * rather than reflectively. Field values are read by the adapters gson would use for them, so parse the same.
+    */
+   private static class ObjectAdapterFactory implements TypeAdapterFactory {
+
+      @SuppressWarnings("unchecked")
+      @Override
+      public <T> TypeAdapter<T> create(Gson gson, TypeToken<T> type) {
+         if (type.getRawType() != GoogleCloudStorageObject.class) {
+            return null;
+         }
+         TypeAdapter<GoogleCloudStorageObject> reflective = gson.getDelegateAdapter(this,
+               TypeToken.get(GoogleCloudStorageObject.class));
+         return (TypeAdapter<T>) new ObjectAdapter(gson, reflective);
+      }
+   }
+
+   private static class ObjectAdapter extends TypeAdapter<GoogleCloudStorageObject> {
+      private final TypeAdapter<GoogleCloudStorageObject> reflective;
+      private final TypeAdapter<String> strings;
+      private final TypeAdapter<URI> uris;
+      private final TypeAdapter<Date> dates;
+      private final TypeAdapter<Integer> integers;
+      private final TypeAdapter<StorageClass> storageClasses;
+      private final TypeAdapter<Map<String, String>> metadataMaps;
+      private final TypeAdapter<List<ObjectAccessControls>> aclLists;
+      private final TypeAdapter<Owner> owners;
+
+      ObjectAdapter(Gson gson, TypeAdapter<GoogleCloudStorageObject> reflective) {
+         this.reflective = reflective;
+         this.strings = gson.getAdapter(String.class);
+         this.uris = gson.getAdapter(URI.class);
+         this.dates = gson.getAdapter(Date.class);
+         this.integers = gson.getAdapter(Integer.class);
+         this.storageClasses = gson.getAdapter(StorageClass.class);
+         this.metadataMaps = gson.getAdapter(new TypeToken<Map<String, String>>() { });
+         this.aclLists = gson.getAdapter(new TypeToken<List<ObjectAccessControls>>() { });
+         this.owners = gson.getAdapter(Owner.class);
+      }
+
+      @Override
+      public void write(JsonWriter out, GoogleCloudStorageObject value) throws IOException {
+         reflective.write(out, value);
+      }
+
+      @Override
+      public GoogleCloudStorageObject read(JsonReader in) throws IOException {
+         if (in.peek() == JsonToken.NULL) {
+            in.nextNull();
+            return null;
+         }
+         String id = null;
+         URI selfLink = null;
+         String etag = null;
+         String name = null;
+         String bucket = null;
+         Long generation = null;
+         Long metageneration = null;
+         String contentType = null;
+         Date updated = null;
+         Date timeDeleted = null;
+         StorageClass storageClass = null;
+         Long size = null;
+         String md5Hash = null;
+         URI mediaLink = null;
+         Map<String, String> metadata = null;
+         String contentEncoding = null;
+         String contentDisposition = null;
+         String contentLanguage = null;
+         String cacheControl = null;
+         List<ObjectAccessControls> acl = null;
+         Owner owner = null;
+         String crc32c = null;
+         Integer componentCount = null;
+         in.beginObject();
+         while (in.hasNext()) {
+            String field = in.nextName();
+            if (field.equals("id")) {
+               id = strings.read(in);
+            } else if (field.equals("selfLink")) {
+               selfLink = uris.read(in);
+            } else if (field.equals("etag")) {
+               etag = strings.read(in);
+            } else if (field.equals("name")) {
+               name = strings.read(in);
+            } else if (field.equals("bucket")) {
+               bucket = strings.read(in);
+            } else if (field.equals("generation")) {
+               generation = readLong(in);
+            } else if (field.equals("metageneration")) {
+               metageneration = readLong(in);
+            } else if (field.equals("contentType")) {
+               contentType = strings.read(in);
+            } else if (field.equals("updated")) {
+               updated = dates.read(in);
+            } else if (field.equals("timeDeleted")) {
+               timeDeleted = dates.read(in);
+            } else if (field.equals("storageClass")) {
+               storageClass = storageClasses.read(in);
+            } else if (field.equals("size")) {
+               size = readLong(in);
+            } else if (field.equals("md5Hash")) {
+               md5Hash = strings.read(in);
+            } else if (field.equals("mediaLink")) {
+               mediaLink = uris.read(in);
+            } else if (field.equals("metadata")) {
+               metadata = metadataMaps.read(in);
+            } else if (field.equals("contentEncoding")) {
+               contentEncoding = strings.read(in);
+            } else if (field.equals("contentDisposition")) {
+               contentDisposition = strings.read(in);
+            } else if (field.equals("contentLanguage")) {
+               contentLanguage = strings.read(in);
+            } else if (field.equals("cacheControl")) {
+               cacheControl = strings.read(in);
+            } else if (field.equals("acl")) {
+               acl = aclLists.read(in);
+            } else if (field.equals("owner")) {
+               owner = owners.read(in);
+            } else if (field.equals("crc32c")) {
+               crc32c = strings.read(in);
+            } else if (field.equals("componentCount")) {
+               componentCount = integers.read(in);
+            } else {
+               in.skipValue();
+            }
+         }
+         in.endObject();
+         checkArgument(generation != null, "Primitive generation is not set with a value");
+         checkArgument(metageneration != null, "Primitive metageneration is not set with a value");
+         checkArgument(size != null, "Primitive size is not set with a value");
+         return GoogleCloudStorageObject.create(id, selfLink, etag, name, bucket, generation, metageneration,
+               contentType, updated, timeDeleted, storageClass, size, md5Hash, mediaLink, metadata, contentEncoding,
+               contentDisposition, contentLanguage, cacheControl, acl, owner, crc32c, componentCount);
+      }
+
+      /** Reads numbers, which Google sends quoted, directly rather than through an adapter. */
+      private static Long readLong(JsonReader in) throws IOException {
+         if (in.peek() == JsonToken.NULL) {
+            in.nextNull();
+            return null;
+         }
+         return in.nextLong();
+      }
    }
 
    private static class BucketTemplateTypeAdapter implements JsonSerializer<BucketTemplate> {
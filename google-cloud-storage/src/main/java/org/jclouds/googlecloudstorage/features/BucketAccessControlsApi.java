@@ -31,6 +31,8 @@ import javax.ws.rs.PathParam;
 import javax.ws.rs.Produces;
 
 import org.jclouds.Fallbacks.NullOnNotFoundOr404;
+import org.jclouds.googlecloud.cache.ConditionalGetFilter;
+import org.jclouds.googlecloud.filters.RateLimitFilter;
 import org.jclouds.googlecloudstorage.domain.BucketAccessControls;
 import org.jclouds.googlecloudstorage.domain.templates.BucketAccessControlsTemplate;
 import org.jclouds.http.HttpResponse;
@@ -51,7 +53,7 @@ import org.jclouds.rest.binders.BindToJsonPayload;
  */
 
 @SkipEncoding({ '/', '=' })
-@RequestFilters(OAuthFilter.class)
+@RequestFilters({ RateLimitFilter.class, ConditionalGetFilter.class, OAuthFilter.class })
 @Consumes(APPLICATION_JSON)
 public interface BucketAccessControlsApi {
 
@@ -33,7 +33,11 @@ import org.jclouds.Fallbacks.FalseOnNotFoundOr404;
 import org.jclouds.Fallbacks.NullOnNotFoundOr404;
 import org.jclouds.Fallbacks.TrueOnNotFoundOr404;
 import org.jclouds.blobstore.BlobStoreFallbacks.NullOnKeyAlreadyExists;
+import org.jclouds.googlecloud.cache.CachedOnNotModifiedOrNullOnNotFoundOr404;
+import org.jclouds.googlecloud.cache.ConditionalGetFilter;
+import org.jclouds.googlecloud.cache.ParseJsonAndCache;
 import org.jclouds.googlecloud.domain.ListPage;
+import org.jclouds.googlecloud.filters.RateLimitFilter;
 import org.jclouds.googlecloudstorage.GoogleCloudStorageFallbacks.NullOnBucketAlreadyExists;
 import org.jclouds.googlecloudstorage.domain.Bucket;
 import org.jclouds.googlecloudstorage.domain.templates.BucketTemplate;
@@ -48,6 +52,7 @@ import org.jclouds.rest.annotations.BinderParam;
 import org.jclouds.rest.annotations.Fallback;
 import org.jclouds.rest.annotations.PATCH;
 import org.jclouds.rest.annotations.RequestFilters;
+import org.jclouds.rest.annotations.ResponseParser;
 import org.jclouds.rest.annotations.SkipEncoding;
 import org.jclouds.rest.binders.BindToJsonPayload;
 
@@ -58,7 +63,7 @@ import org.jclouds.rest.binders.BindToJsonPayload;
  */
 
 @SkipEncoding({ '/', '=' })
-@RequestFilters(OAuthFilter.class)
+@RequestFilters({ RateLimitFilter.class, ConditionalGetFilter.class, OAuthFilter.class })
 @Consumes(APPLICATION_JSON)
 public interface BucketApi {
 
@@ -88,7 +93,8 @@ public interface BucketApi {
    @GET
    @Produces(APPLICATION_JSON)
    @Path("/b/{bucket}")
-   @Fallback(NullOnNotFoundOr404.class)
+   @ResponseParser(ParseJsonAndCache.class)
+   @Fallback(CachedOnNotModifiedOrNullOnNotFoundOr404.class)
    @Nullable
    Bucket getBucket(@PathParam("bucket") String bucketName);
 
@@ -106,7 +112,8 @@ public interface BucketApi {
    @GET
    @Produces(APPLICATION_JSON)
    @Path("/b/{bucket}")
-   @Fallback(NullOnNotFoundOr404.class)
+   @ResponseParser(ParseJsonAndCache.class)
+   @Fallback(CachedOnNotModifiedOrNullOnNotFoundOr404.class)
    @Nullable
    Bucket getBucket(@PathParam("bucket") String bucketName, GetBucketOptions options);
 
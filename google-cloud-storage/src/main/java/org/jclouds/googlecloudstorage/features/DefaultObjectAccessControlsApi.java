@@ -32,6 +32,8 @@ import javax.ws.rs.Produces;
 import javax.ws.rs.QueryParam;
 
 import org.jclouds.Fallbacks.NullOnNotFoundOr404;
+import org.jclouds.googlecloud.cache.ConditionalGetFilter;
+import org.jclouds.googlecloud.filters.RateLimitFilter;
 import org.jclouds.googlecloudstorage.domain.DomainResourceReferences.ObjectRole;
 import org.jclouds.googlecloudstorage.domain.ObjectAccessControls;
 import org.jclouds.googlecloudstorage.domain.templates.ObjectAccessControlsTemplate;
@@ -53,7 +55,7 @@ import org.jclouds.rest.binders.BindToJsonPayload;
  */
 
 @SkipEncoding({ '/', '=' })
-@RequestFilters(OAuthFilter.class)
+@RequestFilters({ RateLimitFilter.class, ConditionalGetFilter.class, OAuthFilter.class })
 @Consumes(APPLICATION_JSON)
 public interface DefaultObjectAccessControlsApi {
 
@@ -32,6 +32,10 @@ import javax.ws.rs.Produces;
 import org.jclouds.Fallbacks.FalseOnNotFoundOr404;
 import org.jclouds.Fallbacks.NullOnNotFoundOr404;
 import org.jclouds.Fallbacks.TrueOnNotFoundOr404;
+import org.jclouds.googlecloud.cache.CachedOnNotModifiedOrNullOnNotFoundOr404;
+import org.jclouds.googlecloud.cache.ConditionalGetFilter;
+import org.jclouds.googlecloud.cache.ParseJsonAndCache;
+import org.jclouds.googlecloud.filters.RateLimitFilter;
 import org.jclouds.googlecloudstorage.binders.MultipartUploadBinder;
 import org.jclouds.googlecloudstorage.binders.UploadBinder;
 import org.jclouds.googlecloudstorage.domain.GoogleCloudStorageObject;
@@ -67,7 +71,7 @@ import org.jclouds.rest.binders.BindToJsonPayload;
  * @see <a href="https://developers.google.com/storage/docs/json_api/v1/objects"/>
  */
 @SkipEncoding({ '/', '=' })
-@RequestFilters(OAuthFilter.class)
+@RequestFilters({ RateLimitFilter.class, ConditionalGetFilter.class, OAuthFilter.class })
 public interface ObjectApi {
 
    /**
@@ -101,7 +105,8 @@ public interface ObjectApi {
    @GET
    @Path("storage/v1/b/{bucket}/o/{object}")
    @Consumes(APPLICATION_JSON)
-   @Fallback(NullOnNotFoundOr404.class)
+   @ResponseParser(ParseJsonAndCache.class)
+   @Fallback(CachedOnNotModifiedOrNullOnNotFoundOr404.class)
    @Nullable
    GoogleCloudStorageObject getObject(@PathParam("bucket") String bucketName, @PathParam("object") String objectName);
 
@@ -121,7 +126,8 @@ public interface ObjectApi {
    @GET
    @Path("storage/v1/b/{bucket}/o/{object}")
    @Consumes(APPLICATION_JSON)
-   @Fallback(NullOnNotFoundOr404.class)
+   @ResponseParser(ParseJsonAndCache.class)
+   @Fallback(CachedOnNotModifiedOrNullOnNotFoundOr404.class)
    @Nullable
    GoogleCloudStorageObject getObject(@PathParam("bucket") String bucketName, @PathParam("object") String objectName,
             GetObjectOptions options);
@@ -0,0 +1,114 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jclouds.googlecloudstorage.features;
+
+import org.jclouds.googlecloudstorage.domain.GoogleCloudStorageObject;
+import org.jclouds.googlecloudstorage.domain.ListPageWithPrefixes;
+import org.jclouds.googlecloudstorage.domain.templates.ComposeObjectTemplate;
+import org.jclouds.googlecloudstorage.domain.templates.ObjectTemplate;
+import org.jclouds.googlecloudstorage.options.ComposeObjectOptions;
+import org.jclouds.googlecloudstorage.options.CopyObjectOptions;
+import org.jclouds.googlecloudstorage.options.DeleteObjectOptions;
+import org.jclouds.googlecloudstorage.options.GetObjectOptions;
+import org.jclouds.googlecloudstorage.options.InsertObjectOptions;
+import org.jclouds.googlecloudstorage.options.ListObjectOptions;
+import org.jclouds.googlecloudstorage.options.UpdateObjectOptions;
+import org.jclouds.io.Payload;
+import org.jclouds.io.PayloadEnclosing;
+
+import com.google.common.util.concurrent.ListenableFuture;
+
+/**
+ * {@link ObjectApi}, with each call returning a future of its result.
+ *
+ * <pre>
+ * ObjectAsyncApi objects = api.getObjectAsyncApi();
+ * </pre>
+ *
+ * @see org.jclouds.googlecloud.async.AsyncApis
+ */
+public interface ObjectAsyncApi {
+
+   /** @see ObjectApi#objectExists(String, String) */
+   ListenableFuture<Boolean> objectExists(String bucketName, String objectName);
+
+   /** @see ObjectApi#getObject(String, String) */
+   ListenableFuture<GoogleCloudStorageObject> getObject(String bucketName, String objectName);
+
+   /** @see ObjectApi#getObject(String, String, GetObjectOptions) */
+   ListenableFuture<GoogleCloudStorageObject> getObject(String bucketName, String objectName,
+         GetObjectOptions options);
+
+   /** @see ObjectApi#download(String, String) */
+   ListenableFuture<PayloadEnclosing> download(String bucketName, String objectName);
+
+   /** @see ObjectApi#download(String, String, GetObjectOptions) */
+   ListenableFuture<PayloadEnclosing> download(String bucketName, String objectName, GetObjectOptions options);
+
+   /** @see ObjectApi#simpleUpload(String, String, Long, Payload, InsertObjectOptions) */
+   ListenableFuture<GoogleCloudStorageObject> simpleUpload(String bucketName, String contentType,
+         Long contentLength, Payload payload, InsertObjectOptions options);
+
+   /** @see ObjectApi#deleteObject(String, String) */
+   ListenableFuture<Boolean> deleteObject(String bucketName, String objectName);
+
+   /** @see ObjectApi#deleteObject(String, String, DeleteObjectOptions) */
+   ListenableFuture<Boolean> deleteObject(String bucketName, String objectName, DeleteObjectOptions options);
+
+   /** @see ObjectApi#listObjects(String) */
+   ListenableFuture<ListPageWithPrefixes<GoogleCloudStorageObject>> listObjects(String bucketName);
+
+   /** @see ObjectApi#listObjects(String, ListObjectOptions) */
+   ListenableFuture<ListPageWithPrefixes<GoogleCloudStorageObject>> listObjects(String bucketName,
+         ListObjectOptions options);
+
+   /** @see ObjectApi#updateObject(String, String, ObjectTemplate) */
+   ListenableFuture<GoogleCloudStorageObject> updateObject(String bucketName, String objectName,
+         ObjectTemplate objectTemplate);
+
+   /** @see ObjectApi#updateObject(String, String, ObjectTemplate, UpdateObjectOptions) */
+   ListenableFuture<GoogleCloudStorageObject> updateObject(String bucketName, String objectName,
+         ObjectTemplate objectTemplate, UpdateObjectOptions options);
+
+   /** @see ObjectApi#patchObject(String, String, ObjectTemplate) */
+   ListenableFuture<GoogleCloudStorageObject> patchObject(String bucketName, String objectName,
+         ObjectTemplate objectTemplate);
+
+   /** @see ObjectApi#patchObject(String, String, ObjectTemplate, UpdateObjectOptions) */
+   ListenableFuture<GoogleCloudStorageObject> patchObject(String bucketName, String objectName,
+         ObjectTemplate objectTemplate, UpdateObjectOptions options);
+
+   /** @see ObjectApi#composeObjects(String, String, ComposeObjectTemplate) */
+   ListenableFuture<GoogleCloudStorageObject> composeObjects(String destinationBucket, String destinationObject,
+         ComposeObjectTemplate composeObjectTemplate);
+
+   /** @see ObjectApi#composeObjects(String, String, ComposeObjectTemplate, ComposeObjectOptions) */
+   ListenableFuture<GoogleCloudStorageObject> composeObjects(String destinationBucket, String destinationObject,
+         ComposeObjectTemplate composeObjectTemplate, ComposeObjectOptions options);
+
+   /** @see ObjectApi#copyObject(String, String, String, String) */
+   ListenableFuture<GoogleCloudStorageObject> copyObject(String destinationBucket, String destinationObject,
+         String sourceBucket, String sourceObject);
+
+   /** @see ObjectApi#copyObject(String, String, String, String, CopyObjectOptions) */
+   ListenableFuture<GoogleCloudStorageObject> copyObject(String destinationBucket, String destinationObject,
+         String sourceBucket, String sourceObject, CopyObjectOptions options);
+
+   /** @see ObjectApi#multipartUpload(String, ObjectTemplate, Payload) */
+   ListenableFuture<GoogleCloudStorageObject> multipartUpload(String bucketName, ObjectTemplate objectTemplate,
+         Payload payload);
+}
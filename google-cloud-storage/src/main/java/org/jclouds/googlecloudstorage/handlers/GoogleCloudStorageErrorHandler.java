@@ -16,22 +16,36 @@
  */
 package org.jclouds.googlecloudstorage.handlers;
 
+import static org.jclouds.googlecloud.internal.RateLimits.isRateLimited;
 import static org.jclouds.http.HttpUtils.closeClientButKeepContentStream;
 
 import javax.inject.Singleton;
 
+import org.jclouds.googlecloud.filters.RateLimitFilter;
 import org.jclouds.http.HttpCommand;
 import org.jclouds.http.HttpErrorHandler;
 import org.jclouds.http.HttpResponse;
 import org.jclouds.http.HttpResponseException;
+import org.jclouds.oauth.v2.config.CredentialPool;
 import org.jclouds.rest.AuthorizationException;
 import org.jclouds.rest.ResourceNotFoundException;
 
+import com.google.inject.Inject;
+
 /**
  * This will parse and set an appropriate exception on the command object.
  */
 @Singleton
 public class GoogleCloudStorageErrorHandler implements HttpErrorHandler {
+
+   /** Told which service account got throttled, so that others take over while it backs off. */
+   @Inject(optional = true)
+   private CredentialPool credentialPool;
+
+   /** Told which method got throttled, so that its rate backs off. */
+   @Inject(optional = true)
+   private RateLimitFilter rateLimitFilter;
+
    public void handleError(HttpCommand command, HttpResponse response) {
       // it is important to always read fully and close streams
       byte[] data = closeClientButKeepContentStream(response);
@@ -41,6 +55,14 @@ public class GoogleCloudStorageErrorHandler implements HttpErrorHandler {
               : new HttpResponseException(command, response);
       message = message != null ? message : String.format("%s -> %s", command.getCurrentRequest().getRequestLine(),
               response.getStatusLine());
+      if (isRateLimited(response.getStatusCode(), message)) {
+         if (credentialPool != null) {
+            credentialPool.throttled(command.getCurrentRequest());
+         }
+         if (rateLimitFilter != null) {
+            rateLimitFilter.throttled(command.getCurrentRequest());
+         }
+      }
 
       String message411 = "MissingContentLength: You must provide the Content-Length HTTP header.\n";
       String message412 = "PreconditionFailed: At least one of the pre-conditions you specified did not hold.\n";
@@ -53,6 +75,7 @@ public class GoogleCloudStorageErrorHandler implements HttpErrorHandler {
             exception = new AuthorizationException(message, exception);
             break;
          case 404:            
+         case 410:
              exception = new ResourceNotFoundException(message, exception);           
              break;
          case 409:
@@ -21,6 +21,8 @@ import static com.google.common.base.Preconditions.checkNotNull;
 import org.jclouds.googlecloudstorage.domain.DomainResourceReferences.Projection;
 import org.jclouds.http.options.BaseHttpRequestOptions;
 
+import com.google.common.base.Joiner;
+
 /**
  * Allows to optionally specify ifMetagenerationMatch,ifMetagenerationNotMatch and projection which used in Bucket
  */
@@ -43,6 +45,15 @@ public class GetBucketOptions extends BaseHttpRequestOptions {
       return this;
    }
 
+   /**
+    * Sets the fields to return, in the partial response syntax of Google APIs. Fields the domain type requires
+    * must be included.
+    */
+   public GetBucketOptions fields(String... fields) {
+      this.queryParameters.put("fields", Joiner.on(',').join(checkNotNull(fields, "fields")));
+      return this;
+   }
+
    public static class Builder {
 
       public GetBucketOptions ifMetagenerationMatch(Long ifMetagenerationMatch) {
@@ -57,5 +68,9 @@ public class GetBucketOptions extends BaseHttpRequestOptions {
          return new GetBucketOptions().projection(projection);
       }
 
+
+      public GetBucketOptions fields(String... fields) {
+         return new GetBucketOptions().fields(fields);
+      }
    }
 }
@@ -21,6 +21,8 @@ import static com.google.common.base.Preconditions.checkNotNull;
 import org.jclouds.googlecloudstorage.domain.DomainResourceReferences.Projection;
 import org.jclouds.http.options.BaseHttpRequestOptions;
 
+import com.google.common.base.Joiner;
+
 /**
  * Allows to optionally specify generation,ifGenerationMatch,ifGenerationNotMatch, ifMetagenerationMatch,ifMetagenerationNotMatch and projection which used in Bucket
  */
@@ -58,6 +60,15 @@ public class GetObjectOptions extends BaseHttpRequestOptions {
       return this;
    }
 
+   /**
+    * Sets the fields to return, in the partial response syntax of Google APIs. Fields the domain type requires
+    * must be included.
+    */
+   public GetObjectOptions fields(String... fields) {
+      this.queryParameters.put("fields", Joiner.on(',').join(checkNotNull(fields, "fields")));
+      return this;
+   }
+
    public static class Builder {
 
       public GetObjectOptions ifGenerationMatch(Long ifGenerationMatch) {
@@ -83,5 +94,9 @@ public class GetObjectOptions extends BaseHttpRequestOptions {
       public GetObjectOptions projection(Projection projection) {
          return new GetObjectOptions().projection(projection);
       }
+
+      public GetObjectOptions fields(String... fields) {
+         return new GetObjectOptions().fields(fields);
+      }
    }
 }
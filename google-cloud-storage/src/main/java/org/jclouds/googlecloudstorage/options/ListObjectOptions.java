@@ -21,6 +21,8 @@ import static com.google.common.base.Preconditions.checkNotNull;
 import org.jclouds.googlecloudstorage.domain.DomainResourceReferences.Projection;
 import org.jclouds.http.options.BaseHttpRequestOptions;
 
+import com.google.common.base.Joiner;
+
 public class ListObjectOptions extends BaseHttpRequestOptions {
 
    public ListObjectOptions delimiter(String delimiter) {
@@ -53,6 +55,16 @@ public class ListObjectOptions extends BaseHttpRequestOptions {
       return this;
    }
 
+   /**
+    * Sets the fields to return, in the partial response syntax of Google APIs. Resources are nested in
+    * {@code items}, as in {@code fields("nextPageToken", "prefixes", "items(name,size,updated)")}. Fields the domain
+    * type requires must be included.
+    */
+   public ListObjectOptions fields(String... fields) {
+      this.queryParameters.put("fields", Joiner.on(',').join(checkNotNull(fields, "fields")));
+      return this;
+   }
+
    public static class Builder {
 
       public ListObjectOptions delimiter(String delimiter) {
@@ -78,5 +90,9 @@ public class ListObjectOptions extends BaseHttpRequestOptions {
       public ListObjectOptions projection(Projection projection) {
          return new ListObjectOptions().projection(projection);
       }
+
+      public ListObjectOptions fields(String... fields) {
+         return new ListObjectOptions().fields(fields);
+      }
    }
 }
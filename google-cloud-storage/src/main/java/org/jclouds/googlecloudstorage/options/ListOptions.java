@@ -31,6 +31,10 @@ public class ListOptions extends org.jclouds.googlecloud.options.ListOptions {
       return (ListOptions) super.maxResults(maxResults);
    }
 
+   @Override public ListOptions fields(String... fields) {
+      return (ListOptions) super.fields(fields);
+   }
+
    public ListOptions projection(Projection projection) {
       this.queryParameters.put("projection", checkNotNull(projection, "projection").toString());
       return this;
@@ -49,5 +53,9 @@ public class ListOptions extends org.jclouds.googlecloud.options.ListOptions {
       public ListOptions projection(Projection projection) {
          return new ListOptions().projection(projection);
       }
+
+      public ListOptions fields(String... fields) {
+         return new ListOptions().fields(fields);
+      }
    }
 }
@@ -44,12 +44,12 @@ public class ParseToResumableUpload implements Function<HttpResponse, ResumableU
          upperLimit = getUpperLimitFromRange(range);
          lowerLimit = getLowerLimitFromRange(range);
          if (lowerLimit != null && upperLimit != null) {
-            checkArgument(lowerLimit < upperLimit, "lower range must less than upper range, was: %s - %s", lowerLimit,
-                  upperLimit);
+            checkArgument(lowerLimit <= upperLimit, "lower range must not exceed upper range, was: %s - %s",
+                  lowerLimit, upperLimit);
          }
       }
 
-      return ResumableUpload.create(response.getStatusCode(), contentLength, uploadId, upperLimit, lowerLimit);
+      return ResumableUpload.create(response.getStatusCode(), uploadId, contentLength, lowerLimit, upperLimit);
    }
 
    // Return the Id of the Upload
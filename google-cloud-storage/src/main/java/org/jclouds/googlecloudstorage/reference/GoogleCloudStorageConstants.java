@@ -34,4 +34,60 @@ public final class GoogleCloudStorageConstants {
     */
    @Beta
    public static final String OPERATION_COMPLETE_INTERVAL = "jclouds.google-cloud-storage.operation-complete-interval";
+
+   /**
+    * How many parts of a multipart upload to send at once. When set, multipart uploads go through
+    * {@link org.jclouds.googlecloudstorage.blobstore.strategy.internal.ParallelMultipartUploadStrategy}, rather than
+    * sending one part after another.
+    *
+    * <p/>Parts of a payload that can't be read twice, such as a stream, are read into memory so that they can be sent
+    * again, which takes up to this many parts of heap per upload. Parts larger than
+    * {@link #PARALLEL_UPLOAD_BUFFER_SIZE} are sent one after another instead.
+    */
+   @Beta
+   public static final String PARALLEL_UPLOAD_DEGREE = "jclouds.mpu.parallel.degree";
+
+   /**
+    * The largest part, in bytes, of a payload that can't be read twice that a parallel multipart upload reads into
+    * memory. Uploads with larger parts are sent one part after another, straight off the payload. Defaults to 32 MiB.
+    */
+   @Beta
+   public static final String PARALLEL_UPLOAD_BUFFER_SIZE = "jclouds.mpu.parallel.buffer.size";
+
+   /**
+    * How many times a part of a parallel multipart upload that failed to upload is sent again.
+    */
+   @Beta
+   public static final String PARALLEL_UPLOAD_RETRIES = "jclouds.mpu.parallel.retries";
+
+   /**
+    * The shortest wait, in msecs, before a part of a parallel multipart upload that failed to upload is sent again.
+    */
+   @Beta
+   public static final String PARALLEL_UPLOAD_BACKOFF = "jclouds.mpu.parallel.backoff";
+
+   /**
+    * Size, in bytes, of the chunks a multipart upload sends over one resumable upload session. When set, multipart
+    * uploads go through
+    * {@link org.jclouds.googlecloudstorage.blobstore.strategy.internal.ResumableUploadStrategy}; the size is rounded
+    * down to a multiple of 256 KiB.
+    */
+   @Beta
+   public static final String RESUMABLE_UPLOAD_CHUNK_SIZE = "jclouds.mpu.resumable.chunk.size";
+
+   /**
+    * How many times a resumable upload asks for the bytes committed and resumes, after failing to send a chunk.
+    */
+   @Beta
+   public static final String RESUMABLE_UPLOAD_RETRIES = "jclouds.mpu.resumable.retries";
+
+   /**
+    * Directory in which resumable uploads record their sessions, so that an upload cut short by a restart continues
+    * where it stopped. When set, multipart uploads go through
+    * {@link org.jclouds.googlecloudstorage.blobstore.strategy.internal.ResumableUploadStrategy}.
+    *
+    * @see org.jclouds.googlecloudstorage.blobstore.strategy.internal.UploadJournal
+    */
+   @Beta
+   public static final String RESUMABLE_UPLOAD_JOURNAL = "jclouds.mpu.resumable.journal";
 }
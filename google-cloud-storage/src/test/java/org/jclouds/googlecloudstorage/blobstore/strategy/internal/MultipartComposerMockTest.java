@@ -0,0 +1,186 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jclouds.googlecloudstorage.blobstore.strategy.internal;
+
+import static com.google.common.base.Charsets.UTF_8;
+import static org.jclouds.googlecloud.config.GoogleCloudProperties.CREDENTIAL_TYPE;
+import static org.jclouds.oauth.v2.config.CredentialType.BEARER_TOKEN_CREDENTIALS;
+import static org.jclouds.util.Strings2.toStringAndClose;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.fail;
+
+import java.io.IOException;
+import java.net.URI;
+import java.util.Date;
+import java.util.List;
+import java.util.Properties;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.jclouds.ContextBuilder;
+import org.jclouds.googlecloudstorage.GoogleCloudStorageProviderMetadata;
+import org.jclouds.googlecloudstorage.domain.DomainResourceReferences.StorageClass;
+import org.jclouds.googlecloudstorage.domain.GoogleCloudStorageObject;
+import org.jclouds.googlecloudstorage.domain.templates.ObjectTemplate;
+import org.jclouds.http.HttpResponseException;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import com.google.common.collect.ImmutableSet;
+import com.google.common.collect.Lists;
+import com.google.common.collect.Sets;
+import com.squareup.okhttp.mockwebserver.Dispatcher;
+import com.squareup.okhttp.mockwebserver.MockResponse;
+import com.squareup.okhttp.mockwebserver.MockWebServer;
+import com.squareup.okhttp.mockwebserver.RecordedRequest;
+
+@Test(groups = "unit", testName = "MultipartComposerMockTest", singleThreaded = true)
+public class MultipartComposerMockTest {
+
+   private final String identity = "761326798069-r5mljlln1rd4lrbhg75efgigp36m78j5@developer.gserviceaccount.com";
+   private final String credential = "1/8xbJqaOZXSUZbHLl5EOtu1pxz3fmmetKx9W8CV4t79M"; // Fake Bearer Token
+
+   private MockWebServer server;
+   private Storage storage;
+
+   /** Composes and deletes objects, recording the names composed and how many objects were deleted. */
+   private final class Storage extends Dispatcher {
+      final Set<String> composed = Sets.newConcurrentHashSet();
+      final AtomicInteger batches = new AtomicInteger();
+      final AtomicInteger deleted = new AtomicInteger();
+      volatile boolean failComposes;
+
+      @Override public MockResponse dispatch(RecordedRequest request) {
+         String path = request.getPath();
+         if (path.endsWith("/compose")) {
+            if (failComposes) {
+               return new MockResponse().setResponseCode(500);
+            }
+            String name = path.substring("/storage/v1/b/bucket/o/".length(), path.length() - "/compose".length());
+            composed.add(name);
+            return objectResponse(name);
+         }
+         batches.incrementAndGet();
+         String body = new String(request.getBody(), UTF_8);
+         StringBuilder response = new StringBuilder();
+         for (int item = 0; body.contains("Content-ID: <item" + item + ">"); item++) {
+            if (body.contains("Content-ID: <item" + item + ">\r\n\r\nDELETE /storage/v1/b/bucket/o/")) {
+               deleted.incrementAndGet();
+            }
+            response.append("--batch_boundary\r\n")
+                  .append("Content-Type: application/http\r\n")
+                  .append("Content-ID: <response-item").append(item).append(">\r\n\r\n")
+                  .append("HTTP/1.1 204 No Content\r\n\r\n\r\n");
+         }
+         return new MockResponse().addHeader("Content-Type", "multipart/mixed; boundary=batch_boundary")
+               .setBody(response.append("--batch_boundary--\r\n").toString());
+      }
+   }
+
+   @BeforeMethod
+   public void start() throws IOException {
+      server = new MockWebServer();
+      storage = new Storage();
+      server.setDispatcher(storage);
+      server.play();
+   }
+
+   @AfterMethod(alwaysRun = true)
+   public void stop() throws IOException {
+      server.shutdown();
+   }
+
+   public void fewPartsComposedAtOnce() {
+      GoogleCloudStorageObject composed = composer().compose("bucket", parts(MultipartComposer.MAX_SOURCES),
+            destination());
+
+      assertEquals(composed.name(), "big");
+      assertEquals(storage.composed, ImmutableSet.of("big"));
+      assertEquals(storage.batches.get(), 1);
+      assertEquals(storage.deleted.get(), MultipartComposer.MAX_SOURCES);
+   }
+
+   public void manyPartsComposedInRounds() {
+      composer().compose("bucket", parts(1000), destination());
+
+      // 1000 parts into 32 objects, then those into the destination
+      assertEquals(storage.composed.size(), 32 + 1);
+      assertEquals(storage.composed.contains("big_compose1_01"), true);
+      assertEquals(storage.composed.contains("big_compose1_32"), true);
+      assertEquals(storage.deleted.get(), 1000 + 32);
+      assertEquals(storage.batches.get(), 11);
+   }
+
+   public void thousandsOfPartsTakeThreeRounds() {
+      composer().compose("bucket", parts(10000), destination());
+
+      // 10000 parts into 313 objects, those into 10, then those into the destination
+      assertEquals(storage.composed.size(), 313 + 10 + 1);
+      assertEquals(storage.composed.contains("big_compose2_10"), true);
+      assertEquals(storage.deleted.get(), 10000 + 313 + 10);
+   }
+
+   public void failedComposeKeepsParts() {
+      storage.failComposes = true;
+
+      try {
+         composer().compose("bucket", parts(100), destination());
+         fail();
+      } catch (HttpResponseException expected) {
+      }
+      assertEquals(storage.batches.get(), 0);
+   }
+
+   private MultipartComposer composer() {
+      Properties overrides = new Properties();
+      overrides.put(CREDENTIAL_TYPE, BEARER_TOKEN_CREDENTIALS.toString());
+      return ContextBuilder.newBuilder(new GoogleCloudStorageProviderMetadata())
+            .credentials(identity, credential)
+            .endpoint(server.getUrl("").toString())
+            .overrides(overrides)
+            .buildInjector().getInstance(MultipartComposer.class);
+   }
+
+   private static ObjectTemplate destination() {
+      return new ObjectTemplate().name("big").contentType("application/octet-stream");
+   }
+
+   private static List<GoogleCloudStorageObject> parts(int count) {
+      List<GoogleCloudStorageObject> parts = Lists.newArrayList();
+      for (int i = 1; i <= count; i++) {
+         parts.add(object("big_" + i));
+      }
+      return parts;
+   }
+
+   private static GoogleCloudStorageObject object(String name) {
+      return GoogleCloudStorageObject.create("bucket/" + name + "/1", URI.create("https://example.com/" + name), "etag",
+            name, "bucket", 1L, 1L, "application/octet-stream", new Date(0), null, StorageClass.STANDARD, 1024L, null,
+            URI.create("https://example.com/download/" + name), null, null, null, null, null, null, null, null, null);
+   }
+
+   private MockResponse objectResponse(String name) {
+      try {
+         return new MockResponse().addHeader("Content-Type", "application/json")
+               .setBody(toStringAndClose(getClass().getResourceAsStream("/object_get.json"))
+                     .replace("foo.txt", name));
+      } catch (IOException e) {
+         throw new AssertionError(e);
+      }
+   }
+}
@@ -0,0 +1,222 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jclouds.googlecloudstorage.blobstore.strategy.internal;
+
+import static com.google.common.base.Charsets.UTF_8;
+import static org.jclouds.blobstore.options.PutOptions.Builder.multipart;
+import static org.jclouds.googlecloud.config.GoogleCloudProperties.CREDENTIAL_TYPE;
+import static org.jclouds.googlecloudstorage.reference.GoogleCloudStorageConstants.PARALLEL_UPLOAD_BACKOFF;
+import static org.jclouds.googlecloudstorage.reference.GoogleCloudStorageConstants.PARALLEL_UPLOAD_BUFFER_SIZE;
+import static org.jclouds.googlecloudstorage.reference.GoogleCloudStorageConstants.PARALLEL_UPLOAD_DEGREE;
+import static org.jclouds.oauth.v2.config.CredentialType.BEARER_TOKEN_CREDENTIALS;
+import static org.jclouds.util.Strings2.toStringAndClose;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertTrue;
+import static org.testng.Assert.fail;
+
+import java.io.ByteArrayInputStream;
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.List;
+import java.util.Properties;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.jclouds.ContextBuilder;
+import org.jclouds.blobstore.BlobStore;
+import org.jclouds.blobstore.BlobStoreContext;
+import org.jclouds.blobstore.domain.Blob;
+import org.jclouds.googlecloudstorage.GoogleCloudStorageProviderMetadata;
+import org.jclouds.http.HttpResponseException;
+import org.jclouds.io.Payload;
+import org.jclouds.io.Payloads;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import com.google.common.base.Stopwatch;
+import com.google.common.collect.Lists;
+import com.squareup.okhttp.mockwebserver.Dispatcher;
+import com.squareup.okhttp.mockwebserver.MockResponse;
+import com.squareup.okhttp.mockwebserver.MockWebServer;
+import com.squareup.okhttp.mockwebserver.RecordedRequest;
+
+/**
+ * Uploads a blob of {@value #PARTS} parts to a server that takes {@value #UPLOAD_MILLIS}ms to store each part.
+ */
+@Test(groups = "unit", testName = "ParallelMultipartUploadStrategyMockTest", singleThreaded = true)
+public class ParallelMultipartUploadStrategyMockTest {
+
+   static final int PARTS = 8;
+   static final int PART_SIZE = 1024;
+   static final long UPLOAD_MILLIS = 200;
+
+   private final String identity = "761326798069-r5mljlln1rd4lrbhg75efgigp36m78j5@developer.gserviceaccount.com";
+   private final String credential = "1/8xbJqaOZXSUZbHLl5EOtu1pxz3fmmetKx9W8CV4t79M"; // Fake Bearer Token
+
+   private MockWebServer server;
+   private SlowUploads uploads;
+   private final List<Closeable> contexts = Lists.newArrayList();
+
+   /** Stores parts slowly, keeping count of how many are stored at once, and fails the parts it is told to. */
+   private final class SlowUploads extends Dispatcher {
+      final AtomicInteger inFlight = new AtomicInteger();
+      final AtomicInteger maxInFlight = new AtomicInteger();
+      final AtomicInteger failuresLeft = new AtomicInteger();
+      final AtomicInteger composes = new AtomicInteger();
+      volatile String failingPart = "none";
+
+      @Override public MockResponse dispatch(RecordedRequest request) throws InterruptedException {
+         if (!request.getPath().startsWith("/upload/")) {
+            if (request.getPath().endsWith("/compose")) {
+               composes.incrementAndGet();
+            }
+            return objectResponse();
+         }
+         int current = inFlight.incrementAndGet();
+         try {
+            int max = maxInFlight.get();
+            while (current > max && !maxInFlight.compareAndSet(max, current)) {
+               max = maxInFlight.get();
+            }
+            Thread.sleep(UPLOAD_MILLIS);
+            if (new String(request.getBody(), UTF_8).contains("\"name\":\"" + failingPart + "\"")
+                  && failuresLeft.getAndDecrement() > 0) {
+               return new MockResponse().setResponseCode(500);
+            }
+            return objectResponse();
+         } finally {
+            inFlight.decrementAndGet();
+         }
+      }
+   }
+
+   @BeforeMethod
+   public void start() throws IOException {
+      server = new MockWebServer();
+      uploads = new SlowUploads();
+      server.setDispatcher(uploads);
+      server.play();
+   }
+
+   @AfterMethod(alwaysRun = true)
+   public void stop() throws IOException {
+      for (Closeable context : contexts) {
+         context.close();
+      }
+      contexts.clear();
+      server.shutdown();
+   }
+
+   /** Each degree takes {@code PARTS / degree} rounds of uploads, and less than one round more. */
+   public void scalesWithParallelDegree() {
+      for (int degree : new int[] { 1, 2, 4 }) {
+         uploads.maxInFlight.set(0);
+         BlobStore blobStore = blobStore(degree);
+
+         Stopwatch watch = Stopwatch.createStarted();
+         assertEquals(putBlob(blobStore), "CIix/dmj/rwCEAE=");
+         long elapsedMillis = watch.elapsed(TimeUnit.MILLISECONDS);
+
+         assertEquals(uploads.maxInFlight.get(), degree);
+         long roundsMillis = PARTS / degree * UPLOAD_MILLIS;
+         assertTrue(elapsedMillis >= roundsMillis && elapsedMillis < roundsMillis + UPLOAD_MILLIS,
+               "degree " + degree + " took " + elapsedMillis + "ms");
+      }
+   }
+
+   public void retriesFailedPart() {
+      uploads.failingPart = "big_3";
+      uploads.failuresLeft.set(2);
+
+      assertEquals(putBlob(blobStore(4)), "CIix/dmj/rwCEAE=");
+      assertEquals(server.getRequestCount(), PARTS + 2 + 2); // parts, retries, compose, deleting parts
+   }
+
+   public void stopsWhenPartFailsForGood() {
+      uploads.failingPart = "big_1";
+      uploads.failuresLeft.set(Integer.MAX_VALUE);
+
+      try {
+         putBlob(blobStore(2));
+         fail();
+      } catch (HttpResponseException expected) {
+      }
+      assertEquals(uploads.composes.get(), 0);
+   }
+
+   public void buffersStreamedPartsUpToBound() {
+      Properties extra = new Properties();
+      extra.put(PARALLEL_UPLOAD_BUFFER_SIZE, String.valueOf(PART_SIZE));
+
+      assertEquals(putBlob(blobStore(4, extra), streamed()), "CIix/dmj/rwCEAE=");
+      assertEquals(uploads.maxInFlight.get(), 4);
+   }
+
+   public void sendsLargerStreamedPartsOneAfterAnother() {
+      Properties extra = new Properties();
+      extra.put(PARALLEL_UPLOAD_BUFFER_SIZE, String.valueOf(PART_SIZE - 1));
+
+      assertEquals(putBlob(blobStore(4, extra), streamed()), "CIix/dmj/rwCEAE=");
+      assertEquals(uploads.maxInFlight.get(), 1);
+      assertEquals(uploads.composes.get(), 1);
+   }
+
+   private BlobStore blobStore(int parallelDegree) {
+      return blobStore(parallelDegree, new Properties());
+   }
+
+   private BlobStore blobStore(int parallelDegree, Properties extra) {
+      Properties overrides = new Properties();
+      overrides.put(CREDENTIAL_TYPE, BEARER_TOKEN_CREDENTIALS.toString());
+      overrides.put("jclouds.mpu.parts.size", String.valueOf(PART_SIZE));
+      overrides.put(PARALLEL_UPLOAD_DEGREE, String.valueOf(parallelDegree));
+      overrides.put(PARALLEL_UPLOAD_BACKOFF, "10");
+      overrides.putAll(extra);
+      BlobStoreContext context = ContextBuilder.newBuilder(new GoogleCloudStorageProviderMetadata())
+            .credentials(identity, credential)
+            .endpoint(server.getUrl("").toString())
+            .overrides(overrides)
+            .buildView(BlobStoreContext.class);
+      contexts.add(context);
+      return context.getBlobStore();
+   }
+
+   private static String putBlob(BlobStore blobStore) {
+      return putBlob(blobStore, Payloads.newByteArrayPayload(new byte[PARTS * PART_SIZE]));
+   }
+
+   private static String putBlob(BlobStore blobStore, Payload payload) {
+      Blob blob = blobStore.blobBuilder("big").payload(payload).contentLength(PARTS * PART_SIZE)
+            .contentType("application/octet-stream").build();
+      return blobStore.putBlob("bucket", blob, multipart());
+   }
+
+   /** A payload that can't be read twice. */
+   private static Payload streamed() {
+      return Payloads.newInputStreamPayload(new ByteArrayInputStream(new byte[PARTS * PART_SIZE]));
+   }
+
+   private MockResponse objectResponse() {
+      try {
+         return new MockResponse().addHeader("Content-Type", "application/json")
+               .setBody(toStringAndClose(getClass().getResourceAsStream("/object_get.json")));
+      } catch (IOException e) {
+         throw new AssertionError(e);
+      }
+   }
+}
@@ -0,0 +1,337 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jclouds.googlecloudstorage.blobstore.strategy.internal;
+
+import static org.jclouds.Constants.PROPERTY_MAX_RETRIES;
+import static org.jclouds.blobstore.options.PutOptions.Builder.multipart;
+import static org.jclouds.googlecloud.config.GoogleCloudProperties.CREDENTIAL_TYPE;
+import static org.jclouds.googlecloudstorage.reference.GoogleCloudStorageConstants.RESUMABLE_UPLOAD_CHUNK_SIZE;
+import static org.jclouds.googlecloudstorage.reference.GoogleCloudStorageConstants.RESUMABLE_UPLOAD_JOURNAL;
+import static org.jclouds.googlecloudstorage.reference.GoogleCloudStorageConstants.RESUMABLE_UPLOAD_RETRIES;
+import static org.jclouds.oauth.v2.config.CredentialType.BEARER_TOKEN_CREDENTIALS;
+import static org.jclouds.util.Strings2.toStringAndClose;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertTrue;
+import static org.testng.Assert.fail;
+
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Properties;
+import java.util.Random;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.jclouds.ContextBuilder;
+import org.jclouds.blobstore.BlobStore;
+import org.jclouds.blobstore.BlobStoreContext;
+import org.jclouds.blobstore.domain.Blob;
+import org.jclouds.googlecloudstorage.GoogleCloudStorageProviderMetadata;
+import org.jclouds.http.HttpResponseException;
+import org.jclouds.io.Payload;
+import org.jclouds.io.Payloads;
+import org.jclouds.logging.Logger;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.hash.Hashing;
+import com.google.common.io.Files;
+import com.squareup.okhttp.mockwebserver.Dispatcher;
+import com.squareup.okhttp.mockwebserver.MockResponse;
+import com.squareup.okhttp.mockwebserver.MockWebServer;
+import com.squareup.okhttp.mockwebserver.RecordedRequest;
+
+/**
+ * Uploads a blob of three {@value #CHUNK_SIZE} byte chunks over a session that drops the connection when told to.
+ */
+@Test(groups = "unit", testName = "ResumableUploadStrategyMockTest", singleThreaded = true)
+public class ResumableUploadStrategyMockTest {
+
+   static final int CHUNK_SIZE = 512 * 1024;
+   static final int LENGTH = 3 * CHUNK_SIZE;
+
+   private final String identity = "761326798069-r5mljlln1rd4lrbhg75efgigp36m78j5@developer.gserviceaccount.com";
+   private final String credential = "1/8xbJqaOZXSUZbHLl5EOtu1pxz3fmmetKx9W8CV4t79M"; // Fake Bearer Token
+
+   private MockWebServer server;
+   private Session session;
+   private byte[] content;
+
+   /**
+    * Keeps the bytes of one upload session. A chunk starting at {@link #failAt} has only {@link #committedOnFailure}
+    * of its bytes committed before the request fails, {@link #failures} times. Asking for the bytes committed fails
+    * {@link #statusFailures} times.
+    */
+   private final class Session extends Dispatcher {
+      final byte[] stored = new byte[LENGTH];
+      final List<String> ranges = new CopyOnWriteArrayList<String>();
+      final AtomicInteger failures = new AtomicInteger();
+      final AtomicInteger statusFailures = new AtomicInteger();
+      final AtomicInteger sessionsStarted = new AtomicInteger();
+      volatile long failAt = -1;
+      volatile double committedOnFailure = 0.5;
+      volatile int committed;
+
+      @Override public synchronized MockResponse dispatch(RecordedRequest request) {
+         if (request.getMethod().equals("POST")) {
+            sessionsStarted.incrementAndGet();
+            return new MockResponse().addHeader("Location",
+                  server.getUrl("/upload/storage/v1/b/bucket/o?uploadType=resumable&upload_id=session1").toString());
+         }
+         if (request.getMethod().equals("GET")) {
+            return objectResponse();
+         }
+         String range = request.getHeader("Content-Range");
+         ranges.add(range);
+         if (range.startsWith("bytes */")) {
+            return statusFailures.getAndDecrement() > 0 ? new MockResponse().setResponseCode(503) : status();
+         }
+         int from = Integer.parseInt(range.substring("bytes ".length(), range.indexOf('-')));
+         if (from != committed) {
+            return new MockResponse().setResponseCode(400);
+         }
+         byte[] body = request.getBody();
+         if (from == failAt && failures.getAndDecrement() > 0) {
+            int accepted = (int) (body.length * committedOnFailure);
+            System.arraycopy(body, 0, stored, from, accepted);
+            committed += accepted;
+            return new MockResponse().setResponseCode(503);
+         }
+         System.arraycopy(body, 0, stored, from, body.length);
+         committed += body.length;
+         return status();
+      }
+
+      private MockResponse status() {
+         if (committed == LENGTH) {
+            return objectResponse();
+         }
+         MockResponse incomplete = new MockResponse().setResponseCode(308);
+         return committed > 0 ? incomplete.addHeader("Range", "bytes=0-" + (committed - 1)) : incomplete;
+      }
+   }
+
+   @BeforeMethod
+   public void start() throws IOException {
+      server = new MockWebServer();
+      session = new Session();
+      server.setDispatcher(session);
+      server.play();
+      content = new byte[LENGTH];
+      new Random(1).nextBytes(content);
+   }
+
+   @AfterMethod(alwaysRun = true)
+   public void stop() throws IOException {
+      server.shutdown();
+   }
+
+   public void sendsChunksInOrder() {
+      assertEquals(putBlob(blobStore()), "CIix/dmj/rwCEAE=");
+
+      assertEquals(session.ranges, ImmutableList.of(
+            "bytes 0-524287/1572864",
+            "bytes 524288-1048575/1572864",
+            "bytes 1048576-1572863/1572864"));
+      assertTrue(Arrays.equals(session.stored, content));
+   }
+
+   public void resumesFromCommittedBytes() {
+      session.failAt = CHUNK_SIZE;
+      session.failures.set(1);
+
+      assertEquals(putBlob(blobStore()), "CIix/dmj/rwCEAE=");
+
+      // only the half of the second chunk that was lost is sent again
+      assertEquals(session.ranges, ImmutableList.of(
+            "bytes 0-524287/1572864",
+            "bytes 524288-1048575/1572864",
+            "bytes */1572864",
+            "bytes 786432-1048575/1572864",
+            "bytes 1048576-1572863/1572864"));
+      assertTrue(Arrays.equals(session.stored, content));
+   }
+
+   /** The http layer would resend the whole chunk, from bytes the session no longer expects, before giving up. */
+   public void resumesFromCommittedBytesWithDefaultRetries() {
+      session.failAt = CHUNK_SIZE;
+      session.failures.set(1);
+
+      assertEquals(putBlob(blobStoreWith(new Properties())), "CIix/dmj/rwCEAE=");
+
+      assertEquals(session.ranges, ImmutableList.of(
+            "bytes 0-524287/1572864",
+            "bytes 524288-1048575/1572864",
+            "bytes */1572864",
+            "bytes 786432-1048575/1572864",
+            "bytes 1048576-1572863/1572864"));
+      assertTrue(Arrays.equals(session.stored, content));
+   }
+
+   public void completesWhenLastResponseIsLost() {
+      session.failAt = 2 * CHUNK_SIZE;
+      session.failures.set(1);
+      session.committedOnFailure = 1;
+
+      assertEquals(putBlob(blobStore()), "CIix/dmj/rwCEAE=");
+      // the status check finds the upload complete, so nothing is sent again
+      assertEquals(session.ranges.size(), 3 + 1);
+      assertTrue(Arrays.equals(session.stored, content));
+   }
+
+   public void givesUpWithoutProgress() {
+      session.failAt = CHUNK_SIZE;
+      session.failures.set(Integer.MAX_VALUE);
+      session.committedOnFailure = 0;
+
+      try {
+         putBlob(blobStore());
+         fail();
+      } catch (HttpResponseException expected) {
+      }
+      // the first chunk, then the second chunk sent 3 times, with a status check before each of the 2 retries
+      assertEquals(session.ranges.size(), 1 + 3 + 2);
+   }
+
+   public void resumesSessionAfterRestart() {
+      File journal = Files.createTempDir();
+      session.failAt = CHUNK_SIZE;
+      session.failures.set(1);
+
+      Properties noRetries = new Properties();
+      noRetries.put(RESUMABLE_UPLOAD_JOURNAL, journal.getPath());
+      noRetries.put(RESUMABLE_UPLOAD_RETRIES, "0");
+      try {
+         putBlob(blobStore(noRetries), Payloads.newByteArrayPayload(content));
+         fail();
+      } catch (HttpResponseException expected) {
+      }
+      assertEquals(journal.list().length, 1);
+
+      // a new context stands for a new process, which finds the session in the journal
+      Properties restart = new Properties();
+      restart.put(RESUMABLE_UPLOAD_JOURNAL, journal.getPath());
+      assertEquals(putBlob(blobStore(restart), Payloads.newByteArrayPayload(content)), "CIix/dmj/rwCEAE=");
+
+      assertEquals(session.sessionsStarted.get(), 1);
+      assertEquals(session.ranges, ImmutableList.of(
+            "bytes 0-524287/1572864",
+            "bytes 524288-1048575/1572864",
+            "bytes */1572864",
+            "bytes 786432-1048575/1572864",
+            "bytes 1048576-1572863/1572864"));
+      assertTrue(Arrays.equals(session.stored, content));
+      assertEquals(journal.list().length, 0);
+      assertTrue(journal.delete());
+   }
+
+   public void resumesSessionAfterRestartDespiteFailedStatusCheck() {
+      File journal = Files.createTempDir();
+      session.failAt = CHUNK_SIZE;
+      session.failures.set(1);
+
+      Properties noRetries = new Properties();
+      noRetries.put(RESUMABLE_UPLOAD_JOURNAL, journal.getPath());
+      noRetries.put(RESUMABLE_UPLOAD_RETRIES, "0");
+      try {
+         putBlob(blobStore(noRetries), Payloads.newByteArrayPayload(content));
+         fail();
+      } catch (HttpResponseException expected) {
+      }
+
+      // the first question the new process asks fails, which says nothing about whether the session expired
+      session.statusFailures.set(1);
+      Properties restart = new Properties();
+      restart.put(RESUMABLE_UPLOAD_JOURNAL, journal.getPath());
+      assertEquals(putBlob(blobStore(restart), Payloads.newByteArrayPayload(content)), "CIix/dmj/rwCEAE=");
+
+      assertEquals(session.sessionsStarted.get(), 1);
+      assertEquals(session.ranges, ImmutableList.of(
+            "bytes 0-524287/1572864",
+            "bytes 524288-1048575/1572864",
+            "bytes */1572864",
+            "bytes */1572864",
+            "bytes 786432-1048575/1572864",
+            "bytes 1048576-1572863/1572864"));
+      assertTrue(Arrays.equals(session.stored, content));
+      assertEquals(journal.list().length, 0);
+      assertTrue(journal.delete());
+   }
+
+   public void startsOverForOtherContent() {
+      File journal = Files.createTempDir();
+      Properties overrides = new Properties();
+      overrides.put(RESUMABLE_UPLOAD_JOURNAL, journal.getPath());
+      UploadJournal recorded = new UploadJournal(journal, Logger.NULL);
+      recorded.put(UploadJournal.key("bucket", "big", Hashing.md5().hashInt(0), LENGTH), "expired", 1024);
+
+      assertEquals(putBlob(blobStore(overrides), Payloads.newByteArrayPayload(content)), "CIix/dmj/rwCEAE=");
+
+      assertEquals(session.sessionsStarted.get(), 1);
+      assertEquals(session.ranges.size(), 3);
+      assertEquals(journal.list().length, 1); // the other content's session is left alone
+   }
+
+   private BlobStore blobStore() {
+      return blobStore(new Properties());
+   }
+
+   /** Without retries in the http layer, so that failures reach the strategy at once. */
+   private BlobStore blobStore(Properties extra) {
+      Properties noRetries = new Properties();
+      noRetries.put(PROPERTY_MAX_RETRIES, "0");
+      noRetries.putAll(extra);
+      return blobStoreWith(noRetries);
+   }
+
+   private BlobStore blobStoreWith(Properties extra) {
+      Properties overrides = new Properties();
+      overrides.put(CREDENTIAL_TYPE, BEARER_TOKEN_CREDENTIALS.toString());
+      overrides.put(RESUMABLE_UPLOAD_CHUNK_SIZE, String.valueOf(CHUNK_SIZE));
+      overrides.put(RESUMABLE_UPLOAD_RETRIES, "2");
+      overrides.putAll(extra);
+      return ContextBuilder.newBuilder(new GoogleCloudStorageProviderMetadata())
+            .credentials(identity, credential)
+            .endpoint(server.getUrl("").toString())
+            .overrides(overrides)
+            .buildView(BlobStoreContext.class).getBlobStore();
+   }
+
+   /** Puts the content as a stream, so that the strategy has to hold a chunk to resend it. */
+   private String putBlob(BlobStore blobStore) {
+      return putBlob(blobStore, Payloads.newInputStreamPayload(new ByteArrayInputStream(content)));
+   }
+
+   private static String putBlob(BlobStore blobStore, Payload payload) {
+      Blob blob = blobStore.blobBuilder("big").payload(payload).contentLength(LENGTH)
+            .contentType("application/octet-stream").build();
+      return blobStore.putBlob("bucket", blob, multipart());
+   }
+
+   private MockResponse objectResponse() {
+      try {
+         return new MockResponse().addHeader("Content-Type", "application/json")
+               .setBody(toStringAndClose(getClass().getResourceAsStream("/object_get.json")));
+      } catch (IOException e) {
+         throw new AssertionError(e);
+      }
+   }
+}
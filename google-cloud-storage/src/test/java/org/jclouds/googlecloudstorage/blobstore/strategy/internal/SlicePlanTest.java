@@ -0,0 +1,90 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jclouds.googlecloudstorage.blobstore.strategy.internal;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertTrue;
+
+import org.testng.annotations.Test;
+
+@Test(groups = "unit", testName = "SlicePlanTest")
+public class SlicePlanTest {
+
+   private static final long MB = 1024 * 1024;
+
+   public void lastPartIsShorter() {
+      SlicePlan plan = SlicePlan.create(2500, 1000);
+
+      assertFalse(plan.isSinglePart());
+      assertEquals(plan.partCount(), 3);
+      assertEquals(plan.offset(1), 0);
+      assertEquals(plan.offset(3), 2000);
+      assertEquals(plan.size(1), 1000);
+      assertEquals(plan.size(3), 500);
+   }
+
+   public void exactMultipleHasFullLastPart() {
+      SlicePlan plan = SlicePlan.create(3000, 1000);
+
+      assertEquals(plan.partCount(), 3);
+      assertEquals(plan.lastPartSize(), 1000);
+   }
+
+   public void smallPayloadIsOnePart() {
+      assertTrue(SlicePlan.create(1000, 1000).isSinglePart());
+      assertTrue(SlicePlan.create(0, 1000).isSinglePart());
+      assertEquals(SlicePlan.create(0, 1000).size(1), 0);
+   }
+
+   @Test(expectedExceptions = IndexOutOfBoundsException.class)
+   public void partsAreNumberedFromOne() {
+      SlicePlan.create(2500, 1000).size(0);
+   }
+
+   @Test(expectedExceptions = IndexOutOfBoundsException.class)
+   public void noPartBeyondTheLast() {
+      SlicePlan.create(2500, 1000).offset(4);
+   }
+
+   public void algorithmPlansDefaultPartSize() {
+      SlicePlan plan = new MultipartUploadSlicingAlgorithm().plan(100 * MB);
+
+      assertEquals(plan.partSize(), MultipartUploadSlicingAlgorithm.DEFAULT_PART_SIZE);
+      assertEquals(plan.partCount(), 4);
+      assertEquals(plan.lastPartSize(), 4 * MB);
+   }
+
+   public void algorithmPlanCoversLargePayload() {
+      // 203 default parts grow to parts of three times the default size
+      SlicePlan plan = new MultipartUploadSlicingAlgorithm().plan(203 * 32 * MB);
+
+      assertEquals(plan.partSize(), 96 * MB);
+      assertEquals(plan.partCount(), 68);
+      assertEquals(plan.lastPartSize(), 64 * MB);
+      assertEquals(plan.offset(68) + plan.lastPartSize(), plan.length());
+   }
+
+   public void plansOfConcurrentUploadsAreIndependent() {
+      MultipartUploadSlicingAlgorithm algorithm = new MultipartUploadSlicingAlgorithm();
+      SlicePlan big = algorithm.plan(100 * MB);
+      SlicePlan small = algorithm.plan(10 * MB);
+
+      assertEquals(big.partCount(), 4);
+      assertTrue(small.isSinglePart());
+   }
+}
@@ -0,0 +1,114 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jclouds.googlecloudstorage.blobstore.strategy.internal;
+
+import static com.google.common.base.Charsets.UTF_8;
+import static java.nio.file.attribute.PosixFilePermission.GROUP_READ;
+import static java.nio.file.attribute.PosixFilePermission.OTHERS_READ;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertNull;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.attribute.PosixFileAttributeView;
+import java.nio.file.attribute.PosixFilePermission;
+import java.util.Set;
+
+import org.jclouds.logging.Logger;
+import org.testng.annotations.AfterMethod;
+import org.testng.SkipException;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import com.google.common.hash.HashCode;
+import com.google.common.io.Files;
+
+@Test(groups = "unit", testName = "UploadJournalTest", singleThreaded = true)
+public class UploadJournalTest {
+
+   private static final HashCode MD5 = HashCode.fromString("d41d8cd98f00b204e9800998ecf8427e");
+
+   private File directory;
+   private UploadJournal journal;
+
+   @BeforeMethod
+   public void createJournal() {
+      directory = Files.createTempDir();
+      journal = new UploadJournal(directory, Logger.NULL);
+   }
+
+   @AfterMethod(alwaysRun = true)
+   public void deleteJournal() {
+      for (File file : directory.listFiles()) {
+         file.delete();
+      }
+      directory.delete();
+   }
+
+   public void recordsLatestOffset() {
+      String key = UploadJournal.key("bucket", "big", MD5, 1000);
+      journal.put(key, "session1", 0);
+      journal.put(key, "session1", 512);
+
+      assertEquals(journal.get(key), UploadJournal.Session.create("session1", 512));
+      assertEquals(directory.listFiles().length, 1);
+   }
+
+   public void onlyOwnerReadsSessions() throws IOException {
+      journal.put(UploadJournal.key("bucket", "big", MD5, 1000), "session1", 512);
+
+      File file = directory.listFiles()[0];
+      if (java.nio.file.Files.getFileAttributeView(file.toPath(), PosixFileAttributeView.class) == null) {
+         throw new SkipException("file permissions are not posix");
+      }
+      Set<PosixFilePermission> permissions = java.nio.file.Files.getPosixFilePermissions(file.toPath());
+      assertFalse(permissions.contains(GROUP_READ), permissions.toString());
+      assertFalse(permissions.contains(OTHERS_READ), permissions.toString());
+   }
+
+   public void survivesRestart() {
+      String key = UploadJournal.key("bucket", "big", MD5, 1000);
+      journal.put(key, "session1", 512);
+
+      assertEquals(new UploadJournal(directory, Logger.NULL).get(key), UploadJournal.Session.create("session1", 512));
+   }
+
+   public void sessionsAreKeyedByContent() {
+      journal.put(UploadJournal.key("bucket", "big", MD5, 1000), "session1", 512);
+
+      assertNull(journal.get(UploadJournal.key("bucket", "big", MD5, 2000)));
+      assertNull(journal.get(UploadJournal.key("bucket", "other", MD5, 1000)));
+   }
+
+   public void removesSession() {
+      String key = UploadJournal.key("bucket", "big", MD5, 1000);
+      journal.put(key, "session1", 512);
+      journal.remove(key);
+
+      assertNull(journal.get(key));
+      assertEquals(directory.listFiles().length, 0);
+   }
+
+   public void ignoresCorruptSession() throws IOException {
+      String key = UploadJournal.key("bucket", "big", MD5, 1000);
+      journal.put(key, "session1", 512);
+      Files.write("committed=lots".getBytes(UTF_8), directory.listFiles()[0]);
+
+      assertNull(journal.get(key));
+   }
+}
@@ -0,0 +1,98 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jclouds.googlecloudstorage.features;
+
+import static org.jclouds.googlecloud.config.GoogleCloudProperties.CONDITIONAL_GET_CACHE_SIZE;
+import static org.jclouds.googlecloud.config.GoogleCloudProperties.CREDENTIAL_TYPE;
+import static org.jclouds.oauth.v2.config.CredentialType.BEARER_TOKEN_CREDENTIALS;
+import static org.jclouds.util.Strings2.toStringAndClose;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertNull;
+import static org.testng.Assert.assertSame;
+
+import java.io.IOException;
+import java.util.Properties;
+
+import org.jclouds.ContextBuilder;
+import org.jclouds.googlecloudstorage.GoogleCloudStorageApi;
+import org.jclouds.googlecloudstorage.GoogleCloudStorageProviderMetadata;
+import org.jclouds.googlecloudstorage.domain.GoogleCloudStorageObject;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import com.squareup.okhttp.mockwebserver.MockResponse;
+import com.squareup.okhttp.mockwebserver.MockWebServer;
+import com.squareup.okhttp.mockwebserver.RecordedRequest;
+
+@Test(groups = "unit", testName = "ObjectApiMockTest", singleThreaded = true)
+public class ObjectApiMockTest {
+
+   private final String identity = "761326798069-r5mljlln1rd4lrbhg75efgigp36m78j5@developer.gserviceaccount.com";
+   private final String credential = "1/8xbJqaOZXSUZbHLl5EOtu1pxz3fmmetKx9W8CV4t79M"; // Fake Bearer Token
+
+   private MockWebServer server;
+   private GoogleCloudStorageApi api;
+
+   @BeforeMethod
+   public void start() throws IOException {
+      server = new MockWebServer();
+      server.play();
+      Properties overrides = new Properties();
+      overrides.put(CREDENTIAL_TYPE, BEARER_TOKEN_CREDENTIALS.toString());
+      overrides.put(CONDITIONAL_GET_CACHE_SIZE, "10");
+      api = ContextBuilder.newBuilder(new GoogleCloudStorageProviderMetadata())
+            .credentials(identity, credential)
+            .endpoint(server.getUrl("").toString())
+            .overrides(overrides)
+            .buildApi(GoogleCloudStorageApi.class);
+   }
+
+   @AfterMethod(alwaysRun = true)
+   public void stop() throws IOException {
+      api.close();
+      server.shutdown();
+   }
+
+   public void getObjectAsync() throws Exception {
+      server.enqueue(objectResponse());
+
+      assertEquals(api.getObjectAsyncApi().getObject("test", "foo.txt").get().name(), "foo.txt");
+      assertEquals(server.takeRequest().getPath(), "/storage/v1/b/test/o/foo.txt");
+   }
+
+   public void getObjectRevalidatesCachedObject() throws Exception {
+      server.enqueue(objectResponse().addHeader("ETag", "\"CIix/dmj/rwCEAE=\""));
+      server.enqueue(new MockResponse().setResponseCode(304));
+
+      GoogleCloudStorageObject object = api.getObjectApi().getObject("test", "foo.txt");
+      assertEquals(object.name(), "foo.txt");
+      assertSame(api.getObjectApi().getObject("test", "foo.txt"), object);
+
+      RecordedRequest read = server.takeRequest();
+      assertEquals(read.getPath(), "/storage/v1/b/test/o/foo.txt");
+      assertNull(read.getHeader("If-None-Match"));
+      RecordedRequest revalidation = server.takeRequest();
+      assertEquals(revalidation.getPath(), "/storage/v1/b/test/o/foo.txt");
+      assertEquals(revalidation.getHeader("If-None-Match"), "\"CIix/dmj/rwCEAE=\"");
+   }
+
+   private MockResponse objectResponse() throws IOException {
+      return new MockResponse().addHeader("Content-Type", "application/json")
+            .setBody(toStringAndClose(getClass().getResourceAsStream("/object_get.json")));
+   }
+}
@@ -0,0 +1,68 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jclouds.googlecloudstorage.parse;
+
+import java.net.URI;
+
+import javax.ws.rs.Consumes;
+import javax.ws.rs.core.MediaType;
+
+import org.jclouds.date.internal.SimpleDateFormatDateService;
+import org.jclouds.googlecloudstorage.domain.DomainResourceReferences.StorageClass;
+import org.jclouds.googlecloudstorage.domain.GoogleCloudStorageObject;
+import org.jclouds.googlecloudstorage.domain.Owner;
+import org.jclouds.googlecloudstorage.internal.BaseGoogleCloudStorageParseTest;
+
+import com.google.common.collect.ImmutableMap;
+
+public class ObjectGetTest extends BaseGoogleCloudStorageParseTest<GoogleCloudStorageObject> {
+
+   @Override
+   public String resource() {
+      return "/object_get.json";
+   }
+
+   @Override
+   @Consumes(MediaType.APPLICATION_JSON)
+   public GoogleCloudStorageObject expected() {
+      return GoogleCloudStorageObject.create("jcloudtestbucket/foo.txt/1394121608485000", // id
+            URI.create("https://www.googleapis.com/storage/v1/b/jcloudtestbucket/o/foo.txt"), // selfLink
+            "CIix/dmj/rwCEAE=", // etag
+            "foo.txt", // name
+            "jcloudtestbucket", // bucket
+            1394121608485000L, // generation
+            1L, // metageneration
+            "text/plain", // contentType
+            new SimpleDateFormatDateService().iso8601DateParse("2014-03-06T16:00:08.485Z"), // updated
+            null, // timeDeleted
+            StorageClass.STANDARD, // storageClass
+            1000L, // size
+            "1B2M2Y8AsgTpgAmY7PhCfg==", // md5Hash
+            URI.create("https://www.googleapis.com/download/storage/v1/b/jcloudtestbucket/o/foo.txt"
+                  + "?generation=1394121608485000&alt=media"), // mediaLink
+            ImmutableMap.of("owner", "jclouds"), // metadata
+            null, // contentEncoding
+            null, // contentDisposition
+            null, // contentLanguage
+            null, // cacheControl
+            null, // acl
+            Owner.create("user-00b4903a97adfb68a8a1d1f5b3b4e6f6", "00b4903a97adfb68a8a1d1f5b3b4e6f6"), // owner
+            "AAAAAA==", // crc32c
+            null // componentCount
+      );
+   }
+}
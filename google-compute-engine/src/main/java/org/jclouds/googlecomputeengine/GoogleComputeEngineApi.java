@@ -47,9 +47,14 @@ import org.jclouds.googlecomputeengine.features.UrlMapApi;
 import org.jclouds.googlecomputeengine.features.ZoneApi;
 import org.jclouds.rest.annotations.Delegate;
 import org.jclouds.rest.annotations.Endpoint;
+import org.jclouds.rest.annotations.Provides;
 
 public interface GoogleComputeEngineApi extends Closeable {
 
+   /** The apis whose calls return futures, running on the user executor. */
+   @Provides
+   GoogleComputeEngineAsyncApi async();
+
    @Delegate
    @Endpoint(CurrentProject.class)
    @Path("/regions/{region}")
@@ -97,6 +102,7 @@ public interface GoogleComputeEngineApi extends Closeable {
    @Delegate
    ImageApi images();
 
+   /** See {@link GoogleComputeEngineAsyncApi#instancesInZone} for calls that return futures. */
    @Delegate
    @Endpoint(CurrentProject.class)
    @Path("/zones/{zone}")
@@ -116,6 +122,7 @@ public interface GoogleComputeEngineApi extends Closeable {
    @Path("/global")
    NetworkApi networks();
 
+   /** See {@link GoogleComputeEngineAsyncApi#operations} for calls that return futures. */
    @Delegate
    OperationApi operations();
 
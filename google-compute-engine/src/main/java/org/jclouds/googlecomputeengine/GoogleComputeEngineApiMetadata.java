@@ -18,7 +18,11 @@ package org.jclouds.googlecomputeengine;
 
 import static org.jclouds.Constants.PROPERTY_SESSION_INTERVAL;
 import static org.jclouds.compute.config.ComputeServiceProperties.TEMPLATE;
+import static org.jclouds.googlecloud.config.GoogleCloudProperties.CONDITIONAL_GET_CACHE_SIZE;
+import static org.jclouds.googlecloud.config.GoogleCloudProperties.CONDITIONAL_GET_CACHE_TTL;
 import static org.jclouds.googlecloud.config.GoogleCloudProperties.PROJECT_NAME;
+import static org.jclouds.googlecloud.config.GoogleCloudProperties.JMX_METRICS;
+import static org.jclouds.googlecloud.config.GoogleCloudProperties.RATE_LIMITS;
 import static org.jclouds.googlecomputeengine.config.GoogleComputeEngineProperties.IMAGE_PROJECTS;
 import static org.jclouds.googlecomputeengine.config.GoogleComputeEngineProperties.OPERATION_COMPLETE_INTERVAL;
 import static org.jclouds.googlecomputeengine.config.GoogleComputeEngineProperties.OPERATION_COMPLETE_TIMEOUT;
@@ -31,6 +35,7 @@ import java.util.Properties;
 
 import org.jclouds.compute.ComputeServiceContext;
 import org.jclouds.googlecloud.config.CurrentProject;
+import org.jclouds.googlecloud.metrics.MetricsModule;
 import org.jclouds.googlecomputeengine.compute.config.GoogleComputeEngineServiceContextModule;
 import org.jclouds.googlecomputeengine.config.GoogleComputeEngineHttpApiModule;
 import org.jclouds.googlecomputeengine.config.GoogleComputeEngineParserModule;
@@ -64,6 +69,10 @@ public class GoogleComputeEngineApiMetadata extends BaseHttpApiMetadata<GoogleCo
       properties.put(OPERATION_COMPLETE_TIMEOUT, 600000);
       properties.put(TEMPLATE, "osFamily=DEBIAN,osVersionMatches=7\\..*,locationId=us-central1-a,loginUser=jclouds");
       properties.put(PROJECT_NAME, ""); // Defaulting to empty helps avoid temptation for optional inject!
+      properties.put(RATE_LIMITS, "");
+      properties.put(JMX_METRICS, false);
+      properties.put(CONDITIONAL_GET_CACHE_SIZE, 0);
+      properties.put(CONDITIONAL_GET_CACHE_TTL, 300);
       properties.put(IMAGE_PROJECTS, "centos-cloud,debian-cloud,rhel-cloud,suse-cloud,opensuse-cloud,gce-nvme,coreos-cloud");
       return properties;
    }
@@ -85,6 +94,7 @@ public class GoogleComputeEngineApiMetadata extends BaseHttpApiMetadata<GoogleCo
                    .add(GoogleComputeEngineParserModule.class)
                    .add(OAuthModule.class)
                    .add(GoogleComputeEngineServiceContextModule.class)
+                   .add(MetricsModule.class)
                    .build());
       }
 
@@ -0,0 +1,58 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jclouds.googlecomputeengine;
+
+import static org.jclouds.Constants.PROPERTY_USER_THREADS;
+
+import javax.inject.Inject;
+import javax.inject.Named;
+import javax.inject.Singleton;
+
+import org.jclouds.googlecloud.async.AsyncApis;
+import org.jclouds.googlecomputeengine.features.InstanceAsyncApi;
+import org.jclouds.googlecomputeengine.features.OperationAsyncApi;
+
+import com.google.common.util.concurrent.ListeningExecutorService;
+
+/**
+ * Views of the apis of {@link GoogleComputeEngineApi} whose calls return futures, running on the context's user
+ * executor. Obtained with {@link GoogleComputeEngineApi#async()}.
+ *
+ * @see AsyncApis
+ */
+@Singleton
+public final class GoogleComputeEngineAsyncApi {
+
+   private final GoogleComputeEngineApi api;
+   private final ListeningExecutorService userExecutor;
+
+   @Inject GoogleComputeEngineAsyncApi(GoogleComputeEngineApi api,
+         @Named(PROPERTY_USER_THREADS) ListeningExecutorService userExecutor) {
+      this.api = api;
+      this.userExecutor = userExecutor;
+   }
+
+   /** @see GoogleComputeEngineApi#instancesInZone(String) */
+   public InstanceAsyncApi instancesInZone(String zone) {
+      return AsyncApis.async(api.instancesInZone(zone), InstanceAsyncApi.class, userExecutor);
+   }
+
+   /** @see GoogleComputeEngineApi#operations() */
+   public OperationAsyncApi operations() {
+      return AsyncApis.async(api.operations(), OperationAsyncApi.class, userExecutor);
+   }
+}
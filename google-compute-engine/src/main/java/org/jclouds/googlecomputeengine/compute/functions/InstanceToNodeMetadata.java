@@ -64,8 +64,6 @@ public final class InstanceToNodeMetadata implements Function<Instance, NodeMeta
 
    @Override public NodeMetadata apply(Instance input) {
       String group = groupFromMapOrName(input.metadata().asMap(), input.name(), nodeNamingConvention);
-      System.out.println("Groupity!! " + group + " / ((((" + input + ")))) / " + input.metadata().asMap());
-      System.out.println();
       if (group == null) {
           group = "test-group";
       }
@@ -28,6 +28,11 @@ import javax.ws.rs.GET;
 import javax.ws.rs.POST;
 import javax.ws.rs.Path;
 
+import org.jclouds.googlecloud.cache.CachedOnNotModifiedOrNullOnNotFoundOr404;
+import org.jclouds.googlecloud.cache.ConditionalGetFilter;
+import org.jclouds.googlecloud.cache.ParseJsonAndCache;
+import org.jclouds.googlecloud.filters.RateLimitFilter;
+import org.jclouds.googlecloud.options.GetOptions;
 import org.jclouds.googlecomputeengine.domain.Instance;
 import org.jclouds.googlecomputeengine.domain.Network;
 import org.jclouds.googlecomputeengine.domain.Operation;
@@ -36,10 +41,11 @@ import org.jclouds.oauth.v2.filters.OAuthFilter;
 import org.jclouds.rest.annotations.EndpointParam;
 import org.jclouds.rest.annotations.Fallback;
 import org.jclouds.rest.annotations.RequestFilters;
+import org.jclouds.rest.annotations.ResponseParser;
 import org.jclouds.rest.annotations.SkipEncoding;
 
-@SkipEncoding({'/', '='})
-@RequestFilters(OAuthFilter.class)
+@SkipEncoding({'/', '=', ','})
+@RequestFilters({ RateLimitFilter.class, ConditionalGetFilter.class, OAuthFilter.class })
 @Consumes(APPLICATION_JSON)
 public interface Resources {
 
@@ -51,13 +57,20 @@ public interface Resources {
    /** Returns an network by self-link or null if not found. */
    @Named("Networks:get")
    @GET
-   @Fallback(NullOnNotFoundOr404.class) @Nullable Network network(@EndpointParam URI selfLink);
+   @ResponseParser(ParseJsonAndCache.class)
+   @Fallback(CachedOnNotModifiedOrNullOnNotFoundOr404.class) @Nullable Network network(@EndpointParam URI selfLink);
 
    /** Returns an operation by self-link or null if not found. */
    @Named("Operations:get")
    @GET
    @Fallback(NullOnNotFoundOr404.class) @Nullable Operation operation(@EndpointParam URI selfLink);
 
+   /** Returns an operation by self-link, with only the fields set in the options, or null if not found. */
+   @Named("Operations:get")
+   @GET
+   @Fallback(NullOnNotFoundOr404.class) @Nullable Operation operation(@EndpointParam URI selfLink,
+         GetOptions options);
+
    /** Deletes any resource by self-link and returns the operation in progress, or null if not found. */
    @Named("Resources:delete")
    @DELETE
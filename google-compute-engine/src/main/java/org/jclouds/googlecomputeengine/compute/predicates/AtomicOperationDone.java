@@ -18,6 +18,7 @@ package org.jclouds.googlecomputeengine.compute.predicates;
 
 import static com.google.common.base.Preconditions.checkNotNull;
 import static com.google.common.base.Preconditions.checkState;
+import static org.jclouds.googlecloud.options.GetOptions.Builder.fields;
 
 import java.util.concurrent.atomic.AtomicReference;
 
@@ -28,8 +29,15 @@ import org.jclouds.googlecomputeengine.domain.Operation;
 
 import com.google.common.base.Predicate;
 
+/**
+ * Polls an operation until it is done. Only the fields read here and by callers once the operation is done are
+ * requested, which keeps each poll small.
+ */
 public final class AtomicOperationDone implements Predicate<AtomicReference<Operation>> {
 
+   private static final String[] POLLED_FIELDS = { "selfLink", "targetLink", "targetId", "status", "error",
+         "httpErrorStatusCode", "httpErrorMessage", "zone", "region" };
+
    private final Resources resources;
 
    @Inject AtomicOperationDone(Resources resources) {
@@ -38,7 +46,7 @@ public final class AtomicOperationDone implements Predicate<AtomicReference<Oper
 
    @Override public boolean apply(AtomicReference<Operation> input) {
       checkNotNull(input.get(), "operation");
-      Operation current = resources.operation(input.get().selfLink());
+      Operation current = resources.operation(input.get().selfLink(), fields(POLLED_FIELDS));
       input.set(current);
       checkState(current.error().errors().isEmpty(), "Task ended in error %s", current); // ISE will break the loop.
       switch (current.status()) {
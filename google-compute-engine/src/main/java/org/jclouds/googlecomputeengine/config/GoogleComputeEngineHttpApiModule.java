@@ -24,6 +24,8 @@ import static org.jclouds.googlecloud.config.GoogleCloudProperties.PROJECT_NAME;
 import static org.jclouds.rest.config.BinderUtils.bindHttpApi;
 
 import java.net.URI;
+import java.util.Map;
+import java.util.concurrent.Callable;
 import java.util.concurrent.atomic.AtomicReference;
 
 import javax.inject.Inject;
@@ -36,10 +38,14 @@ import javax.ws.rs.PathParam;
 
 import org.jclouds.domain.Credentials;
 import org.jclouds.googlecloud.config.CurrentProject;
+import org.jclouds.googlecloud.config.WarmUp;
+import org.jclouds.googlecloud.filters.RateLimitFilter;
+import org.jclouds.googlecloud.handlers.JitteredBackoffRetryHandler;
 import org.jclouds.googlecomputeengine.GoogleComputeEngineApi;
 import org.jclouds.googlecomputeengine.domain.Project;
 import org.jclouds.googlecomputeengine.handlers.GoogleComputeEngineErrorHandler;
 import org.jclouds.http.HttpErrorHandler;
+import org.jclouds.http.HttpRetryHandler;
 import org.jclouds.http.annotation.ClientError;
 import org.jclouds.http.annotation.Redirection;
 import org.jclouds.http.annotation.ServerError;
@@ -59,6 +65,7 @@ import com.google.common.base.Function;
 import com.google.common.base.Strings;
 import com.google.common.base.Supplier;
 import com.google.common.base.Suppliers;
+import com.google.common.collect.ImmutableMap;
 import com.google.inject.Provides;
 
 @ConfiguresHttpApi
@@ -71,6 +78,24 @@ public final class GoogleComputeEngineHttpApiModule extends HttpApiModule<Google
             "https://www.googleapis.com/auth/compute.readonly", //
             "https://www.googleapis.com/auth/compute" //
       ));
+      bind(WarmUp.class).toProvider(WarmUpWithProject.class).asEagerSingleton();
+   }
+
+   /** Resolving the project usually needs an api call, which can overlap with authorizing the write token. */
+   static final class WarmUpWithProject extends WarmUp.Factory {
+      static final String PROJECT = "project";
+
+      @Inject @CurrentProject Supplier<URI> project;
+
+      @Override protected Map<String, Callable<?>> phases() {
+         return ImmutableMap.<String, Callable<?>>builder() //
+               .putAll(super.phases()) //
+               .put(PROJECT, new Callable<URI>() {
+                  @Override public URI call() {
+                     return project.get();
+                  }
+               }).build();
+      }
    }
 
    @Override protected void bindErrorHandlers() {
@@ -79,6 +104,11 @@ public final class GoogleComputeEngineHttpApiModule extends HttpApiModule<Google
       bind(HttpErrorHandler.class).annotatedWith(ServerError.class).to(GoogleComputeEngineErrorHandler.class);
    }
 
+   @Override protected void bindRetryHandlers() {
+      bind(HttpRetryHandler.class).annotatedWith(ClientError.class).to(JitteredBackoffRetryHandler.class);
+      bind(HttpRetryHandler.class).annotatedWith(ServerError.class).to(JitteredBackoffRetryHandler.class);
+   }
+
    @Provides @Singleton @CurrentProject Supplier<URI> project(@Named(PROJECT_NAME) final String projectName,
          @Provider Supplier<URI> defaultEndpoint, final UseApiToResolveProjectName useApiToResolveProjectName,
          @Provider final Supplier<Credentials> creds, AtomicReference<AuthorizationException> authException,
@@ -116,7 +146,7 @@ public final class GoogleComputeEngineHttpApiModule extends HttpApiModule<Google
    static final class UseApiToResolveProjectName implements Function<Credentials, URI> {
 
       @SkipEncoding({ '/', '=' })
-      @RequestFilters(OAuthFilter.class)
+      @RequestFilters({ RateLimitFilter.class, OAuthFilter.class })
       @Consumes(APPLICATION_JSON)
       interface GetProject {
          @Named("Projects:get")
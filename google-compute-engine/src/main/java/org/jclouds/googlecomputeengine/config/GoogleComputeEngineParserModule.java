@@ -18,27 +18,39 @@ package org.jclouds.googlecomputeengine.config;
 
 import static org.jclouds.googlecomputeengine.domain.Firewall.Rule;
 
+import java.io.IOException;
 import java.lang.reflect.Type;
+import java.net.URI;
+import java.util.Date;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
 
 import javax.inject.Singleton;
 
+import org.jclouds.googlecloud.config.InterningAdapterFactory;
 import org.jclouds.googlecloud.config.ListPageAdapterFactory;
 import org.jclouds.googlecomputeengine.domain.Firewall;
+import org.jclouds.googlecomputeengine.domain.Operation;
 import org.jclouds.googlecomputeengine.options.FirewallOptions;
 import org.jclouds.googlecomputeengine.options.RouteOptions;
 import org.jclouds.json.config.GsonModule;
 
 import com.google.common.collect.ImmutableMap;
 import com.google.common.collect.ImmutableSet;
+import com.google.gson.Gson;
 import com.google.gson.JsonArray;
 import com.google.gson.JsonElement;
 import com.google.gson.JsonObject;
 import com.google.gson.JsonPrimitive;
 import com.google.gson.JsonSerializationContext;
 import com.google.gson.JsonSerializer;
+import com.google.gson.TypeAdapter;
 import com.google.gson.TypeAdapterFactory;
+import com.google.gson.reflect.TypeToken;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.JsonWriter;
 import com.google.inject.AbstractModule;
 import com.google.inject.Provides;
 
@@ -56,7 +68,8 @@ public final class GoogleComputeEngineParserModule extends AbstractModule {
 
    // TODO: change jclouds core to use collaborative set bindings
    @Provides @Singleton Set<TypeAdapterFactory> typeAdapterFactories() {
-      return ImmutableSet.<TypeAdapterFactory>of(new ListPageAdapterFactory());
+      return ImmutableSet.<TypeAdapterFactory>of(new ListPageAdapterFactory(), new InterningAdapterFactory(),
+            new OperationAdapterFactory());
    }
 
    private static final class FirewallOptionsTypeAdapter implements JsonSerializer<FirewallOptions> {
@@ -127,6 +140,132 @@ public final class GoogleComputeEngineParserModule extends AbstractModule {
       }
    }
 
+   /**
+    * Reads operations, which are polled until done, field by field into {@link Operation#create} rather than
+    * reflectively. Field values are read by the adapters gson would use for them, so parse the same.
+    */
+   private static final class OperationAdapterFactory implements TypeAdapterFactory {
+
+      @SuppressWarnings("unchecked")
+      @Override public <T> TypeAdapter<T> create(Gson gson, TypeToken<T> type) {
+         if (type.getRawType() != Operation.class) {
+            return null;
+         }
+         TypeAdapter<Operation> reflective = gson.getDelegateAdapter(this, TypeToken.get(Operation.class));
+         return (TypeAdapter<T>) new OperationAdapter(gson, reflective);
+      }
+   }
+
+   private static final class OperationAdapter extends TypeAdapter<Operation> {
+      private final TypeAdapter<Operation> reflective;
+      private final TypeAdapter<String> strings;
+      private final TypeAdapter<URI> uris;
+      private final TypeAdapter<Date> dates;
+      private final TypeAdapter<Integer> integers;
+      private final TypeAdapter<Operation.Status> statuses;
+      private final TypeAdapter<Operation.Error> errors;
+      private final TypeAdapter<List<Operation.Warning>> warningLists;
+
+      OperationAdapter(Gson gson, TypeAdapter<Operation> reflective) {
+         this.reflective = reflective;
+         this.strings = gson.getAdapter(String.class);
+         this.uris = gson.getAdapter(URI.class);
+         this.dates = gson.getAdapter(Date.class);
+         this.integers = gson.getAdapter(Integer.class);
+         this.statuses = gson.getAdapter(Operation.Status.class);
+         this.errors = gson.getAdapter(Operation.Error.class);
+         this.warningLists = gson.getAdapter(new TypeToken<List<Operation.Warning>>() { });
+      }
+
+      @Override public void write(JsonWriter out, Operation value) throws IOException {
+         reflective.write(out, value);
+      }
+
+      @Override public Operation read(JsonReader in) throws IOException {
+         if (in.peek() == JsonToken.NULL) {
+            in.nextNull();
+            return null;
+         }
+         String id = null;
+         Date creationTimestamp = null;
+         URI selfLink = null;
+         String name = null;
+         String description = null;
+         URI targetLink = null;
+         String targetId = null;
+         String clientOperationId = null;
+         Operation.Status status = null;
+         String statusMessage = null;
+         String user = null;
+         Integer progress = null;
+         Date insertTime = null;
+         Date startTime = null;
+         Date endTime = null;
+         Integer httpErrorStatusCode = null;
+         String httpErrorMessage = null;
+         String operationType = null;
+         Operation.Error error = null;
+         List<Operation.Warning> warnings = null;
+         URI region = null;
+         URI zone = null;
+         in.beginObject();
+         while (in.hasNext()) {
+            String field = in.nextName();
+            if (field.equals("id")) {
+               id = strings.read(in);
+            } else if (field.equals("creationTimestamp")) {
+               creationTimestamp = dates.read(in);
+            } else if (field.equals("selfLink")) {
+               selfLink = uris.read(in);
+            } else if (field.equals("name")) {
+               name = strings.read(in);
+            } else if (field.equals("description")) {
+               description = strings.read(in);
+            } else if (field.equals("targetLink")) {
+               targetLink = uris.read(in);
+            } else if (field.equals("targetId")) {
+               targetId = strings.read(in);
+            } else if (field.equals("clientOperationId")) {
+               clientOperationId = strings.read(in);
+            } else if (field.equals("status")) {
+               status = statuses.read(in);
+            } else if (field.equals("statusMessage")) {
+               statusMessage = strings.read(in);
+            } else if (field.equals("user")) {
+               user = strings.read(in);
+            } else if (field.equals("progress")) {
+               progress = integers.read(in);
+            } else if (field.equals("insertTime")) {
+               insertTime = dates.read(in);
+            } else if (field.equals("startTime")) {
+               startTime = dates.read(in);
+            } else if (field.equals("endTime")) {
+               endTime = dates.read(in);
+            } else if (field.equals("httpErrorStatusCode")) {
+               httpErrorStatusCode = integers.read(in);
+            } else if (field.equals("httpErrorMessage")) {
+               httpErrorMessage = strings.read(in);
+            } else if (field.equals("operationType")) {
+               operationType = strings.read(in);
+            } else if (field.equals("error")) {
+               error = errors.read(in);
+            } else if (field.equals("warnings")) {
+               warnings = warningLists.read(in);
+            } else if (field.equals("region")) {
+               region = uris.read(in);
+            } else if (field.equals("zone")) {
+               zone = uris.read(in);
+            } else {
+               in.skipValue();
+            }
+         }
+         in.endObject();
+         return Operation.create(id, creationTimestamp, selfLink, name, description, targetLink, targetId,
+               clientOperationId, status, statusMessage, user, progress, insertTime, startTime, endTime,
+               httpErrorStatusCode, httpErrorMessage, operationType, error, warnings, region, zone);
+      }
+   }
+
    private static JsonArray buildArrayOfStrings(Iterable<String> strings) {
       JsonArray array = new JsonArray();
       for (String string : strings) {
@@ -106,13 +106,19 @@ public abstract class Operation {
       DONE
    }
 
-   public abstract String id();
+   /**
+    * Null only when left out of the {@code fields} requested.
+    *
+    * @see org.jclouds.googlecloud.options.GetOptions#fields
+    */
+   @Nullable public abstract String id();
 
    @Nullable public abstract Date creationTimestamp();
 
    public abstract URI selfLink();
 
-   public abstract String name();
+   /** Null only when left out of the {@code fields} requested. */
+   @Nullable public abstract String name();
 
    @Nullable public abstract String description();
 
@@ -142,8 +148,8 @@ public abstract class Operation {
     */
    @Nullable public abstract Integer progress(); // TODO: check really nullable
 
-   /** The time that this operation was requested. */
-   public abstract Date insertTime();
+   /** The time that this operation was requested. Null only when left out of the {@code fields} requested. */
+   @Nullable public abstract Date insertTime();
 
    @Nullable public abstract Date startTime();
 
@@ -153,8 +159,8 @@ public abstract class Operation {
 
    @Nullable public abstract String httpErrorMessage();
 
-   /** Examples include insert, update, and delete. */
-   public abstract String operationType(); // TODO: enum
+   /** Examples include insert, update, and delete. Null only when left out of the {@code fields} requested. */
+   @Nullable public abstract String operationType(); // TODO: enum
 
    public abstract Error error();
 
@@ -28,6 +28,9 @@ import javax.ws.rs.Path;
 import javax.ws.rs.QueryParam;
 
 import org.jclouds.googlecloud.domain.ListPage;
+import org.jclouds.googlecloud.domain.StreamingListPage;
+import org.jclouds.googlecloud.filters.RateLimitFilter;
+import org.jclouds.googlecloud.internal.ParseStreamingListPage;
 import org.jclouds.googlecomputeengine.GoogleComputeEngineApi;
 import org.jclouds.googlecomputeengine.domain.Address;
 import org.jclouds.googlecomputeengine.domain.Disk;
@@ -43,13 +46,14 @@ import org.jclouds.googlecomputeengine.options.ListOptions;
 import org.jclouds.javax.annotation.Nullable;
 import org.jclouds.oauth.v2.filters.OAuthFilter;
 import org.jclouds.rest.annotations.RequestFilters;
+import org.jclouds.rest.annotations.ResponseParser;
 import org.jclouds.rest.annotations.SkipEncoding;
 import org.jclouds.rest.annotations.Transform;
 
 import com.google.common.base.Function;
 
 @SkipEncoding({ '/', '=' })
-@RequestFilters(OAuthFilter.class)
+@RequestFilters({ RateLimitFilter.class, OAuthFilter.class })
 @Path("/aggregated")
 @Consumes(APPLICATION_JSON)
 public interface AggregatedListApi {
@@ -133,6 +137,18 @@ public interface AggregatedListApi {
    @Transform(InstancePages.class)
    Iterator<ListPage<Instance>> instances(ListOptions options);
 
+   /**
+    * Like {@link #pageOfInstances(String, ListOptions)}, but instances are decoded one at a time as they are read,
+    * so scanning a large inventory holds a single instance on the heap rather than a page of them. Pages can be
+    * chained with {@link org.jclouds.googlecloud.internal.ListPages#concatStreaming}.
+    */
+   @Named("Instances:aggregatedList")
+   @GET
+   @Path("/instances")
+   @ResponseParser(ParseStreamingListPage.class)
+   StreamingListPage<Instance> streamPageOfInstances(@Nullable @QueryParam("pageToken") String pageToken,
+         ListOptions listOptions);
+
    static final class InstancePages extends BaseToIteratorOfListPage<Instance, InstancePages> {
       private final GoogleComputeEngineApi api;
 
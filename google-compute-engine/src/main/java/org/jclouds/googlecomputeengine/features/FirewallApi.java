@@ -34,7 +34,11 @@ import javax.ws.rs.Produces;
 import javax.ws.rs.QueryParam;
 
 import org.jclouds.Fallbacks.NullOnNotFoundOr404;
+import org.jclouds.googlecloud.cache.CachedOnNotModifiedOrNullOnNotFoundOr404;
+import org.jclouds.googlecloud.cache.ConditionalGetFilter;
+import org.jclouds.googlecloud.cache.ParseJsonAndCache;
 import org.jclouds.googlecloud.domain.ListPage;
+import org.jclouds.googlecloud.filters.RateLimitFilter;
 import org.jclouds.googlecomputeengine.GoogleComputeEngineApi;
 import org.jclouds.googlecomputeengine.binders.FirewallBinder;
 import org.jclouds.googlecomputeengine.domain.Firewall;
@@ -50,6 +54,7 @@ import org.jclouds.rest.annotations.MapBinder;
 import org.jclouds.rest.annotations.PATCH;
 import org.jclouds.rest.annotations.PayloadParam;
 import org.jclouds.rest.annotations.RequestFilters;
+import org.jclouds.rest.annotations.ResponseParser;
 import org.jclouds.rest.annotations.SkipEncoding;
 import org.jclouds.rest.annotations.Transform;
 import org.jclouds.rest.binders.BindToJsonPayload;
@@ -57,7 +62,7 @@ import org.jclouds.rest.binders.BindToJsonPayload;
 import com.google.common.base.Function;
 
 @SkipEncoding({'/', '='})
-@RequestFilters(OAuthFilter.class)
+@RequestFilters({ RateLimitFilter.class, ConditionalGetFilter.class, OAuthFilter.class })
 @Path("/firewalls")
 @Consumes(APPLICATION_JSON)
 public interface FirewallApi {
@@ -66,7 +71,8 @@ public interface FirewallApi {
    @Named("Firewalls:get")
    @GET
    @Path("/{firewall}")
-   @Fallback(NullOnNotFoundOr404.class)
+   @ResponseParser(ParseJsonAndCache.class)
+   @Fallback(CachedOnNotModifiedOrNullOnNotFoundOr404.class)
    @Nullable
    Firewall get(@PathParam("firewall") String firewall);
 
@@ -35,6 +35,8 @@ import javax.ws.rs.QueryParam;
 
 import org.jclouds.Fallbacks.NullOnNotFoundOr404;
 import org.jclouds.googlecloud.domain.ListPage;
+import org.jclouds.googlecloud.filters.RateLimitFilter;
+import org.jclouds.googlecloud.options.GetOptions;
 import org.jclouds.googlecomputeengine.GoogleComputeEngineApi;
 import org.jclouds.googlecomputeengine.domain.AttachDisk;
 import org.jclouds.googlecomputeengine.domain.Instance;
@@ -58,7 +60,7 @@ import org.jclouds.rest.binders.BindToJsonPayload;
 import com.google.common.base.Function;
 
 @SkipEncoding({'/', '='})
-@RequestFilters(OAuthFilter.class)
+@RequestFilters({ RateLimitFilter.class, OAuthFilter.class })
 @Path("/instances")
 @Consumes(APPLICATION_JSON)
 public interface InstanceApi {
@@ -71,6 +73,14 @@ public interface InstanceApi {
    @Nullable
    Instance get(@PathParam("instance") String instance);
 
+   /** Like {@link #get(String)}, but only returns the fields set in the options. */
+   @Named("Instances:get")
+   @GET
+   @Path("/{instance}")
+   @Fallback(NullOnNotFoundOr404.class)
+   @Nullable
+   Instance get(@PathParam("instance") String instance, GetOptions options);
+
    /**
     * Creates a instance resource in the specified project using the data included in the request.
     *
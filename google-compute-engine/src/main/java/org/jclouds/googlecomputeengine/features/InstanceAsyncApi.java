@@ -0,0 +1,96 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jclouds.googlecomputeengine.features;
+
+import static org.jclouds.googlecomputeengine.domain.Instance.NetworkInterface.AccessConfig;
+import static org.jclouds.googlecomputeengine.domain.Instance.SerialPortOutput;
+
+import org.jclouds.googlecloud.domain.ListPage;
+import org.jclouds.googlecloud.options.GetOptions;
+import org.jclouds.googlecomputeengine.domain.AttachDisk;
+import org.jclouds.googlecomputeengine.domain.Instance;
+import org.jclouds.googlecomputeengine.domain.Instance.Scheduling;
+import org.jclouds.googlecomputeengine.domain.Metadata;
+import org.jclouds.googlecomputeengine.domain.NewInstance;
+import org.jclouds.googlecomputeengine.domain.Operation;
+import org.jclouds.googlecomputeengine.options.ListOptions;
+import org.jclouds.javax.annotation.Nullable;
+
+import com.google.common.util.concurrent.ListenableFuture;
+
+/**
+ * {@link InstanceApi}, with each call returning a future of its result.
+ *
+ * <pre>
+ * InstanceAsyncApi instances = api.async().instancesInZone(zone);
+ * </pre>
+ *
+ * @see org.jclouds.googlecloud.async.AsyncApis
+ */
+public interface InstanceAsyncApi {
+
+   /** @see InstanceApi#get(String) */
+   ListenableFuture<Instance> get(String instance);
+
+   /** @see InstanceApi#get(String, GetOptions) */
+   ListenableFuture<Instance> get(String instance, GetOptions options);
+
+   /** @see InstanceApi#create(NewInstance) */
+   ListenableFuture<Operation> create(NewInstance template);
+
+   /** @see InstanceApi#delete(String) */
+   ListenableFuture<Operation> delete(String instance);
+
+   /** @see InstanceApi#addAccessConfigToNic(String, AccessConfig, String) */
+   ListenableFuture<Operation> addAccessConfigToNic(String instance, AccessConfig accessConfig,
+         String networkInterfaceName);
+
+   /** @see InstanceApi#deleteAccessConfigFromNic(String, String, String) */
+   ListenableFuture<Operation> deleteAccessConfigFromNic(String instance, String accessConfigName,
+         String networkInterfaceName);
+
+   /** @see InstanceApi#getSerialPortOutput(String) */
+   ListenableFuture<SerialPortOutput> getSerialPortOutput(String instance);
+
+   /** @see InstanceApi#reset(String) */
+   ListenableFuture<Operation> reset(String instance);
+
+   /** @see InstanceApi#attachDisk(String, AttachDisk) */
+   ListenableFuture<Operation> attachDisk(String instance, AttachDisk attachDiskOptions);
+
+   /** @see InstanceApi#detachDisk(String, String) */
+   ListenableFuture<Operation> detachDisk(String instance, String deviceName);
+
+   /** @see InstanceApi#setMetadata(String, Metadata) */
+   ListenableFuture<Operation> setMetadata(String instance, Metadata metadata);
+
+   /** @see InstanceApi#setTags(String, Iterable, String) */
+   ListenableFuture<Operation> setTags(String instance, Iterable<String> items, String fingerprint);
+
+   /** @see InstanceApi#setDiskAutoDelete(String, String, boolean) */
+   ListenableFuture<Operation> setDiskAutoDelete(String instanceName, String deviceName, boolean autoDelete);
+
+   /** @see InstanceApi#setScheduling(String, Scheduling.OnHostMaintenance, boolean) */
+   ListenableFuture<Operation> setScheduling(String instanceName, Scheduling.OnHostMaintenance onHostMaintenance,
+         boolean automaticRestart);
+
+   /**
+    * @see InstanceApi#listPage(String, ListOptions)
+    * @see org.jclouds.googlecloud.async.AsyncApis#allPages
+    */
+   ListenableFuture<ListPage<Instance>> listPage(@Nullable String pageToken, ListOptions listOptions);
+}
@@ -32,7 +32,11 @@ import javax.ws.rs.Produces;
 import javax.ws.rs.QueryParam;
 
 import org.jclouds.Fallbacks.NullOnNotFoundOr404;
+import org.jclouds.googlecloud.cache.CachedOnNotModifiedOrNullOnNotFoundOr404;
+import org.jclouds.googlecloud.cache.ConditionalGetFilter;
+import org.jclouds.googlecloud.cache.ParseJsonAndCache;
 import org.jclouds.googlecloud.domain.ListPage;
+import org.jclouds.googlecloud.filters.RateLimitFilter;
 import org.jclouds.googlecomputeengine.GoogleComputeEngineApi;
 import org.jclouds.googlecomputeengine.domain.Network;
 import org.jclouds.googlecomputeengine.domain.Operation;
@@ -46,6 +50,7 @@ import org.jclouds.rest.annotations.Fallback;
 import org.jclouds.rest.annotations.MapBinder;
 import org.jclouds.rest.annotations.PayloadParam;
 import org.jclouds.rest.annotations.RequestFilters;
+import org.jclouds.rest.annotations.ResponseParser;
 import org.jclouds.rest.annotations.SkipEncoding;
 import org.jclouds.rest.annotations.Transform;
 import org.jclouds.rest.binders.BindToJsonPayload;
@@ -53,7 +58,7 @@ import org.jclouds.rest.binders.BindToJsonPayload;
 import com.google.common.base.Function;
 
 @SkipEncoding({'/', '='})
-@RequestFilters(OAuthFilter.class)
+@RequestFilters({ RateLimitFilter.class, ConditionalGetFilter.class, OAuthFilter.class })
 @Path("/networks")
 @Consumes(APPLICATION_JSON)
 public interface NetworkApi {
@@ -62,7 +67,8 @@ public interface NetworkApi {
    @Named("Networks:get")
    @GET
    @Path("/{network}")
-   @Fallback(NullOnNotFoundOr404.class)
+   @ResponseParser(ParseJsonAndCache.class)
+   @Fallback(CachedOnNotModifiedOrNullOnNotFoundOr404.class)
    Network get(@PathParam("network") String networkName);
 
    /**
@@ -34,6 +34,8 @@ import javax.ws.rs.QueryParam;
 import org.jclouds.Fallbacks.NullOnNotFoundOr404;
 import org.jclouds.googlecloud.config.CurrentProject;
 import org.jclouds.googlecloud.domain.ListPage;
+import org.jclouds.googlecloud.filters.RateLimitFilter;
+import org.jclouds.googlecloud.options.GetOptions;
 import org.jclouds.googlecomputeengine.GoogleComputeEngineApi;
 import org.jclouds.googlecomputeengine.domain.Operation;
 import org.jclouds.googlecomputeengine.internal.BaseArg0ToIteratorOfListPage;
@@ -51,7 +53,7 @@ import org.jclouds.rest.annotations.Transform;
 import com.google.common.base.Function;
 
 @SkipEncoding({'/', '='})
-@RequestFilters(OAuthFilter.class)
+@RequestFilters({ RateLimitFilter.class, OAuthFilter.class })
 @Consumes(APPLICATION_JSON)
 public interface OperationApi {
 
@@ -62,6 +64,13 @@ public interface OperationApi {
    @Nullable
    Operation get(@EndpointParam URI operation);
 
+   /** Like {@link #get(URI)}, but only returns the fields set in the options. */
+   @Named("Operations:get")
+   @GET
+   @Fallback(NullOnNotFoundOr404.class)
+   @Nullable
+   Operation get(@EndpointParam URI operation, GetOptions options);
+
    /** Deletes an operation by name. */
    @Named("Operations:delete")
    @DELETE
@@ -0,0 +1,56 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jclouds.googlecomputeengine.features;
+
+import java.net.URI;
+
+import org.jclouds.googlecloud.domain.ListPage;
+import org.jclouds.googlecloud.options.GetOptions;
+import org.jclouds.googlecomputeengine.domain.Operation;
+import org.jclouds.googlecomputeengine.options.ListOptions;
+import org.jclouds.javax.annotation.Nullable;
+
+import com.google.common.util.concurrent.ListenableFuture;
+
+/**
+ * {@link OperationApi}, with each call returning a future of its result, so that the caller can poll many operations
+ * without waiting on each in turn. Obtained with {@code api.async().operations()}.
+ *
+ * @see org.jclouds.googlecloud.async.AsyncApis
+ */
+public interface OperationAsyncApi {
+
+   /** @see OperationApi#get(URI) */
+   ListenableFuture<Operation> get(URI operation);
+
+   /** @see OperationApi#get(URI, GetOptions) */
+   ListenableFuture<Operation> get(URI operation, GetOptions options);
+
+   /** @see OperationApi#delete(URI) */
+   ListenableFuture<Void> delete(URI operation);
+
+   /** @see OperationApi#listPage(String, ListOptions) */
+   ListenableFuture<ListPage<Operation>> listPage(@Nullable String pageToken, ListOptions listOptions);
+
+   /** @see OperationApi#listPageInRegion(String, String, ListOptions) */
+   ListenableFuture<ListPage<Operation>> listPageInRegion(String region, @Nullable String pageToken,
+         ListOptions listOptions);
+
+   /** @see OperationApi#listPageInZone(String, String, ListOptions) */
+   ListenableFuture<ListPage<Operation>> listPageInZone(String zone, @Nullable String pageToken,
+         ListOptions listOptions);
+}
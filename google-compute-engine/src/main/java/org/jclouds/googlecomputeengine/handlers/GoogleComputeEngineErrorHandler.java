@@ -16,19 +16,33 @@
  */
 package org.jclouds.googlecomputeengine.handlers;
 
+import static org.jclouds.googlecloud.internal.RateLimits.isRateLimited;
 import static org.jclouds.http.HttpUtils.closeClientButKeepContentStream;
 
+import org.jclouds.googlecloud.filters.RateLimitFilter;
 import org.jclouds.http.HttpCommand;
 import org.jclouds.http.HttpErrorHandler;
 import org.jclouds.http.HttpResponse;
 import org.jclouds.http.HttpResponseException;
+import org.jclouds.oauth.v2.config.CredentialPool;
 import org.jclouds.rest.AuthorizationException;
 import org.jclouds.rest.ResourceNotFoundException;
 
+import com.google.inject.Inject;
+
 /**
  * This will parse and set an appropriate exception on the command object.
  */
 public class GoogleComputeEngineErrorHandler implements HttpErrorHandler {
+
+   /** Told which service account got throttled, so that others take over while it backs off. */
+   @Inject(optional = true)
+   private CredentialPool credentialPool;
+
+   /** Told which method got throttled, so that its rate backs off. */
+   @Inject(optional = true)
+   private RateLimitFilter rateLimitFilter;
+
    public void handleError(HttpCommand command, HttpResponse response) {
       // it is important to always read fully and close streams
       byte[] data = closeClientButKeepContentStream(response);
@@ -38,6 +52,14 @@ public class GoogleComputeEngineErrorHandler implements HttpErrorHandler {
               : new HttpResponseException(command, response);
       message = message != null ? message : String.format("%s -> %s", command.getCurrentRequest().getRequestLine(),
               response.getStatusLine());
+      if (isRateLimited(response.getStatusCode(), message)) {
+         if (credentialPool != null) {
+            credentialPool.throttled(command.getCurrentRequest());
+         }
+         if (rateLimitFilter != null) {
+            rateLimitFilter.throttled(command.getCurrentRequest());
+         }
+      }
       switch (response.getStatusCode()) {
          case 400:
             break;
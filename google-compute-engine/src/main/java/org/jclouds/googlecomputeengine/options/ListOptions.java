@@ -67,6 +67,14 @@ public final class ListOptions extends org.jclouds.googlecloud.options.ListOptio
       return (ListOptions) super.maxResults(maxResults);
    }
 
+   @Override public ListOptions fields(String... fields) {
+      return (ListOptions) super.fields(fields);
+   }
+
+   @Override public ListOptions prefetchPages(int prefetchPages) {
+      return (ListOptions) super.prefetchPages(prefetchPages);
+   }
+
    public static final class Builder {
 
       /**
@@ -83,6 +91,20 @@ public final class ListOptions extends org.jclouds.googlecloud.options.ListOptio
          return new ListOptions().maxResults(maxResults);
       }
 
+      /**
+       * @see ListOptions#fields(String...)
+       */
+      public static ListOptions fields(String... fields) {
+         return new ListOptions().fields(fields);
+      }
+
+      /**
+       * @see ListOptions#prefetchPages(int)
+       */
+      public static ListOptions prefetchPages(int prefetchPages) {
+         return new ListOptions().prefetchPages(prefetchPages);
+      }
+
       private Builder(){
       }
    }
@@ -45,6 +45,10 @@ import com.squareup.okhttp.mockwebserver.MockResponse;
 @Test(groups = "unit", testName = "GoogleComputeEngineServiceMockTest", singleThreaded = true)
 public class GoogleComputeEngineServiceMockTest extends BaseGoogleComputeEngineApiMockTest {
 
+   private static final String OPERATION = "/projects/party/zones/us-central1-a/operations/operation-1354084865060";
+   private static final String POLLED_FIELDS =
+         "?fields=selfLink,targetLink,targetId,status,error,httpErrorStatusCode,httpErrorMessage,zone,region";
+
    public void templateMatch() throws Exception {
       server.enqueue(singleRegionSingleZoneResponse());
       server.enqueue(jsonResponse("/image_list.json"));
@@ -95,15 +99,15 @@ public class GoogleComputeEngineServiceMockTest extends BaseGoogleComputeEngineA
       assertSent(server, "GET", "/projects/party/regions");
       assertSent(server, "GET", "/projects/party/aggregated/machineTypes");
       assertSent(server, "DELETE", "/jclouds/zones/us-central1-a/instances/test-delete-networks");
-      assertSent(server, "GET", "/projects/party/zones/us-central1-a/operations/operation-1354084865060");
+      assertSent(server, "GET", OPERATION + POLLED_FIELDS);
       assertSent(server, "GET", "/projects/party/zones/us-central1-a/instances/test-delete-networks");
       assertSent(server, "GET", "/projects/party/aggregated/instances");
       assertSent(server, "GET", "/projects/party/global/networks/jclouds-test-delete");
       assertSent(server, "GET", "/projects/party/global/firewalls");
       assertSent(server, "DELETE", "/projects/party/global/firewalls/jclouds-test-delete");
-      assertSent(server, "GET", "/projects/party/zones/us-central1-a/operations/operation-1354084865060");
+      assertSent(server, "GET", OPERATION + POLLED_FIELDS);
       assertSent(server, "DELETE", "/projects/party/global/networks/jclouds-test-delete");
-      assertSent(server, "GET", "/projects/party/zones/us-central1-a/operations/operation-1354084865060");
+      assertSent(server, "GET", OPERATION + POLLED_FIELDS);
    }
 
    public void listAssignableLocations() throws Exception {
@@ -182,13 +186,13 @@ public class GoogleComputeEngineServiceMockTest extends BaseGoogleComputeEngineA
       assertSent(server, "GET", "/projects/party/global/networks/jclouds-test");
       assertSent(server, "POST", "/projects/party/global/networks",
             "{\"name\":\"jclouds-test\",\"IPv4Range\":\"10.0.0.0/8\"}");
-      assertSent(server, "GET", "/projects/party/zones/us-central1-a/operations/operation-1354084865060");
+      assertSent(server, "GET", OPERATION + POLLED_FIELDS);
       assertSent(server, "GET", "/projects/party/global/networks/jclouds-test");
       assertSent(server, "GET", "/projects/party/global/firewalls/jclouds-test-port-22");
       assertSent(server, "POST", "/projects/party/global/firewalls",
             stringFromResource("/firewall_insert_2.json"));
 
-      assertSent(server, "GET", "/projects/party/zones/us-central1-a/operations/operation-1354084865060");
+      assertSent(server, "GET", OPERATION + POLLED_FIELDS);
       assertSent(server, "GET", "/projects/party/aggregated/instances");
       assertSent(server, "POST", "/projects/party/zones/us-central1-a/instances",
             String.format(stringFromResource("/instance_insert_2.json"), template.getHardware().getId(), template.getImage().getId()));
@@ -16,7 +16,9 @@
  */
 package org.jclouds.googlecomputeengine.compute.functions;
 
+import static org.easymock.EasyMock.anyObject;
 import static org.easymock.EasyMock.createMock;
+import static org.easymock.EasyMock.eq;
 import static org.easymock.EasyMock.expect;
 import static org.easymock.EasyMock.replay;
 import static org.easymock.EasyMock.verify;
@@ -25,6 +27,7 @@ import static org.testng.Assert.assertEquals;
 import java.net.URI;
 
 import org.jclouds.date.internal.SimpleDateFormatDateService;
+import org.jclouds.googlecloud.options.GetOptions;
 import org.jclouds.googlecomputeengine.GoogleComputeEngineApi;
 import org.jclouds.googlecomputeengine.compute.domain.NetworkAndAddressRange;
 import org.jclouds.googlecomputeengine.compute.predicates.AtomicOperationDone;
@@ -63,7 +66,7 @@ public class CreateNetworkIfNeededTest {
       expect(api.networks()).andReturn(nwApi).atLeastOnce();
 
       expect(nwApi.createInIPv4Range("this-network", "0.0.0.0/0")) .andReturn(createOp);
-      expect(resources.operation(createOp.selfLink())).andReturn(createOp);
+      expect(resources.operation(eq(createOp.selfLink()), anyObject(GetOptions.class))).andReturn(createOp);
       expect(nwApi.get("this-network")).andReturn(null);
       expect(nwApi.get("this-network")).andReturn(network);
 
@@ -101,7 +104,7 @@ public class CreateNetworkIfNeededTest {
 
       expect(nwApi.createInIPv4Range(new NetworkCreationOptions.Builder("this-network", "0.0.0.0/0")
          .gatewayIPv4("1.2.3.4").build())).andReturn(createOp);
-      expect(resources.operation(createOp.selfLink())).andReturn(createOp);
+      expect(resources.operation(eq(createOp.selfLink()), anyObject(GetOptions.class))).andReturn(createOp);
       expect(nwApi.get("this-network")).andReturn(null);
       expect(nwApi.get("this-network")).andReturn(network);
 
@@ -16,7 +16,9 @@
  */
 package org.jclouds.googlecomputeengine.compute.functions;
 
+import static org.easymock.EasyMock.anyObject;
 import static org.easymock.EasyMock.createMock;
+import static org.easymock.EasyMock.eq;
 import static org.easymock.EasyMock.expect;
 import static org.easymock.EasyMock.replay;
 import static org.easymock.EasyMock.verify;
@@ -26,6 +28,7 @@ import java.net.URI;
 import java.util.concurrent.atomic.AtomicReference;
 
 import org.jclouds.date.internal.SimpleDateFormatDateService;
+import org.jclouds.googlecloud.options.GetOptions;
 import org.jclouds.googlecomputeengine.GoogleComputeEngineApi;
 import org.jclouds.googlecomputeengine.compute.domain.NetworkAndAddressRange;
 import org.jclouds.googlecomputeengine.compute.predicates.AtomicOperationDone;
@@ -93,7 +96,7 @@ public class FindNetworkOrCreateTest {
       expect(api.networks()).andReturn(nwApi).atLeastOnce();
 
       expect(nwApi.createInIPv4Range("this-network", "0.0.0.0/0")).andReturn(createOp);
-      expect(resources.operation(createOp.selfLink())).andReturn(createOp);
+      expect(resources.operation(eq(createOp.selfLink()), anyObject(GetOptions.class))).andReturn(createOp);
       // pre-creation
       expect(nwApi.get("this-network")).andReturn(null).times(2);
       // post-creation
@@ -0,0 +1,84 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jclouds.googlecomputeengine.config;
+
+import static org.jclouds.googlecloud.config.GoogleCloudProperties.PROJECT_NAME;
+import static org.jclouds.googlecloud.config.GoogleCloudProperties.WARM_UP;
+import static org.testng.Assert.assertEquals;
+
+import java.util.Map;
+import java.util.Properties;
+
+import org.jclouds.ContextBuilder;
+import org.jclouds.googlecloud.config.WarmUp;
+import org.jclouds.googlecloud.config.WarmUpListener;
+import org.jclouds.googlecomputeengine.config.GoogleComputeEngineHttpApiModule.WarmUpWithProject;
+import org.jclouds.googlecomputeengine.internal.BaseGoogleComputeEngineApiMockTest;
+import org.jclouds.javax.annotation.Nullable;
+import org.testng.annotations.Test;
+
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.ImmutableSet;
+import com.google.common.collect.Maps;
+import com.google.inject.AbstractModule;
+import com.google.inject.Module;
+
+@Test(groups = "unit", testName = "WarmUpMockTest", singleThreaded = true)
+public class WarmUpMockTest extends BaseGoogleComputeEngineApiMockTest {
+
+   public void projectIsResolvedWhileBuildingTheContext() throws Exception {
+      server.enqueue(jsonResponse("/project.json"));
+
+      RecordingListener listener = new RecordingListener();
+      WarmUp warmUp = builder(true, listener).buildInjector().getInstance(WarmUp.class);
+      warmUp.phases().get();
+
+      // bearer token credentials need no key or token phases
+      assertEquals(listener.succeeded, ImmutableMap.of(WarmUpWithProject.PROJECT, true));
+      assertSent(server, "GET", "/projects/761326798069");
+   }
+
+   public void disabledByDefault() throws Exception {
+      RecordingListener listener = new RecordingListener();
+      WarmUp warmUp = builder(false, listener).buildInjector().getInstance(WarmUp.class);
+
+      assertEquals(warmUp.phases().get().size(), 0);
+      assertEquals(listener.succeeded.size(), 0);
+      assertEquals(server.getRequestCount(), 0);
+   }
+
+   private ContextBuilder builder(boolean warmUp, final WarmUpListener listener) {
+      Properties overrides = new Properties();
+      overrides.put(PROJECT_NAME, ""); // so that the project is looked up
+      if (warmUp) {
+         overrides.put(WARM_UP, "true");
+      }
+      return builder().overrides(overrides).modules(ImmutableSet.<Module>of(new AbstractModule() {
+         @Override protected void configure() {
+            bind(WarmUpListener.class).toInstance(listener);
+         }
+      }));
+   }
+
+   private static final class RecordingListener implements WarmUpListener {
+      private final Map<String, Boolean> succeeded = Maps.newConcurrentMap();
+
+      @Override public void phaseCompleted(String phase, long elapsedNanos, @Nullable Throwable failure) {
+         succeeded.put(phase, failure == null);
+      }
+   }
+}
@@ -16,10 +16,15 @@
  */
 package org.jclouds.googlecomputeengine.features;
 
+import static org.testng.Assert.assertEquals;
 import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertNull;
 import static org.testng.Assert.assertTrue;
 
+import org.jclouds.googlecloud.domain.StreamingListPage;
+import org.jclouds.googlecomputeengine.domain.Instance;
 import org.jclouds.googlecomputeengine.internal.BaseGoogleComputeEngineApiMockTest;
+import org.jclouds.googlecomputeengine.options.ListOptions;
 import org.testng.annotations.Test;
 
 @Test(groups = "unit", testName = "AggregatedListApiMockTest", singleThreaded = true)
@@ -65,6 +70,29 @@ public class AggregatedListApiMockTest extends BaseGoogleComputeEngineApiMockTes
       assertSent(server, "GET", "/projects/party/aggregated/instances");
    }
 
+   public void streamPageOfInstances() throws Exception {
+      server.enqueue(jsonResponse("/aggregated_instance_list.json"));
+
+      StreamingListPage<Instance> page = api().aggregatedList().streamPageOfInstances(null, new ListOptions());
+
+      assertTrue(page.hasNext());
+      assertEquals(page.next().name(), "test-0");
+      assertFalse(page.hasNext());
+      assertNull(page.nextPageToken());
+
+      assertSent(server, "GET", "/projects/party/aggregated/instances");
+   }
+
+   public void streamPageOfInstances_empty() throws Exception {
+      server.enqueue(jsonResponse("/aggregated_instance_list_empty.json"));
+
+      StreamingListPage<Instance> page = api().aggregatedList().streamPageOfInstances(null, new ListOptions());
+
+      assertFalse(page.hasNext());
+
+      assertSent(server, "GET", "/projects/party/aggregated/instances");
+   }
+
    public void addresses() throws Exception {
       server.enqueue(jsonResponse("/aggregated_address_list.json"));
 
@@ -0,0 +1,88 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jclouds.googlecomputeengine.features;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertNull;
+
+import java.util.List;
+
+import org.jclouds.googlecloud.async.AsyncApis;
+import org.jclouds.googlecloud.domain.ListPage;
+import org.jclouds.googlecomputeengine.domain.Instance;
+import org.jclouds.googlecomputeengine.internal.BaseGoogleComputeEngineApiMockTest;
+import org.jclouds.googlecomputeengine.options.ListOptions;
+import org.jclouds.googlecomputeengine.parse.ParseInstanceListTest;
+import org.jclouds.googlecomputeengine.parse.ParseInstanceTest;
+import org.jclouds.googlecomputeengine.parse.ParseZoneOperationTest;
+import org.testng.annotations.Test;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.util.concurrent.AsyncFunction;
+import com.google.common.util.concurrent.ListenableFuture;
+
+@Test(groups = "unit", testName = "InstanceAsyncApiMockTest", singleThreaded = true)
+public class InstanceAsyncApiMockTest extends BaseGoogleComputeEngineApiMockTest {
+
+   public void get() throws Exception {
+      server.enqueue(jsonResponse("/instance_get.json"));
+
+      assertEquals(instanceAsyncApi().get("test-instance").get(),
+            new ParseInstanceTest().expected(url("/projects")));
+      assertSent(server, "GET", "/projects/party/zones/us-central1-a/instances/test-instance");
+   }
+
+   public void get_4xx() throws Exception {
+      server.enqueue(response404());
+
+      assertNull(instanceAsyncApi().get("test-1").get());
+      assertSent(server, "GET", "/projects/party/zones/us-central1-a/instances/test-1");
+   }
+
+   public void delete() throws Exception {
+      server.enqueue(jsonResponse("/zone_operation.json"));
+
+      assertEquals(instanceAsyncApi().delete("test-1").get(),
+            new ParseZoneOperationTest().expected(url("/projects")));
+      assertSent(server, "DELETE", "/projects/party/zones/us-central1-a/instances/test-1");
+   }
+
+   public void allPages() throws Exception {
+      server.enqueue(jsonResponse("/instance_list.json"));
+
+      final InstanceAsyncApi instances = instanceAsyncApi();
+      final ListOptions options = new ListOptions();
+      List<Instance> all = AsyncApis.allPages(instances.listPage(null, options),
+            new AsyncFunction<String, ListPage<Instance>>() {
+               @Override public ListenableFuture<ListPage<Instance>> apply(String pageToken) {
+                  return instances.listPage(pageToken, options);
+               }
+            }).get();
+
+      assertEquals(all, ImmutableList.copyOf(new ParseInstanceListTest().expected(url("/projects"))));
+      assertSent(server, "GET", "/projects/party/zones/us-central1-a/instances");
+   }
+
+   /** Creating the view checks each of its methods mirrors one of the api. */
+   public void operationAsyncApiMirrorsOperationApi() {
+      api().async().operations();
+   }
+
+   InstanceAsyncApi instanceAsyncApi() {
+      return api().async().instancesInZone("us-central1-a");
+   }
+}
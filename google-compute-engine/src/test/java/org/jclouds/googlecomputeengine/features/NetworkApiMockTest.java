@@ -16,9 +16,16 @@
  */
 package org.jclouds.googlecomputeengine.features;
 
+import static org.jclouds.googlecloud.config.GoogleCloudProperties.CONDITIONAL_GET_CACHE_SIZE;
 import static org.testng.Assert.assertEquals;
 import static org.testng.Assert.assertFalse;
 import static org.testng.Assert.assertNull;
+import static org.testng.Assert.assertSame;
+
+import java.util.Properties;
+
+import org.jclouds.googlecomputeengine.GoogleComputeEngineApi;
+import org.jclouds.googlecomputeengine.domain.Network;
 
 import org.jclouds.googlecomputeengine.internal.BaseGoogleComputeEngineApiMockTest;
 import org.jclouds.googlecomputeengine.parse.ParseNetworkListTest;
@@ -26,6 +33,8 @@ import org.jclouds.googlecomputeengine.parse.ParseNetworkTest;
 import org.jclouds.googlecomputeengine.parse.ParseOperationTest;
 import org.testng.annotations.Test;
 
+import com.squareup.okhttp.mockwebserver.MockResponse;
+
 @Test(groups = "unit", testName = "NetworkApiMockTest", singleThreaded = true)
 public class NetworkApiMockTest extends BaseGoogleComputeEngineApiMockTest {
 
@@ -37,6 +46,22 @@ public class NetworkApiMockTest extends BaseGoogleComputeEngineApiMockTest {
       assertSent(server, "GET", "/projects/party/global/networks/jclouds-test");
    }
 
+   public void getRevalidatesCachedNetwork() throws Exception {
+      server.enqueue(jsonResponse("/network_get.json").addHeader("ETag", "\"abc\""));
+      server.enqueue(new MockResponse().setResponseCode(304));
+      Properties overrides = new Properties();
+      overrides.put(CONDITIONAL_GET_CACHE_SIZE, "10");
+      NetworkApi networkApi = builder().overrides(overrides).buildApi(GoogleComputeEngineApi.class).networks();
+
+      Network network = networkApi.get("jclouds-test");
+      assertEquals(network, new ParseNetworkTest().expected(url("/projects")));
+      assertSame(networkApi.get("jclouds-test"), network);
+
+      assertNull(assertSent(server, "GET", "/projects/party/global/networks/jclouds-test").getHeader("If-None-Match"));
+      assertEquals(assertSent(server, "GET", "/projects/party/global/networks/jclouds-test").getHeader("If-None-Match"),
+            "\"abc\"");
+   }
+
    public void get_4xx() throws Exception {
       server.enqueue(response404());
 
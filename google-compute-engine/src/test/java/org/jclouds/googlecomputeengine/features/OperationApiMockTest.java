@@ -16,10 +16,12 @@
  */
 package org.jclouds.googlecomputeengine.features;
 
+import static org.jclouds.googlecloud.options.GetOptions.Builder.fields;
 import static org.jclouds.googlecomputeengine.options.ListOptions.Builder.filter;
 import static org.testng.Assert.assertEquals;
 import static org.testng.Assert.assertFalse;
 import static org.testng.Assert.assertNull;
+import static org.testng.Assert.assertTrue;
 
 import java.net.URI;
 
@@ -47,6 +49,22 @@ public class OperationApiMockTest extends BaseGoogleComputeEngineApiMockTest {
       assertSent(server, "GET", "/projects/party/global/operations/operation-1354084865060");
    }
 
+   public void get_fields() throws Exception {
+      server.enqueue(new MockResponse().setBody("{"
+            + "\"selfLink\":\"" + url("/projects/party/global/operations/op") + "\","
+            + "\"targetLink\":\"" + url("/projects/party/global/networks/jclouds-test") + "\","
+            + "\"status\":\"DONE\"}"));
+
+      Operation operation = operationApi().get(URI.create(url("/projects/party/global/operations/op")),
+            fields("selfLink", "targetLink", "status", "error"));
+
+      assertEquals(operation.status(), Operation.Status.DONE);
+      assertTrue(operation.error().errors().isEmpty());
+      assertNull(operation.id());
+      assertNull(operation.insertTime());
+      assertSent(server, "GET", "/projects/party/global/operations/op?fields=selfLink%2CtargetLink%2Cstatus%2Cerror");
+   }
+
    public void get_4xx() throws Exception {
       server.enqueue(response404());
 
@@ -0,0 +1,51 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jclouds.googlecomputeengine.internal;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertNull;
+
+import org.jclouds.googlecloud.metrics.ApiMetrics;
+import org.jclouds.googlecloud.metrics.MethodMetrics;
+import org.jclouds.googlecomputeengine.GoogleComputeEngineApi;
+import org.testng.annotations.Test;
+
+import com.google.common.collect.ImmutableMap;
+import com.google.inject.Injector;
+
+@Test(groups = "unit", testName = "ApiMetricsMockTest", singleThreaded = true)
+public class ApiMetricsMockTest extends BaseGoogleComputeEngineApiMockTest {
+
+   public void callsRecordedByName() throws Exception {
+      server.enqueue(jsonResponse("/instance_get.json"));
+      server.enqueue(response404());
+
+      Injector injector = builder().buildInjector();
+      GoogleComputeEngineApi api = injector.getInstance(GoogleComputeEngineApi.class);
+      ApiMetrics metrics = injector.getInstance(ApiMetrics.class);
+      assertNull(metrics.get("Instances:get"));
+
+      api.instancesInZone("us-central1-a").get("test-instance");
+      assertNull(api.instancesInZone("us-central1-a").get("test-1"));
+
+      MethodMetrics instancesGet = metrics.get("Instances:get");
+      assertEquals(instancesGet.getRequests(), 2);
+      assertEquals(instancesGet.getErrors(), 1);
+      assertEquals(instancesGet.getErrorsByStatus(), ImmutableMap.of(404, 1L));
+      assertEquals(instancesGet.getBytesIn(), stringFromResource("/instance_get.json").length());
+   }
+}
@@ -0,0 +1,129 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jclouds.googlecomputeengine.internal;
+
+import static com.google.common.base.Charsets.UTF_8;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertNull;
+import static org.testng.Assert.assertTrue;
+import static org.testng.Assert.fail;
+
+import java.net.URI;
+import java.util.concurrent.ExecutionException;
+
+import org.jclouds.googlecloud.batch.BatchExecutor;
+import org.jclouds.googlecloud.batch.BatchRequest;
+import org.jclouds.googlecomputeengine.GoogleComputeEngineApi;
+import org.jclouds.googlecomputeengine.compute.functions.Resources;
+import org.jclouds.googlecomputeengine.domain.Instance;
+import org.jclouds.googlecomputeengine.domain.Operation;
+import org.jclouds.googlecomputeengine.parse.ParseInstanceTest;
+import org.jclouds.googlecomputeengine.parse.ParseZoneOperationTest;
+import org.testng.annotations.Test;
+
+import com.google.common.util.concurrent.ListenableFuture;
+import com.squareup.okhttp.mockwebserver.MockResponse;
+import com.squareup.okhttp.mockwebserver.RecordedRequest;
+
+@Test(groups = "unit", testName = "BatchRequestMockTest", singleThreaded = true)
+public class BatchRequestMockTest extends BaseGoogleComputeEngineApiMockTest {
+
+   public void callsSentInOneRequest() throws Exception {
+      // answered out of order, as Google may
+      server.enqueue(new MockResponse()
+            .addHeader("Content-Type", "multipart/mixed; boundary=batch_pK7JBAk73-E=_AA5eFwv4m2Q=")
+            .setBody("--batch_pK7JBAk73-E=_AA5eFwv4m2Q=\r\n"
+                  + part(2, "HTTP/1.1 200 OK", stringFromResource("/zone_operation.json"))
+                  + "--batch_pK7JBAk73-E=_AA5eFwv4m2Q=\r\n"
+                  + part(0, "HTTP/1.1 200 OK", stringFromResource("/instance_get.json"))
+                  + "--batch_pK7JBAk73-E=_AA5eFwv4m2Q=\r\n"
+                  + part(1, "HTTP/1.1 404 Not Found", "{\"error\":{\"code\":404,\"message\":\"Not Found\"}}")
+                  + "--batch_pK7JBAk73-E=_AA5eFwv4m2Q=--\r\n"));
+
+      BatchRequest batch = builder().buildInjector().getInstance(BatchExecutor.class).newBatch("/batch/compute/v1");
+      Resources resources = batch.proxy(Resources.class);
+      ListenableFuture<Instance> instance = batch.queue(
+            resources.instance(URI.create(url("/projects/party/zones/us-central1-a/instances/test-0"))));
+      ListenableFuture<Instance> missing = batch.queue(
+            resources.instance(URI.create(url("/projects/party/zones/us-central1-a/instances/test-1"))));
+      ListenableFuture<Operation> deleted = batch.queue(
+            batch.proxy(GoogleComputeEngineApi.class).instancesInZone("us-central1-a").delete("test-1"));
+      assertEquals(server.getRequestCount(), 0);
+
+      batch.execute();
+
+      assertEquals(instance.get(), new ParseInstanceTest().expected(url("/projects")));
+      assertNull(missing.get());
+      assertEquals(deleted.get(), new ParseZoneOperationTest().expected(url("/projects")));
+
+      assertEquals(server.getRequestCount(), 1);
+      RecordedRequest request = server.takeRequest();
+      assertEquals(request.getRequestLine(), "POST /batch/compute/v1 HTTP/1.1");
+      assertEquals(request.getHeader("Authorization"), "Bearer " + credential);
+      assertTrue(request.getHeader("Content-Type").startsWith("multipart/mixed; boundary="), request.getHeader(
+            "Content-Type"));
+      String body = new String(request.getBody(), UTF_8);
+      assertTrue(body.contains("Content-ID: <item0>\r\n\r\n"
+            + "GET /projects/party/zones/us-central1-a/instances/test-0 HTTP/1.1\r\n"), body);
+      assertTrue(body.contains("Content-ID: <item1>\r\n\r\n"
+            + "GET /projects/party/zones/us-central1-a/instances/test-1 HTTP/1.1\r\n"), body);
+      assertTrue(body.contains("Content-ID: <item2>\r\n\r\n"
+            + "DELETE /projects/party/zones/us-central1-a/instances/test-1 HTTP/1.1\r\n"), body);
+      assertFalse(body.contains("Authorization"), body);
+   }
+
+   public void failedBatchFailsEveryCall() throws Exception {
+      server.enqueue(new MockResponse().setResponseCode(400).setBody("{\"error\":{\"code\":400}}"));
+
+      BatchRequest batch = builder().buildInjector().getInstance(BatchExecutor.class).newBatch("/batch/compute/v1");
+      Resources resources = batch.proxy(Resources.class);
+      ListenableFuture<Operation> first = batch.queue(
+            resources.delete(URI.create(url("/projects/party/zones/us-central1-a/instances/test-0"))));
+      ListenableFuture<Operation> second = batch.queue(
+            resources.delete(URI.create(url("/projects/party/zones/us-central1-a/instances/test-1"))));
+
+      batch.execute();
+
+      assertTrue(first.isDone());
+      assertTrue(second.isDone());
+      try {
+         first.get();
+         fail("expected the batch failure");
+      } catch (ExecutionException expected) {
+      }
+      assertEquals(server.getRequestCount(), 1);
+   }
+
+   @Test(expectedExceptions = IllegalStateException.class)
+   public void unqueuedCallRejected() {
+      BatchRequest batch = builder().buildInjector().getInstance(BatchExecutor.class).newBatch("/batch/compute/v1");
+      Resources resources = batch.proxy(Resources.class);
+      resources.instance(URI.create(url("/projects/party/zones/us-central1-a/instances/test-0")));
+      resources.instance(URI.create(url("/projects/party/zones/us-central1-a/instances/test-1")));
+   }
+
+   private static String part(int item, String statusLine, String json) {
+      return "Content-Type: application/http\r\n"
+            + "Content-ID: <response-item" + item + ">\r\n"
+            + "\r\n"
+            + statusLine + "\r\n"
+            + "Content-Type: application/json; charset=UTF-8\r\n"
+            + "\r\n"
+            + json + "\r\n";
+   }
+}
@@ -0,0 +1,124 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jclouds.googlecomputeengine.internal;
+
+import static com.google.common.base.Charsets.UTF_8;
+import static com.google.common.io.BaseEncoding.base64Url;
+import static com.google.common.util.concurrent.MoreExecutors.sameThreadExecutor;
+import static org.jclouds.Constants.PROPERTY_MAX_RETRIES;
+import static org.jclouds.crypto.PemsTest.PRIVATE_KEY;
+import static org.jclouds.googlecloud.config.GoogleCloudProperties.CREDENTIAL_TYPE;
+import static org.jclouds.googlecloud.config.GoogleCloudProperties.PROJECT_NAME;
+import static org.jclouds.oauth.v2.config.CredentialType.P12_PRIVATE_KEY_CREDENTIALS;
+import static org.jclouds.oauth.v2.config.OAuthProperties.CREDENTIAL_POOL;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.fail;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.List;
+import java.util.Properties;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.jclouds.ContextBuilder;
+import org.jclouds.concurrent.config.ExecutorServiceModule;
+import org.jclouds.googlecomputeengine.GoogleComputeEngineApi;
+import org.jclouds.googlecomputeengine.GoogleComputeEngineProviderMetadata;
+import org.jclouds.http.HttpResponseException;
+import org.testng.annotations.Test;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableSet;
+import com.google.common.io.Files;
+import com.google.inject.Module;
+import com.squareup.okhttp.mockwebserver.Dispatcher;
+import com.squareup.okhttp.mockwebserver.MockResponse;
+import com.squareup.okhttp.mockwebserver.RecordedRequest;
+
+/**
+ * Authorizes requests as two service accounts, as configured by {@code jclouds.oauth.credential-pool}, against a
+ * server that throttles one of them.
+ */
+@Test(groups = "unit", testName = "CredentialPoolMockTest", singleThreaded = true)
+public class CredentialPoolMockTest extends BaseGoogleComputeEngineApiMockTest {
+
+   private static final String OTHER = "other@developer.gserviceaccount.com";
+
+   /** Grants each service account a token named after it, and throttles the context's requests when told to. */
+   private final class ThrottlingServer extends Dispatcher {
+      final List<String> authorizations = new CopyOnWriteArrayList<String>();
+      final AtomicInteger throttles = new AtomicInteger();
+
+      @Override public MockResponse dispatch(RecordedRequest request) {
+         if (request.getPath().equals("/o/oauth2/token")) {
+            String body = new String(request.getBody(), UTF_8);
+            String assertion = body.substring(body.indexOf("assertion=") + "assertion=".length()).split("&")[0];
+            String claims = new String(base64Url().omitPadding().decode(assertion.split("\\.")[1]), UTF_8);
+            String token = claims.contains("\"iss\":\"" + OTHER + "\"") ? "other-token" : "context-token";
+            return new MockResponse().addHeader("Content-Type", "application/json")
+                  .setBody("{\"access_token\":\"" + token + "\",\"token_type\":\"Bearer\",\"expires_in\":3600}");
+         }
+         String authorization = request.getHeader("Authorization");
+         authorizations.add(authorization);
+         if (authorization.equals("Bearer context-token") && throttles.getAndDecrement() > 0) {
+            return new MockResponse().setStatus("HTTP/1.1 429 Too Many Requests");
+         }
+         return jsonResponse("/network_get.json");
+      }
+   }
+
+   public void throttledCredentialHandsOverToTheOther() throws IOException {
+      ThrottlingServer throttling = new ThrottlingServer();
+      server.setDispatcher(throttling);
+      throttling.throttles.set(1);
+      GoogleComputeEngineApi api = pooledApi();
+
+      try {
+         api.networks().get("jclouds-test");
+         fail();
+      } catch (HttpResponseException expected) {
+      }
+      // round robin would come back to the context, but it is backing off
+      for (int i = 0; i < 3; i++) {
+         api.networks().get("jclouds-test");
+      }
+
+      assertEquals(throttling.authorizations, ImmutableList.of("Bearer context-token", "Bearer other-token",
+            "Bearer other-token", "Bearer other-token"));
+   }
+
+   private GoogleComputeEngineApi pooledApi() throws IOException {
+      File otherKey = File.createTempFile("other", ".pem");
+      otherKey.deleteOnExit();
+      Files.write(PRIVATE_KEY, otherKey, UTF_8);
+
+      Properties overrides = new Properties();
+      overrides.put(PROJECT_NAME, "party");
+      overrides.put(CREDENTIAL_TYPE, P12_PRIVATE_KEY_CREDENTIALS.toString());
+      overrides.put(CREDENTIAL_POOL, OTHER + "=" + otherKey.getPath());
+      overrides.put(PROPERTY_MAX_RETRIES, "0");
+      overrides.put("oauth.endpoint", url("/o/oauth2/token"));
+      return ContextBuilder.newBuilder(new GoogleComputeEngineProviderMetadata())
+            .credentials(identity, PRIVATE_KEY)
+            .endpoint(url(""))
+            .overrides(overrides)
+            .modules(ImmutableSet.<Module>of(new ExecutorServiceModule(sameThreadExecutor()),
+                  GoogleComputeEngineTestModule.INSTANCE))
+            .buildApi(GoogleComputeEngineApi.class);
+   }
+}
@@ -16,14 +16,21 @@
  */
 package org.jclouds.googlecomputeengine.internal;
 
+import static com.google.common.util.concurrent.MoreExecutors.sameThreadExecutor;
+import static com.google.common.util.concurrent.Uninterruptibles.sleepUninterruptibly;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
 import static org.jclouds.googlecomputeengine.options.ListOptions.Builder.maxResults;
 import static org.testng.Assert.assertEquals;
 
 import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.Executor;
 
 import org.jclouds.googlecloud.domain.ForwardingListPage;
 import org.jclouds.googlecloud.domain.ListPage;
+import org.jclouds.googlecloud.internal.ListPages;
 import org.jclouds.googlecomputeengine.GoogleComputeEngineApi;
 import org.jclouds.googlecomputeengine.config.GoogleComputeEngineParserModule;
 import org.jclouds.googlecomputeengine.domain.Address;
@@ -41,7 +48,14 @@ import org.jclouds.json.Json;
 import org.jclouds.json.config.GsonModule;
 import org.testng.annotations.Test;
 
+import com.google.common.base.Functions;
 import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.Lists;
+import com.google.common.util.concurrent.ForwardingListenableFuture.SimpleForwardingListenableFuture;
+import com.google.common.util.concurrent.ForwardingListeningExecutorService;
+import com.google.common.util.concurrent.ListenableFuture;
+import com.google.common.util.concurrent.ListeningExecutorService;
 import com.google.inject.Guice;
 
 @Test(groups = "unit", testName = "ToIteratorOfListPageTest")
@@ -106,6 +120,110 @@ public class ToIteratorOfListPageExpectTest extends BaseGoogleComputeEngineExpec
       assertEquals(imageCounter, 3);
    }
 
+   public void multiplePagesPrefetched() {
+      HttpRequest list1 = HttpRequest
+              .builder()
+              .method("GET")
+              .endpoint(BASE_URL + "/party/global/images?maxResults=1")
+              .addHeader("Accept", "application/json")
+              .addHeader("Authorization", "Bearer " + TOKEN).build();
+
+      HttpRequest list2 = list1.toBuilder()
+               .endpoint(BASE_URL + "/party/global/images?pageToken=token1&maxResults=1").build();
+
+      HttpRequest list3 = list1.toBuilder()
+               .endpoint(BASE_URL + "/party/global/images?pageToken=token2&maxResults=1").build();
+
+      List<Image> items = ImmutableList.of(new ParseImageTest().expected());
+
+      HttpResponse list1Response = HttpResponse.builder().statusCode(200)
+              .payload(json.toJson(ForwardingListPage.create(items, "token1"))).build();
+
+      HttpResponse list2Response = HttpResponse.builder().statusCode(200)
+            .payload(json.toJson(ForwardingListPage.create(items, "token2"))).build();
+
+      HttpResponse list3Response = HttpResponse.builder().statusCode(200)
+            .payload(json.toJson(ForwardingListPage.create(items, null))).build();
+
+      ImageApi imageApi = orderedRequestsSendResponses(requestForScopes(COMPUTE_READONLY_SCOPE),
+              TOKEN_RESPONSE, list1, list1Response, list2, list2Response, list3, list3Response).images();
+
+      // prefetchPages isn't a query parameter, so the requests are the same as without it
+      Iterator<ListPage<Image>> images = imageApi.list(maxResults(1).prefetchPages(2));
+
+      int imageCounter = 0;
+      while (images.hasNext()) {
+         imageCounter += images.next().size();
+      }
+      assertEquals(imageCounter, 3);
+   }
+
+   public void prefetchedPagesArriveAfterCallerTakesThem() {
+      List<Image> items = ImmutableList.of(new ParseImageTest().expected());
+      final Map<String, ListPage<Image>> pages = ImmutableMap.of(
+            "token1", ForwardingListPage.create(items, "token2"),
+            "token2", ForwardingListPage.create(items, "token3"),
+            "token3", ForwardingListPage.create(items, null));
+      HeldListenersExecutor executor = new HeldListenersExecutor();
+
+      Iterator<ListPage<Image>> images = ListPages.advancingIterator(ForwardingListPage.create(items, "token1"),
+            Functions.forMap(pages), maxResults(1).prefetchPages(1), 0, executor);
+
+      int imageCounter = 0;
+      while (true) {
+         // page N+1 hands over its token only once the caller has taken page N, and is waiting for more
+         executor.releaseLater();
+         if (!images.hasNext()) {
+            break;
+         }
+         imageCounter += images.next().size();
+      }
+      assertEquals(imageCounter, 4);
+   }
+
+   /**
+    * Fetches pages at once, but holds back the listeners of their futures until {@link #releaseLater()}, as happens
+    * when a future releases its waiters before running its listeners.
+    */
+   private static final class HeldListenersExecutor extends ForwardingListeningExecutorService {
+      private final List<Runnable> held = Lists.newArrayList();
+
+      @Override protected ListeningExecutorService delegate() {
+         return sameThreadExecutor();
+      }
+
+      @Override public <T> ListenableFuture<T> submit(Callable<T> task) {
+         return new SimpleForwardingListenableFuture<T>(delegate().submit(task)) {
+            @Override public void addListener(final Runnable listener, final Executor executor) {
+               synchronized (held) {
+                  held.add(new Runnable() {
+                     @Override public void run() {
+                        executor.execute(listener);
+                     }
+                  });
+               }
+            }
+         };
+      }
+
+      /** Runs the listeners held so far from another thread, after the caller had time to block on them. */
+      void releaseLater() {
+         final List<Runnable> release;
+         synchronized (held) {
+            release = ImmutableList.copyOf(held);
+            held.clear();
+         }
+         new Thread(new Runnable() {
+            @Override public void run() {
+               sleepUninterruptibly(50, MILLISECONDS);
+               for (Runnable listener : release) {
+                  listener.run();
+               }
+            }
+         }).start();
+      }
+   }
+
    public void multiplePagesRegionScoped() {
       HttpRequest list1 = HttpRequest
             .builder()
@@ -0,0 +1,152 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jclouds.googlecloud.async;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkNotNull;
+import static com.google.common.base.Throwables.propagate;
+import static com.google.common.base.Throwables.propagateIfPossible;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Type;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+
+import org.jclouds.googlecloud.domain.ListPage;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import com.google.common.reflect.AbstractInvocationHandler;
+import com.google.common.reflect.Reflection;
+import com.google.common.reflect.TypeToken;
+import com.google.common.util.concurrent.AsyncFunction;
+import com.google.common.util.concurrent.Futures;
+import com.google.common.util.concurrent.ListenableFuture;
+import com.google.common.util.concurrent.ListeningExecutorService;
+
+/**
+ * Views of the apis whose methods return a {@link ListenableFuture} instead of waiting for the response, so that
+ * callers can compose the results of calls rather than wait for each in turn.
+ *
+ * <p/>An async api, such as {@code InstanceAsyncApi}, declares the methods of its api that it makes available, with
+ * the same parameters, returning a future of what the api method returns.
+ *
+ * <pre>
+ * InstanceAsyncApi instances = AsyncApis.async(api.instancesInZone("us-central1-a"), InstanceAsyncApi.class,
+ *       executor);
+ * ListenableFuture&lt;Operation&gt; deleted = instances.delete("test-1");
+ * </pre>
+ *
+ * <p/>The providers' apis return such views on their own user executor, for example
+ * {@code GoogleComputeEngineApi.async()} and {@code GoogleCloudStorageApi.getObjectAsyncApi()}.
+ *
+ * <p/>These views don't save threads. The http layer blocks while a request is in flight, so each call in flight
+ * parks a thread of the executor, just as it would have parked the caller's. A bounded executor only limits how many
+ * calls are in flight at once. To send many calls on one thread and in one round trip, queue them in a
+ * {@link org.jclouds.googlecloud.batch.BatchRequest} instead.
+ */
+public final class AsyncApis {
+
+   /**
+    * Returns a view of {@code api} that calls its methods on {@code executor}.
+    *
+    * @throws IllegalArgumentException if a method of {@code asyncApi} doesn't mirror a method of {@code api}.
+    */
+   public static <A> A async(final Object api, Class<A> asyncApi, final ListeningExecutorService executor) {
+      checkNotNull(api, "api");
+      checkNotNull(executor, "executor");
+      ImmutableMap.Builder<Method, Method> builder = ImmutableMap.builder();
+      for (Method method : asyncApi.getMethods()) {
+         builder.put(method, mirrored(api, method));
+      }
+      final Map<Method, Method> toSync = builder.build();
+      return Reflection.newProxy(asyncApi, new AbstractInvocationHandler() {
+         @Override protected Object handleInvocation(Object proxy, Method method, final Object[] args) {
+            final Method sync = toSync.get(method);
+            return executor.submit(new Callable<Object>() {
+               @Override public Object call() throws Exception {
+                  try {
+                     return sync.invoke(api, args);
+                  } catch (InvocationTargetException e) {
+                     propagateIfPossible(e.getCause(), Exception.class);
+                     throw propagate(e.getCause());
+                  }
+               }
+            });
+         }
+
+         @Override public String toString() {
+            return "async(" + api + ")";
+         }
+      });
+   }
+
+   /**
+    * Requests every page, starting with {@code first}, each as soon as the previous one arrives, and returns the
+    * items of all of them. No thread waits between pages.
+    *
+    * <pre>
+    * ListenableFuture&lt;List&lt;Instance&gt;&gt; all = AsyncApis.allPages(instances.listPage(null, options),
+    *       new AsyncFunction&lt;String, ListPage&lt;Instance&gt;&gt;() {
+    *          public ListenableFuture&lt;ListPage&lt;Instance&gt;&gt; apply(String pageToken) {
+    *             return instances.listPage(pageToken, options);
+    *          }
+    *       });
+    * </pre>
+    */
+   public static <T> ListenableFuture<List<T>> allPages(ListenableFuture<? extends ListPage<T>> first,
+         final AsyncFunction<String, ? extends ListPage<T>> tokenToNext) {
+      final ImmutableList.Builder<T> items = ImmutableList.builder();
+      return Futures.transform(first, new AsyncFunction<ListPage<T>, List<T>>() {
+         @Override public ListenableFuture<List<T>> apply(ListPage<T> page) throws Exception {
+            String nextPageToken = null;
+            if (page != null) {
+               items.addAll(page);
+               nextPageToken = page.nextPageToken();
+            }
+            if (nextPageToken == null) {
+               return Futures.<List<T>>immediateFuture(items.build());
+            }
+            return Futures.transform(tokenToNext.apply(nextPageToken), this);
+         }
+      });
+   }
+
+   /** The method of {@code api} with the name and parameters of {@code async}, returning what its future holds. */
+   private static Method mirrored(Object api, Method async) {
+      checkArgument(async.getReturnType() == ListenableFuture.class, "%s should return a ListenableFuture", async);
+      Type result = TypeToken.of(async.getGenericReturnType())
+            .resolveType(ListenableFuture.class.getTypeParameters()[0]).getType();
+      for (Class<?> type : TypeToken.of(api.getClass()).getTypes().interfaces().rawTypes()) {
+         Method sync;
+         try {
+            sync = type.getMethod(async.getName(), async.getParameterTypes());
+         } catch (NoSuchMethodException e) {
+            continue;
+         }
+         Type syncResult = TypeToken.of(sync.getGenericReturnType()).wrap().getType();
+         checkArgument(syncResult.equals(result), "%s should return a ListenableFuture<%s>", async, syncResult);
+         return sync;
+      }
+      throw new IllegalArgumentException(String.format("%s has no method like %s", api, async));
+   }
+
+   private AsyncApis() {
+   }
+}
@@ -0,0 +1,158 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jclouds.googlecloud.batch;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkNotNull;
+
+import java.net.URI;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import javax.inject.Inject;
+import javax.inject.Singleton;
+
+import org.jclouds.googlecloud.batch.BatchRequest.Call;
+import org.jclouds.http.HttpCommand;
+import org.jclouds.http.HttpCommandExecutorService;
+import org.jclouds.http.HttpRequest;
+import org.jclouds.http.HttpResponse;
+import org.jclouds.http.HttpResponseException;
+import org.jclouds.http.handlers.DelegatingErrorHandler;
+import org.jclouds.io.Payload;
+import org.jclouds.io.Payloads;
+import org.jclouds.javax.annotation.Nullable;
+import org.jclouds.reflect.Invocation;
+import org.jclouds.rest.config.InvocationConfig;
+import org.jclouds.rest.config.SetCaller;
+import org.jclouds.rest.internal.RestAnnotationProcessor;
+import org.jclouds.rest.internal.TransformerForRequest;
+
+import com.google.common.base.Function;
+import com.google.common.collect.Lists;
+import com.google.common.reflect.TypeToken;
+import com.google.inject.Injector;
+
+/**
+ * Sends calls made on the annotated apis as <a href="https://cloud.google.com/storage/docs/json_api/v1/how-tos/batch">
+ * batch requests</a>: one multipart/mixed request per {@value #MAX_CALLS_PER_BATCH} calls, each answered in a part of
+ * the response that is parsed, and falls back on error, just as if the call had been sent on its own.
+ *
+ * <p/>Google serves batches of each api on its own path, for example {@code /batch/compute/v1} or
+ * {@code /batch/storage/v1}. Media uploads and downloads can't be batched.
+ *
+ * <pre>
+ * BatchRequest batch = context.utils().injector().getInstance(BatchExecutor.class).newBatch("/batch/storage/v1");
+ * ObjectApi objects = batch.proxy(GoogleCloudStorageApi.class).getObjectApi();
+ * List&lt;ListenableFuture&lt;Boolean&gt;&gt; deleted = Lists.newArrayList();
+ * for (String name : names) {
+ *    deleted.add(batch.queue(objects.deleteObject(bucket, name)));
+ * }
+ * batch.execute();
+ * </pre>
+ */
+@Singleton
+public final class BatchExecutor {
+
+   /** The most calls Google accepts in a batch, for Cloud Storage; Compute Engine accepts more. */
+   public static final int MAX_CALLS_PER_BATCH = 100;
+
+   private final Injector injector;
+   private final SetCaller setCaller;
+   private final TransformerForRequest transformerForRequest;
+   private final InvocationConfig config;
+   private final HttpCommandExecutorService http;
+   private final DelegatingErrorHandler errorHandler;
+
+   @Inject BatchExecutor(Injector injector, SetCaller setCaller, TransformerForRequest transformerForRequest,
+         InvocationConfig config, HttpCommandExecutorService http, DelegatingErrorHandler errorHandler) {
+      this.injector = injector;
+      this.setCaller = setCaller;
+      this.transformerForRequest = transformerForRequest;
+      this.config = config;
+      this.http = http;
+      this.errorHandler = errorHandler;
+   }
+
+   /**
+    * @param batchPath path of the batch endpoint of the api called, on the same host as the calls
+    */
+   public BatchRequest newBatch(String batchPath) {
+      checkNotNull(batchPath, "batchPath");
+      checkArgument(batchPath.startsWith("/"), "batchPath %s should start with /", batchPath);
+      return new BatchRequest(this, batchPath);
+   }
+
+   /** Builds requests the way the api proxies do; delegate apis carry the call that returned them. */
+   Function<Invocation, HttpRequest> annotationProcessor(@Nullable TypeToken<?> callerType,
+         @Nullable Invocation caller) {
+      if (caller == null) {
+         return injector.getInstance(RestAnnotationProcessor.class);
+      }
+      setCaller.enter(callerType, caller);
+      try {
+         return injector.getInstance(RestAnnotationProcessor.class);
+      } finally {
+         setCaller.exit();
+      }
+   }
+
+   /** Sends the calls in one request, completing each call's future. */
+   void send(URI batchEndpoint, List<Call> calls) {
+      Map<Integer, HttpResponse> responses;
+      try {
+         String boundary = "batch_" + UUID.randomUUID().toString().replace("-", "");
+         Payload payload = Payloads.newByteArrayPayload(
+               MultipartMixed.write(boundary, Lists.transform(calls, Call.REQUEST)));
+         payload.getContentMetadata().setContentType("multipart/mixed; boundary=" + boundary);
+         HttpRequest batch = HttpRequest.builder()
+               .method("POST")
+               .endpoint(batchEndpoint)
+               .payload(payload)
+               .filters(calls.get(0).request.getFilters()).build();
+         responses = MultipartMixed.read(http.invoke(new HttpCommand(batch)));
+      } catch (Exception e) {
+         for (Call call : calls) {
+            call.future.setException(e);
+         }
+         return;
+      }
+      for (int i = 0; i < calls.size(); i++) {
+         complete(calls.get(i), responses.get(i));
+      }
+   }
+
+   private void complete(Call call, @Nullable HttpResponse response) {
+      HttpCommand command = new HttpCommand(call.request);
+      try {
+         if (response == null) {
+            throw new HttpResponseException("batch response has no part for " + call.request.getRequestLine(),
+                  command, null);
+         } else if (response.getStatusCode() >= 300) {
+            errorHandler.handleError(command, response);
+            Exception exception = command.getException() != null ? command.getException()
+                  : new HttpResponseException(command, response);
+            call.future.set(config.getFallback(call.request.getInvocation()).createOrPropagate(exception));
+         } else {
+            call.future.set(transformerForRequest.apply(call.request).apply(response));
+         }
+      } catch (Exception e) {
+         call.future.setException(e);
+      }
+   }
+}
@@ -0,0 +1,142 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jclouds.googlecloud.batch;
+
+import static com.google.common.base.Defaults.defaultValue;
+import static com.google.common.base.Preconditions.checkState;
+import static com.google.common.collect.Lists.partition;
+
+import java.net.URI;
+import java.util.List;
+
+import org.jclouds.javax.annotation.Nullable;
+import org.jclouds.reflect.FunctionalReflection;
+import org.jclouds.reflect.Invocation;
+import org.jclouds.rest.annotations.Delegate;
+import org.jclouds.rest.internal.GeneratedHttpRequest;
+
+import com.google.common.base.Function;
+import com.google.common.collect.LinkedListMultimap;
+import com.google.common.collect.ListMultimap;
+import com.google.common.collect.Lists;
+import com.google.common.reflect.TypeToken;
+import com.google.common.util.concurrent.ListenableFuture;
+import com.google.common.util.concurrent.SettableFuture;
+
+/**
+ * Calls collected for a {@link BatchExecutor batch}. Calls are made on {@link #proxy proxies} of the annotated apis,
+ * which record the call rather than send it and return null, zero or false. Each call is then handed to
+ * {@link #queue}, for the future of its result:
+ *
+ * <pre>
+ * ListenableFuture&lt;Instance&gt; instance = batch.queue(batch.proxy(Resources.class).instance(selfLink));
+ * </pre>
+ *
+ * Nothing is sent until {@link #execute}. Not thread-safe; a batch is collected and executed by one thread.
+ */
+public final class BatchRequest {
+
+   static final class Call {
+      static final Function<Call, GeneratedHttpRequest> REQUEST = new Function<Call, GeneratedHttpRequest>() {
+         @Override public GeneratedHttpRequest apply(Call input) {
+            return input.request;
+         }
+      };
+
+      final GeneratedHttpRequest request;
+      final SettableFuture<Object> future = SettableFuture.create();
+
+      Call(GeneratedHttpRequest request) {
+         this.request = request;
+      }
+   }
+
+   private final BatchExecutor executor;
+   private final String batchPath;
+   private final List<Call> calls = Lists.newArrayList();
+   private Call pending;
+   private boolean executed;
+
+   BatchRequest(BatchExecutor executor, String batchPath) {
+      this.executor = executor;
+      this.batchPath = batchPath;
+   }
+
+   /** Returns an api whose calls, including those on its delegate apis, are recorded for {@link #queue}. */
+   public <A> A proxy(Class<A> api) {
+      return proxy(TypeToken.of(api), executor.annotationProcessor(null, null));
+   }
+
+   private <A> A proxy(final TypeToken<A> api, final Function<Invocation, ?> annotationProcessor) {
+      return FunctionalReflection.newProxy(api, new Function<Invocation, Object>() {
+         @Override public Object apply(Invocation invocation) {
+            if (invocation.getInvokable().isAnnotationPresent(Delegate.class)) {
+               return proxy(invocation.getInvokable().getReturnType(),
+                     executor.annotationProcessor(api, invocation));
+            }
+            if (pending != null) {
+               throw new IllegalStateException("queue " + pending.request.getRequestLine() + " before the next call");
+            }
+            pending = new Call((GeneratedHttpRequest) annotationProcessor.apply(invocation));
+            return defaultValue(invocation.getInvokable().getReturnType().getRawType());
+         }
+      });
+   }
+
+   /**
+    * Adds the last call made on a proxy to the batch.
+    *
+    * @param call what the call returned, only used for its type
+    * @return the result of the call, once the batch is executed
+    */
+   @SuppressWarnings("unchecked")
+   public <T> ListenableFuture<T> queue(@Nullable T call) {
+      checkState(pending != null, "no call was made on a proxy since the last one queued");
+      checkState(!executed, "batch was executed");
+      calls.add(pending);
+      ListenableFuture<?> future = pending.future;
+      pending = null;
+      return (ListenableFuture<T>) future;
+   }
+
+   /** Number of calls queued. */
+   public int size() {
+      return calls.size();
+   }
+
+   /**
+    * Sends the calls queued, in batches of up to {@link BatchExecutor#MAX_CALLS_PER_BATCH} per host, returning once
+    * all their futures are done. Failures, whether of a call or of a whole batch, are set on the futures.
+    */
+   public void execute() {
+      if (pending != null) {
+         throw new IllegalStateException("queue " + pending.request.getRequestLine() + " before executing");
+      }
+      checkState(!executed, "batch was executed");
+      executed = true;
+      ListMultimap<URI, Call> byEndpoint = LinkedListMultimap.create();
+      for (Call call : calls) {
+         URI endpoint = call.request.getEndpoint();
+         byEndpoint.put(URI.create(endpoint.getScheme() + "://" + endpoint.getRawAuthority() + batchPath), call);
+      }
+      for (URI batchEndpoint : byEndpoint.keySet()) {
+         for (List<Call> batch : partition(byEndpoint.get(batchEndpoint), BatchExecutor.MAX_CALLS_PER_BATCH)) {
+            executor.send(batchEndpoint, batch);
+         }
+      }
+   }
+}
@@ -0,0 +1,188 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jclouds.googlecloud.batch;
+
+import static com.google.common.base.Charsets.UTF_8;
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.collect.Iterables.getOnlyElement;
+import static org.jclouds.io.ByteStreams2.toByteArrayAndClose;
+import static org.jclouds.util.Strings2.toStringAndClose;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.net.URI;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import org.jclouds.http.HttpRequest;
+import org.jclouds.http.HttpResponse;
+import org.jclouds.io.Payload;
+import org.jclouds.io.Payloads;
+
+import com.google.common.base.Splitter;
+import com.google.common.collect.Maps;
+import com.google.common.net.MediaType;
+
+/**
+ * Writes and reads the multipart/mixed bodies of batch requests, where each part is an {@code application/http}
+ * message. Parts are told apart by {@code Content-ID}, which Google echoes back prefixed with {@code response-}.
+ */
+final class MultipartMixed {
+
+   private static final String CRLF = "\r\n";
+   private static final Splitter LINES = Splitter.onPattern("\r?\n").omitEmptyStrings();
+   private static final Pattern CONTENT_ID = Pattern.compile("<?(response-)?item(\\d+)>?");
+
+   /** Writes one part per request, identified by its index in {@code requests}. */
+   static byte[] write(String boundary, List<? extends HttpRequest> requests) throws IOException {
+      ByteArrayOutputStream out = new ByteArrayOutputStream();
+      for (int i = 0; i < requests.size(); i++) {
+         HttpRequest request = requests.get(i);
+         StringBuilder head = new StringBuilder();
+         head.append("--").append(boundary).append(CRLF);
+         head.append("Content-Type: application/http").append(CRLF);
+         head.append("Content-ID: <item").append(i).append('>').append(CRLF).append(CRLF);
+         head.append(request.getMethod()).append(' ').append(pathAndQuery(request.getEndpoint())).append(" HTTP/1.1");
+         head.append(CRLF);
+         for (Map.Entry<String, String> header : request.getHeaders().entries()) {
+            // the batch request itself is authorized
+            if (!header.getKey().equalsIgnoreCase("Authorization") && !header.getKey().equalsIgnoreCase("Host")) {
+               head.append(header.getKey()).append(": ").append(header.getValue()).append(CRLF);
+            }
+         }
+         byte[] body = new byte[0];
+         Payload payload = request.getPayload();
+         if (payload != null) {
+            body = toByteArrayAndClose(payload.openStream());
+            if (payload.getContentMetadata().getContentType() != null) {
+               head.append("Content-Type: ").append(payload.getContentMetadata().getContentType()).append(CRLF);
+            }
+            head.append("Content-Length: ").append(body.length).append(CRLF);
+         }
+         head.append(CRLF);
+         out.write(head.toString().getBytes(UTF_8));
+         out.write(body);
+         out.write(CRLF.getBytes(UTF_8));
+      }
+      out.write(("--" + boundary + "--" + CRLF).getBytes(UTF_8));
+      return out.toByteArray();
+   }
+
+   /** Reads the responses of a batch, keyed by the index of the request they answer. */
+   static Map<Integer, HttpResponse> read(HttpResponse batch) throws IOException {
+      checkArgument(batch.getPayload() != null, "batch response has no body");
+      MediaType type = MediaType.parse(batch.getPayload().getContentMetadata().getContentType());
+      checkArgument(type.type().equals("multipart"), "batch response is %s, not multipart", type);
+      String boundary = getOnlyElement(type.parameters().get("boundary"));
+      String body = toStringAndClose(batch.getPayload().openStream());
+
+      Map<Integer, HttpResponse> responses = Maps.newLinkedHashMap();
+      List<String> parts = Splitter.on("--" + boundary).splitToList(body);
+      // skip the preamble, and stop at the closing delimiter
+      for (int i = 1; i < parts.size() && !parts.get(i).startsWith("--"); i++) {
+         String part = stripLineBreak(parts.get(i));
+         int split = endOfHeaders(part);
+         Map<String, String> headers = headers(part.substring(0, split));
+         String contentId = headers.get("content-id");
+         int index = i - 1;
+         if (contentId != null) {
+            Matcher matcher = CONTENT_ID.matcher(contentId.trim());
+            checkArgument(matcher.matches(), "unexpected Content-ID %s", contentId);
+            index = Integer.parseInt(matcher.group(2));
+         }
+         responses.put(index, response(part.substring(split)));
+      }
+      return responses;
+   }
+
+   private static HttpResponse response(String message) {
+      int split = endOfHeaders(message);
+      String head = message.substring(0, split);
+      String body = message.substring(split);
+      if (body.endsWith(CRLF)) {
+         body = body.substring(0, body.length() - 2);
+      } else if (body.endsWith("\n")) {
+         body = body.substring(0, body.length() - 1);
+      }
+      List<String> lines = LINES.splitToList(head);
+      checkArgument(!lines.isEmpty(), "part has no status line");
+      List<String> status = Splitter.on(' ').limit(3).splitToList(lines.get(0));
+      checkArgument(status.size() >= 2, "unexpected status line %s", lines.get(0));
+
+      HttpResponse.Builder<?> builder = HttpResponse.builder()
+            .statusCode(Integer.parseInt(status.get(1)))
+            .message(status.size() > 2 ? status.get(2) : "");
+      String contentType = null;
+      for (String line : lines.subList(1, lines.size())) {
+         int colon = line.indexOf(':');
+         String name = line.substring(0, colon).trim();
+         String value = line.substring(colon + 1).trim();
+         if (name.equalsIgnoreCase("Content-Type")) {
+            contentType = value;
+         } else if (!name.equalsIgnoreCase("Content-Length")) {
+            builder.addHeader(name, value);
+         }
+      }
+      if (!body.isEmpty()) {
+         Payload payload = Payloads.newStringPayload(body);
+         payload.getContentMetadata().setContentType(contentType);
+         builder.payload(payload);
+      }
+      return builder.build();
+   }
+
+   /** Lower-cased header names to values. */
+   private static Map<String, String> headers(String head) {
+      Map<String, String> headers = Maps.newHashMap();
+      for (String line : LINES.split(head)) {
+         int colon = line.indexOf(':');
+         if (colon > 0) {
+            headers.put(line.substring(0, colon).trim().toLowerCase(), line.substring(colon + 1).trim());
+         }
+      }
+      return headers;
+   }
+
+   /** Index just past the blank line that ends the headers at the start of {@code message}. */
+   private static int endOfHeaders(String message) {
+      for (int i = message.indexOf('\n'); i != -1; i = message.indexOf('\n', i + 1)) {
+         if (message.startsWith("\n", i + 1)) {
+            return i + 2;
+         } else if (message.startsWith("\r\n", i + 1)) {
+            return i + 3;
+         }
+      }
+      return message.length();
+   }
+
+   private static String stripLineBreak(String part) {
+      if (part.startsWith(CRLF)) {
+         return part.substring(2);
+      }
+      return part.startsWith("\n") ? part.substring(1) : part;
+   }
+
+   private static String pathAndQuery(URI endpoint) {
+      String query = endpoint.getRawQuery();
+      return query == null ? endpoint.getRawPath() : endpoint.getRawPath() + '?' + query;
+   }
+
+   private MultipartMixed() {
+   }
+}
@@ -0,0 +1,53 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jclouds.googlecloud.cache;
+
+import static org.jclouds.Fallbacks.valOnNotFoundOr404;
+import static org.jclouds.util.Throwables2.getFirstThrowableOfType;
+
+import javax.inject.Inject;
+
+import org.jclouds.Fallback;
+import org.jclouds.googlecloud.cache.ConditionalGetCache.Entry;
+import org.jclouds.http.HttpRequest;
+import org.jclouds.http.HttpResponseException;
+import org.jclouds.rest.internal.GeneratedHttpRequest;
+
+/**
+ * Returns the resource from the {@link ConditionalGetCache} when it wasn't modified, or null when it wasn't found.
+ */
+public final class CachedOnNotModifiedOrNullOnNotFoundOr404 implements Fallback<Object> {
+
+   private final ConditionalGetCache cache;
+
+   @Inject CachedOnNotModifiedOrNullOnNotFoundOr404(ConditionalGetCache cache) {
+      this.cache = cache;
+   }
+
+   @Override public Object createOrPropagate(Throwable t) throws Exception {
+      HttpResponseException e = getFirstThrowableOfType(t, HttpResponseException.class);
+      if (e != null && e.getResponse() != null && e.getResponse().getStatusCode() == 304) {
+         HttpRequest request = e.getCommand().getCurrentRequest();
+         Entry entry = request instanceof GeneratedHttpRequest
+               ? cache.revalidated(((GeneratedHttpRequest) request).getInvocation()) : null;
+         if (entry != null) {
+            return entry.value;
+         }
+      }
+      return valOnNotFoundOr404(null, t);
+   }
+}
@@ -0,0 +1,158 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jclouds.googlecloud.cache;
+
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static org.jclouds.googlecloud.config.GoogleCloudProperties.CONDITIONAL_GET_CACHE_SIZE;
+import static org.jclouds.googlecloud.config.GoogleCloudProperties.CONDITIONAL_GET_CACHE_TTL;
+
+import java.net.URI;
+import java.util.Collection;
+import java.util.List;
+
+import javax.inject.Inject;
+import javax.inject.Named;
+import javax.inject.Singleton;
+
+import org.jclouds.javax.annotation.Nullable;
+import org.jclouds.reflect.Invocation;
+
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.base.Ticker;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.RemovalCause;
+import com.google.common.cache.RemovalListener;
+import com.google.common.cache.RemovalNotification;
+import com.google.common.collect.Lists;
+import com.google.common.collect.TreeMultimap;
+
+/**
+ * Resources read by api methods parsed with {@link ParseJsonAndCache}, with their ETag, by the URI they were read
+ * from. {@link ConditionalGetFilter} revalidates them with {@code If-None-Match}, and on {@code 304 Not Modified}
+ * {@link CachedOnNotModifiedOrNullOnNotFoundOr404} returns the cached resource, so that it is neither transferred
+ * nor parsed again. Revalidation means a resource changed elsewhere is never served stale.
+ *
+ * <p/>Disabled unless {@link org.jclouds.googlecloud.config.GoogleCloudProperties#CONDITIONAL_GET_CACHE_SIZE} is set.
+ * Entries are dropped once older than
+ * {@link org.jclouds.googlecloud.config.GoogleCloudProperties#CONDITIONAL_GET_CACHE_TTL}, and when a request other
+ * than a {@code GET} goes to their URI, or to one above or below it. Entries are indexed by path, so that a write
+ * looks up the entries it drops rather than going through them all.
+ */
+@Singleton
+public final class ConditionalGetCache {
+
+   static final class Entry {
+      final String etag;
+      final Object value;
+
+      Entry(String etag, Object value) {
+         this.etag = etag;
+         this.value = value;
+      }
+   }
+
+   @Nullable private final Cache<URI, Entry> entries;
+   /** URIs of the entries, by their path. Guarded by itself. */
+   private final TreeMultimap<String, URI> byPath = TreeMultimap.create();
+   /** Entries revalidated by calls in flight, so that they can't be evicted before the answer arrives. */
+   private final Cache<Invocation, Entry> revalidating = CacheBuilder.newBuilder().weakKeys().build();
+
+   @Inject ConditionalGetCache(@Named(CONDITIONAL_GET_CACHE_SIZE) int size,
+         @Named(CONDITIONAL_GET_CACHE_TTL) long ttlSeconds) {
+      this(size, ttlSeconds, Ticker.systemTicker());
+   }
+
+   @VisibleForTesting ConditionalGetCache(int size, long ttlSeconds, Ticker ticker) {
+      this.entries = size > 0 ? CacheBuilder.newBuilder()
+            .maximumSize(size)
+            .expireAfterWrite(ttlSeconds, SECONDS)
+            .ticker(ticker)
+            .removalListener(new RemovalListener<URI, Entry>() {
+               @Override public void onRemoval(RemovalNotification<URI, Entry> removal) {
+                  if (removal.getCause() != RemovalCause.REPLACED) {
+                     unindex(removal.getKey());
+                  }
+               }
+            }).<URI, Entry>build() : null;
+   }
+
+   boolean enabled() {
+      return entries != null;
+   }
+
+   void put(URI uri, String etag, Object value) {
+      if (entries != null) {
+         synchronized (byPath) {
+            byPath.put(uri.getPath(), uri);
+         }
+         entries.put(uri, new Entry(etag, value));
+      }
+   }
+
+   /** Returns the entry to revalidate for the call, keeping it until the call's answer arrives. */
+   @Nullable Entry revalidate(URI uri, Invocation invocation) {
+      Entry entry = entries != null ? entries.getIfPresent(uri) : null;
+      if (entry != null) {
+         revalidating.put(invocation, entry);
+      }
+      return entry;
+   }
+
+   /** Returns the entry the call revalidated, if it did. */
+   @Nullable Entry revalidated(Invocation invocation) {
+      Entry entry = revalidating.getIfPresent(invocation);
+      revalidating.invalidate(invocation);
+      return entry;
+   }
+
+   /** Drops the entries of the URI, and of those above or below it, as it is being written. */
+   void invalidate(URI written) {
+      if (entries == null) {
+         return;
+      }
+      String writtenPath = written.getPath();
+      List<URI> stale = Lists.newArrayList();
+      synchronized (byPath) {
+         // the written path and those below it
+         for (Collection<URI> uris : byPath.asMap().subMap(writtenPath, writtenPath + Character.MAX_VALUE).values()) {
+            stale.addAll(uris);
+         }
+         // those above it
+         for (int i = writtenPath.indexOf('/', 1); i != -1; i = writtenPath.indexOf('/', i + 1)) {
+            stale.addAll(byPath.get(writtenPath.substring(0, i)));
+            stale.addAll(byPath.get(writtenPath.substring(0, i + 1)));
+         }
+      }
+      entries.invalidateAll(stale);
+   }
+
+   private void unindex(URI uri) {
+      synchronized (byPath) {
+         // a concurrent put may have cached the URI again
+         if (!entries.asMap().containsKey(uri)) {
+            byPath.remove(uri.getPath(), uri);
+         }
+      }
+   }
+
+   /** The cached resource read from the URI, if any. */
+   @VisibleForTesting @Nullable Object get(URI uri) {
+      Entry entry = entries != null ? entries.getIfPresent(uri) : null;
+      return entry != null ? entry.value : null;
+   }
+}
@@ -0,0 +1,60 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jclouds.googlecloud.cache;
+
+import javax.inject.Inject;
+import javax.inject.Singleton;
+
+import org.jclouds.googlecloud.cache.ConditionalGetCache.Entry;
+import org.jclouds.http.HttpException;
+import org.jclouds.http.HttpRequest;
+import org.jclouds.http.HttpRequestFilter;
+import org.jclouds.rest.internal.GeneratedHttpRequest;
+
+/**
+ * Adds {@code If-None-Match} to gets of resources in the {@link ConditionalGetCache}, and drops the entries other
+ * requests write to.
+ */
+@Singleton
+public final class ConditionalGetFilter implements HttpRequestFilter {
+
+   private final ConditionalGetCache cache;
+
+   @Inject ConditionalGetFilter(ConditionalGetCache cache) {
+      this.cache = cache;
+   }
+
+   @Override public HttpRequest filter(HttpRequest request) throws HttpException {
+      if (!cache.enabled()) {
+         return request;
+      }
+      if (!request.getMethod().equals("GET")) {
+         if (!request.getMethod().equals("HEAD")) {
+            cache.invalidate(request.getEndpoint());
+         }
+         return request;
+      }
+      if (!(request instanceof GeneratedHttpRequest)) {
+         return request;
+      }
+      Entry entry = cache.revalidate(request.getEndpoint(), ((GeneratedHttpRequest) request).getInvocation());
+      if (entry == null) {
+         return request;
+      }
+      return request.toBuilder().replaceHeader("If-None-Match", entry.etag).build();
+   }
+}
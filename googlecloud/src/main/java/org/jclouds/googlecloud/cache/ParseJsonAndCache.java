@@ -0,0 +1,75 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jclouds.googlecloud.cache;
+
+import static com.google.common.base.Throwables.propagate;
+import static org.jclouds.http.HttpUtils.releasePayload;
+import static org.jclouds.util.Strings2.toStringAndClose;
+
+import java.io.IOException;
+
+import javax.inject.Inject;
+
+import org.jclouds.http.HttpRequest;
+import org.jclouds.http.HttpResponse;
+import org.jclouds.json.Json;
+import org.jclouds.rest.InvocationContext;
+import org.jclouds.rest.internal.GeneratedHttpRequest;
+
+import com.google.common.base.Function;
+
+/**
+ * Parses the resource as the api method returns it, and keeps it in the {@link ConditionalGetCache} when the
+ * response has an ETag.
+ */
+public final class ParseJsonAndCache implements Function<HttpResponse, Object>, InvocationContext<ParseJsonAndCache> {
+
+   private final Json json;
+   private final ConditionalGetCache cache;
+   private GeneratedHttpRequest request;
+
+   @Inject ParseJsonAndCache(Json json, ConditionalGetCache cache) {
+      this.json = json;
+      this.cache = cache;
+   }
+
+   @Override public Object apply(HttpResponse response) {
+      cache.revalidated(request.getInvocation()); // modified, if it was revalidated
+      if (response.getPayload() == null) {
+         return null;
+      }
+      Object value;
+      try {
+         value = json.fromJson(toStringAndClose(response.getPayload().openStream()),
+               request.getInvocation().getInvokable().getReturnType().getType());
+      } catch (IOException e) {
+         throw propagate(e);
+      } finally {
+         releasePayload(response);
+      }
+      String etag = response.getFirstHeaderOrNull("ETag");
+      if (etag != null && value != null) {
+         cache.put(request.getEndpoint(), etag, value);
+      }
+      return value;
+   }
+
+   @Override public ParseJsonAndCache setContext(HttpRequest request) {
+      this.request = GeneratedHttpRequest.class.cast(request);
+      return this;
+   }
+}
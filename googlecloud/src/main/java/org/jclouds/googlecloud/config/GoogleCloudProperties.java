@@ -35,6 +35,53 @@ public final class GoogleCloudProperties {
     */
    public static final String PROJECT_NAME = "jclouds.googlecloud.project-name";
 
+   /**
+    * Set this property to {@code true} to parse the private key, authorize tokens and, where applicable, resolve the
+    * project concurrently while the context is being built, rather than serially on the first api call.
+    * <p/> Defaults to {@code false}. Each phase is reported to the {@link WarmUpListener}.
+    */
+   public static final String WARM_UP = "jclouds.googlecloud.warm-up";
+
+   /**
+    * How many pages the iterators returned by {@code list} methods fetch ahead of the caller, on the user executor.
+    * Each page is requested as soon as the previous one arrives, so iterating no longer waits on every round trip.
+    * <p/> Defaults to {@code 0}, which fetches each page once the caller reaches it. Can be overridden per call with
+    * {@link org.jclouds.googlecloud.options.ListOptions#prefetchPages(int)}.
+    */
+   public static final String PREFETCH_PAGES = "jclouds.googlecloud.prefetch-pages";
+
+   /**
+    * Rates, in requests per second, to hold api methods to, keyed by the method's {@code @Named} value, for example
+    * {@code Instances:insert=2,Operations:get=20}. The key {@code *} sets the rate of methods not listed. Rates are
+    * per context, and so per project, and back off on their own whenever Google reports a rate limit exceeded.
+    * <p/> Defaults to empty, which doesn't limit any method.
+    *
+    * @see org.jclouds.googlecloud.filters.RateLimitFilter
+    */
+   public static final String RATE_LIMITS = "jclouds.googlecloud.rate-limits";
+
+   /**
+    * Set this property to {@code true} to publish the metrics of each api method through JMX, as well as in
+    * {@link org.jclouds.googlecloud.metrics.ApiMetrics}.
+    * <p/> Defaults to {@code false}.
+    */
+   public static final String JMX_METRICS = "jclouds.googlecloud.jmx-metrics";
+
+   /**
+    * How many resources, read by the get methods that support it, are kept with their ETag and revalidated with
+    * {@code If-None-Match}, so that unchanged resources are neither transferred nor parsed again.
+    * <p/> Defaults to {@code 0}, which disables the cache.
+    *
+    * @see org.jclouds.googlecloud.cache.ConditionalGetCache
+    */
+   public static final String CONDITIONAL_GET_CACHE_SIZE = "jclouds.googlecloud.conditional-get-cache.size";
+
+   /**
+    * How long, in seconds, a resource is kept in the conditional get cache before it is read in full again.
+    * <p/> Defaults to {@code 300}.
+    */
+   public static final String CONDITIONAL_GET_CACHE_TTL = "jclouds.googlecloud.conditional-get-cache.ttl";
+
    private GoogleCloudProperties() {
    }
 }
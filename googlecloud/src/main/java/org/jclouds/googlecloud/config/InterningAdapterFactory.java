@@ -0,0 +1,107 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jclouds.googlecloud.config;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.URISyntaxException;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.collect.Interner;
+import com.google.common.collect.Interners;
+import com.google.gson.Gson;
+import com.google.gson.JsonSyntaxException;
+import com.google.gson.TypeAdapter;
+import com.google.gson.TypeAdapterFactory;
+import com.google.gson.reflect.TypeToken;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.JsonWriter;
+
+/**
+ * Reads equal strings and uris into the same instance. Listings repeat the same zone, machine type, network, image
+ * and bucket over and over, so a cached inventory of thousands of resources otherwise holds thousands of copies of
+ * each.
+ *
+ * <p/>Strings up to {@value #MAX_INTERNED_LENGTH} characters are interned weakly, so are kept no longer than
+ * something refers to them; longer ones, such as serial port output, are rarely repeated and left alone. Uris are
+ * kept by their text, at most {@value #MAX_INTERNED_URIS} of them, which also saves parsing them again.
+ */
+public final class InterningAdapterFactory implements TypeAdapterFactory {
+
+   static final int MAX_INTERNED_LENGTH = 256;
+   static final int MAX_INTERNED_URIS = 10000;
+
+   /** Shared by all contexts, as they read the same resources. */
+   private static final Interner<String> STRINGS = Interners.newWeakInterner();
+   private static final Cache<String, URI> URIS = CacheBuilder.newBuilder().maximumSize(MAX_INTERNED_URIS)
+         .weakValues().build();
+
+   static final TypeAdapter<String> STRING_ADAPTER = new TypeAdapter<String>() {
+      @Override public void write(JsonWriter out, String value) throws IOException {
+         out.value(value);
+      }
+
+      @Override public String read(JsonReader in) throws IOException {
+         JsonToken token = in.peek();
+         if (token == JsonToken.NULL) {
+            in.nextNull();
+            return null;
+         }
+         // as gson's own adapter, reads booleans into strings
+         String value = token == JsonToken.BOOLEAN ? Boolean.toString(in.nextBoolean()) : in.nextString();
+         return value.length() <= MAX_INTERNED_LENGTH ? STRINGS.intern(value) : value;
+      }
+   };
+
+   static final TypeAdapter<URI> URI_ADAPTER = new TypeAdapter<URI>() {
+      @Override public void write(JsonWriter out, URI value) throws IOException {
+         out.value(value == null ? null : value.toASCIIString());
+      }
+
+      @Override public URI read(JsonReader in) throws IOException {
+         if (in.peek() == JsonToken.NULL) {
+            in.nextNull();
+            return null;
+         }
+         String text = in.nextString();
+         if ("null".equals(text)) {
+            return null;
+         }
+         URI uri = URIS.getIfPresent(text);
+         if (uri == null) {
+            try {
+               uri = new URI(text);
+            } catch (URISyntaxException e) {
+               throw new JsonSyntaxException(e);
+            }
+            URIS.put(text, uri);
+         }
+         return uri;
+      }
+   };
+
+   @SuppressWarnings("unchecked") public <T> TypeAdapter<T> create(Gson gson, TypeToken<T> type) {
+      if (type.getRawType() == String.class) {
+         return (TypeAdapter<T>) STRING_ADAPTER;
+      } else if (type.getRawType() == URI.class) {
+         return (TypeAdapter<T>) URI_ADAPTER;
+      }
+      return null;
+   }
+}
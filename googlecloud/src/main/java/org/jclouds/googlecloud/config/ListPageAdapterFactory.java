@@ -16,12 +16,15 @@
  */
 package org.jclouds.googlecloud.config;
 
+import static com.google.common.base.Throwables.propagateIfInstanceOf;
+
 import java.io.IOException;
 import java.lang.reflect.ParameterizedType;
 import java.lang.reflect.Type;
 
 import org.jclouds.googlecloud.domain.ForwardingListPage;
 import org.jclouds.googlecloud.domain.ListPage;
+import org.jclouds.googlecloud.internal.JsonListPageIterator;
 
 import com.google.common.collect.ImmutableList;
 import com.google.gson.Gson;
@@ -29,7 +32,6 @@ import com.google.gson.TypeAdapter;
 import com.google.gson.TypeAdapterFactory;
 import com.google.gson.reflect.TypeToken;
 import com.google.gson.stream.JsonReader;
-import com.google.gson.stream.JsonToken;
 import com.google.gson.stream.JsonWriter;
 
 public final class ListPageAdapterFactory implements TypeAdapterFactory {
@@ -45,55 +47,15 @@ public final class ListPageAdapterFactory implements TypeAdapterFactory {
          throw new UnsupportedOperationException("We only read ListPages!");
       }
 
+      @SuppressWarnings("unchecked")
       public ListPage<?> read(JsonReader in) throws IOException {
-         ImmutableList.Builder<Object> items = ImmutableList.builder();
-         String nextPageToken = null;
-         in.beginObject();
-         while (in.hasNext()) {
-            String name = in.nextName();
-            if (name.equals("items")) {
-               if (in.peek() == JsonToken.BEGIN_ARRAY) {
-                  readItems(in, items);
-               } else { // aggregated
-                  readAggregate(in, items);
-               }
-            } else if (name.equals("nextPageToken")) {
-               nextPageToken = in.nextString();
-            } else {
-               in.skipValue();
-            }
-         }
-         in.endObject();
-         return ForwardingListPage.create(items.build(), nextPageToken);
-      }
-
-      private void readItems(JsonReader in, ImmutableList.Builder<Object> items) throws IOException {
-         in.beginArray();
-         while (in.hasNext()) {
-            Object item = itemAdapter.read(in);
-            if (item != null) {
-               items.add(item);
-            }
-         }
-         in.endArray();
-      }
-
-      private void readAggregate(JsonReader in, ImmutableList.Builder<Object> items) throws IOException {
-         in.beginObject(); // enter zone name -> type -> items map
-         while (in.hasNext()) {
-            String scope = in.nextName(); // skip zone name
-            in.beginObject(); // enter zone map
-            while (in.hasNext()) {
-               String resourceTypeOrWarning = in.nextName();
-               if (!resourceTypeOrWarning.equals("warning")) {
-                  readItems(in, items);
-               } else {
-                  in.skipValue();
-               }
-            }
-            in.endObject(); // end zone map
+         JsonListPageIterator<?> items = new JsonListPageIterator<Object>(in, (TypeAdapter<Object>) itemAdapter, null);
+         try {
+            return ForwardingListPage.create(ImmutableList.copyOf(items), items.nextPageToken());
+         } catch (RuntimeException e) {
+            propagateIfInstanceOf(e.getCause(), IOException.class);
+            throw e;
          }
-         in.endObject(); // end item wrapper
       }
    }
 
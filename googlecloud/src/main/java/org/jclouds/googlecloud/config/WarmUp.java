@@ -0,0 +1,140 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jclouds.googlecloud.config;
+
+import static org.jclouds.Constants.PROPERTY_USER_THREADS;
+import static org.jclouds.googlecloud.config.GoogleCloudProperties.WARM_UP;
+
+import java.net.URI;
+import java.security.PrivateKey;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+
+import javax.inject.Named;
+
+import org.jclouds.http.HttpRequest;
+import org.jclouds.oauth.v2.config.Authorization;
+import org.jclouds.oauth.v2.config.CredentialType;
+import org.jclouds.oauth.v2.filters.OAuthFilter;
+
+import com.google.common.base.Supplier;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import com.google.common.util.concurrent.Futures;
+import com.google.common.util.concurrent.ListenableFuture;
+import com.google.common.util.concurrent.ListeningExecutorService;
+import com.google.inject.Inject;
+
+/**
+ * Runs the work that precedes the first api call concurrently, while the context is being built, when
+ * {@link GoogleCloudProperties#WARM_UP} is set. Phases that depend on each other, such as a token and the key that
+ * signs it, share the result through the caches that normally hold them, so each runs once.
+ *
+ * <p/> Apis bind this as an eager singleton, {@linkplain Factory created} with their own phases.
+ */
+public final class WarmUp {
+   public static final String PRIVATE_KEY = "privateKey";
+   public static final String READ_TOKEN = "readToken";
+   public static final String WRITE_TOKEN = "writeToken";
+
+   private final ListenableFuture<List<Object>> phases;
+
+   private WarmUp(ListenableFuture<List<Object>> phases) {
+      this.phases = phases;
+   }
+
+   /** Completes once every phase has, failing if any of them failed. Empty when the warm-up is disabled. */
+   public ListenableFuture<List<Object>> phases() {
+      return phases;
+   }
+
+   /**
+    * Creates the warm-up when the context is built. Subclasses add api-specific phases to {@link #phases()}.
+    */
+   public static class Factory implements com.google.inject.Provider<WarmUp> {
+      @Inject(optional = true)
+      @Named(WARM_UP)
+      boolean enabled = false;
+
+      @Inject CredentialType credentialType;
+      @Inject @Authorization Supplier<PrivateKey> privateKey;
+      @Inject OAuthFilter oauthFilter;
+      @Inject @org.jclouds.location.Provider Supplier<URI> endpoint;
+      @Inject @Named(PROPERTY_USER_THREADS) ListeningExecutorService userExecutor;
+      @Inject WarmUpListener listener;
+
+      @Override public WarmUp get() {
+         if (!enabled) {
+            return new WarmUp(Futures.<List<Object>>immediateFuture(ImmutableList.of()));
+         }
+         ImmutableList.Builder<ListenableFuture<Object>> started = ImmutableList.builder();
+         for (Map.Entry<String, Callable<?>> phase : phases().entrySet()) {
+            started.add(userExecutor.submit(new TimedPhase(phase.getKey(), phase.getValue(), listener)));
+         }
+         return new WarmUp(Futures.allAsList(started.build()));
+      }
+
+      /** Phases common to google cloud apis: parsing the private key, and authorizing read and write tokens. */
+      protected Map<String, Callable<?>> phases() {
+         if (credentialType != CredentialType.P12_PRIVATE_KEY_CREDENTIALS) {
+            return ImmutableMap.of();
+         }
+         return ImmutableMap.<String, Callable<?>>of( //
+               PRIVATE_KEY, new Callable<Object>() {
+                  @Override public Object call() {
+                     return privateKey.get();
+                  }
+               }, //
+               READ_TOKEN, authorize("GET"), //
+               WRITE_TOKEN, authorize("POST"));
+      }
+
+      /** Filtering a request authorizes the token for its scopes, which later requests then reuse. */
+      private Callable<Object> authorize(final String method) {
+         return new Callable<Object>() {
+            @Override public Object call() {
+               return oauthFilter.filter(HttpRequest.builder().method(method).endpoint(endpoint.get()).build());
+            }
+         };
+      }
+   }
+
+   private static final class TimedPhase implements Callable<Object> {
+      private final String name;
+      private final Callable<?> phase;
+      private final WarmUpListener listener;
+
+      TimedPhase(String name, Callable<?> phase, WarmUpListener listener) {
+         this.name = name;
+         this.phase = phase;
+         this.listener = listener;
+      }
+
+      @Override public Object call() throws Exception {
+         long start = System.nanoTime();
+         try {
+            Object result = phase.call();
+            listener.phaseCompleted(name, System.nanoTime() - start, null);
+            return result;
+         } catch (Exception e) {
+            listener.phaseCompleted(name, System.nanoTime() - start, e);
+            throw e;
+         }
+      }
+   }
+}
@@ -0,0 +1,54 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jclouds.googlecloud.config;
+
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
+
+import javax.annotation.Resource;
+
+import org.jclouds.javax.annotation.Nullable;
+import org.jclouds.logging.Logger;
+
+import com.google.inject.ImplementedBy;
+
+/**
+ * Notified as each phase of the {@linkplain WarmUp warm-up} completes. Bind an implementation in a module passed to
+ * {@link org.jclouds.ContextBuilder#modules(Iterable)} to record timings; the default logs them.
+ */
+@ImplementedBy(WarmUpListener.LoggingWarmUpListener.class)
+public interface WarmUpListener {
+
+   /**
+    * Called once per phase, on the thread that ran it.
+    *
+    * @param failure why the phase failed, or null if it succeeded. A failed phase is retried on first use.
+    */
+   void phaseCompleted(String phase, long elapsedNanos, @Nullable Throwable failure);
+
+   final class LoggingWarmUpListener implements WarmUpListener {
+      @Resource
+      private Logger logger = Logger.NULL;
+
+      @Override public void phaseCompleted(String phase, long elapsedNanos, @Nullable Throwable failure) {
+         if (failure != null) {
+            logger.warn(failure, "<< warm-up %s failed after %sms", phase, NANOSECONDS.toMillis(elapsedNanos));
+         } else {
+            logger.debug("<< warm-up %s completed in %sms", phase, NANOSECONDS.toMillis(elapsedNanos));
+         }
+      }
+   }
+}
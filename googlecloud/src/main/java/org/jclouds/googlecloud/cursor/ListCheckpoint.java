@@ -0,0 +1,56 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jclouds.googlecloud.cursor;
+
+import static com.google.common.base.Preconditions.checkArgument;
+
+import java.io.Serializable;
+
+import org.jclouds.javax.annotation.Nullable;
+import org.jclouds.json.SerializedNames;
+
+import com.google.auto.value.AutoValue;
+
+/**
+ * Where a {@link ListCursor} stands: the token of the page it's reading, and how many items of that page it has
+ * returned. Serializes with java serialization or jclouds' json, so a worker can store it and resume after a crash.
+ */
+@AutoValue
+public abstract class ListCheckpoint implements Serializable {
+
+   private static final long serialVersionUID = 1L;
+
+   /** The token the page was requested with, or null for the first page. */
+   @Nullable public abstract String pageToken();
+
+   /** How many items of the page were already returned. */
+   public abstract int itemsRead();
+
+   @SerializedNames({ "pageToken", "itemsRead" })
+   public static ListCheckpoint create(@Nullable String pageToken, int itemsRead) {
+      checkArgument(itemsRead >= 0, "itemsRead must be non-negative, was %s", itemsRead);
+      return new AutoValue_ListCheckpoint(pageToken, itemsRead);
+   }
+
+   /** The start of a listing. */
+   public static ListCheckpoint start() {
+      return create(null, 0);
+   }
+
+   ListCheckpoint() {
+   }
+}
@@ -0,0 +1,181 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jclouds.googlecloud.cursor;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkNotNull;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static java.util.concurrent.TimeUnit.SECONDS;
+
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Random;
+
+import org.jclouds.googlecloud.domain.ListPage;
+import org.jclouds.javax.annotation.Nullable;
+import org.jclouds.logging.Logger;
+import org.jclouds.rest.AuthorizationException;
+
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.base.Function;
+import com.google.common.collect.ImmutableList;
+import com.google.common.util.concurrent.Uninterruptibles;
+
+/**
+ * Iterates over the items of a listing too long to read in one go, such as a bucket of millions of objects, keeping
+ * a {@link #checkpoint() checkpoint} of how far it got. A worker that stores the checkpoint now and then can
+ * {@link #resume resume} from it after a crash, re-requesting only the page it was reading.
+ *
+ * <p/>Pages are requested with a function of the page token, null for the first page:
+ * <pre>{@code
+ * ListCursor<GoogleCloudStorageObject> objects = ListCursor.resume(checkpoint,
+ *       new Function<String, ListPage<GoogleCloudStorageObject>>() {
+ *          public ListPage<GoogleCloudStorageObject> apply(String pageToken) {
+ *             return api.getObjectApi().listObjects(bucket,
+ *                   pageToken == null ? new ListObjectOptions() : new ListObjectOptions().pageToken(pageToken));
+ *          }
+ *       });
+ * }</pre>
+ *
+ * <p/>A page that fails to arrive is requested again, after a jittered backoff, up to {@code maxAttempts} times in
+ * all; then the failure is thrown, and the cursor stays where it was, so {@link #hasNext()} tries again. Failed
+ * authorization isn't retried. Like any paged listing, entries added or removed while it is read may be missed or
+ * returned twice.
+ *
+ * <p/>Not thread safe.
+ */
+public final class ListCursor<T> implements Iterator<T> {
+
+   private static final int DEFAULT_MAX_ATTEMPTS = 5;
+
+   private final Function<String, ? extends ListPage<T>> fetchPage;
+   private final int maxAttempts;
+   private final long baseMillis;
+   private final long capMillis;
+   private final Random random;
+   private Logger logger = Logger.NULL;
+
+   /** Token the current page was requested with. */
+   private String pageToken;
+   /** Items of the current page to skip once it arrives, when resuming. */
+   private int skip;
+   /** Null until the page at {@link #pageToken} arrives. */
+   private List<T> page;
+   private String nextPageToken;
+   private int position;
+
+   /** Starts at the first page. */
+   public static <T> ListCursor<T> start(Function<String, ? extends ListPage<T>> fetchPage) {
+      return resume(ListCheckpoint.start(), fetchPage);
+   }
+
+   /** Resumes at {@code checkpoint}, retrying each page up to five times. */
+   public static <T> ListCursor<T> resume(ListCheckpoint checkpoint,
+         Function<String, ? extends ListPage<T>> fetchPage) {
+      return resume(checkpoint, fetchPage, DEFAULT_MAX_ATTEMPTS);
+   }
+
+   public static <T> ListCursor<T> resume(ListCheckpoint checkpoint, Function<String, ? extends ListPage<T>> fetchPage,
+         int maxAttempts) {
+      return new ListCursor<T>(checkpoint, fetchPage, maxAttempts, SECONDS.toMillis(1), SECONDS.toMillis(32),
+            new Random());
+   }
+
+   @VisibleForTesting ListCursor(ListCheckpoint checkpoint, Function<String, ? extends ListPage<T>> fetchPage,
+         int maxAttempts, long baseMillis, long capMillis, Random random) {
+      checkArgument(maxAttempts > 0, "maxAttempts must be positive, was %s", maxAttempts);
+      this.fetchPage = checkNotNull(fetchPage, "fetchPage");
+      this.maxAttempts = maxAttempts;
+      this.baseMillis = baseMillis;
+      this.capMillis = capMillis;
+      this.random = random;
+      this.pageToken = checkpoint.pageToken();
+      this.skip = checkpoint.itemsRead();
+   }
+
+   /** Logs each page retried. */
+   public ListCursor<T> logger(Logger logger) {
+      this.logger = checkNotNull(logger, "logger");
+      return this;
+   }
+
+   /**
+    * Where the next call to {@link #next()} would read from. Resuming from it returns the items this cursor hasn't
+    * returned yet.
+    */
+   public ListCheckpoint checkpoint() {
+      if (page == null) {
+         return ListCheckpoint.create(pageToken, skip);
+      }
+      if (position == page.size() && nextPageToken != null) {
+         return ListCheckpoint.create(nextPageToken, 0);
+      }
+      return ListCheckpoint.create(pageToken, position);
+   }
+
+   @Override public boolean hasNext() {
+      while (page == null || position == page.size()) {
+         if (page != null) {
+            if (nextPageToken == null) {
+               return false;
+            }
+            pageToken = nextPageToken;
+            page = null;
+         }
+         ListPage<T> fetched = fetchWithRetries(pageToken);
+         page = fetched != null ? fetched : ImmutableList.<T>of();
+         nextPageToken = fetched != null ? fetched.nextPageToken() : null;
+         position = Math.min(skip, page.size());
+         skip = 0;
+      }
+      return true;
+   }
+
+   @Override public T next() {
+      if (!hasNext()) {
+         throw new NoSuchElementException();
+      }
+      return page.get(position++);
+   }
+
+   @Override public void remove() {
+      throw new UnsupportedOperationException();
+   }
+
+   @Nullable private ListPage<T> fetchWithRetries(@Nullable String token) {
+      long previousMillis = baseMillis;
+      for (int attempt = 1; ; attempt++) {
+         try {
+            return fetchPage.apply(token);
+         } catch (AuthorizationException e) {
+            throw e;
+         } catch (RuntimeException e) {
+            if (attempt >= maxAttempts) {
+               throw e;
+            }
+            // decorrelated jitter, as in JitteredBackoffRetryHandler
+            long upper = Math.min(capMillis, previousMillis * 3);
+            long waitMillis = upper > baseMillis ? baseMillis + (long) (random.nextDouble() * (upper - baseMillis))
+                  : baseMillis;
+            previousMillis = waitMillis;
+            logger.debug("retrying page %s after %sms, as attempt %s failed with %s", token, waitMillis, attempt, e);
+            Uninterruptibles.sleepUninterruptibly(waitMillis, MILLISECONDS);
+         }
+      }
+   }
+}
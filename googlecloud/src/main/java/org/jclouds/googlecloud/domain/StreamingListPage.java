@@ -0,0 +1,38 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jclouds.googlecloud.domain;
+
+import java.io.Closeable;
+import java.util.Iterator;
+
+import org.jclouds.javax.annotation.Nullable;
+
+/**
+ * A page whose items are decoded one at a time from the response, so that only the current item is on the heap.
+ * Unlike {@link ListPage}, it can only be iterated once.
+ *
+ * <p/>The response is released once the last item is read; callers that stop early must {@link #close()} it.
+ */
+public interface StreamingListPage<T> extends Iterator<T>, Closeable {
+   /**
+    * Indicates more data is available. Only known once every item is read, as the server may send the token after
+    * the items.
+    *
+    * @throws IllegalStateException if items remain
+    */
+   @Nullable String nextPageToken();
+}
@@ -0,0 +1,194 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jclouds.googlecloud.filters;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static org.jclouds.googlecloud.config.GoogleCloudProperties.RATE_LIMITS;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentMap;
+
+import javax.inject.Inject;
+import javax.inject.Named;
+import javax.inject.Singleton;
+
+import org.jclouds.http.HttpException;
+import org.jclouds.http.HttpRequest;
+import org.jclouds.http.HttpRequestFilter;
+import org.jclouds.javax.annotation.Nullable;
+import org.jclouds.rest.internal.GeneratedHttpRequest;
+
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.base.Splitter;
+import com.google.common.base.Ticker;
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.Maps;
+
+/**
+ * Holds each request until its method, named by {@link Named @Named}, is within the rate set in {@link
+ * org.jclouds.googlecloud.config.GoogleCloudProperties#RATE_LIMITS}. Unlisted methods aren't limited.
+ *
+ * <p/>Rates adapt to the quota actually granted: each {@linkplain #throttled(HttpRequest) throttle} halves the rate of
+ * its method, down to a tenth of the rate set, and each request let through raises it again by a small step, so that
+ * it climbs back by a twentieth of the rate set per second. A burst of throttles, as when many requests in flight
+ * are refused at once, only halves the rate once. Requests can't be seen once sent, so a request let through counts
+ * as a success unless it's reported throttled.
+ */
+@Singleton
+public final class RateLimitFilter implements HttpRequestFilter {
+
+   /** Key in {@link org.jclouds.googlecloud.config.GoogleCloudProperties#RATE_LIMITS} of the rate of other methods. */
+   public static final String OTHER_METHODS = "*";
+
+   private static final double DECREASE = 0.5;
+   private static final double MIN_FRACTION = 0.1;
+   private static final double INCREASE_PER_SECOND = 0.05;
+   private static final long DECREASE_INTERVAL_NANOS = SECONDS.toNanos(1);
+
+   private final Map<String, Double> rates;
+   @Nullable private final Double otherRate;
+   private final Ticker ticker;
+   private final ConcurrentMap<String, Bucket> buckets = Maps.newConcurrentMap();
+
+   @Inject RateLimitFilter(@Named(RATE_LIMITS) String rateLimits) {
+      this(rateLimits, Ticker.systemTicker());
+   }
+
+   @VisibleForTesting RateLimitFilter(String rateLimits, Ticker ticker) {
+      ImmutableMap.Builder<String, Double> builder = ImmutableMap.builder();
+      Double other = null;
+      Map<String, String> byName = Splitter.on(',').trimResults().omitEmptyStrings()
+            .withKeyValueSeparator(Splitter.on('=').trimResults()).split(rateLimits);
+      for (Map.Entry<String, String> entry : byName.entrySet()) {
+         double rate = Double.parseDouble(entry.getValue());
+         checkArgument(rate > 0, "rate of %s should be positive, was %s", entry.getKey(), rate);
+         if (entry.getKey().equals(OTHER_METHODS)) {
+            other = rate;
+         } else {
+            builder.put(entry.getKey(), rate);
+         }
+      }
+      this.rates = builder.build();
+      this.otherRate = other;
+      this.ticker = ticker;
+   }
+
+   @Override public HttpRequest filter(HttpRequest request) throws HttpException {
+      Bucket bucket = bucket(request);
+      if (bucket != null) {
+         long waitNanos = bucket.reserve(ticker.read());
+         if (waitNanos > 0) {
+            try {
+               NANOSECONDS.sleep(waitNanos);
+            } catch (InterruptedException e) {
+               Thread.currentThread().interrupt();
+               throw new HttpException("interrupted waiting to send " + request.getRequestLine(), e);
+            }
+         }
+      }
+      return request;
+   }
+
+   /** Tells the rate of the request's method to back off, as Google refused it for exceeding a rate limit. */
+   public void throttled(HttpRequest request) {
+      Bucket bucket = bucket(request);
+      if (bucket != null) {
+         bucket.throttled(ticker.read());
+      }
+   }
+
+   /** The current rate of the method, in requests per second, or null if it isn't limited. */
+   @VisibleForTesting @Nullable Double rate(String name) {
+      Bucket bucket = bucket(name);
+      return bucket != null ? bucket.rate() : null;
+   }
+
+   @Nullable private Bucket bucket(HttpRequest request) {
+      if (!(request instanceof GeneratedHttpRequest)) {
+         return null;
+      }
+      Named name = ((GeneratedHttpRequest) request).getInvocation().getInvokable().getAnnotation(Named.class);
+      return name != null ? bucket(name.value()) : null;
+   }
+
+   @Nullable private Bucket bucket(String name) {
+      Bucket bucket = buckets.get(name);
+      if (bucket != null) {
+         return bucket;
+      }
+      Double rate = rates.containsKey(name) ? rates.get(name) : otherRate;
+      if (rate == null) {
+         return null;
+      }
+      bucket = new Bucket(rate, ticker.read());
+      Bucket existing = buckets.putIfAbsent(name, bucket);
+      return existing != null ? existing : bucket;
+   }
+
+   /** Token bucket holding up to a second's worth of requests, whose rate adapts to throttling. */
+   private static final class Bucket {
+      private final double limit;
+      // guarded by this
+      private double rate;
+      private double permits;
+      private long refilledNanos;
+      private long decreasedNanos;
+
+      Bucket(double limit, long now) {
+         this.limit = limit;
+         this.rate = limit;
+         this.permits = capacity();
+         this.refilledNanos = now;
+         this.decreasedNanos = now - DECREASE_INTERVAL_NANOS;
+      }
+
+      /** Takes a permit, returning how long to wait for it. */
+      synchronized long reserve(long now) {
+         refill(now);
+         permits -= 1;
+         long waitNanos = permits >= 0 ? 0 : (long) (-permits / rate * SECONDS.toNanos(1));
+         // one step per request, so that a second of requests at any rate adds the same
+         rate = Math.min(limit, rate + INCREASE_PER_SECOND * limit / rate);
+         return waitNanos;
+      }
+
+      synchronized void throttled(long now) {
+         if (now - decreasedNanos < DECREASE_INTERVAL_NANOS) {
+            return;
+         }
+         refill(now);
+         rate = Math.max(limit * MIN_FRACTION, rate * DECREASE);
+         permits = Math.min(permits, 0);
+         decreasedNanos = now;
+      }
+
+      synchronized double rate() {
+         return rate;
+      }
+
+      private void refill(long now) {
+         permits = Math.min(capacity(), permits + (now - refilledNanos) * rate / SECONDS.toNanos(1));
+         refilledNanos = now;
+      }
+
+      private double capacity() {
+         return Math.max(1, rate);
+      }
+   }
+}
@@ -0,0 +1,167 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jclouds.googlecloud.handlers;
+
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static org.jclouds.Constants.PROPERTY_MAX_RETRIES;
+import static org.jclouds.googlecloud.internal.RateLimits.isRateLimited;
+import static org.jclouds.http.HttpUtils.closeClientButKeepContentStream;
+
+import java.util.Random;
+import java.util.Set;
+
+import javax.annotation.Resource;
+import javax.inject.Named;
+import javax.inject.Singleton;
+
+import org.jclouds.googlecloud.filters.RateLimitFilter;
+import org.jclouds.http.HttpCommand;
+import org.jclouds.http.HttpResponse;
+import org.jclouds.http.HttpRetryHandler;
+import org.jclouds.javax.annotation.Nullable;
+import org.jclouds.logging.Logger;
+import org.jclouds.oauth.v2.config.CredentialPool;
+
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.collect.ImmutableSet;
+import com.google.common.primitives.Longs;
+import com.google.common.util.concurrent.Uninterruptibles;
+import com.google.inject.Inject;
+
+/**
+ * Retries requests Google refused for exceeding a rate limit, and idempotent requests that failed with a server
+ * error, after a <a href="http://www.awsarchitectureblog.com/2015/03/backoff.html">decorrelated jitter</a> backoff:
+ * each wait is drawn between a second and three times the previous wait, up to 32 seconds, and never shorter than
+ * the response's {@code Retry-After}. Randomized waits keep clients throttled together from retrying together.
+ *
+ * <p/>A refused request wasn't acted upon, so is safe to retry whatever its method. A server error may come after
+ * the request took effect, so {@code POST} and {@code PATCH} requests aren't retried on one. Each call is retried at
+ * most {@link org.jclouds.Constants#PROPERTY_MAX_RETRIES} times, waiting at most two minutes in all. Requests whose
+ * payload can't be read twice are never retried: resumable uploads send their chunks that way, to resume from what
+ * the service committed rather than resend a whole chunk.
+ */
+@Singleton
+public final class JitteredBackoffRetryHandler implements HttpRetryHandler {
+
+   private static final Set<String> IDEMPOTENT_METHODS = ImmutableSet.of("GET", "HEAD", "PUT", "DELETE", "OPTIONS");
+
+   @Resource
+   private Logger logger = Logger.NULL;
+
+   /** Told which service account got throttled, so that others take over while it backs off. */
+   @Inject(optional = true)
+   private CredentialPool credentialPool;
+
+   /** Told which method got throttled, so that its rate backs off. */
+   @Inject(optional = true)
+   private RateLimitFilter rateLimitFilter;
+
+   private final int retryCountLimit;
+   private final long baseMillis;
+   private final long capMillis;
+   private final long budgetMillis;
+   private final Random random;
+   /** Backoff of each call being retried, by identity. */
+   private final Cache<HttpCommand, Backoff> backoffs = CacheBuilder.newBuilder().weakKeys().build();
+
+   @Inject JitteredBackoffRetryHandler(@Named(PROPERTY_MAX_RETRIES) int retryCountLimit) {
+      this(retryCountLimit, SECONDS.toMillis(1), SECONDS.toMillis(32), SECONDS.toMillis(120), new Random());
+   }
+
+   @VisibleForTesting JitteredBackoffRetryHandler(int retryCountLimit, long baseMillis, long capMillis,
+         long budgetMillis, Random random) {
+      this.retryCountLimit = retryCountLimit;
+      this.baseMillis = baseMillis;
+      this.capMillis = capMillis;
+      this.budgetMillis = budgetMillis;
+      this.random = random;
+   }
+
+   @Override public boolean shouldRetryRequest(HttpCommand command, HttpResponse response) {
+      if (!command.isReplayable()) {
+         return false;
+      }
+      // keeps the content for the error handler, should we give up
+      byte[] data = closeClientButKeepContentStream(response);
+      boolean rateLimited = isRateLimited(response.getStatusCode(), data != null ? new String(data) : null);
+      if (!rateLimited && !(response.getStatusCode() >= 500
+            && IDEMPOTENT_METHODS.contains(command.getCurrentRequest().getMethod()))) {
+         return false;
+      }
+      if (command.incrementFailureCount() > retryCountLimit) {
+         return false;
+      }
+      long waitMillis = backoff(command).next(retryAfterMillis(response));
+      if (waitMillis < 0) {
+         logger.debug("retry budget of %s spent; giving up", command.getCurrentRequest().getRequestLine());
+         return false;
+      }
+      if (rateLimited) {
+         if (credentialPool != null) {
+            credentialPool.throttled(command.getCurrentRequest());
+         }
+         if (rateLimitFilter != null) {
+            rateLimitFilter.throttled(command.getCurrentRequest());
+         }
+      }
+      logger.debug("retrying %s after %sms, as it failed with %s", command.getCurrentRequest().getRequestLine(),
+            waitMillis, response.getStatusLine());
+      Uninterruptibles.sleepUninterruptibly(waitMillis, MILLISECONDS);
+      return true;
+   }
+
+   private Backoff backoff(HttpCommand command) {
+      Backoff backoff = backoffs.getIfPresent(command);
+      if (backoff == null) {
+         backoff = new Backoff();
+         backoffs.put(command, backoff);
+      }
+      return backoff;
+   }
+
+   /** The {@code Retry-After} of the response in milliseconds, when given in seconds. */
+   @Nullable private static Long retryAfterMillis(HttpResponse response) {
+      String retryAfter = response.getFirstHeaderOrNull("Retry-After");
+      Long seconds = retryAfter != null ? Longs.tryParse(retryAfter.trim()) : null;
+      return seconds != null && seconds >= 0 ? SECONDS.toMillis(seconds) : null;
+   }
+
+   /** Waits of one call; calls are retried on the thread that sent them. */
+   private final class Backoff {
+      private long previousMillis = baseMillis;
+      private long spentMillis;
+
+      /** Returns how long to wait before the next retry, or -1 if that would overspend the budget. */
+      long next(@Nullable Long retryAfterMillis) {
+         long upper = Math.min(capMillis, previousMillis * 3);
+         long waitMillis = upper > baseMillis ? baseMillis + (long) (random.nextDouble() * (upper - baseMillis))
+               : baseMillis;
+         if (retryAfterMillis != null) {
+            waitMillis = Math.max(waitMillis, retryAfterMillis);
+         }
+         if (spentMillis + waitMillis > budgetMillis) {
+            return -1;
+         }
+         previousMillis = waitMillis;
+         spentMillis += waitMillis;
+         return waitMillis;
+      }
+   }
+}
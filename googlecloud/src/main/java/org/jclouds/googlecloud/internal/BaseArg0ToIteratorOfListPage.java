@@ -16,8 +16,13 @@
  */
 package org.jclouds.googlecloud.internal;
 
+import static org.jclouds.Constants.PROPERTY_USER_THREADS;
+import static org.jclouds.googlecloud.config.GoogleCloudProperties.PREFETCH_PAGES;
+
 import java.util.Iterator;
 
+import javax.inject.Named;
+
 import org.jclouds.googlecloud.domain.ListPage;
 import org.jclouds.googlecloud.options.ListOptions;
 import org.jclouds.http.HttpRequest;
@@ -25,12 +30,22 @@ import org.jclouds.rest.InvocationContext;
 import org.jclouds.rest.internal.GeneratedHttpRequest;
 
 import com.google.common.base.Function;
+import com.google.common.util.concurrent.ListeningExecutorService;
+import com.google.inject.Inject;
 
 public abstract class BaseArg0ToIteratorOfListPage<T, O extends ListOptions, I extends BaseArg0ToIteratorOfListPage<T, O, I>>
       implements Function<ListPage<T>, Iterator<ListPage<T>>>, InvocationContext<I> {
 
    private GeneratedHttpRequest request;
 
+   @Inject(optional = true)
+   @Named(PREFETCH_PAGES)
+   private int prefetchPages;
+
+   @Inject
+   @Named(PROPERTY_USER_THREADS)
+   private ListeningExecutorService userExecutor;
+
    @Override public Iterator<ListPage<T>> apply(ListPage<T> input) {
       if (input.nextPageToken() == null) {
          return ListPages.singletonOrEmptyIterator(input);
@@ -39,7 +54,7 @@ public abstract class BaseArg0ToIteratorOfListPage<T, O extends ListOptions, I e
       String arg0 = (String) request.getInvocation().getArgs().get(0);
       O options = ListPages.listOptions(request.getInvocation().getArgs());
 
-      return new AdvancingIterator<T>(input, fetchNextPage(arg0, options));
+      return ListPages.advancingIterator(input, fetchNextPage(arg0, options), options, prefetchPages, userExecutor);
    }
 
    /**
@@ -0,0 +1,144 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jclouds.googlecloud.internal;
+
+import static com.google.common.base.Preconditions.checkState;
+import static org.jclouds.util.Closeables2.closeQuietly;
+
+import java.io.Closeable;
+import java.io.IOException;
+
+import org.jclouds.googlecloud.domain.StreamingListPage;
+import org.jclouds.javax.annotation.Nullable;
+
+import com.google.common.base.Throwables;
+import com.google.common.collect.AbstractIterator;
+import com.google.gson.TypeAdapter;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+
+/**
+ * Reads the items of a list response one at a time, whether they are in an {@code items} array or in an aggregated
+ * {@code items} map of scope to resource type to array. Warnings and other fields are skipped.
+ */
+public final class JsonListPageIterator<T> extends AbstractIterator<T> implements StreamingListPage<T> {
+
+   private final JsonReader in;
+   private final TypeAdapter<T> itemAdapter;
+   @Nullable private final Closeable resource;
+
+   private String nextPageToken;
+   private boolean inAggregate;
+   private boolean inScope;
+   private boolean inItems;
+
+   /**
+    * @param in       positioned at the start of the list object
+    * @param resource closed once the list is read or fails to, or null if the caller closes the reader
+    */
+   public JsonListPageIterator(JsonReader in, TypeAdapter<T> itemAdapter, @Nullable Closeable resource)
+         throws IOException {
+      this.in = in;
+      this.itemAdapter = itemAdapter;
+      this.resource = resource;
+      in.beginObject();
+   }
+
+   @Override protected T computeNext() {
+      try {
+         T item = readNextItem();
+         if (item == null) {
+            closeQuietly(resource);
+            return endOfData();
+         }
+         return item;
+      } catch (IOException e) {
+         closeQuietly(resource);
+         throw Throwables.propagate(e);
+      } catch (RuntimeException e) {
+         closeQuietly(resource);
+         throw e;
+      }
+   }
+
+   /** Advances through the enclosing objects until the next non-null item, or returns null at the end of the list. */
+   private T readNextItem() throws IOException {
+      while (true) {
+         if (inItems) {
+            if (in.hasNext()) {
+               T item = itemAdapter.read(in);
+               if (item != null) {
+                  return item;
+               }
+            } else {
+               in.endArray();
+               inItems = false;
+            }
+         } else if (inScope) { // resource type -> items, or warning
+            if (in.hasNext()) {
+               if (in.nextName().equals("warning")) {
+                  in.skipValue();
+               } else {
+                  in.beginArray();
+                  inItems = true;
+               }
+            } else {
+               in.endObject();
+               inScope = false;
+            }
+         } else if (inAggregate) { // scope name -> scope map
+            if (in.hasNext()) {
+               in.nextName();
+               in.beginObject();
+               inScope = true;
+            } else {
+               in.endObject();
+               inAggregate = false;
+            }
+         } else if (in.hasNext()) {
+            String name = in.nextName();
+            if (name.equals("items")) {
+               if (in.peek() == JsonToken.BEGIN_ARRAY) {
+                  in.beginArray();
+                  inItems = true;
+               } else {
+                  in.beginObject();
+                  inAggregate = true;
+               }
+            } else if (name.equals("nextPageToken")) {
+               nextPageToken = in.nextString();
+            } else {
+               in.skipValue();
+            }
+         } else {
+            in.endObject();
+            return null;
+         }
+      }
+   }
+
+   @Override @Nullable public String nextPageToken() {
+      checkState(!hasNext(), "nextPageToken is only known once every item is read");
+      return nextPageToken;
+   }
+
+   @Override public void close() throws IOException {
+      if (resource != null) {
+         resource.close();
+      }
+   }
+}
@@ -23,11 +23,15 @@ import java.util.Iterator;
 import java.util.List;
 
 import org.jclouds.googlecloud.domain.ListPage;
+import org.jclouds.googlecloud.domain.StreamingListPage;
 import org.jclouds.googlecloud.options.ListOptions;
 import org.jclouds.javax.annotation.Nullable;
 
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.base.Function;
 import com.google.common.collect.AbstractIterator;
 import com.google.common.collect.Iterators;
+import com.google.common.util.concurrent.ListeningExecutorService;
 
 public final class ListPages {
 
@@ -43,11 +47,49 @@ public final class ListPages {
       };
    }
 
+   /**
+    * Iterates over the items of every page, requesting the next page with {@code tokenToNext} once the current one is
+    * read. Only the item being read is held in memory.
+    */
+   public static <T> Iterator<T> concatStreaming(final StreamingListPage<T> first,
+         final Function<String, StreamingListPage<T>> tokenToNext) {
+      return new AbstractIterator<T>() {
+         private StreamingListPage<T> current = first;
+
+         @Override protected T computeNext() {
+            while (!current.hasNext()) {
+               String nextPageToken = current.nextPageToken();
+               if (nextPageToken == null) {
+                  return endOfData();
+               }
+               current = tokenToNext.apply(nextPageToken);
+            }
+            return current.next();
+         }
+      };
+   }
+
    /** Value of {@code <O>} is a final class in the cloud provider. Rather than playing with reflection, we trust it. */
    @Nullable static <O extends ListOptions> O listOptions(List<Object> args) {
       return (O) tryFind(args, instanceOf(ListOptions.class)).orNull();
    }
 
+   /**
+    * Iterates from the input page on, prefetching as many pages as {@link ListOptions#getPrefetchPages()}, or if
+    * unset {@code defaultPrefetchPages}, and advancing on demand if that is zero.
+    */
+   @VisibleForTesting
+   public static <T> Iterator<ListPage<T>> advancingIterator(ListPage<T> input,
+         Function<String, ListPage<T>> tokenToNext, @Nullable ListOptions options, int defaultPrefetchPages,
+         ListeningExecutorService executor) {
+      Integer optionsPrefetchPages = options != null ? options.getPrefetchPages() : null;
+      int prefetchPages = optionsPrefetchPages != null ? optionsPrefetchPages : defaultPrefetchPages;
+      if (prefetchPages > 0) {
+         return new PrefetchingIterator<T>(input, tokenToNext, prefetchPages, executor);
+      }
+      return new AdvancingIterator<T>(input, tokenToNext);
+   }
+
    static <T> Iterator<ListPage<T>> singletonOrEmptyIterator(ListPage<T> input) {
       return input.isEmpty() ? Iterators.<ListPage<T>>emptyIterator() : Iterators.singletonIterator(input);
    }
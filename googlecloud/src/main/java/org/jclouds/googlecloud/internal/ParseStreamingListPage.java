@@ -0,0 +1,74 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jclouds.googlecloud.internal;
+
+import static com.google.common.base.Charsets.UTF_8;
+import static com.google.common.base.Throwables.propagate;
+import static org.jclouds.http.HttpUtils.releasePayload;
+
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.lang.reflect.Type;
+
+import javax.inject.Inject;
+
+import org.jclouds.googlecloud.domain.StreamingListPage;
+import org.jclouds.http.HttpRequest;
+import org.jclouds.http.HttpResponse;
+import org.jclouds.rest.InvocationContext;
+import org.jclouds.rest.internal.GeneratedHttpRequest;
+
+import com.google.common.base.Function;
+import com.google.gson.Gson;
+import com.google.gson.TypeAdapter;
+import com.google.gson.reflect.TypeToken;
+import com.google.gson.stream.JsonReader;
+
+/**
+ * Parses a list response into a {@link StreamingListPage}, which decodes items as they are read rather than
+ * building the whole page. The item type is that of the {@code StreamingListPage} returned by the api method.
+ */
+public final class ParseStreamingListPage
+      implements Function<HttpResponse, StreamingListPage<?>>, InvocationContext<ParseStreamingListPage> {
+
+   private final Gson gson;
+   private GeneratedHttpRequest request;
+
+   @Inject ParseStreamingListPage(Gson gson) {
+      this.gson = gson;
+   }
+
+   @SuppressWarnings("unchecked")
+   @Override public StreamingListPage<?> apply(HttpResponse response) {
+      Type itemType = request.getInvocation().getInvokable().getReturnType()
+            .resolveType(StreamingListPage.class.getTypeParameters()[0]).getType();
+      TypeAdapter<?> itemAdapter = gson.getAdapter(TypeToken.get(itemType));
+      InputStreamReader reader = null;
+      try {
+         reader = new InputStreamReader(response.getPayload().openStream(), UTF_8);
+         return new JsonListPageIterator<Object>(new JsonReader(reader), (TypeAdapter<Object>) itemAdapter, reader);
+      } catch (IOException e) {
+         releasePayload(response);
+         throw propagate(e);
+      }
+   }
+
+   @Override public ParseStreamingListPage setContext(HttpRequest request) {
+      this.request = GeneratedHttpRequest.class.cast(request);
+      return this;
+   }
+}
@@ -0,0 +1,148 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jclouds.googlecloud.internal;
+
+import static com.google.common.base.Throwables.propagate;
+import static com.google.common.util.concurrent.MoreExecutors.sameThreadExecutor;
+import static com.google.common.util.concurrent.Uninterruptibles.getUninterruptibly;
+
+import java.util.ArrayDeque;
+import java.util.Queue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.RejectedExecutionException;
+
+import org.jclouds.googlecloud.domain.ListPage;
+
+import com.google.common.base.Function;
+import com.google.common.collect.AbstractIterator;
+import com.google.common.util.concurrent.FutureCallback;
+import com.google.common.util.concurrent.Futures;
+import com.google.common.util.concurrent.ListenableFuture;
+import com.google.common.util.concurrent.ListeningExecutorService;
+
+/**
+ * Like {@link AdvancingIterator}, but requests the next page as soon as the previous one arrives, rather than once
+ * the caller asks for it. At most {@code pages} pages are fetched or in flight ahead of the caller, so an abandoned
+ * iteration costs at most that many extra requests.
+ */
+final class PrefetchingIterator<T> extends AbstractIterator<ListPage<T>> {
+
+   private final Function<String, ListPage<T>> tokenToNext;
+   private final int pages;
+   private final ListeningExecutorService executor;
+   private ListPage<T> initial;
+
+   // guarded by this
+   private final Queue<ListenableFuture<ListPage<T>>> ahead = new ArrayDeque<ListenableFuture<ListPage<T>>>();
+   /** Token of the newest page, until its successor is requested. */
+   private String nextToken;
+   private boolean fetching;
+
+   PrefetchingIterator(ListPage<T> initial, Function<String, ListPage<T>> tokenToNext, int pages,
+         ListeningExecutorService executor) {
+      this.initial = initial;
+      this.tokenToNext = tokenToNext;
+      this.pages = pages;
+      this.executor = executor;
+      synchronized (this) {
+         this.nextToken = initial.nextPageToken();
+         prefetch();
+      }
+   }
+
+   @Override protected ListPage<T> computeNext() {
+      if (initial != null) {
+         try {
+            return initial;
+         } finally {
+            initial = null;
+         }
+      }
+      ListenableFuture<ListPage<T>> head;
+      boolean interrupted = false;
+      try {
+         synchronized (this) {
+            while ((head = ahead.poll()) == null) {
+               if (fetching) {
+                  // the page we took last completed, but hasn't handed over its token yet
+                  try {
+                     wait();
+                  } catch (InterruptedException e) {
+                     interrupted = true;
+                  }
+               } else if (nextToken != null) {
+                  prefetch();
+               } else { // nothing in flight and no token left
+                  return endOfData();
+               }
+            }
+            prefetch();
+         }
+      } finally {
+         if (interrupted) {
+            Thread.currentThread().interrupt();
+         }
+      }
+      try {
+         return getUninterruptibly(head);
+      } catch (ExecutionException e) {
+         throw propagate(e.getCause());
+      }
+   }
+
+   /** Requests the page after the newest one, unless it is already requested or enough pages are ahead. */
+   private synchronized void prefetch() {
+      if (fetching || nextToken == null || ahead.size() >= pages) {
+         return;
+      }
+      final String token = nextToken;
+      nextToken = null;
+      fetching = true;
+      ListenableFuture<ListPage<T>> next;
+      try {
+         next = executor.submit(new Callable<ListPage<T>>() {
+            @Override public ListPage<T> call() {
+               return tokenToNext.apply(token);
+            }
+         });
+      } catch (RejectedExecutionException e) {
+         next = Futures.immediateFailedFuture(e);
+      }
+      ahead.add(next);
+      Futures.addCallback(next, new FutureCallback<ListPage<T>>() {
+         @Override public void onSuccess(ListPage<T> page) {
+            arrived(page.nextPageToken());
+         }
+
+         @Override public void onFailure(Throwable t) {
+            arrived(null); // the caller sees the failure when reaching this page
+         }
+      }, sameThreadExecutor());
+   }
+
+   /**
+    * Runs once a page completes, which may be after the caller took it: waiters on a future are released before its
+    * listeners run.
+    */
+   private synchronized void arrived(String token) {
+      fetching = false;
+      nextToken = token;
+      prefetch();
+      notifyAll();
+   }
+}
@@ -0,0 +1,38 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jclouds.googlecloud.internal;
+
+import org.jclouds.javax.annotation.Nullable;
+
+/** Recognizes responses telling the caller to slow down. */
+public final class RateLimits {
+
+   /**
+    * Google APIs signal rate limiting with {@code 429 Too Many Requests}, or with {@code 403 Forbidden} and a
+    * {@code rateLimitExceeded} or {@code userRateLimitExceeded} reason in the error body.
+    */
+   public static boolean isRateLimited(int statusCode, @Nullable String body) {
+      if (statusCode == 429) {
+         return true;
+      }
+      return statusCode == 403 && body != null
+            && (body.contains("rateLimitExceeded") || body.contains("userRateLimitExceeded"));
+   }
+
+   private RateLimits() {
+   }
+}
@@ -0,0 +1,127 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jclouds.googlecloud.metrics;
+
+import static org.jclouds.googlecloud.config.GoogleCloudProperties.JMX_METRICS;
+
+import java.io.Closeable;
+import java.lang.management.ManagementFactory;
+import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.annotation.Resource;
+import javax.inject.Inject;
+import javax.inject.Named;
+import javax.inject.Singleton;
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+import org.jclouds.http.HttpRequest;
+import org.jclouds.javax.annotation.Nullable;
+import org.jclouds.lifecycle.Closer;
+import org.jclouds.logging.Logger;
+import org.jclouds.rest.internal.GeneratedHttpRequest;
+
+import com.google.common.collect.Maps;
+
+/**
+ * Metrics of every api method called in this context, keyed by the method's {@code @Named} value, for example
+ * {@code Instances:insert} or {@code oauth2:authorize}. Calls are recorded as they complete, by
+ * {@link MetricsModule}.
+ *
+ * <p/>When {@link org.jclouds.googlecloud.config.GoogleCloudProperties#JMX_METRICS} is set, each method is also
+ * registered with the platform MBean server as {@code org.jclouds.googlecloud:type=ApiMetrics,context=N,name="..."},
+ * until the context is closed.
+ */
+@Singleton
+public final class ApiMetrics implements Closeable {
+
+   private static final AtomicInteger CONTEXTS = new AtomicInteger();
+
+   @Resource
+   private Logger logger = Logger.NULL;
+
+   private final boolean jmx;
+   private final String context = String.valueOf(CONTEXTS.incrementAndGet());
+   private final ConcurrentMap<String, MethodMetrics> byName = Maps.newConcurrentMap();
+
+   @Inject ApiMetrics(@Named(JMX_METRICS) boolean jmx, Closer closer) {
+      this.jmx = jmx;
+      closer.addToClose(this);
+   }
+
+   /** Metrics of the method, or null if it wasn't called. */
+   @Nullable public MethodMetrics get(String name) {
+      return byName.get(name);
+   }
+
+   /** Metrics of each method called so far, by name. */
+   public Map<String, MethodMetrics> byName() {
+      return Collections.unmodifiableMap(byName);
+   }
+
+   /** Metrics of the method the request was built from, or null if it has no {@code @Named} value. */
+   @Nullable MethodMetrics forRequest(HttpRequest request) {
+      if (!(request instanceof GeneratedHttpRequest)) {
+         return null;
+      }
+      Named name = ((GeneratedHttpRequest) request).getInvocation().getInvokable().getAnnotation(Named.class);
+      if (name == null) {
+         return null;
+      }
+      MethodMetrics metrics = byName.get(name.value());
+      return metrics != null ? metrics : create(name.value());
+   }
+
+   private MethodMetrics create(String name) {
+      MethodMetrics metrics = new MethodMetrics(name);
+      MethodMetrics existing = byName.putIfAbsent(name, metrics);
+      if (existing != null) {
+         return existing;
+      }
+      if (jmx) {
+         try {
+            ManagementFactory.getPlatformMBeanServer().registerMBean(metrics, objectName(name));
+         } catch (JMException e) {
+            logger.warn(e, "could not register metrics of %s with JMX", name);
+         }
+      }
+      return metrics;
+   }
+
+   @Override public void close() {
+      if (!jmx) {
+         return;
+      }
+      MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+      for (String name : byName.keySet()) {
+         try {
+            server.unregisterMBean(objectName(name));
+         } catch (JMException e) {
+            logger.debug("could not unregister metrics of %s: %s", name, e.getMessage());
+         }
+      }
+   }
+
+   private ObjectName objectName(String name) throws JMException {
+      return new ObjectName("org.jclouds.googlecloud:type=ApiMetrics,context=" + context + ",name="
+            + ObjectName.quote(name));
+   }
+}
@@ -0,0 +1,76 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jclouds.googlecloud.metrics;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Counts latencies in buckets whose width grows with the value, as HdrHistogram does: each power of two is split in
+ * {@value #SUB_BUCKETS} buckets, so any value is known to within about 3%. Recording is a single atomic increment, and
+ * allocates nothing.
+ */
+final class LatencyHistogram {
+
+   private static final int SUB_BUCKET_BITS = 5;
+   private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+
+   private final AtomicLongArray counts = new AtomicLongArray((64 - SUB_BUCKET_BITS) * SUB_BUCKETS);
+
+   void record(long nanos) {
+      counts.incrementAndGet(index(Math.max(0, nanos)));
+   }
+
+   /** The latency below which {@code percentile} percent of those recorded fall, or zero if none were recorded. */
+   long percentile(double percentile) {
+      long total = 0;
+      for (int i = 0; i < counts.length(); i++) {
+         total += counts.get(i);
+      }
+      if (total == 0) {
+         return 0;
+      }
+      long rank = Math.max(1, (long) Math.ceil(total * percentile / 100));
+      long seen = 0;
+      for (int i = 0; i < counts.length(); i++) {
+         seen += counts.get(i);
+         if (seen >= rank) {
+            return highestValue(i);
+         }
+      }
+      return highestValue(counts.length() - 1);
+   }
+
+   static int index(long value) {
+      if (value < SUB_BUCKETS) {
+         return (int) value;
+      }
+      int exponent = 63 - Long.numberOfLeadingZeros(value);
+      int shift = exponent - SUB_BUCKET_BITS;
+      int mantissa = (int) (value >>> shift) & (SUB_BUCKETS - 1);
+      return (shift + 1) * SUB_BUCKETS + mantissa;
+   }
+
+   /** The highest value counted in bucket {@code index}. */
+   static long highestValue(int index) {
+      if (index < SUB_BUCKETS) {
+         return index;
+      }
+      int shift = index / SUB_BUCKETS - 1;
+      long lowest = (long) (SUB_BUCKETS + index % SUB_BUCKETS) << shift;
+      return lowest + (1L << shift) - 1;
+   }
+}
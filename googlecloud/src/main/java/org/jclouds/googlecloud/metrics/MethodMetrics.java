@@ -0,0 +1,133 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jclouds.googlecloud.metrics;
+
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+import com.google.common.collect.ImmutableSortedMap;
+
+/**
+ * Counts and latencies of the calls to one api method, keyed in {@link ApiMetrics} by its {@code @Named} value.
+ * Latency runs from sending the first attempt to the final response, retries included, and excludes parsing.
+ */
+public final class MethodMetrics implements MethodMetricsMXBean {
+
+   private static final double NANOS_PER_MILLI = MILLISECONDS.toNanos(1);
+
+   private final String name;
+   private final AtomicLong requests = new AtomicLong();
+   private final AtomicLong errors = new AtomicLong();
+   /** Indexed by status code; zero is no response. */
+   private final AtomicLongArray errorsByStatus = new AtomicLongArray(600);
+   private final AtomicLong bytesOut = new AtomicLong();
+   private final AtomicLong bytesIn = new AtomicLong();
+   private final AtomicLong totalNanos = new AtomicLong();
+   private final AtomicLong maxNanos = new AtomicLong();
+   private final LatencyHistogram latencies = new LatencyHistogram();
+
+   MethodMetrics(String name) {
+      this.name = name;
+   }
+
+   /**
+    * Records a call; allocates nothing.
+    *
+    * @param statusCode status of the final response, or zero if there was none
+    */
+   void record(long nanos, int statusCode, long sent, long received) {
+      requests.incrementAndGet();
+      if (statusCode == 0 || statusCode >= 400) {
+         errors.incrementAndGet();
+         errorsByStatus.incrementAndGet(statusCode >= 0 && statusCode < errorsByStatus.length() ? statusCode : 0);
+      }
+      bytesOut.addAndGet(sent);
+      bytesIn.addAndGet(received);
+      totalNanos.addAndGet(nanos);
+      long max = maxNanos.get();
+      while (nanos > max && !maxNanos.compareAndSet(max, nanos)) {
+         max = maxNanos.get();
+      }
+      latencies.record(nanos);
+   }
+
+   /** The {@code @Named} value of the method. */
+   public String name() {
+      return name;
+   }
+
+   /** The latency below which {@code percentile} percent of calls completed, in nanoseconds. */
+   public long latencyNanos(double percentile) {
+      return latencies.percentile(percentile);
+   }
+
+   @Override public long getRequests() {
+      return requests.get();
+   }
+
+   @Override public long getErrors() {
+      return errors.get();
+   }
+
+   @Override public Map<Integer, Long> getErrorsByStatus() {
+      ImmutableSortedMap.Builder<Integer, Long> builder = ImmutableSortedMap.naturalOrder();
+      for (int status = 0; status < errorsByStatus.length(); status++) {
+         long count = errorsByStatus.get(status);
+         if (count > 0) {
+            builder.put(status, count);
+         }
+      }
+      return builder.build();
+   }
+
+   @Override public long getBytesOut() {
+      return bytesOut.get();
+   }
+
+   @Override public long getBytesIn() {
+      return bytesIn.get();
+   }
+
+   @Override public double getMeanMillis() {
+      long count = requests.get();
+      return count == 0 ? 0 : totalNanos.get() / NANOS_PER_MILLI / count;
+   }
+
+   @Override public double getMedianMillis() {
+      return latencyNanos(50) / NANOS_PER_MILLI;
+   }
+
+   @Override public double get90thPercentileMillis() {
+      return latencyNanos(90) / NANOS_PER_MILLI;
+   }
+
+   @Override public double get99thPercentileMillis() {
+      return latencyNanos(99) / NANOS_PER_MILLI;
+   }
+
+   @Override public double getMaxMillis() {
+      return maxNanos.get() / NANOS_PER_MILLI;
+   }
+
+   @Override public String toString() {
+      return String.format("%s: %s requests, %s errors, %.1fms median, %.1fms p99", name, getRequests(), getErrors(),
+            getMedianMillis(), get99thPercentileMillis());
+   }
+}
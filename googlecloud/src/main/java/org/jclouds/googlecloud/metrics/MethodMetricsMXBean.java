@@ -0,0 +1,48 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jclouds.googlecloud.metrics;
+
+import java.util.Map;
+
+/** Metrics of one api method, as seen through JMX. */
+public interface MethodMetricsMXBean {
+
+   /** Calls made, each counted once however many times it was retried. */
+   long getRequests();
+
+   /** Calls that failed, with an error status or with no response at all. */
+   long getErrors();
+
+   /** Failed calls by status code, zero standing for those that got no response. */
+   Map<Integer, Long> getErrorsByStatus();
+
+   /** Bytes of request bodies sent. */
+   long getBytesOut();
+
+   /** Bytes of response bodies received, where their length was known. */
+   long getBytesIn();
+
+   double getMeanMillis();
+
+   double getMedianMillis();
+
+   double get90thPercentileMillis();
+
+   double get99thPercentileMillis();
+
+   double getMaxMillis();
+}
@@ -0,0 +1,88 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jclouds.googlecloud.metrics;
+
+import static com.google.inject.matcher.Matchers.subclassesOf;
+import static org.jclouds.util.Throwables2.getFirstThrowableOfType;
+
+import java.lang.reflect.Method;
+import java.util.Arrays;
+
+import javax.inject.Inject;
+
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
+import org.jclouds.http.HttpCommand;
+import org.jclouds.http.HttpCommandExecutorService;
+import org.jclouds.http.HttpRequest;
+import org.jclouds.http.HttpResponse;
+import org.jclouds.http.HttpResponseException;
+import org.jclouds.io.Payload;
+import org.jclouds.javax.annotation.Nullable;
+
+import com.google.inject.AbstractModule;
+import com.google.inject.matcher.AbstractMatcher;
+
+/**
+ * Records every call to the {@link HttpCommandExecutorService} in {@link ApiMetrics}. Commands are intercepted once
+ * per call, around all of its attempts, which is the only place both the request and its final outcome are seen.
+ */
+public final class MetricsModule extends AbstractModule {
+
+   @Override protected void configure() {
+      RecordMetrics recordMetrics = new RecordMetrics();
+      requestInjection(recordMetrics);
+      bindInterceptor(subclassesOf(HttpCommandExecutorService.class), new AbstractMatcher<Method>() {
+         @Override public boolean matches(Method method) {
+            return method.getName().equals("invoke") && !method.isSynthetic()
+                  && Arrays.equals(method.getParameterTypes(), new Class<?>[] { HttpCommand.class });
+         }
+      }, recordMetrics);
+   }
+
+   static final class RecordMetrics implements MethodInterceptor {
+      @Inject private ApiMetrics apiMetrics;
+
+      @Override public Object invoke(MethodInvocation invocation) throws Throwable {
+         HttpRequest request = ((HttpCommand) invocation.getArguments()[0]).getCurrentRequest();
+         MethodMetrics metrics = apiMetrics.forRequest(request);
+         if (metrics == null) {
+            return invocation.proceed();
+         }
+         long start = System.nanoTime();
+         long sent = length(request.getPayload());
+         try {
+            HttpResponse response = (HttpResponse) invocation.proceed();
+            metrics.record(System.nanoTime() - start, response.getStatusCode(), sent, length(response.getPayload()));
+            return response;
+         } catch (Throwable t) {
+            HttpResponseException e = getFirstThrowableOfType(t, HttpResponseException.class);
+            int statusCode = e != null && e.getResponse() != null ? e.getResponse().getStatusCode() : 0;
+            metrics.record(System.nanoTime() - start, statusCode, sent, 0);
+            throw t;
+         }
+      }
+
+      private static long length(@Nullable Payload payload) {
+         if (payload == null) {
+            return 0;
+         }
+         Long length = payload.getContentMetadata().getContentLength();
+         return length != null ? length : 0;
+      }
+   }
+}
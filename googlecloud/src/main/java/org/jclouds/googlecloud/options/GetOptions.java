@@ -0,0 +1,50 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jclouds.googlecloud.options;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+
+import org.jclouds.http.options.BaseHttpRequestOptions;
+
+import com.google.common.base.Joiner;
+
+/** Controls for getting a single resource in google cloud products. */
+public class GetOptions extends BaseHttpRequestOptions {
+
+   /**
+    * Sets the fields to return, in the partial response syntax of Google APIs, for example
+    * {@code fields("status", "error")}. Fields left out are null in the parsed resource, so those the domain type
+    * requires must be included.
+    */
+   public GetOptions fields(String... fields) {
+      this.queryParameters.put("fields", Joiner.on(',').join(checkNotNull(fields, "fields")));
+      return this;
+   }
+
+   public static final class Builder {
+
+      /**
+       * @see GetOptions#fields(String...)
+       */
+      public static GetOptions fields(String... fields) {
+         return new GetOptions().fields(fields);
+      }
+
+      private Builder() {
+      }
+   }
+}
@@ -16,15 +16,49 @@
  */
 package org.jclouds.googlecloud.options;
 
+import static com.google.common.base.Preconditions.checkArgument;
 import static com.google.common.base.Preconditions.checkNotNull;
 
 import org.jclouds.http.options.BaseHttpRequestOptions;
+import org.jclouds.javax.annotation.Nullable;
+
+import com.google.common.base.Joiner;
 
 /** Base controls for listing resources in google cloud products. */
 public abstract class ListOptions extends BaseHttpRequestOptions {
+   private Integer prefetchPages;
+
    /**  Sets Maximum count of results to be returned. Maximum value is product-specific. */
    public ListOptions maxResults(Integer maxResults) {
       this.queryParameters.put("maxResults", checkNotNull(maxResults, "maxResults").toString());
       return this;
    }
+
+   /**
+    * Sets the fields to return, in the partial response syntax of Google APIs. List responses nest the resources in
+    * {@code items}, so for example {@code fields("nextPageToken", "items(name,status)")} returns each resource's name
+    * and status. Leave out {@code nextPageToken} only when reading a single page.
+    *
+    * <p/>Resources are parsed as usual, so fields the domain type requires must be included.
+    */
+   public ListOptions fields(String... fields) {
+      this.queryParameters.put("fields", Joiner.on(',').join(checkNotNull(fields, "fields")));
+      return this;
+   }
+
+   /**
+    * Sets how many pages the iterator returned by {@code list} fetches ahead of the caller, overriding
+    * {@link org.jclouds.googlecloud.config.GoogleCloudProperties#PREFETCH_PAGES}. Zero fetches each page on demand.
+    * This isn't sent to the server.
+    */
+   public ListOptions prefetchPages(int prefetchPages) {
+      checkArgument(prefetchPages >= 0, "prefetchPages must be non-negative");
+      this.prefetchPages = prefetchPages;
+      return this;
+   }
+
+   /** Returns the number of pages to prefetch, or null to use the context default. */
+   @Nullable public Integer getPrefetchPages() {
+      return prefetchPages;
+   }
 }
@@ -0,0 +1,124 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jclouds.googlecloud.async;
+
+import static com.google.common.util.concurrent.MoreExecutors.sameThreadExecutor;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertSame;
+import static org.testng.Assert.fail;
+
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+
+import org.jclouds.googlecloud.domain.ForwardingListPage;
+import org.jclouds.googlecloud.domain.ListPage;
+import org.testng.annotations.Test;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.util.concurrent.AsyncFunction;
+import com.google.common.util.concurrent.Futures;
+import com.google.common.util.concurrent.ListenableFuture;
+
+@Test(groups = "unit", testName = "AsyncApisTest")
+public class AsyncApisTest {
+
+   interface WidgetApi {
+      String get(String name);
+
+      void delete(String name);
+   }
+
+   interface WidgetAsyncApi {
+      ListenableFuture<String> get(String name);
+
+      ListenableFuture<Void> delete(String name);
+   }
+
+   interface MismatchedAsyncApi {
+      ListenableFuture<Integer> get(String name);
+   }
+
+   interface UnknownAsyncApi {
+      ListenableFuture<String> rename(String name);
+   }
+
+   static final IllegalStateException GONE = new IllegalStateException("gone");
+
+   static class Widgets implements WidgetApi {
+      @Override public String get(String name) {
+         return "widget " + name;
+      }
+
+      @Override public void delete(String name) {
+         throw GONE;
+      }
+   }
+
+   public void futureHoldsResult() throws Exception {
+      WidgetAsyncApi async = AsyncApis.async(new Widgets(), WidgetAsyncApi.class, sameThreadExecutor());
+
+      assertEquals(async.get("a").get(), "widget a");
+   }
+
+   public void futureFailsWithException() throws Exception {
+      WidgetAsyncApi async = AsyncApis.async(new Widgets(), WidgetAsyncApi.class, sameThreadExecutor());
+
+      try {
+         async.delete("a").get();
+         fail();
+      } catch (ExecutionException e) {
+         assertSame(e.getCause(), GONE);
+      }
+   }
+
+   @Test(expectedExceptions = IllegalArgumentException.class)
+   public void mismatchedResultRejected() {
+      AsyncApis.async(new Widgets(), MismatchedAsyncApi.class, sameThreadExecutor());
+   }
+
+   @Test(expectedExceptions = IllegalArgumentException.class)
+   public void unknownMethodRejected() {
+      AsyncApis.async(new Widgets(), UnknownAsyncApi.class, sameThreadExecutor());
+   }
+
+   public void allPagesFollowsTokens() throws Exception {
+      final List<ListPage<String>> pages = ImmutableList.of(
+            ForwardingListPage.create(ImmutableList.of("a", "b"), "1"),
+            ForwardingListPage.create(ImmutableList.of("c"), "2"),
+            ForwardingListPage.create(ImmutableList.of("d"), null));
+
+      List<String> all = AsyncApis.allPages(Futures.immediateFuture(pages.get(0)),
+            new AsyncFunction<String, ListPage<String>>() {
+               @Override public ListenableFuture<ListPage<String>> apply(String pageToken) {
+                  return Futures.immediateFuture(pages.get(Integer.parseInt(pageToken)));
+               }
+            }).get();
+
+      assertEquals(all, ImmutableList.of("a", "b", "c", "d"));
+   }
+
+   public void allPagesOfNothing() throws Exception {
+      List<String> all = AsyncApis.allPages(Futures.<ListPage<String>>immediateFuture(null),
+            new AsyncFunction<String, ListPage<String>>() {
+               @Override public ListenableFuture<ListPage<String>> apply(String pageToken) {
+                  throw new AssertionError();
+               }
+            }).get();
+
+      assertEquals(all, ImmutableList.of());
+   }
+}
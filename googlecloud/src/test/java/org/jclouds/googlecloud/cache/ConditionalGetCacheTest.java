@@ -0,0 +1,136 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jclouds.googlecloud.cache;
+
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static org.jclouds.reflect.Reflection2.method;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertNull;
+import static org.testng.Assert.assertSame;
+
+import java.net.URI;
+
+import javax.inject.Named;
+
+import org.jclouds.http.HttpRequest;
+import org.jclouds.reflect.Invocation;
+import org.jclouds.rest.internal.GeneratedHttpRequest;
+import org.testng.annotations.Test;
+
+import com.google.common.base.Ticker;
+import com.google.common.collect.ImmutableList;
+
+@Test(groups = "unit", testName = "ConditionalGetCacheTest")
+public class ConditionalGetCacheTest {
+
+   interface Api {
+      @Named("Networks:get") Object get();
+   }
+
+   private static final String GLOBAL = "https://www.googleapis.com/compute/v1/projects/party/global";
+   private static final URI NETWORK = URI.create(GLOBAL + "/networks/jclouds-test");
+   private static final URI NETWORKS = URI.create(GLOBAL + "/networks");
+   private static final URI FIREWALL = URI.create(GLOBAL + "/firewalls/jclouds-test");
+
+   public void disabledWhenSizeIsZero() {
+      ConditionalGetCache cache = new ConditionalGetCache(0, 300, new FakeTicker());
+      cache.put(NETWORK, "\"abc\"", "network");
+
+      assertNull(cache.get(NETWORK));
+      HttpRequest request = get(NETWORK);
+      assertSame(new ConditionalGetFilter(cache).filter(request), request);
+   }
+
+   public void getsOfCachedResourcesRevalidated() {
+      ConditionalGetCache cache = new ConditionalGetCache(10, 300, new FakeTicker());
+      cache.put(NETWORK, "\"abc\"", "network");
+
+      GeneratedHttpRequest request = get(NETWORK);
+      HttpRequest filtered = new ConditionalGetFilter(cache).filter(request);
+
+      assertEquals(filtered.getFirstHeaderOrNull("If-None-Match"), "\"abc\"");
+      assertEquals(cache.revalidated(request.getInvocation()).value, "network");
+      assertNull(cache.revalidated(request.getInvocation()), "only answered once");
+   }
+
+   public void getsOfOtherResourcesUnchanged() {
+      ConditionalGetCache cache = new ConditionalGetCache(10, 300, new FakeTicker());
+      cache.put(NETWORK, "\"abc\"", "network");
+
+      GeneratedHttpRequest request = get(FIREWALL);
+      assertSame(new ConditionalGetFilter(cache).filter(request), request);
+      assertNull(cache.revalidated(request.getInvocation()));
+   }
+
+   public void entriesExpire() {
+      FakeTicker ticker = new FakeTicker();
+      ConditionalGetCache cache = new ConditionalGetCache(10, 300, ticker);
+      cache.put(NETWORK, "\"abc\"", "network");
+
+      ticker.nanos += SECONDS.toNanos(299);
+      assertEquals(cache.get(NETWORK), "network");
+      ticker.nanos += SECONDS.toNanos(1);
+      assertNull(cache.get(NETWORK));
+   }
+
+   public void writesDropEntriesAboveAndBelow() {
+      ConditionalGetCache cache = new ConditionalGetCache(10, 300, new FakeTicker());
+      ConditionalGetFilter filter = new ConditionalGetFilter(cache);
+
+      cache.put(NETWORK, "\"abc\"", "network");
+      cache.put(FIREWALL, "\"def\"", "firewall");
+      filter.filter(HttpRequest.builder().method("POST").endpoint(NETWORKS).build());
+      assertNull(cache.get(NETWORK));
+      assertEquals(cache.get(FIREWALL), "firewall");
+
+      cache.put(NETWORKS, "\"ghi\"", "networks");
+      filter.filter(HttpRequest.builder().method("DELETE").endpoint(NETWORK).build());
+      assertNull(cache.get(NETWORKS));
+      assertEquals(cache.get(FIREWALL), "firewall");
+   }
+
+   public void entriesCachedAgainAreDroppedAgain() {
+      ConditionalGetCache cache = new ConditionalGetCache(1, 300, new FakeTicker());
+      ConditionalGetFilter filter = new ConditionalGetFilter(cache);
+
+      cache.put(NETWORK, "\"abc\"", "network");
+      cache.put(FIREWALL, "\"def\"", "firewall"); // evicts the network
+      cache.put(NETWORK, "\"ghi\"", "network"); // evicts the firewall
+      filter.filter(HttpRequest.builder().method("DELETE").endpoint(NETWORK).build());
+      assertNull(cache.get(NETWORK));
+
+      cache.put(NETWORK, "\"jkl\"", "network");
+      cache.put(NETWORK, "\"mno\"", "network");
+      filter.filter(HttpRequest.builder().method("POST").endpoint(NETWORKS).build());
+      assertNull(cache.get(NETWORK));
+   }
+
+   private static GeneratedHttpRequest get(URI endpoint) {
+      return GeneratedHttpRequest.builder()
+            .method("GET")
+            .endpoint(endpoint)
+            .invocation(Invocation.create(method(Api.class, "get"), ImmutableList.of())).build();
+   }
+
+   private static final class FakeTicker extends Ticker {
+      long nanos;
+
+      @Override public long read() {
+         return nanos;
+      }
+   }
+}
@@ -0,0 +1,78 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jclouds.googlecloud.config;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertNotSame;
+import static org.testng.Assert.assertNull;
+import static org.testng.Assert.assertSame;
+
+import java.net.URI;
+import java.util.List;
+
+import org.testng.annotations.Test;
+
+import com.google.common.base.Strings;
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import com.google.gson.reflect.TypeToken;
+
+@Test(groups = "unit", testName = "InterningAdapterFactoryTest")
+public class InterningAdapterFactoryTest {
+
+   static final class Disk {
+      String zone;
+      URI type;
+   }
+
+   private final Gson gson = new GsonBuilder().registerTypeAdapterFactory(new InterningAdapterFactory()).create();
+
+   public void equalUrisAreSameInstance() {
+      List<Disk> disks = gson.fromJson("["
+            + "{\"zone\":\"us-central1-a\",\"type\":\"https://www.googleapis.com/compute/v1/zones/a/diskTypes/pd\"},"
+            + "{\"zone\":\"us-central1-a\",\"type\":\"https://www.googleapis.com/compute/v1/zones/a/diskTypes/pd\"}"
+            + "]", new TypeToken<List<Disk>>() { }.getType());
+
+      assertEquals(disks.get(0).type, URI.create("https://www.googleapis.com/compute/v1/zones/a/diskTypes/pd"));
+      assertSame(disks.get(0).type, disks.get(1).type);
+      assertSame(disks.get(0).zone, disks.get(1).zone);
+   }
+
+   public void longStringsArentInterned() {
+      String text = Strings.repeat("x", InterningAdapterFactory.MAX_INTERNED_LENGTH + 1);
+      List<String> strings = gson.fromJson("[\"" + text + "\",\"" + text + "\"]",
+            new TypeToken<List<String>>() { }.getType());
+
+      assertEquals(strings.get(0), text);
+      assertNotSame(strings.get(0), strings.get(1));
+   }
+
+   public void readsNullsAndBooleans() {
+      Disk disk = gson.fromJson("{\"zone\":true,\"type\":null}", Disk.class);
+
+      assertEquals(disk.zone, "true");
+      assertNull(disk.type);
+   }
+
+   public void writesAsGsonDoes() {
+      Disk disk = new Disk();
+      disk.zone = "us-central1-a";
+      disk.type = URI.create("https://www.googleapis.com/compute/v1/zones/a/diskTypes/pd");
+
+      assertEquals(gson.toJson(disk), new Gson().toJson(disk));
+   }
+}
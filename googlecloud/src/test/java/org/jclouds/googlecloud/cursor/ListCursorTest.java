@@ -0,0 +1,178 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jclouds.googlecloud.cursor;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.fail;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import org.jclouds.googlecloud.domain.ForwardingListPage;
+import org.jclouds.googlecloud.domain.ListPage;
+import org.jclouds.rest.AuthorizationException;
+import org.testng.annotations.Test;
+
+import com.google.common.base.Function;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.Lists;
+
+@Test(groups = "unit", testName = "ListCursorTest")
+public class ListCursorTest {
+
+   /** Three pages, keyed by the token they're requested with. */
+   static final Map<String, ListPage<String>> PAGES = ImmutableMap.of(
+         "", ForwardingListPage.create(ImmutableList.of("a", "b"), "2"),
+         "2", ForwardingListPage.create(ImmutableList.of("c", "d"), "3"),
+         "3", ForwardingListPage.create(ImmutableList.of("e"), null));
+
+   /** Serves {@link #PAGES}, failing as many times as asked first. */
+   static final class FlakyPages implements Function<String, ListPage<String>> {
+      int failuresLeft;
+      final List<String> requested = Lists.newArrayList();
+
+      @Override public ListPage<String> apply(String pageToken) {
+         requested.add(pageToken);
+         if (failuresLeft > 0) {
+            failuresLeft--;
+            throw new IllegalStateException("connection reset");
+         }
+         return PAGES.get(pageToken == null ? "" : pageToken);
+      }
+   }
+
+   public void readsEveryPage() {
+      FlakyPages pages = new FlakyPages();
+
+      assertEquals(ImmutableList.copyOf(cursor(ListCheckpoint.start(), pages, 1)),
+            ImmutableList.of("a", "b", "c", "d", "e"));
+      assertEquals(pages.requested, Lists.newArrayList(null, "2", "3"));
+   }
+
+   public void checkpointFollowsItemsReturned() {
+      ListCursor<String> cursor = cursor(ListCheckpoint.start(), new FlakyPages(), 1);
+      assertEquals(cursor.checkpoint(), ListCheckpoint.start());
+
+      cursor.next();
+      assertEquals(cursor.checkpoint(), ListCheckpoint.create(null, 1));
+
+      cursor.next();
+      assertEquals(cursor.checkpoint(), ListCheckpoint.create("2", 0));
+
+      cursor.next();
+      assertEquals(cursor.checkpoint(), ListCheckpoint.create("2", 1));
+   }
+
+   public void resumesWithinPage() {
+      FlakyPages pages = new FlakyPages();
+
+      assertEquals(ImmutableList.copyOf(cursor(ListCheckpoint.create("2", 1), pages, 1)),
+            ImmutableList.of("d", "e"));
+      assertEquals(pages.requested, ImmutableList.of("2", "3"));
+   }
+
+   public void resumesPastShrunkPage() {
+      assertEquals(ImmutableList.copyOf(cursor(ListCheckpoint.create("2", 5), new FlakyPages(), 1)),
+            ImmutableList.of("e"));
+   }
+
+   public void resumesAtEnd() {
+      ListCursor<String> cursor = cursor(ListCheckpoint.start(), new FlakyPages(), 1);
+      while (cursor.hasNext()) {
+         cursor.next();
+      }
+
+      assertFalse(cursor(cursor.checkpoint(), new FlakyPages(), 1).hasNext());
+   }
+
+   public void retriesPageInPlace() {
+      FlakyPages pages = new FlakyPages();
+      ListCursor<String> cursor = cursor(ListCheckpoint.start(), pages, 3);
+      cursor.next();
+      cursor.next();
+      pages.failuresLeft = 2;
+
+      assertEquals(cursor.next(), "c");
+      assertEquals(pages.requested, Lists.newArrayList(null, "2", "2", "2"));
+   }
+
+   public void keepsPositionWhenRetriesRunOut() {
+      FlakyPages pages = new FlakyPages();
+      ListCursor<String> cursor = cursor(ListCheckpoint.start(), pages, 2);
+      cursor.next();
+      cursor.next();
+      pages.failuresLeft = 2;
+
+      try {
+         cursor.next();
+         fail();
+      } catch (IllegalStateException expected) {
+      }
+      assertEquals(cursor.checkpoint(), ListCheckpoint.create("2", 0));
+      assertEquals(cursor.next(), "c");
+   }
+
+   public void doesntRetryFailedAuthorization() {
+      final List<String> requested = Lists.newArrayList();
+      ListCursor<String> cursor = cursor(ListCheckpoint.start(), new Function<String, ListPage<String>>() {
+         @Override public ListPage<String> apply(String pageToken) {
+            requested.add(pageToken);
+            throw new AuthorizationException();
+         }
+      }, 5);
+
+      try {
+         cursor.hasNext();
+         fail();
+      } catch (AuthorizationException expected) {
+      }
+      assertEquals(requested.size(), 1);
+   }
+
+   public void nullPageEndsListing() {
+      ListCursor<String> cursor = cursor(ListCheckpoint.start(), new Function<String, ListPage<String>>() {
+         @Override public ListPage<String> apply(String pageToken) {
+            return null;
+         }
+      }, 1);
+
+      assertFalse(cursor.hasNext());
+   }
+
+   public void checkpointSerializes() throws Exception {
+      ListCheckpoint checkpoint = ListCheckpoint.create("2", 1);
+      ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+      ObjectOutputStream out = new ObjectOutputStream(bytes);
+      out.writeObject(checkpoint);
+      out.close();
+
+      ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(bytes.toByteArray()));
+      assertEquals(in.readObject(), checkpoint);
+   }
+
+   private static ListCursor<String> cursor(ListCheckpoint checkpoint, Function<String, ListPage<String>> pages,
+         int maxAttempts) {
+      return new ListCursor<String>(checkpoint, pages, maxAttempts, 0, 0, new Random(0));
+   }
+}
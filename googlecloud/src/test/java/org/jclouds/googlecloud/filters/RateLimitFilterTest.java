@@ -0,0 +1,124 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jclouds.googlecloud.filters;
+
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static org.jclouds.reflect.Reflection2.method;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertNull;
+import static org.testng.Assert.assertTrue;
+
+import java.net.URI;
+
+import javax.inject.Named;
+
+import org.jclouds.reflect.Invocation;
+import org.jclouds.rest.internal.GeneratedHttpRequest;
+import org.testng.annotations.Test;
+
+import com.google.common.base.Ticker;
+import com.google.common.collect.ImmutableList;
+
+@Test(groups = "unit", testName = "RateLimitFilterTest")
+public class RateLimitFilterTest {
+
+   interface Api {
+      @Named("Instances:insert") void insert();
+
+      @Named("Operations:get") void get();
+   }
+
+   public void onlyListedMethodsLimited() {
+      RateLimitFilter filter = new RateLimitFilter("Instances:insert=2", new FakeTicker());
+
+      assertEquals(filter.rate("Instances:insert"), 2.0);
+      assertNull(filter.rate("Operations:get"));
+   }
+
+   public void otherMethodsLimitedByStar() {
+      RateLimitFilter filter = new RateLimitFilter("Instances:insert=2, * = 50", new FakeTicker());
+
+      assertEquals(filter.rate("Instances:insert"), 2.0);
+      assertEquals(filter.rate("Operations:get"), 50.0);
+   }
+
+   public void throttleHalvesRateOncePerBurst() {
+      FakeTicker ticker = new FakeTicker();
+      RateLimitFilter filter = new RateLimitFilter("Instances:insert=10", ticker);
+
+      filter.throttled(request("insert"));
+      filter.throttled(request("insert"));
+      assertEquals(filter.rate("Instances:insert"), 5.0);
+
+      ticker.nanos += SECONDS.toNanos(1);
+      filter.throttled(request("insert"));
+      assertEquals(filter.rate("Instances:insert"), 2.5);
+   }
+
+   public void rateNeverBelowATenth() {
+      FakeTicker ticker = new FakeTicker();
+      RateLimitFilter filter = new RateLimitFilter("Instances:insert=10", ticker);
+
+      for (int i = 0; i < 10; i++) {
+         ticker.nanos += SECONDS.toNanos(1);
+         filter.throttled(request("insert"));
+      }
+      assertEquals(filter.rate("Instances:insert"), 1.0);
+   }
+
+   public void requestsGrowRateBack() {
+      FakeTicker ticker = new FakeTicker();
+      RateLimitFilter filter = new RateLimitFilter("Instances:insert=10", ticker);
+      filter.throttled(request("insert"));
+
+      // spaced out so none has to wait
+      for (int i = 0; i < 10; i++) {
+         ticker.nanos += SECONDS.toNanos(1);
+         filter.filter(request("insert"));
+      }
+      double rate = filter.rate("Instances:insert");
+      assertTrue(rate > 5.0 && rate < 10.0, "rate " + rate);
+
+      for (int i = 0; i < 100; i++) {
+         ticker.nanos += SECONDS.toNanos(1);
+         filter.filter(request("insert"));
+      }
+      assertEquals(filter.rate("Instances:insert"), 10.0);
+   }
+
+   public void throttlesOfOtherMethodsIgnored() {
+      RateLimitFilter filter = new RateLimitFilter("Instances:insert=10", new FakeTicker());
+
+      filter.throttled(request("get"));
+      assertEquals(filter.rate("Instances:insert"), 10.0);
+   }
+
+   private static GeneratedHttpRequest request(String methodName) {
+      return GeneratedHttpRequest.builder()
+            .method("POST")
+            .endpoint(URI.create("https://www.googleapis.com/compute/v1/projects/party"))
+            .invocation(Invocation.create(method(Api.class, methodName), ImmutableList.of())).build();
+   }
+
+   private static final class FakeTicker extends Ticker {
+      long nanos;
+
+      @Override public long read() {
+         return nanos;
+      }
+   }
+}
@@ -0,0 +1,107 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jclouds.googlecloud.handlers;
+
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.util.Random;
+
+import org.jclouds.http.HttpCommand;
+import org.jclouds.http.HttpRequest;
+import org.jclouds.http.HttpResponse;
+import org.jclouds.io.Payloads;
+import org.testng.annotations.Test;
+
+@Test(groups = "unit", testName = "JitteredBackoffRetryHandlerTest")
+public class JitteredBackoffRetryHandlerTest {
+
+   private static final String RATE_LIMIT_EXCEEDED = "{\"error\":{\"errors\":[{\"domain\":\"usageLimits\","
+         + "\"reason\":\"rateLimitExceeded\",\"message\":\"Rate Limit Exceeded\"}],\"code\":403}}";
+
+   public void tooManyRequestsRetriedWhateverTheMethod() {
+      assertTrue(handler(5).shouldRetryRequest(command("POST"), response(429, "")));
+   }
+
+   public void rateLimitExceededRetried() {
+      assertTrue(handler(5).shouldRetryRequest(command("POST"), response(403, RATE_LIMIT_EXCEEDED)));
+   }
+
+   public void otherForbiddenNotRetried() {
+      assertFalse(handler(5).shouldRetryRequest(command("GET"), response(403, "{\"error\":{\"code\":403}}")));
+   }
+
+   public void serverErrorRetriedOnlyWhenIdempotent() {
+      JitteredBackoffRetryHandler handler = handler(5);
+
+      assertTrue(handler.shouldRetryRequest(command("GET"), response(503, "")));
+      assertTrue(handler.shouldRetryRequest(command("DELETE"), response(500, "")));
+      assertFalse(handler.shouldRetryRequest(command("POST"), response(503, "")));
+      assertFalse(handler.shouldRetryRequest(command("PATCH"), response(503, "")));
+   }
+
+   public void payloadReadOnceNotRetried() {
+      HttpCommand command = new HttpCommand(HttpRequest.builder().method("PUT")
+            .endpoint("https://www.googleapis.com/upload/storage/v1/b/bucket/o?uploadType=resumable")
+            .payload(Payloads.newInputStreamPayload(new ByteArrayInputStream(new byte[1]))).build());
+
+      assertFalse(handler(5).shouldRetryRequest(command, response(503, "")));
+      assertFalse(handler(5).shouldRetryRequest(command, response(429, "")));
+   }
+
+   public void retriesLimitedPerCall() {
+      JitteredBackoffRetryHandler handler = handler(2);
+      HttpCommand command = command("GET");
+
+      assertTrue(handler.shouldRetryRequest(command, response(429, "")));
+      assertTrue(handler.shouldRetryRequest(command, response(429, "")));
+      assertFalse(handler.shouldRetryRequest(command, response(429, "")));
+      assertTrue(handler.shouldRetryRequest(command("GET"), response(429, "")));
+   }
+
+   public void retryAfterBeyondBudgetGivesUp() {
+      HttpResponse response = HttpResponse.builder().statusCode(429).message("Too Many Requests")
+            .addHeader("Retry-After", "3600").build();
+
+      assertFalse(handler(5).shouldRetryRequest(command("GET"), response));
+   }
+
+   public void budgetLimitsTotalWait() {
+      // waits of at least a millisecond each, in a budget of three
+      JitteredBackoffRetryHandler handler = new JitteredBackoffRetryHandler(10, 1, 1, 3, new Random(0));
+      HttpCommand command = command("GET");
+
+      assertTrue(handler.shouldRetryRequest(command, response(429, "")));
+      assertTrue(handler.shouldRetryRequest(command, response(429, "")));
+      assertTrue(handler.shouldRetryRequest(command, response(429, "")));
+      assertFalse(handler.shouldRetryRequest(command, response(429, "")));
+   }
+
+   private static JitteredBackoffRetryHandler handler(int retryCountLimit) {
+      return new JitteredBackoffRetryHandler(retryCountLimit, 1, 10, 1000, new Random(0));
+   }
+
+   private static HttpCommand command(String method) {
+      return new HttpCommand(HttpRequest.builder().method(method)
+            .endpoint("https://www.googleapis.com/compute/v1/projects/party/zones/us-central1-a/instances").build());
+   }
+
+   private static HttpResponse response(int statusCode, String body) {
+      return HttpResponse.builder().statusCode(statusCode).message("failed").payload(body).build();
+   }
+}
@@ -0,0 +1,75 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jclouds.googlecloud.metrics;
+
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertTrue;
+
+import org.testng.annotations.Test;
+
+import com.google.common.collect.ImmutableMap;
+
+@Test(groups = "unit", testName = "MethodMetricsTest")
+public class MethodMetricsTest {
+
+   public void countsRequestsErrorsAndBytes() {
+      MethodMetrics metrics = new MethodMetrics("Instances:get");
+
+      metrics.record(MILLISECONDS.toNanos(10), 200, 0, 1000);
+      metrics.record(MILLISECONDS.toNanos(20), 404, 0, 100);
+      metrics.record(MILLISECONDS.toNanos(30), 0, 50, 0);
+
+      assertEquals(metrics.getRequests(), 3);
+      assertEquals(metrics.getErrors(), 2);
+      assertEquals(metrics.getErrorsByStatus(), ImmutableMap.of(0, 1L, 404, 1L));
+      assertEquals(metrics.getBytesOut(), 50);
+      assertEquals(metrics.getBytesIn(), 1100);
+      assertEquals(metrics.getMeanMillis(), 20.0);
+      assertEquals(metrics.getMaxMillis(), 30.0);
+   }
+
+   public void percentilesWithinThreePercent() {
+      MethodMetrics metrics = new MethodMetrics("Instances:get");
+      for (int millis = 1; millis <= 100; millis++) {
+         metrics.record(MILLISECONDS.toNanos(millis), 200, 0, 0);
+      }
+
+      assertWithin(metrics.getMedianMillis(), 50);
+      assertWithin(metrics.get90thPercentileMillis(), 90);
+      assertWithin(metrics.get99thPercentileMillis(), 99);
+   }
+
+   public void noCallsNoLatency() {
+      MethodMetrics metrics = new MethodMetrics("Instances:get");
+
+      assertEquals(metrics.getMedianMillis(), 0.0);
+      assertEquals(metrics.getMeanMillis(), 0.0);
+   }
+
+   public void bucketsCoverEveryValue() {
+      for (long value : new long[] { 0, 1, 31, 32, 33, 63, 64, 1000, 123456789, Long.MAX_VALUE }) {
+         int index = LatencyHistogram.index(value);
+         assertTrue(LatencyHistogram.highestValue(index) >= value, "value " + value);
+         assertTrue(index == 0 || LatencyHistogram.highestValue(index - 1) < value, "value " + value);
+      }
+   }
+
+   private static void assertWithin(double actual, double expected) {
+      assertTrue(Math.abs(actual - expected) <= expected * 0.03, actual + " not within 3% of " + expected);
+   }
+}
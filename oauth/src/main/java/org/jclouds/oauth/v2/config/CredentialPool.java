@@ -0,0 +1,282 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jclouds.oauth.v2.config;
+
+import static com.google.common.base.CaseFormat.LOWER_CAMEL;
+import static com.google.common.base.CaseFormat.UPPER_UNDERSCORE;
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkNotNull;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
+import static java.util.concurrent.TimeUnit.SECONDS;
+
+import java.security.PrivateKey;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.jclouds.domain.Credentials;
+import org.jclouds.http.HttpRequest;
+import org.jclouds.javax.annotation.Nullable;
+import org.jclouds.oauth.v2.config.PrivateKeySupplier.PrivateKeyForCredentials;
+import org.jclouds.oauth.v2.domain.Token;
+import org.jclouds.reflect.Invocation;
+import org.jclouds.rest.internal.GeneratedHttpRequest;
+
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.base.Supplier;
+import com.google.common.base.Ticker;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.LoadingCache;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+
+/**
+ * Spreads requests across several service accounts, so that a context can exceed the quota of a single one.
+ *
+ * <p/>The context credentials are always a member. Others are configured by
+ * {@link OAuthProperties#CREDENTIAL_POOL}. Tokens are cached per identity, so each member has its own, and each
+ * member backs off on its own when {@linkplain #throttled(HttpRequest) throttled}: doubling from one second up to a
+ * minute while throttles keep coming, during which it is only selected if every member is backing off.
+ */
+public final class CredentialPool {
+
+   /** How the next member is selected among those that aren't backing off. */
+   public enum Strategy {
+      /** Each member in turn. */
+      ROUND_ROBIN,
+      /** The member throttled the longest time ago, preferring those never throttled. */
+      LEAST_RECENTLY_THROTTLED,
+      /** Each member in turn, as many times as its weight. */
+      WEIGHTED;
+
+      @Override public String toString() {
+         return UPPER_UNDERSCORE.to(LOWER_CAMEL, name());
+      }
+
+      public static Strategy fromValue(String strategy) {
+         return valueOf(LOWER_CAMEL.to(UPPER_UNDERSCORE, checkNotNull(strategy, "strategy")));
+      }
+   }
+
+   private static final long MIN_BACKOFF_NANOS = SECONDS.toNanos(1);
+   private static final long MAX_BACKOFF_NANOS = SECONDS.toNanos(60);
+
+   private final List<Member> members;
+   private final Strategy strategy;
+   private final int totalWeight;
+   private final Ticker ticker;
+   private final AtomicInteger counter = new AtomicInteger();
+   private final LoadingCache<Credentials, PrivateKey> keyCache;
+   /** Maps access tokens back to the identity they were issued to, so throttled requests can be attributed. */
+   private final Cache<String, String> identityByAccessToken = CacheBuilder.newBuilder().maximumSize(1000).build();
+   /**
+    * Identity that authorized each request, by its invocation. Filters authorize a copy of the command's request, so
+    * the {@code Authorization} header never reaches error handlers, but the copy shares the invocation.
+    */
+   private final Cache<Invocation, String> identityByInvocation = CacheBuilder.newBuilder().weakKeys().build();
+
+   /**
+    * @param contextCredentials credentials of the context, weighing {@code contextWeight}
+    * @param others             other service accounts and their weights
+    */
+   CredentialPool(Supplier<Credentials> contextCredentials, int contextWeight,
+         ImmutableMap<Credentials, Integer> others, Strategy strategy, PrivateKeyForCredentials keyLoader, Ticker ticker) {
+      ImmutableList.Builder<Member> builder = ImmutableList.builder();
+      builder.add(new Member(contextCredentials, contextWeight, true));
+      for (final Credentials member : others.keySet()) {
+         builder.add(new Member(new Supplier<Credentials>() {
+            @Override public Credentials get() {
+               return member;
+            }
+         }, others.get(member), false));
+      }
+      this.members = builder.build();
+      int weight = 0;
+      for (Member member : members) {
+         weight += member.weight;
+      }
+      this.totalWeight = weight;
+      this.strategy = checkNotNull(strategy, "strategy");
+      this.keyCache = CacheBuilder.newBuilder().build(checkNotNull(keyLoader, "keyLoader"));
+      this.ticker = ticker;
+   }
+
+   /** A pool holding only the context credentials. */
+   public static CredentialPool of(Supplier<Credentials> contextCredentials) {
+      return new CredentialPool(contextCredentials, 1, ImmutableMap.<Credentials, Integer>of(), Strategy.ROUND_ROBIN,
+            new PrivateKeyForCredentials(), Ticker.systemTicker());
+   }
+
+   /** Returns the credentials to authorize the next request with. */
+   public Credentials next() {
+      if (members.size() == 1) {
+         return members.get(0).credentials.get();
+      }
+      long now = ticker.read();
+      int start = counter.getAndIncrement() & Integer.MAX_VALUE;
+      Member selected;
+      switch (strategy) {
+         case LEAST_RECENTLY_THROTTLED:
+            selected = leastRecentlyThrottled(start, now);
+            break;
+         case WEIGHTED:
+            selected = roundRobin(memberAtWeight(start % totalWeight), now);
+            break;
+         default:
+            selected = roundRobin(start % members.size(), now);
+      }
+      return selected.credentials.get();
+   }
+
+   /** Returns the private key of a member other than the context credentials, or null if there is none. */
+   @Nullable public PrivateKey privateKey(String identity) {
+      for (Member member : members) {
+         if (!member.context && member.credentials.get().identity.equals(identity)) {
+            return keyCache.getUnchecked(member.credentials.get());
+         }
+      }
+      return null;
+   }
+
+   /** Records the token issued to an identity, so that requests it authorized can be attributed. */
+   public void issued(String identity, Token token) {
+      identityByAccessToken.put(token.accessToken(), identity);
+   }
+
+   /** Records the identity that authorized a request, so that it can be attributed should it be throttled. */
+   public void authorized(HttpRequest request, String identity) {
+      if (request instanceof GeneratedHttpRequest) {
+         identityByInvocation.put(((GeneratedHttpRequest) request).getInvocation(), identity);
+      }
+   }
+
+   /**
+    * Backs off the member that authorized the request, if it is known: either recorded as {@link #authorized} or
+    * found from the token in its {@code Authorization} header.
+    */
+   public void throttled(HttpRequest request) {
+      String identity = null;
+      if (request instanceof GeneratedHttpRequest) {
+         identity = identityByInvocation.getIfPresent(((GeneratedHttpRequest) request).getInvocation());
+      }
+      if (identity == null) {
+         identity = identityFromAuthorization(request);
+      }
+      if (identity == null) {
+         return;
+      }
+      for (Member member : members) {
+         if (member.credentials.get().identity.equals(identity)) {
+            member.throttled(ticker.read());
+         }
+      }
+   }
+
+   @Nullable private String identityFromAuthorization(HttpRequest request) {
+      String authorization = request.getFirstHeaderOrNull("Authorization");
+      if (authorization == null || authorization.indexOf(' ') == -1) {
+         return null;
+      }
+      return identityByAccessToken.getIfPresent(authorization.substring(authorization.indexOf(' ') + 1));
+   }
+
+   private Member roundRobin(int start, long now) {
+      for (int i = 0; i < members.size(); i++) {
+         Member member = members.get((start + i) % members.size());
+         if (!member.backingOff(now)) {
+            return member;
+         }
+      }
+      return soonestAvailable();
+   }
+
+   private Member leastRecentlyThrottled(int start, long now) {
+      Member selected = null;
+      for (int i = 0; i < members.size(); i++) {
+         Member member = members.get((start + i) % members.size());
+         if (!member.backingOff(now) && (selected == null || member.lastThrottled < selected.lastThrottled)) {
+            selected = member;
+         }
+      }
+      return selected != null ? selected : soonestAvailable();
+   }
+
+   private int memberAtWeight(int position) {
+      for (int i = 0; i < members.size(); i++) {
+         position -= members.get(i).weight;
+         if (position < 0) {
+            return i;
+         }
+      }
+      throw new AssertionError("position beyond total weight " + totalWeight);
+   }
+
+   /** When every member is backing off, the one whose back-off ends first. */
+   private Member soonestAvailable() {
+      Member selected = members.get(0);
+      for (Member member : members) {
+         if (member.backoffUntil < selected.backoffUntil) {
+            selected = member;
+         }
+      }
+      return selected;
+   }
+
+   @VisibleForTesting long backoffNanos(String identity) {
+      for (Member member : members) {
+         if (member.credentials.get().identity.equals(identity)) {
+            long now = ticker.read();
+            return member.backingOff(now) ? member.backoffUntil - now : 0;
+         }
+      }
+      throw new IllegalArgumentException(identity + " is not a member");
+   }
+
+   private static final class Member {
+      private final Supplier<Credentials> credentials;
+      private final int weight;
+      private final boolean context;
+      private volatile long lastThrottled = Long.MIN_VALUE;
+      private volatile long backoffUntil = Long.MIN_VALUE;
+      private long backoff;
+
+      Member(Supplier<Credentials> credentials, int weight, boolean context) {
+         checkArgument(weight > 0, "weight must be positive");
+         this.credentials = credentials;
+         this.weight = weight;
+         this.context = context;
+      }
+
+      boolean backingOff(long now) {
+         return now < backoffUntil;
+      }
+
+      /** Doubles the back-off while throttles keep coming, starting over once they stop for as long. */
+      synchronized void throttled(long now) {
+         boolean recent = backoffUntil != Long.MIN_VALUE && now < backoffUntil + backoff;
+         backoff = recent ? Math.min(backoff * 2, MAX_BACKOFF_NANOS) : MIN_BACKOFF_NANOS;
+         lastThrottled = now;
+         backoffUntil = now + backoff;
+      }
+
+      @Override public String toString() {
+         return String.format("%s(weight=%s, backoff=%sms)", credentials.get().identity, weight,
+               MILLISECONDS.convert(backoff, NANOSECONDS));
+      }
+   }
+}
@@ -17,22 +17,36 @@
 package org.jclouds.oauth.v2.config;
 
 import static org.jclouds.oauth.v2.config.CredentialType.P12_PRIVATE_KEY_CREDENTIALS;
+import static org.jclouds.oauth.v2.config.OAuthProperties.CREDENTIAL_POOL;
+import static org.jclouds.oauth.v2.config.OAuthProperties.CREDENTIAL_POOL_STRATEGY;
+import static org.jclouds.oauth.v2.config.OAuthProperties.CREDENTIAL_POOL_WEIGHTS;
 import static org.jclouds.oauth.v2.config.OAuthProperties.CREDENTIAL_TYPE;
 import static org.jclouds.rest.config.BinderUtils.bindHttpApi;
 
+import java.io.File;
+import java.io.IOException;
 import java.net.URI;
 import java.security.PrivateKey;
+import java.util.Map;
 
 import javax.inject.Named;
 import javax.inject.Singleton;
 
+import org.jclouds.domain.Credentials;
 import org.jclouds.oauth.v2.AuthorizationApi;
+import org.jclouds.oauth.v2.config.CredentialPool.Strategy;
+import org.jclouds.oauth.v2.config.PrivateKeySupplier.PrivateKeyForCredentials;
 import org.jclouds.oauth.v2.filters.BearerTokenFromCredentials;
 import org.jclouds.oauth.v2.filters.JWTBearerTokenFlow;
 import org.jclouds.oauth.v2.filters.OAuthFilter;
 
+import com.google.common.base.Charsets;
+import com.google.common.base.Splitter;
 import com.google.common.base.Supplier;
 import com.google.common.base.Suppliers;
+import com.google.common.base.Ticker;
+import com.google.common.collect.ImmutableMap;
+import com.google.common.io.Files;
 import com.google.inject.AbstractModule;
 import com.google.inject.Inject;
 import com.google.inject.Provider;
@@ -45,6 +59,7 @@ public final class OAuthModule extends AbstractModule {
       bindHttpApi(binder(), AuthorizationApi.class);
       bind(CredentialType.class).toProvider(CredentialTypeFromPropertyOrDefault.class);
       bind(new TypeLiteral<Supplier<PrivateKey>>() {}).annotatedWith(Authorization.class).to(PrivateKeySupplier.class);
+      bind(CredentialPool.class).toProvider(CredentialPoolFromProperties.class).in(Singleton.class);
    }
 
    @Provides
@@ -65,6 +80,53 @@ public final class OAuthModule extends AbstractModule {
       }
    }
 
+   public static class CredentialPoolFromProperties implements Provider<CredentialPool> {
+      private static final Splitter.MapSplitter ENTRIES = Splitter.on(',').omitEmptyStrings().trimResults()
+            .withKeyValueSeparator(Splitter.on('=').limit(2).trimResults());
+
+      @Inject(optional = true)
+      @Named(CREDENTIAL_POOL)
+      String members = "";
+
+      @Inject(optional = true)
+      @Named(CREDENTIAL_POOL_WEIGHTS)
+      String weights = "";
+
+      @Inject(optional = true)
+      @Named(CREDENTIAL_POOL_STRATEGY)
+      String strategy = Strategy.ROUND_ROBIN.toString();
+
+      private final Supplier<Credentials> creds;
+      private final PrivateKeyForCredentials keyLoader;
+
+      @Inject CredentialPoolFromProperties(@org.jclouds.location.Provider Supplier<Credentials> creds,
+            PrivateKeyForCredentials keyLoader) {
+         this.creds = creds;
+         this.keyLoader = keyLoader;
+      }
+
+      @Override
+      public CredentialPool get() {
+         Map<String, String> weightByIdentity = ENTRIES.split(weights);
+         ImmutableMap.Builder<Credentials, Integer> others = ImmutableMap.builder();
+         for (Map.Entry<String, String> member : ENTRIES.split(members).entrySet()) {
+            try {
+               String pem = Files.toString(new File(member.getValue()), Charsets.UTF_8);
+               others.put(new Credentials(member.getKey(), pem), weight(weightByIdentity, member.getKey()));
+            } catch (IOException e) {
+               throw new IllegalArgumentException("cannot read private key of " + member.getKey(), e);
+            }
+         }
+         return new CredentialPool(creds, weight(weightByIdentity, creds.get().identity), others.build(),
+               Strategy.fromValue(strategy), keyLoader, Ticker.systemTicker());
+      }
+
+      private static int weight(Map<String, String> weightByIdentity, String identity) {
+         String weight = weightByIdentity.get(identity);
+         return weight != null ? Integer.parseInt(weight) : 1;
+      }
+   }
+
    @Provides
    @Singleton
    protected OAuthFilter authenticationFilterForCredentialType(CredentialType credentialType,
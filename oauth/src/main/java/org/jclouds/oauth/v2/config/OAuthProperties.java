@@ -36,6 +36,33 @@ public final class OAuthProperties {
     */
    public static final String CREDENTIAL_TYPE = "jclouds.oauth.credential-type";
 
+   /**
+    * Directory where bearer tokens are saved, so that other processes using the same identity and scopes can reuse
+    * them instead of authorizing their own. Unset by default, which keeps tokens in memory only.
+    * <p/>Tokens are secrets: the directory should only be readable by the user running jclouds.
+    */
+   public static final String TOKEN_STORE_DIRECTORY = "jclouds.oauth.token-store-directory";
+
+   /**
+    * Service accounts to spread requests across in addition to the context credentials, as a comma-separated list of
+    * {@code identity=path} entries where path is the account's PEM private key. Unset by default.
+    *
+    * @see org.jclouds.oauth.v2.config.CredentialPool
+    */
+   public static final String CREDENTIAL_POOL = "jclouds.oauth.credential-pool";
+
+   /**
+    * Comma-separated {@code identity=weight} entries used by the {@code weighted} strategy. Members not listed,
+    * including the context credentials, weigh 1.
+    */
+   public static final String CREDENTIAL_POOL_WEIGHTS = "jclouds.oauth.credential-pool.weights";
+
+   /**
+    * How requests are spread across the {@link #CREDENTIAL_POOL}: {@code roundRobin} (default),
+    * {@code leastRecentlyThrottled} or {@code weighted}.
+    */
+   public static final String CREDENTIAL_POOL_STRATEGY = "jclouds.oauth.credential-pool.strategy";
+
    private OAuthProperties() {
    }
 }
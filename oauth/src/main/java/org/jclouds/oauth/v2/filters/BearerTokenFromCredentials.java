@@ -16,8 +16,6 @@
  */
 package org.jclouds.oauth.v2.filters;
 
-import static java.lang.String.format;
-
 import javax.inject.Inject;
 
 import org.jclouds.domain.Credentials;
@@ -33,12 +31,33 @@ import com.google.common.base.Supplier;
  */
 public final class BearerTokenFromCredentials implements OAuthFilter {
    private final Supplier<Credentials> creds;
+   private volatile CachedHeader cachedHeader;
 
    @Inject BearerTokenFromCredentials(@Provider Supplier<Credentials> creds) {
       this.creds = creds;
    }
 
    @Override public HttpRequest filter(HttpRequest request) throws HttpException {
-      return request.toBuilder().addHeader("Authorization", format("%s %s", "Bearer", creds.get().credential)).build();
+      return request.toBuilder().addHeader("Authorization", authorization(creds.get())).build();
+   }
+
+   /** Rebuilds the header only when the credentials change. */
+   private String authorization(Credentials current) {
+      CachedHeader cached = cachedHeader;
+      if (cached == null || cached.creds != current) {
+         cached = new CachedHeader(current, "Bearer " + current.credential);
+         cachedHeader = cached;
+      }
+      return cached.value;
+   }
+
+   private static final class CachedHeader {
+      private final Credentials creds;
+      private final String value;
+
+      CachedHeader(Credentials creds, String value) {
+         this.creds = creds;
+         this.value = value;
+      }
    }
 }
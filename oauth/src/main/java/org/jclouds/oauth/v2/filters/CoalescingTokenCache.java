@@ -0,0 +1,159 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jclouds.oauth.v2.filters;
+
+import static com.google.common.base.Throwables.propagate;
+import static com.google.common.util.concurrent.MoreExecutors.sameThreadExecutor;
+import static com.google.common.util.concurrent.Uninterruptibles.getUninterruptibly;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+
+import org.jclouds.oauth.v2.domain.Token;
+
+import com.google.auto.value.AutoValue;
+import com.google.common.util.concurrent.ListenableFuture;
+import com.google.common.util.concurrent.SettableFuture;
+
+/**
+ * Holds the current token for each {@link TokenKey}, making sure at most one authorization per key is in flight.
+ * Callers that need a token while it is being authorized share the result of that single call.
+ *
+ * <h3>Lifecycle</h3>
+ * A token is served as-is until {@link ExpiringToken#refreshAt()}. From then until {@link ExpiringToken#expiresAt()},
+ * it is still served while its replacement is authorized on the refresh executor. After that, callers wait for the
+ * replacement, as the server may already reject it.
+ */
+abstract class CoalescingTokenCache {
+
+   /** Tokens are shared by all requests of the same identity that need the same scopes. */
+   @AutoValue abstract static class TokenKey {
+      abstract String identity();
+
+      /** A comma-separated list of scopes, as sent in the {@link org.jclouds.oauth.v2.domain.Claims#scope()}. */
+      abstract String scope();
+
+      static TokenKey create(String identity, String scope) {
+         return new AutoValue_CoalescingTokenCache_TokenKey(identity, scope);
+      }
+
+      TokenKey() {
+      }
+   }
+
+   /** A token, along with when it should be refreshed and when it should no longer be used. */
+   @AutoValue abstract static class ExpiringToken {
+      abstract Token token();
+
+      /** Seconds since the epoch after which the next request should refresh this token in the background. */
+      abstract long refreshAt();
+
+      /** Seconds since the epoch after which this token is about to be rejected by the server. */
+      abstract long expiresAt();
+
+      /** The {@code Authorization} header value, built once rather than on every request. */
+      abstract String authorization();
+
+      static ExpiringToken create(Token token, long refreshAt, long expiresAt) {
+         return new AutoValue_CoalescingTokenCache_ExpiringToken(token, refreshAt, expiresAt,
+               token.tokenType() + ' ' + token.accessToken());
+      }
+
+      ExpiringToken() {
+      }
+   }
+
+   private final ConcurrentMap<TokenKey, ExpiringToken> tokens = new ConcurrentHashMap<TokenKey, ExpiringToken>();
+   private final ConcurrentMap<TokenKey, ListenableFuture<ExpiringToken>> inFlight =
+         new ConcurrentHashMap<TokenKey, ListenableFuture<ExpiringToken>>();
+   private final Executor refreshExecutor;
+
+   CoalescingTokenCache(Executor refreshExecutor) {
+      this.refreshExecutor = refreshExecutor;
+   }
+
+   /** Requests a new token from the authorization server. Never called concurrently for the same key. */
+   abstract ExpiringToken authorize(TokenKey key);
+
+   abstract long currentTimeSeconds();
+
+   /** Returns a usable token for the key, waiting only if there is none or it has expired. */
+   ExpiringToken get(TokenKey key) {
+      ExpiringToken current = tokens.get(key);
+      if (current != null) {
+         long now = currentTimeSeconds();
+         if (now < current.refreshAt()) {
+            return current;
+         } else if (now < current.expiresAt()) {
+            acquire(key, refreshExecutor);
+            return current;
+         }
+      }
+      return await(acquire(key, sameThreadExecutor()));
+   }
+
+   /** Returns the authorization in flight for the key, starting one on the executor if there is none. */
+   private ListenableFuture<ExpiringToken> acquire(final TokenKey key, Executor executor) {
+      ListenableFuture<ExpiringToken> pending = inFlight.get(key);
+      if (pending != null) {
+         return pending;
+      }
+      final SettableFuture<ExpiringToken> created = SettableFuture.create();
+      pending = inFlight.putIfAbsent(key, created);
+      if (pending != null) {
+         return pending;
+      }
+      try {
+         executor.execute(new Runnable() {
+            @Override public void run() {
+               authorizeAndPublish(key, created);
+            }
+         });
+      } catch (RejectedExecutionException e) {
+         inFlight.remove(key, created);
+         created.setException(e);
+      }
+      return created;
+   }
+
+   private void authorizeAndPublish(TokenKey key, SettableFuture<ExpiringToken> result) {
+      try {
+         ExpiringToken current = tokens.get(key);
+         // a caller that read the map just before the previous authorization finished needn't start another
+         if (current == null || currentTimeSeconds() >= current.refreshAt()) {
+            current = authorize(key);
+            tokens.put(key, current);
+         }
+         result.set(current);
+      } catch (Throwable t) {
+         result.setException(t);
+      } finally {
+         inFlight.remove(key, result);
+      }
+   }
+
+   private static ExpiringToken await(ListenableFuture<ExpiringToken> pending) {
+      try {
+         return getUninterruptibly(pending);
+      } catch (ExecutionException e) {
+         throw propagate(e.getCause());
+      }
+   }
+}
@@ -0,0 +1,196 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jclouds.oauth.v2.filters;
+
+import static com.google.common.base.Charsets.UTF_8;
+import static java.nio.file.StandardCopyOption.ATOMIC_MOVE;
+import static java.nio.file.StandardCopyOption.REPLACE_EXISTING;
+import static java.nio.file.StandardOpenOption.CREATE;
+import static java.nio.file.StandardOpenOption.WRITE;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.util.Properties;
+import java.util.concurrent.locks.Lock;
+
+import javax.annotation.Resource;
+
+import org.jclouds.logging.Logger;
+import org.jclouds.oauth.v2.domain.Token;
+import org.jclouds.oauth.v2.filters.CoalescingTokenCache.ExpiringToken;
+import org.jclouds.oauth.v2.filters.CoalescingTokenCache.TokenKey;
+
+import com.google.common.base.Supplier;
+import com.google.common.hash.Hashing;
+import com.google.common.io.Closeables;
+import com.google.common.util.concurrent.Striped;
+
+/**
+ * Shares tokens between processes through a directory holding one file per identity, scope and audience.
+ *
+ * <p/>Each token file has a lock file next to it. A process holds the lock while it reads the token and, if that
+ * isn't fresh, authorizes and writes a new one. Sibling processes starting at the same time therefore wait for the
+ * first grant instead of requesting their own.
+ *
+ * <p/>Persisting is an optimization: if the directory can't be read or written, tokens are authorized as usual, and
+ * the failure is logged.
+ *
+ * @see org.jclouds.oauth.v2.config.OAuthProperties#TOKEN_STORE_DIRECTORY
+ */
+final class FileTokenStore {
+   /** File locks are held by the process, so threads of this process also need to exclude each other. */
+   private static final Striped<Lock> IN_PROCESS_LOCKS = Striped.lock(16);
+
+   @Resource
+   private Logger logger = Logger.NULL;
+
+   private final Path directory;
+   private final String audience;
+
+   FileTokenStore(File directory, String audience) {
+      this.directory = directory.toPath();
+      this.audience = audience;
+   }
+
+   /** Returns the stored token if it needn't be refreshed at {@code now}, otherwise stores a newly authorized one. */
+   ExpiringToken getOrAuthorize(TokenKey key, long now, Supplier<ExpiringToken> authorize) {
+      String name = Hashing.sha256().hashString(key.identity() + '\n' + key.scope() + '\n' + audience, UTF_8)
+            .toString();
+      Path tokenFile = directory.resolve(name + ".token");
+      Lock inProcessLock = IN_PROCESS_LOCKS.get(name);
+      inProcessLock.lock();
+      try {
+         FileLock fileLock = lock(directory.resolve(name + ".lock"));
+         try {
+            ExpiringToken stored = read(tokenFile);
+            if (stored != null && now < stored.refreshAt()) {
+               return stored;
+            }
+            ExpiringToken authorized = authorize.get();
+            write(tokenFile, authorized);
+            return authorized;
+         } finally {
+            release(fileLock);
+         }
+      } finally {
+         inProcessLock.unlock();
+      }
+   }
+
+   private FileLock lock(Path lockFile) {
+      FileChannel channel = null;
+      try {
+         Files.createDirectories(directory);
+         channel = FileChannel.open(lockFile, CREATE, WRITE);
+         return channel.lock();
+      } catch (IOException e) {
+         closeQuietly(channel);
+         logger.warn(e, "could not lock %s; authorizing without coordinating with other processes", lockFile);
+         return null;
+      }
+   }
+
+   private static void release(FileLock lock) {
+      if (lock == null) {
+         return;
+      }
+      try {
+         lock.release();
+         lock.channel().close();
+      } catch (IOException ignored) {
+      }
+   }
+
+   private ExpiringToken read(Path tokenFile) {
+      Properties stored = new Properties();
+      InputStream in = null;
+      try {
+         in = Files.newInputStream(tokenFile);
+         stored.load(in);
+         Token token = Token.create(stored.getProperty("access_token"), stored.getProperty("token_type"),
+               Long.parseLong(stored.getProperty("expires_in")));
+         return ExpiringToken.create(token, Long.parseLong(stored.getProperty("refresh_at")),
+               Long.parseLong(stored.getProperty("expires_at")));
+      } catch (NoSuchFileException e) {
+         logger.debug("no token stored yet in %s", tokenFile);
+         return null;
+      } catch (IOException e) {
+         logger.warn(e, "could not read token from %s", tokenFile);
+         return null;
+      } catch (RuntimeException e) {
+         // missing or malformed entries, for example from an interrupted write by an older version
+         logger.warn(e, "ignoring malformed token in %s", tokenFile);
+         return null;
+      } finally {
+         closeQuietly(in);
+      }
+   }
+
+   /** Writes to a temporary file, then moves it in place, so readers never see a partial token. */
+   private void write(Path tokenFile, ExpiringToken token) {
+      Properties stored = new Properties();
+      stored.setProperty("access_token", token.token().accessToken());
+      stored.setProperty("token_type", token.token().tokenType());
+      stored.setProperty("expires_in", String.valueOf(token.token().expiresIn()));
+      stored.setProperty("refresh_at", String.valueOf(token.refreshAt()));
+      stored.setProperty("expires_at", String.valueOf(token.expiresAt()));
+      Path temp = null;
+      OutputStream out = null;
+      try {
+         temp = Files.createTempFile(directory, tokenFile.getFileName().toString(), ".tmp");
+         File tempFile = temp.toFile();
+         // tokens are secrets, only the owner may read them
+         tempFile.setReadable(false, false);
+         tempFile.setReadable(true, true);
+         out = Files.newOutputStream(temp);
+         stored.store(out, null);
+         out.close();
+         out = null;
+         Files.move(temp, tokenFile, ATOMIC_MOVE, REPLACE_EXISTING);
+      } catch (IOException e) {
+         deleteQuietly(temp);
+         logger.warn(e, "could not store token in %s; it is used by this process, but not shared", tokenFile);
+      } finally {
+         closeQuietly(out);
+      }
+   }
+
+   private static void closeQuietly(Closeable closeable) {
+      try {
+         Closeables.close(closeable, true);
+      } catch (IOException ignored) {
+      }
+   }
+
+   private static void deleteQuietly(Path path) {
+      if (path == null) {
+         return;
+      }
+      try {
+         Files.deleteIfExists(path);
+      } catch (IOException ignored) {
+      }
+   }
+}
@@ -16,51 +16,73 @@
  */
 package org.jclouds.oauth.v2.filters;
 
-import static java.util.concurrent.TimeUnit.SECONDS;
 import static org.jclouds.Constants.PROPERTY_SESSION_INTERVAL;
+import static org.jclouds.Constants.PROPERTY_USER_THREADS;
 import static org.jclouds.oauth.v2.config.OAuthProperties.AUDIENCE;
+import static org.jclouds.oauth.v2.config.OAuthProperties.TOKEN_STORE_DIRECTORY;
+
+import java.io.File;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
 import javax.inject.Inject;
 import javax.inject.Named;
 
-import org.jclouds.domain.Credentials;
 import org.jclouds.http.HttpException;
 import org.jclouds.http.HttpRequest;
-import org.jclouds.location.Provider;
 import org.jclouds.oauth.v2.AuthorizationApi;
+import org.jclouds.oauth.v2.config.CredentialPool;
 import org.jclouds.oauth.v2.config.OAuthScopes;
 import org.jclouds.oauth.v2.domain.Claims;
 import org.jclouds.oauth.v2.domain.Token;
+import org.jclouds.oauth.v2.filters.CoalescingTokenCache.ExpiringToken;
+import org.jclouds.oauth.v2.filters.CoalescingTokenCache.TokenKey;
 
 import com.google.common.base.Joiner;
 import com.google.common.base.Supplier;
-import com.google.common.cache.CacheBuilder;
-import com.google.common.cache.CacheLoader;
-import com.google.common.cache.LoadingCache;
+import com.google.common.collect.ImmutableList;
+import com.google.common.util.concurrent.ListeningExecutorService;
+import com.google.inject.MembersInjector;
 
 /**
  * Authorizes new Bearer Tokens at runtime by authorizing claims needed for the http request.
  *
  * <h3>Cache</h3>
- * This maintains a time-based Bearer Token cache. By default expires after 59 minutes
- * (the maximum time a token is valid is 60 minutes).
- * This cache and expiry period is system-wide and does not attend to per-instance expiry time
- * (e.g. "expires_in" from Google Compute -- which is set to the standard 3600 seconds).
+ * Tokens are cached by identity and scope, so requests issued at different times share the same token. A token is
+ * considered expired a bit before the lesser of {@link Token#expiresIn()} and the session interval (the {@code exp}
+ * claim requested from the server). Once three quarters of that lifetime have passed, the next request triggers a
+ * refresh on the user executor, and keeps using the current token until the new one arrives. At most one
+ * authorization per identity and scope is in flight; see {@link CoalescingTokenCache}. The header value is built
+ * along with the token, so requests only look it up.
+ *
+ * <h3>Persistence</h3>
+ * When {@link org.jclouds.oauth.v2.config.OAuthProperties#TOKEN_STORE_DIRECTORY} is set, tokens are also shared with
+ * other processes through that directory, so a process starting up reuses a token a sibling authorized before.
+ *
+ * <h3>Credential pool</h3>
+ * Each request is authorized as the member the {@link CredentialPool} selects, which only differs from the context
+ * credentials when {@link org.jclouds.oauth.v2.config.OAuthProperties#CREDENTIAL_POOL} is set.
  */
 public class JWTBearerTokenFlow implements OAuthFilter {
    private static final Joiner ON_COMMA = Joiner.on(",");
+   private static final int MAX_SCOPE_LISTS = 16;
 
+   private final AuthorizationApi api;
    private final String audience;
-   private final Supplier<Credentials> credentialsSupplier;
+   private final CredentialPool credentialPool;
    private final OAuthScopes scopes;
    private final long tokenDuration;
-   private final LoadingCache<Claims, Token> tokenCache;
+   private final CoalescingTokenCache tokenCache;
+   private final ConcurrentMap<List<String>, String> scopeByList = new ConcurrentHashMap<List<String>, String>();
+   private volatile FileTokenStore tokenStore;
 
    public static class TestJWTBearerTokenFlow extends JWTBearerTokenFlow {
 
-      @Inject TestJWTBearerTokenFlow(AuthorizeToken loader, @Named(PROPERTY_SESSION_INTERVAL) long tokenDuration,
-            @Named(AUDIENCE) String audience, @Provider Supplier<Credentials> credentialsSupplier, OAuthScopes scopes) {
-         super(loader, tokenDuration, audience, credentialsSupplier, scopes);
+      @Inject TestJWTBearerTokenFlow(AuthorizationApi api, @Named(PROPERTY_SESSION_INTERVAL) long tokenDuration,
+            @Named(AUDIENCE) String audience, CredentialPool credentialPool, OAuthScopes scopes,
+            @Named(PROPERTY_USER_THREADS) ListeningExecutorService userExecutor) {
+         super(api, tokenDuration, audience, credentialPool, scopes, userExecutor);
       }
 
       /** Constant time for testing. */
@@ -69,42 +91,83 @@ public class JWTBearerTokenFlow implements OAuthFilter {
       }
    }
 
-   @Inject JWTBearerTokenFlow(AuthorizeToken loader, @Named(PROPERTY_SESSION_INTERVAL) long tokenDuration,
-         @Named(AUDIENCE) String audience, @Provider Supplier<Credentials> credentialsSupplier, OAuthScopes scopes) {
+   @Inject JWTBearerTokenFlow(AuthorizationApi api, @Named(PROPERTY_SESSION_INTERVAL) long tokenDuration,
+         @Named(AUDIENCE) String audience, CredentialPool credentialPool, OAuthScopes scopes,
+         @Named(PROPERTY_USER_THREADS) ListeningExecutorService userExecutor) {
+      this.api = api;
       this.audience = audience;
-      this.credentialsSupplier = credentialsSupplier;
+      this.credentialPool = credentialPool;
       this.scopes = scopes;
       this.tokenDuration = tokenDuration;
-      // since the session interval is also the token expiration time requested to the server make the token expire a
-      // bit before the deadline to make sure there aren't session expiration exceptions
-      long cacheExpirationSeconds = tokenDuration > 30 ? tokenDuration - 30 : tokenDuration;
-      this.tokenCache = CacheBuilder.newBuilder().expireAfterWrite(tokenDuration, SECONDS).build(loader);
-   }
+      this.tokenCache = new CoalescingTokenCache(userExecutor) {
+         @Override ExpiringToken authorize(TokenKey key) {
+            return JWTBearerTokenFlow.this.authorize(key);
+         }
 
-   static final class AuthorizeToken extends CacheLoader<Claims, Token> {
-      private final AuthorizationApi api;
+         @Override long currentTimeSeconds() {
+            return JWTBearerTokenFlow.this.currentTimeSeconds();
+         }
+      };
+   }
 
-      @Inject AuthorizeToken(AuthorizationApi api) {
-         this.api = api;
-      }
+   @com.google.inject.Inject(optional = true)
+   void setTokenStoreDirectory(@Named(TOKEN_STORE_DIRECTORY) String tokenStoreDirectory,
+         MembersInjector<FileTokenStore> injectLogger) {
+      FileTokenStore store = new FileTokenStore(new File(tokenStoreDirectory), audience);
+      injectLogger.injectMembers(store);
+      this.tokenStore = store;
+   }
 
-      @Override public Token load(Claims key) throws Exception {
-         return api.authorize(key);
+   private ExpiringToken authorize(final TokenKey key) {
+      FileTokenStore store = tokenStore;
+      ExpiringToken token;
+      if (store == null) {
+         token = authorizeWithServer(key);
+      } else {
+         token = store.getOrAuthorize(key, currentTimeSeconds(), new Supplier<ExpiringToken>() {
+            @Override public ExpiringToken get() {
+               return authorizeWithServer(key);
+            }
+         });
       }
+      credentialPool.issued(key.identity(), token.token());
+      return token;
    }
 
-   @Override public HttpRequest filter(HttpRequest request) throws HttpException {
+   private ExpiringToken authorizeWithServer(TokenKey key) {
       long now = currentTimeSeconds();
       Claims claims = Claims.create( //
-            credentialsSupplier.get().identity, // iss
-            ON_COMMA.join(scopes.forRequest(request)), // scope
+            key.identity(), // iss
+            key.scope(), // scope
             audience, // aud
             now + tokenDuration, // exp
             now // iat
       );
-      Token token = tokenCache.getUnchecked(claims);
-      String authorization = String.format("%s %s", token.tokenType(), token.accessToken());
-      return request.toBuilder().addHeader("Authorization", authorization).build();
+      Token token = api.authorize(claims);
+      // no token outlives the session interval, as that is the expiration time requested to the server
+      long lifetime = token.expiresIn() > 0 ? Math.min(token.expiresIn(), tokenDuration) : tokenDuration;
+      // make the token expire a bit before the deadline to make sure there aren't session expiration exceptions
+      long usableLifetime = lifetime - Math.min(30, lifetime / 2);
+      return ExpiringToken.create(token, now + usableLifetime * 3 / 4, now + usableLifetime);
+   }
+
+   @Override public HttpRequest filter(HttpRequest request) throws HttpException {
+      String identity = credentialPool.next().identity;
+      TokenKey key = TokenKey.create(identity, scope(scopes.forRequest(request)));
+      credentialPool.authorized(request, identity);
+      return request.toBuilder().addHeader("Authorization", tokenCache.get(key).authorization()).build();
+   }
+
+   /** Joins scopes once per list, as implementations usually return the same few lists for every request. */
+   private String scope(List<String> requestScopes) {
+      String scope = scopeByList.get(requestScopes);
+      if (scope == null) {
+         scope = ON_COMMA.join(requestScopes);
+         if (scopeByList.size() < MAX_SCOPE_LISTS) {
+            scopeByList.putIfAbsent(ImmutableList.copyOf(requestScopes), scope);
+         }
+      }
+      return scope;
    }
 
    long currentTimeSeconds() {
@@ -16,70 +16,179 @@
  */
 package org.jclouds.oauth.v2.functions;
 
+import static com.google.common.base.Charsets.US_ASCII;
 import static com.google.common.base.Charsets.UTF_8;
-import static com.google.common.base.Joiner.on;
 import static com.google.common.base.Preconditions.checkArgument;
 import static com.google.common.io.BaseEncoding.base64Url;
 import static org.jclouds.oauth.v2.config.OAuthProperties.JWS_ALG;
 
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
 import java.security.InvalidKeyException;
 import java.security.NoSuchAlgorithmException;
 import java.security.PrivateKey;
 import java.security.Signature;
 import java.security.SignatureException;
 import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
 
 import javax.inject.Inject;
 import javax.inject.Named;
 
+import org.jclouds.javax.annotation.Nullable;
 import org.jclouds.json.Json;
 import org.jclouds.oauth.v2.config.Authorization;
+import org.jclouds.oauth.v2.config.CredentialPool;
+import org.jclouds.oauth.v2.domain.Claims;
 import org.jclouds.rest.AuthorizationException;
 
 import com.google.common.base.Function;
 import com.google.common.base.Supplier;
 import com.google.common.collect.ImmutableList;
+import com.google.common.io.BaseEncoding;
+import com.google.gson.stream.JsonWriter;
 
+/**
+ * Creates a JWT assertion in the base 64 encoded {@code {header}.{claimSet}.{signature}} format.
+ *
+ * <p/>The header is constant, so it is encoded once. Claim sets are written to a reusable buffer, and signatures are
+ * computed by pooled {@linkplain Signature signatures}, which remain initialized with the key they last signed with.
+ */
 public final class ClaimsToAssertion implements Function<Object, String> {
    private static final List<String> SUPPORTED_ALGS = ImmutableList.of("RS256", "none");
+   private static final BaseEncoding BASE64_URL = base64Url().omitPadding();
 
    private final Supplier<PrivateKey> privateKey;
+   private final CredentialPool credentialPool;
    private final Json json;
    private final String alg;
+   private final String encodedHeader;
+   private final byte[] encodedHeaderBytes;
+   private final Queue<Signer> idleSigners = new ConcurrentLinkedQueue<Signer>();
 
-   @Inject ClaimsToAssertion(@Named(JWS_ALG) String alg, @Authorization Supplier<PrivateKey> privateKey, Json json) {
+   @Inject ClaimsToAssertion(@Named(JWS_ALG) String alg, @Authorization Supplier<PrivateKey> privateKey,
+         @Nullable CredentialPool credentialPool, Json json) {
       this.alg = alg;
       checkArgument(SUPPORTED_ALGS.contains(alg), "%s %s not in supported list", JWS_ALG, alg, SUPPORTED_ALGS);
       this.privateKey = privateKey;
+      this.credentialPool = credentialPool;
       this.json = json;
+      String header = String.format("{\"alg\":\"%s\",\"typ\":\"JWT\"}", alg);
+      this.encodedHeader = BASE64_URL.encode(header.getBytes(UTF_8));
+      this.encodedHeaderBytes = encodedHeader.getBytes(US_ASCII);
+   }
+
+   ClaimsToAssertion(String alg, Supplier<PrivateKey> privateKey, Json json) {
+      this(alg, privateKey, null, json);
    }
 
    @Override public String apply(Object input) {
-      String encodedHeader = String.format("{\"alg\":\"%s\",\"typ\":\"JWT\"}", alg);
-      String encodedClaimSet = json.toJson(input);
+      Signer signer = idleSigners.poll();
+      if (signer == null) {
+         signer = new Signer();
+      }
+      String encodedClaimSet = signer.encodeClaimSet(input);
+      String encodedSignature = alg.equals("none") ? "" : signer.sign(signingKey(input), encodedClaimSet);
+      // only return the signer to the pool once it is known to be in a usable state
+      idleSigners.offer(signer);
+
+      // the final assertion in base 64 encoded {header}.{claimSet}.{signature} format
+      return new StringBuilder(encodedHeader.length() + encodedClaimSet.length() + encodedSignature.length() + 2)
+            .append(encodedHeader).append('.')
+            .append(encodedClaimSet).append('.')
+            .append(encodedSignature).toString();
+   }
 
-      encodedHeader = base64Url().omitPadding().encode(encodedHeader.getBytes(UTF_8));
-      encodedClaimSet = base64Url().omitPadding().encode(encodedClaimSet.getBytes(UTF_8));
+   /** Claims issued by another member of the credential pool are signed with that member's key. */
+   private PrivateKey signingKey(Object input) {
+      if (credentialPool != null && input instanceof Claims) {
+         PrivateKey memberKey = credentialPool.privateKey(((Claims) input).iss());
+         if (memberKey != null) {
+            return memberKey;
+         }
+      }
+      return privateKey.get();
+   }
 
-      byte[] signature = alg.equals("none")
-            ? null
-            : sha256(privateKey.get(), on(".").join(encodedHeader, encodedClaimSet).getBytes(UTF_8));
-      String encodedSignature = signature != null ?  base64Url().omitPadding().encode(signature) : "";
+   /** Not thread-safe: each signer is used by one thread at a time, then returned to the pool. */
+   private final class Signer {
+      private final ExposedByteArrayOutputStream buffer = new ExposedByteArrayOutputStream();
+      private final Writer writer = new OutputStreamWriter(buffer, UTF_8);
+      private PrivateKey key;
+      private Signature signature;
 
-      // the final assertion in base 64 encoded {header}.{claimSet}.{signature} format
-      return on(".").join(encodedHeader, encodedClaimSet, encodedSignature);
+      String encodeClaimSet(Object input) {
+         buffer.reset();
+         try {
+            if (input instanceof Claims) {
+               writeClaims((Claims) input);
+            } else {
+               writer.write(json.toJson(input));
+            }
+            writer.flush();
+         } catch (IOException e) {
+            throw new AssertionError(e); // should be impossible as we are writing to memory!
+         }
+         return BASE64_URL.encode(buffer.bytes(), 0, buffer.size());
+      }
+
+      /** Writes the same json as {@link Json#toJson}, without going through reflection. */
+      private void writeClaims(Claims claims) throws IOException {
+         JsonWriter out = new JsonWriter(writer);
+         out.beginObject();
+         out.name("iss").value(claims.iss());
+         out.name("scope").value(claims.scope());
+         out.name("aud").value(claims.aud());
+         out.name("exp").value(claims.exp());
+         out.name("iat").value(claims.iat());
+         out.endObject();
+         out.flush(); // not close, as the writer is reused
+      }
+
+      String sign(PrivateKey currentKey, String encodedClaimSet) {
+         try {
+            if (signature == null || key != currentKey) {
+               signature = initSign(currentKey);
+               key = currentKey;
+            }
+            signature.update(encodedHeaderBytes);
+            signature.update((byte) '.');
+            signature.update(encodedClaimSet.getBytes(US_ASCII));
+            // signing resets the signature to its initialized state, so it can be reused for the next assertion
+            return BASE64_URL.encode(signature.sign());
+         } catch (SignatureException e) {
+            throw new AuthorizationException(e);
+         }
+      }
+   }
+
+   /** Allows encoding the buffer without copying it first. */
+   private static final class ExposedByteArrayOutputStream extends ByteArrayOutputStream {
+      byte[] bytes() {
+         return buf;
+      }
    }
 
    static byte[] sha256(PrivateKey privateKey, byte[] input) {
       try {
-         Signature signature = Signature.getInstance("SHA256withRSA");
-         signature.initSign(privateKey);
+         Signature signature = initSign(privateKey);
          signature.update(input);
          return signature.sign();
-      } catch (NoSuchAlgorithmException e) {
-         throw new AssertionError(e);
       } catch (SignatureException e) {
          throw new AuthorizationException(e);
+      }
+   }
+
+   private static Signature initSign(PrivateKey privateKey) {
+      try {
+         Signature signature = Signature.getInstance("SHA256withRSA");
+         signature.initSign(privateKey);
+         return signature;
+      } catch (NoSuchAlgorithmException e) {
+         throw new AssertionError(e);
       } catch (InvalidKeyException e) {
          throw new AuthorizationException(e);
       }
@@ -0,0 +1,169 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jclouds.oauth.v2.config;
+
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertNotNull;
+import static org.testng.Assert.assertNull;
+
+import java.io.File;
+
+import org.jclouds.domain.Credentials;
+import org.jclouds.http.HttpRequest;
+import org.jclouds.oauth.v2.config.CredentialPool.Strategy;
+import org.jclouds.oauth.v2.config.PrivateKeySupplier.PrivateKeyForCredentials;
+import org.jclouds.oauth.v2.domain.Token;
+import org.testng.annotations.Test;
+
+import com.google.common.base.Charsets;
+import com.google.common.base.Suppliers;
+import com.google.common.base.Ticker;
+import com.google.common.collect.ImmutableMap;
+import com.google.common.io.Files;
+
+@Test(groups = "unit", testName = "CredentialPoolTest")
+public class CredentialPoolTest {
+
+   private static final Credentials CONTEXT = new Credentials("context", "unused");
+   private static final Credentials OTHER = new Credentials("other", "unused");
+
+   public void roundRobinAlternatesMembers() {
+      CredentialPool pool = pool(Strategy.ROUND_ROBIN, 1, 1, new FakeTicker());
+
+      assertEquals(pool.next().identity, "context");
+      assertEquals(pool.next().identity, "other");
+      assertEquals(pool.next().identity, "context");
+   }
+
+   public void weightedSelectsInProportion() {
+      CredentialPool pool = pool(Strategy.WEIGHTED, 1, 3, new FakeTicker());
+
+      int others = 0;
+      for (int i = 0; i < 40; i++) {
+         if (pool.next().identity.equals("other")) {
+            others++;
+         }
+      }
+      assertEquals(others, 30);
+   }
+
+   public void throttledMemberIsSkippedWhileBackingOff() {
+      FakeTicker ticker = new FakeTicker();
+      CredentialPool pool = pool(Strategy.ROUND_ROBIN, 1, 1, ticker);
+      pool.issued("other", Token.create("other-token", "Bearer", 3600));
+
+      pool.throttled(request("Bearer other-token"));
+      assertEquals(pool.backoffNanos("other"), SECONDS.toNanos(1));
+      for (int i = 0; i < 4; i++) {
+         assertEquals(pool.next().identity, "context");
+      }
+
+      ticker.nanos += SECONDS.toNanos(1);
+      assertEquals(pool.backoffNanos("other"), 0);
+      assertEquals(pool.next().identity, "context");
+      assertEquals(pool.next().identity, "other");
+   }
+
+   public void backoffDoublesWhileThrottlesKeepComing() {
+      FakeTicker ticker = new FakeTicker();
+      CredentialPool pool = pool(Strategy.ROUND_ROBIN, 1, 1, ticker);
+      pool.issued("other", Token.create("other-token", "Bearer", 3600));
+
+      pool.throttled(request("Bearer other-token"));
+      ticker.nanos += SECONDS.toNanos(1);
+      pool.throttled(request("Bearer other-token"));
+      assertEquals(pool.backoffNanos("other"), SECONDS.toNanos(2));
+
+      // once throttles stop for as long as the back-off, it starts over
+      ticker.nanos += SECONDS.toNanos(10);
+      pool.throttled(request("Bearer other-token"));
+      assertEquals(pool.backoffNanos("other"), SECONDS.toNanos(1));
+   }
+
+   public void everyMemberBackingOffSelectsSoonestAvailable() {
+      FakeTicker ticker = new FakeTicker();
+      CredentialPool pool = pool(Strategy.ROUND_ROBIN, 1, 1, ticker);
+      pool.issued("context", Token.create("context-token", "Bearer", 3600));
+      pool.issued("other", Token.create("other-token", "Bearer", 3600));
+
+      pool.throttled(request("Bearer context-token"));
+      pool.throttled(request("Bearer context-token"));
+      pool.throttled(request("Bearer other-token"));
+
+      assertEquals(pool.next().identity, "other");
+      assertEquals(pool.next().identity, "other");
+   }
+
+   public void leastRecentlyThrottledPrefersMembersNeverThrottled() {
+      FakeTicker ticker = new FakeTicker();
+      CredentialPool pool = pool(Strategy.LEAST_RECENTLY_THROTTLED, 1, 1, ticker);
+      pool.issued("other", Token.create("other-token", "Bearer", 3600));
+
+      pool.throttled(request("Bearer other-token"));
+      ticker.nanos += SECONDS.toNanos(5);
+      for (int i = 0; i < 4; i++) {
+         assertEquals(pool.next().identity, "context");
+      }
+   }
+
+   public void unknownTokensAreIgnored() {
+      CredentialPool pool = pool(Strategy.ROUND_ROBIN, 1, 1, new FakeTicker());
+
+      pool.throttled(request("Bearer unknown"));
+      pool.throttled(HttpRequest.builder().method("GET").endpoint("http://localhost").build());
+
+      assertEquals(pool.backoffNanos("context"), 0);
+      assertEquals(pool.backoffNanos("other"), 0);
+   }
+
+   public void privateKeyOnlyForOtherMembers() throws Exception {
+      Credentials other = new Credentials("other",
+            Files.asCharSource(new File("src/test/resources/testpk.pem"), Charsets.UTF_8).read());
+      CredentialPool pool = new CredentialPool(Suppliers.ofInstance(CONTEXT), 1, ImmutableMap.of(other, 1),
+            Strategy.ROUND_ROBIN, new PrivateKeyForCredentials(), new FakeTicker());
+
+      assertNotNull(pool.privateKey("other"));
+      assertNull(pool.privateKey("context"));
+      assertNull(pool.privateKey("stranger"));
+   }
+
+   public void singleMemberPool() {
+      CredentialPool pool = CredentialPool.of(Suppliers.ofInstance(CONTEXT));
+
+      assertEquals(pool.next(), CONTEXT);
+      assertEquals(pool.next(), CONTEXT);
+   }
+
+   private static CredentialPool pool(Strategy strategy, int contextWeight, int otherWeight, Ticker ticker) {
+      return new CredentialPool(Suppliers.ofInstance(CONTEXT), contextWeight, ImmutableMap.of(OTHER, otherWeight),
+            strategy, new PrivateKeyForCredentials(), ticker);
+   }
+
+   private static HttpRequest request(String authorization) {
+      return HttpRequest.builder().method("GET").endpoint("http://localhost").addHeader("Authorization", authorization)
+            .build();
+   }
+
+   private static final class FakeTicker extends Ticker {
+      long nanos;
+
+      @Override public long read() {
+         return nanos;
+      }
+   }
+}
@@ -0,0 +1,92 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jclouds.oauth.v2.filters;
+
+import static org.testng.Assert.assertEquals;
+
+import java.io.File;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.jclouds.oauth.v2.domain.Token;
+import org.jclouds.oauth.v2.filters.CoalescingTokenCache.ExpiringToken;
+import org.jclouds.oauth.v2.filters.CoalescingTokenCache.TokenKey;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import com.google.common.base.Supplier;
+import com.google.common.io.Files;
+
+@Test(groups = "unit", testName = "FileTokenStoreTest", singleThreaded = true)
+public class FileTokenStoreTest {
+   private static final TokenKey KEY = TokenKey.create("foo", "read");
+
+   private File directory;
+
+   @BeforeMethod public void createDirectory() {
+      directory = Files.createTempDir();
+   }
+
+   @AfterMethod(alwaysRun = true) public void deleteDirectory() {
+      for (File file : directory.listFiles()) {
+         file.delete();
+      }
+      directory.delete();
+   }
+
+   public void freshTokenIsSharedBetweenStores() {
+      CountingAuthorization authorization = new CountingAuthorization(0);
+      ExpiringToken first = new FileTokenStore(directory, "aud").getOrAuthorize(KEY, 0, authorization);
+      // as if another process started later on
+      ExpiringToken second = new FileTokenStore(directory, "aud").getOrAuthorize(KEY, 100, authorization);
+
+      assertEquals(second, first);
+      assertEquals(authorization.count.get(), 1);
+   }
+
+   public void staleTokenIsReplaced() {
+      FileTokenStore store = new FileTokenStore(directory, "aud");
+      store.getOrAuthorize(KEY, 0, new CountingAuthorization(0));
+      CountingAuthorization later = new CountingAuthorization(300);
+      ExpiringToken refreshed = store.getOrAuthorize(KEY, 300, later);
+
+      assertEquals(refreshed.refreshAt(), 600);
+      assertEquals(later.count.get(), 1);
+   }
+
+   public void tokensAreKeyedByAudience() {
+      CountingAuthorization authorization = new CountingAuthorization(0);
+      new FileTokenStore(directory, "aud").getOrAuthorize(KEY, 0, authorization);
+      new FileTokenStore(directory, "other").getOrAuthorize(KEY, 0, authorization);
+
+      assertEquals(authorization.count.get(), 2);
+   }
+
+   private static final class CountingAuthorization implements Supplier<ExpiringToken> {
+      private final AtomicInteger count = new AtomicInteger();
+      private final long now;
+
+      CountingAuthorization(long now) {
+         this.now = now;
+      }
+
+      @Override public ExpiringToken get() {
+         Token token = Token.create("token-" + count.incrementAndGet(), "Bearer", 430);
+         return ExpiringToken.create(token, now + 300, now + 400);
+      }
+   }
+}
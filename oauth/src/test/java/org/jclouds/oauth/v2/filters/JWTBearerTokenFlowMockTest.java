@@ -0,0 +1,119 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jclouds.oauth.v2.filters;
+
+import static com.google.common.util.concurrent.MoreExecutors.sameThreadExecutor;
+import static org.jclouds.Constants.PROPERTY_MAX_RETRIES;
+import static org.jclouds.oauth.v2.config.CredentialType.P12_PRIVATE_KEY_CREDENTIALS;
+import static org.jclouds.oauth.v2.config.OAuthProperties.AUDIENCE;
+import static org.jclouds.oauth.v2.config.OAuthProperties.CREDENTIAL_TYPE;
+import static org.jclouds.oauth.v2.config.OAuthProperties.JWS_ALG;
+import static org.jclouds.util.Strings2.toStringAndClose;
+import static org.testng.Assert.assertEquals;
+
+import java.net.URL;
+import java.util.List;
+import java.util.Properties;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.jclouds.ContextBuilder;
+import org.jclouds.concurrent.config.ExecutorServiceModule;
+import org.jclouds.http.HttpRequest;
+import org.jclouds.oauth.v2.AuthorizationApi;
+import org.jclouds.oauth.v2.OAuthTestUtils;
+import org.jclouds.oauth.v2.config.OAuthModule;
+import org.jclouds.oauth.v2.config.OAuthScopes;
+import org.jclouds.oauth.v2.config.OAuthScopes.SingleScope;
+import org.jclouds.rest.AnonymousHttpApiMetadata;
+import org.testng.annotations.Test;
+
+import com.google.common.collect.ImmutableSet;
+import com.google.common.collect.Lists;
+import com.google.inject.Binder;
+import com.google.inject.Module;
+import com.squareup.okhttp.mockwebserver.MockResponse;
+import com.squareup.okhttp.mockwebserver.MockWebServer;
+
+@Test(groups = "unit", testName = "JWTBearerTokenFlowMockTest")
+public class JWTBearerTokenFlowMockTest {
+   private static final String SCOPE = "https://www.googleapis.com/auth/prediction";
+   private static final int THREADS = 500;
+
+   private static final MockResponse TOKEN_RESPONSE = new MockResponse().setBody("{\n" +
+         "  \"access_token\" : \"1/8xbJqaOZXSUZbHLl5EOtu1pxz3fmmetKx9W8CV4t79M\",\n" +
+         "  \"token_type\" : \"Bearer\",\n" +
+         "  \"expires_in\" : 3600\n" +
+         "}");
+
+   public void concurrentRequestsShareOneGrant() throws Exception {
+      MockWebServer server = new MockWebServer();
+      // more than one response, so that a second grant would be counted rather than hang
+      server.enqueue(TOKEN_RESPONSE);
+      server.enqueue(TOKEN_RESPONSE);
+      server.play();
+
+      final OAuthFilter filter = filter(server.getUrl("/"));
+      final HttpRequest request = HttpRequest.builder().method("GET").endpoint("http://localhost/foo").build();
+      final CountDownLatch start = new CountDownLatch(1);
+
+      ExecutorService threads = Executors.newFixedThreadPool(THREADS);
+      try {
+         List<Future<String>> authorizations = Lists.newArrayListWithCapacity(THREADS);
+         for (int i = 0; i < THREADS; i++) {
+            authorizations.add(threads.submit(new Callable<String>() {
+               @Override public String call() throws Exception {
+                  start.await();
+                  return filter.filter(request).getFirstHeaderOrNull("Authorization");
+               }
+            }));
+         }
+         start.countDown();
+
+         for (Future<String> authorization : authorizations) {
+            assertEquals(authorization.get(), "Bearer 1/8xbJqaOZXSUZbHLl5EOtu1pxz3fmmetKx9W8CV4t79M");
+         }
+         assertEquals(server.getRequestCount(), 1);
+      } finally {
+         threads.shutdownNow();
+         server.shutdown();
+      }
+   }
+
+   private OAuthFilter filter(URL url) throws Exception {
+      Properties overrides = new Properties();
+      overrides.setProperty("oauth.endpoint", url.toString());
+      overrides.setProperty(JWS_ALG, "RS256");
+      overrides.setProperty(CREDENTIAL_TYPE, P12_PRIVATE_KEY_CREDENTIALS.toString());
+      overrides.setProperty(AUDIENCE, "https://accounts.google.com/o/oauth2/token");
+      overrides.setProperty(PROPERTY_MAX_RETRIES, "1");
+
+      return ContextBuilder.newBuilder(AnonymousHttpApiMetadata.forApi(AuthorizationApi.class))
+            .credentials("foo", toStringAndClose(OAuthTestUtils.class.getResourceAsStream("/testpk.pem")))
+            .endpoint(url.toString())
+            .overrides(overrides)
+            .modules(ImmutableSet.of(new ExecutorServiceModule(sameThreadExecutor()), new OAuthModule(), new Module() {
+               @Override public void configure(Binder binder) {
+                  binder.bind(OAuthScopes.class).toInstance(SingleScope.create(SCOPE));
+               }
+            }))
+            .buildInjector().getInstance(OAuthFilter.class);
+   }
+}
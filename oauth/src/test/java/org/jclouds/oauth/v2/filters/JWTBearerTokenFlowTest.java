@@ -0,0 +1,125 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jclouds.oauth.v2.filters;
+
+import static com.google.common.util.concurrent.MoreExecutors.sameThreadExecutor;
+import static org.easymock.EasyMock.anyObject;
+import static org.easymock.EasyMock.createMock;
+import static org.easymock.EasyMock.expect;
+import static org.easymock.EasyMock.replay;
+import static org.easymock.EasyMock.verify;
+import static org.testng.Assert.assertEquals;
+
+import org.jclouds.domain.Credentials;
+import org.jclouds.http.HttpRequest;
+import org.jclouds.oauth.v2.AuthorizationApi;
+import org.jclouds.oauth.v2.config.CredentialPool;
+import org.jclouds.oauth.v2.config.OAuthScopes;
+import org.jclouds.oauth.v2.config.OAuthScopes.ReadOrWriteScopes;
+import org.jclouds.oauth.v2.domain.Claims;
+import org.jclouds.oauth.v2.domain.Token;
+import org.testng.annotations.Test;
+
+import com.google.common.base.Suppliers;
+
+@Test(groups = "unit", testName = "JWTBearerTokenFlowTest")
+public class JWTBearerTokenFlowTest {
+   private static final OAuthScopes SCOPES = ReadOrWriteScopes.create("read", "write");
+   private static final HttpRequest GET = HttpRequest.builder().method("GET").endpoint("http://localhost/foo").build();
+   private static final HttpRequest POST = GET.toBuilder().method("POST").build();
+
+   public void tokenIsReusedAcrossSecondsAndScopes() {
+      AuthorizationApi api = createMock(AuthorizationApi.class);
+      expect(api.authorize(Claims.create("foo", "read", "aud", 3600, 0)))
+            .andReturn(Token.create("read-token", "Bearer", 3600));
+      expect(api.authorize(Claims.create("foo", "write", "aud", 3601, 1)))
+            .andReturn(Token.create("write-token", "Bearer", 3600));
+      replay(api);
+
+      ControlledClockFlow flow = new ControlledClockFlow(api);
+      assertEquals(authorization(flow, GET), "Bearer read-token");
+      flow.now = 1;
+      assertEquals(authorization(flow, GET), "Bearer read-token");
+      assertEquals(authorization(flow, POST), "Bearer write-token");
+      flow.now = 2;
+      assertEquals(authorization(flow, POST), "Bearer write-token");
+
+      verify(api);
+   }
+
+   public void refreshesAheadOfExpiresIn() {
+      AuthorizationApi api = createMock(AuthorizationApi.class);
+      expect(api.authorize(anyObject(Claims.class))).andReturn(Token.create("first", "Bearer", 430));
+      expect(api.authorize(anyObject(Claims.class))).andReturn(Token.create("second", "Bearer", 430));
+      replay(api);
+
+      ControlledClockFlow flow = new ControlledClockFlow(api);
+      assertEquals(authorization(flow, GET), "Bearer first");
+      flow.now = 299; // usable lifetime is 400 seconds, so refresh begins at 300
+      assertEquals(authorization(flow, GET), "Bearer first");
+      flow.now = 300;
+      authorization(flow, GET); // triggers the refresh, which completes inline on the same thread executor
+      assertEquals(authorization(flow, GET), "Bearer second");
+
+      verify(api);
+   }
+
+   public void expiredTokenIsReplacedBeforeUse() {
+      AuthorizationApi api = createMock(AuthorizationApi.class);
+      expect(api.authorize(anyObject(Claims.class))).andReturn(Token.create("first", "Bearer", 430));
+      expect(api.authorize(anyObject(Claims.class))).andReturn(Token.create("second", "Bearer", 430));
+      replay(api);
+
+      ControlledClockFlow flow = new ControlledClockFlow(api);
+      assertEquals(authorization(flow, GET), "Bearer first");
+      flow.now = 400; // usable lifetime is 400 seconds
+      assertEquals(authorization(flow, GET), "Bearer second");
+
+      verify(api);
+   }
+
+   public void shortLivedTokenExpiresAheadOfExpiresIn() {
+      AuthorizationApi api = createMock(AuthorizationApi.class);
+      expect(api.authorize(anyObject(Claims.class))).andReturn(Token.create("first", "Bearer", 20));
+      expect(api.authorize(anyObject(Claims.class))).andReturn(Token.create("second", "Bearer", 20));
+      replay(api);
+
+      ControlledClockFlow flow = new ControlledClockFlow(api);
+      assertEquals(authorization(flow, GET), "Bearer first");
+      flow.now = 10; // half the lifetime is taken off, so the server still accepts the token it replaces
+      assertEquals(authorization(flow, GET), "Bearer second");
+
+      verify(api);
+   }
+
+   private static String authorization(JWTBearerTokenFlow flow, HttpRequest request) {
+      return flow.filter(request).getFirstHeaderOrNull("Authorization");
+   }
+
+   private static final class ControlledClockFlow extends JWTBearerTokenFlow {
+      private long now;
+
+      ControlledClockFlow(AuthorizationApi api) {
+         super(api, 3600, "aud", CredentialPool.of(Suppliers.ofInstance(new Credentials("foo", "bar"))), SCOPES,
+               sameThreadExecutor());
+      }
+
+      @Override long currentTimeSeconds() {
+         return now;
+      }
+   }
+}
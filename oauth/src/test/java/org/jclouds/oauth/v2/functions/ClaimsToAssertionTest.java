@@ -18,12 +18,18 @@ package org.jclouds.oauth.v2.functions;
 
 import static com.google.common.base.Charsets.UTF_8;
 import static com.google.common.io.BaseEncoding.base64Url;
+import static com.google.common.base.Suppliers.ofInstance;
 import static org.jclouds.oauth.v2.config.PrivateKeySupplierTest.loadPrivateKey;
 import static org.testng.Assert.assertEquals;
 import static org.testng.Assert.assertNotNull;
 
+import org.jclouds.json.Json;
+import org.jclouds.json.config.GsonModule;
+import org.jclouds.oauth.v2.domain.Claims;
 import org.testng.annotations.Test;
 
+import com.google.inject.Guice;
+
 @Test(groups = "unit")
 public class ClaimsToAssertionTest {
 
@@ -45,4 +51,19 @@ public class ClaimsToAssertionTest {
 
       assertEquals(base64Url().omitPadding().encode(payloadSignature), SHA256withRSA_PAYLOAD_SIGNATURE_RESULT);
    }
+
+   public void claimsAreEncodedAsJson() throws Exception {
+      Json json = Guice.createInjector(new GsonModule()).getInstance(Json.class);
+      Claims claims = Claims.create("foo", "a,b", "https://accounts.google.com/o/oauth2/token", 3600, 0);
+      ClaimsToAssertion function = new ClaimsToAssertion("RS256", ofInstance(loadPrivateKey()), json);
+
+      String assertion = function.apply(claims);
+      String[] parts = assertion.split("\\.");
+      assertEquals(new String(base64Url().omitPadding().decode(parts[0]), UTF_8),
+            "{\"alg\":\"RS256\",\"typ\":\"JWT\"}");
+      assertEquals(new String(base64Url().omitPadding().decode(parts[1]), UTF_8), json.toJson(claims));
+
+      // pooled signers are reused, and must produce the same result
+      assertEquals(function.apply(claims), assertion);
+   }
 }